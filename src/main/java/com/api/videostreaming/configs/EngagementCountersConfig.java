@@ -0,0 +1,76 @@
+package com.api.videostreaming.configs;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.api.videostreaming.utilities.CounterTransport;
+import com.api.videostreaming.utilities.LoopbackCounterTransport;
+import com.api.videostreaming.utilities.MulticastCounterTransport;
+import com.api.videostreaming.utilities.ReplicatedEngagementCounters;
+
+/**
+ * Engagement counters replicated between nodes instead of one shared video_engagements row per
+ * video. engagement.replicated.transport is multicast between nodes, or loopback for a single
+ * node. Takes over from engagement sharding when both are enabled.
+ *
+ * The node id is kept in engagement.replicated.nodeIdFile and reused across restarts, so a node
+ * keeps one row per video in engagement_counters and one entry per video in every full sync, no
+ * matter how often it is redeployed. Each node needs its own file.
+ */
+@Configuration
+@ConditionalOnProperty(name = "engagement.replicated.enabled", havingValue = "true")
+public class EngagementCountersConfig {
+
+    // the baseline is read from video_engagements, which Hibernate creates
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @DependsOn("entityManagerFactory")
+    public ReplicatedEngagementCounters replicatedEngagementCounters(JdbcTemplate jdbcTemplate,
+                                                                     @Value("${engagement.replicated.transport}") String transportName,
+                                                                     @Value("${engagement.replicated.exchangeIntervalInMs}") long exchangeIntervalInMs,
+                                                                     @Value("${engagement.replicated.fullSyncEvery}") int fullSyncEvery,
+                                                                     @Value("${engagement.replicated.saveIntervalInMs}") long saveIntervalInMs,
+                                                                     @Value("${engagement.replicated.nodeIdFile}") String nodeIdFile,
+                                                                     @Value("${engagement.replicated.multicast.group}") String group,
+                                                                     @Value("${engagement.replicated.multicast.port}") int port,
+                                                                     @Value("${engagement.replicated.multicast.interface}") String interfaceName,
+                                                                     @Value("${engagement.replicated.multicast.timeToLive}") int timeToLive) {
+        CounterTransport transport = "multicast".equals(transportName)
+                ? new MulticastCounterTransport(group, port, interfaceName, timeToLive)
+                : new LoopbackCounterTransport(new LoopbackCounterTransport.Hub());
+        long nodeId = stableNodeId(Path.of(nodeIdFile));
+        return new ReplicatedEngagementCounters(jdbcTemplate, transport, nodeId, exchangeIntervalInMs, fullSyncEvery, saveIntervalInMs);
+    }
+
+    // read from the file, or drawn once and written there; 0 is the baseline's id
+    private static long stableNodeId(Path file) {
+        try {
+            if (Files.exists(file)) {
+                return Long.parseLong(Files.readString(file, StandardCharsets.UTF_8).trim());
+            }
+            long nodeId;
+            do {
+                nodeId = UUID.randomUUID().getMostSignificantBits();
+            } while (nodeId == 0);
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            Files.writeString(temporary, Long.toString(nodeId), StandardCharsets.UTF_8);
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+            return nodeId;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read or create the engagement counter node id file " + file, e);
+        }
+    }
+}
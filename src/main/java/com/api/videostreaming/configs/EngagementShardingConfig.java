@@ -0,0 +1,95 @@
+package com.api.videostreaming.configs;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.api.videostreaming.utilities.ConsistentHashRing;
+import com.api.videostreaming.utilities.DatabaseEngagementStore;
+import com.api.videostreaming.utilities.ShardedEngagementStore;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Engagement counters on engagement.sharding.urls instead of video_engagements. Shard i is named
+ * "shard-i" after its position in the list, so new shards must be appended. The first shardCount
+ * urls form the ring. The first node to start with sharding enabled copies video_engagements onto
+ * the shards before serving.
+ *
+ * Setting reshardToCount to a different count migrates the counters onto that many shards. Every
+ * node switches to the target ring as it restarts with the setting, and the node with
+ * engagement.sharding.reshardMigrator=true (set it on exactly one) moves the rows once all live
+ * nodes have switched. Once it logs the re-shard as done, set shardCount to the new count and
+ * reshardToCount back to 0.
+ */
+@Configuration
+@ConditionalOnProperty(name = "engagement.sharding.enabled", havingValue = "true")
+public class EngagementShardingConfig {
+
+    @Value("${engagement.sharding.virtualNodes}")
+    private int virtualNodes;
+
+    @Value("${engagement.sharding.shardCount}")
+    private int shardCount;
+
+    @Value("${engagement.sharding.reshardToCount}")
+    private int reshardToCount;
+
+    @Value("${engagement.sharding.reshardMigrator}")
+    private boolean reshardMigrator;
+
+    // after JPA, which creates video_engagements on a fresh database
+    @Bean
+    @DependsOn("entityManagerFactory")
+    public ShardedEngagementStore shardedEngagementStore(DataSourceProperties properties, JdbcTemplate jdbcTemplate,
+                                                         @Value("${engagement.sharding.urls}") List<String> urls,
+                                                         @Value("${engagement.sharding.maximumPoolSize}") int maximumPoolSize,
+                                                         @Value("${engagement.sharding.migrationBatchSize}") int migrationBatchSize,
+                                                         @Value("${engagement.sharding.heartbeatInMs}") long heartbeatInMs,
+                                                         @Value("${engagement.sharding.memberTimeoutInMs}") long memberTimeoutInMs) {
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource shard = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(urls.get(i).trim())
+                    .username(properties.determineUsername())
+                    .password(properties.determinePassword())
+                    .build();
+            shard.setPoolName("shard-" + i);
+            shard.setMaximumPoolSize(maximumPoolSize);
+            shards.put(shard.getPoolName(), shard);
+        }
+        ShardedEngagementStore store = new ShardedEngagementStore(shards, ring(shardCount), migrationBatchSize, heartbeatInMs, memberTimeoutInMs);
+        store.seedFrom(new DatabaseEngagementStore(jdbcTemplate));
+        return store;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reshardIfConfigured(ApplicationReadyEvent event) {
+        if (reshardToCount > 0 && reshardToCount != shardCount) {
+            event.getApplicationContext().getBean(ShardedEngagementStore.class).startResharding(ring(reshardToCount), reshardMigrator);
+        }
+    }
+
+    private ConsistentHashRing ring(int count) {
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            nodes.add("shard-" + i);
+        }
+        return new ConsistentHashRing(nodes, virtualNodes);
+    }
+}
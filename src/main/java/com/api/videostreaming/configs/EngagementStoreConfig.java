@@ -0,0 +1,40 @@
+package com.api.videostreaming.configs;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.api.videostreaming.utilities.DatabaseEngagementStore;
+import com.api.videostreaming.utilities.EngagementStore;
+import com.api.videostreaming.utilities.ReplicatedEngagementCounters;
+import com.api.videostreaming.utilities.ShardedEngagementStore;
+import com.api.videostreaming.utilities.VideoEngagementsMigration;
+
+/**
+ * The EngagementStore services count and read engagements through: the replicated counters when
+ * enabled, else the engagement shards when enabled, else video_engagements. video_engagements is
+ * migrated to one row per video first; startup fails if that cannot be done.
+ */
+@Configuration
+public class EngagementStoreConfig {
+
+    // the replicated and sharded stores are closed by their own bean definitions
+    @Bean(destroyMethod = "")
+    @Primary
+    @DependsOn("entityManagerFactory")
+    public EngagementStore engagementStore(ObjectProvider<ReplicatedEngagementCounters> replicatedCounters,
+                                           ObjectProvider<ShardedEngagementStore> shardedStore,
+                                           JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        new VideoEngagementsMigration(jdbcTemplate, transactionManager).run();
+        ReplicatedEngagementCounters counters = replicatedCounters.getIfAvailable();
+        if (counters != null) {
+            return counters;
+        }
+        ShardedEngagementStore sharded = shardedStore.getIfAvailable();
+        return sharded != null ? sharded : new DatabaseEngagementStore(jdbcTemplate);
+    }
+}
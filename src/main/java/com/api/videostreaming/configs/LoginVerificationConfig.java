@@ -0,0 +1,35 @@
+package com.api.videostreaming.configs;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Slow password hashing runs on its own bounded pool so a login spike cannot take the
+ * request threads with it. When both the pool and its queue are full, submissions are
+ * rejected immediately (AbortPolicy) and AuthServiceImpl answers 503.
+ */
+@Configuration
+public class LoginVerificationConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${auth.bcryptStrength}") int bcryptStrength) {
+        return new BCryptPasswordEncoder(bcryptStrength);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor loginVerificationExecutor(@Value("${auth.login.threads}") int threads,
+                                                        @Value("${auth.login.queueCapacity}") int queueCapacity) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("login-verify-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -15,7 +15,8 @@ public class PermittedEndpointsConfig {
         new AntPathRequestMatcher("/swagger-ui/**"),
         new AntPathRequestMatcher("/swagger-resources/**"),
         new AntPathRequestMatcher("/webjars/**"),
-        new AntPathRequestMatcher(VERSION + "/auth/**") // Ensure VERSION is correctly replaced
+        new AntPathRequestMatcher(VERSION + "/auth/**"), // Ensure VERSION is correctly replaced
+        new AntPathRequestMatcher(VERSION + URIConstants.STREAM_BASE_URL + "/**") // signed playback urls, verified by PlaybackUrlSigner
     };
 
     public static RequestMatcher[] getPermittedMatchers() {
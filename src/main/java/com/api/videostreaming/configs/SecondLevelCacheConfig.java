@@ -0,0 +1,50 @@
+package com.api.videostreaming.configs;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import ch.qos.logback.classic.Logger;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Hibernate second-level and query cache (spring.jpa.properties.hibernate.cache.*): Video, its
+ * cast and VideoMetadata are cached per node in Caffeine-backed JCache regions sized in
+ * application.conf. Writes on this node keep the regions consistent; writes on other nodes evict
+ * through CatalogInvalidationServiceImpl. There is no metrics endpoint, so the counters are logged.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+    private static final Logger log = (Logger) LoggerFactory.getLogger(SecondLevelCacheConfig.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public SecondLevelCacheConfig(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    // cumulative since startup; nothing is logged unless hibernate.generate_statistics is on
+    @Scheduled(fixedDelayString = "${catalog.cache.statsIntervalInMs}", initialDelayString = "${catalog.cache.statsIntervalInMs}")
+    public void logStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return;
+        }
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            log.info("L2 cache region {}: hits={}, misses={}, puts={}, ratio={}", region, regionStatistics.getHitCount(),
+                    regionStatistics.getMissCount(), regionStatistics.getPutCount(),
+                    ratio(regionStatistics.getHitCount(), regionStatistics.getMissCount()));
+        }
+        log.info("Query cache: hits={}, misses={}, puts={}, ratio={}", statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount(),
+                ratio(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount()));
+    }
+
+    private static String ratio(long hits, long misses) {
+        return hits + misses == 0 ? "n/a" : String.format("%.3f", (double) hits / (hits + misses));
+    }
+}
@@ -10,14 +10,24 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 
+import com.api.videostreaming.securities.ConcurrencyLimitFilter;
+import com.api.videostreaming.securities.IpRateLimitFilter;
 import com.api.videostreaming.securities.JwtAuthenticationFilter;
+import com.api.videostreaming.securities.UserRateLimitFilter;
 
 @Configuration
 public class SecurityConfig {
     private JwtAuthenticationFilter jwtAuthenticationFilter;
+    private IpRateLimitFilter ipRateLimitFilter;
+    private UserRateLimitFilter userRateLimitFilter;
+    private ConcurrencyLimitFilter concurrencyLimitFilter;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter){
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, IpRateLimitFilter ipRateLimitFilter,
+                          UserRateLimitFilter userRateLimitFilter, ConcurrencyLimitFilter concurrencyLimitFilter){
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.ipRateLimitFilter = ipRateLimitFilter;
+        this.userRateLimitFilter = userRateLimitFilter;
+        this.concurrencyLimitFilter = concurrencyLimitFilter;
     }
 
     RequestMatcher[] permittedMatchers = PermittedEndpointsConfig.getPermittedMatchers();
@@ -32,7 +42,10 @@ public class SecurityConfig {
                 .anyRequest().authenticated()
             )
 			.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-			.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+			.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+			.addFilterBefore(ipRateLimitFilter, JwtAuthenticationFilter.class) // floods are rejected before any token is parsed
+			.addFilterAfter(userRateLimitFilter, JwtAuthenticationFilter.class) // user buckets are keyed on the verified subject
+			.addFilterAfter(concurrencyLimitFilter, UserRateLimitFilter.class); // then shed load the node cannot absorb
 
 		return http.build();
 	}
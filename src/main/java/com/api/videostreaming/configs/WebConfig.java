@@ -0,0 +1,21 @@
+package com.api.videostreaming.configs;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.api.videostreaming.enums.SearchMode;
+import com.api.videostreaming.enums.VideoSort;
+
+/**
+ * Case-insensitive binding for enum query parameters, so ?sort=popular and ?mode=fuzzy work.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(String.class, VideoSort.class, value -> VideoSort.valueOf(value.trim().toUpperCase()));
+        registry.addConverter(String.class, SearchMode.class, value -> SearchMode.valueOf(value.trim().toUpperCase()));
+    }
+}
@@ -2,7 +2,9 @@ package com.api.videostreaming.controllers;
 
 import com.api.videostreaming.enums.EngagementType;
 import com.api.videostreaming.pojos.responses.EngagementResponse;
+import com.api.videostreaming.pojos.responses.EngagementSummaryResponse;
 import com.api.videostreaming.services.EngagementService;
+import com.api.videostreaming.services.LiveEngagementService;
 import com.api.videostreaming.utilities.URIConstants;
 
 import ch.qos.logback.classic.Logger;
@@ -10,9 +12,13 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.RequiredArgsConstructor;
 
+import java.util.List;
+
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping(URIConstants.API_VERSION + URIConstants.ES_BASE_URL)
@@ -20,6 +26,7 @@ import org.springframework.web.bind.annotation.*;
 public class EngagementController {
     private static final Logger log = (Logger) LoggerFactory.getLogger(EngagementController.class);
     private final EngagementService engagementTrackingService;
+    private final LiveEngagementService liveEngagementService;
 
     @Operation(
             summary = "Track engagement for a video",
@@ -50,4 +57,30 @@ public class EngagementController {
         log.info("Returning engagement stats: {}", response.getBody());
         return response;
     }
+
+    @Operation(
+            summary = "Get engagement totals and most viewed videos",
+            description = "Retrieves impressions and views summed over all videos, plus the top videos by views.",
+            security = {@SecurityRequirement(name = "bearerAuth")}
+    )
+    @GetMapping(URIConstants.ENGAGEMENT_SUMMARY)
+    public ResponseEntity<EngagementSummaryResponse> getEngagementSummary(@RequestParam(defaultValue = "10") Integer limit) {
+
+        log.info("Fetching engagement summary: limit={}", limit);
+        ResponseEntity<EngagementSummaryResponse> response = engagementTrackingService.getEngagementSummary(limit);
+        log.info("Returning engagement summary: {}", response.getBody());
+        return response;
+    }
+
+    @Operation(
+            summary = "Stream live engagement stats for videos",
+            description = "Server-Sent Events: an 'engagement' event with impressions and views per video, first the current counts, then whenever they change.",
+            security = {@SecurityRequirement(name = "bearerAuth")}
+    )
+    @GetMapping(value = URIConstants.LIVE_ENGAGEMENT, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEngagements(@RequestParam List<Long> videoIds) {
+
+        log.info("Opening live engagement stream: videoIds={}", videoIds);
+        return liveEngagementService.subscribe(videoIds);
+    }
 }
@@ -0,0 +1,56 @@
+package com.api.videostreaming.controllers;
+
+import java.util.List;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.api.videostreaming.enums.CreditRole;
+import com.api.videostreaming.pojos.responses.FilmographyResponse;
+import com.api.videostreaming.pojos.responses.PersonResponse;
+import com.api.videostreaming.services.PeopleService;
+import com.api.videostreaming.utilities.URIConstants;
+
+import ch.qos.logback.classic.Logger;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping(URIConstants.API_VERSION + URIConstants.PEOPLE_BASE_URL)
+@RequiredArgsConstructor
+public class PeopleController {
+    private static final Logger log = (Logger) LoggerFactory.getLogger(PeopleController.class);
+    private final PeopleService peopleService;
+
+    @Operation(
+            summary = "Find people by name",
+            description = "Directors and cast members whose normalized name starts with the given text, in name order.",
+            security = {@SecurityRequirement(name = "bearerAuth")}
+    )
+    @GetMapping
+    public ResponseEntity<List<PersonResponse>> findPeople(@RequestParam String name,
+            @RequestParam(defaultValue = "20") Integer limit) {
+        log.info("Finding people: name={}, limit={}", name, limit);
+        ResponseEntity<List<PersonResponse>> response = peopleService.findPeople(name, limit);
+        log.info("Returning {} people", response.getBody().size());
+        return response;
+    }
+
+    @Operation(
+            summary = "Get a person's filmography",
+            description = "Active videos the person directed or appears in, ordered by video ID. Pass nextAfter from the previous page as after to continue; role narrows to DIRECTOR or CAST.",
+            security = {@SecurityRequirement(name = "bearerAuth")}
+    )
+    @GetMapping(URIConstants.FILMOGRAPHY)
+    public ResponseEntity<FilmographyResponse> getFilmography(@PathVariable Long personId,
+            @RequestParam(required = false) CreditRole role,
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(defaultValue = "20") Integer limit) {
+        log.info("Fetching filmography: personId={}, role={}, after={}, limit={}", personId, role, after, limit);
+        ResponseEntity<FilmographyResponse> response = peopleService.getFilmography(personId, role, after, limit);
+        log.info("Returning {} credits, nextAfter={}", response.getBody().getCredits().size(), response.getBody().getNextAfter());
+        return response;
+    }
+}
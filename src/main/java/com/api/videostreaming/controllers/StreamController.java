@@ -0,0 +1,71 @@
+package com.api.videostreaming.controllers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.api.videostreaming.exceptions.customExceptions.ForbiddenException;
+import com.api.videostreaming.exceptions.customExceptions.ResourceNotFoundException;
+import com.api.videostreaming.securities.PlaybackUrlSigner;
+import com.api.videostreaming.utilities.Constants;
+import com.api.videostreaming.utilities.URIConstants;
+
+import ch.qos.logback.classic.Logger;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
+
+@RestController
+@RequestMapping(URIConstants.API_VERSION + URIConstants.STREAM_BASE_URL)
+public class StreamController {
+    private static final Logger log = (Logger) LoggerFactory.getLogger(StreamController.class);
+
+    private final PlaybackUrlSigner playbackUrlSigner;
+    private final Path mediaRootPath;
+
+    public StreamController(PlaybackUrlSigner playbackUrlSigner, @Value("${playback.mediaRootPath}") String mediaRootPath) {
+        this.playbackUrlSigner = playbackUrlSigner;
+        this.mediaRootPath = Paths.get(mediaRootPath).toAbsolutePath().normalize();
+    }
+
+    @Operation(
+            summary = "Stream video bytes using a signed playback URL",
+            description = "Serves the requested rendition (byte ranges supported) after verifying the URL signature. No JWT required."
+    )
+    @GetMapping(URIConstants.STREAM_RENDITION)
+    public ResponseEntity<Resource> streamVideo(
+            @PathVariable Long videoId,
+            @PathVariable String rendition,
+            @RequestParam(URIConstants.STREAM_EXPIRY_PARAM) long expiresAt,
+            @RequestParam(URIConstants.STREAM_SIGNATURE_PARAM) String signature,
+            HttpServletRequest httpRequest) {
+
+        if (!PlaybackUrlSigner.isRendition(rendition)
+                || !playbackUrlSigner.verify(videoId, rendition, expiresAt, httpRequest.getRemoteAddr(), signature)) {
+            log.warn("Rejected playback url: Video ID={}, rendition={}, exp={}", videoId, rendition, expiresAt);
+            throw new ForbiddenException(Constants.INVALID_PLAYBACK_SIGNATURE);
+        }
+
+        Path file = mediaRootPath.resolve(String.valueOf(videoId)).resolve(rendition).normalize();
+        if (!file.startsWith(mediaRootPath) || !Files.isRegularFile(file)) {
+            log.warn("Rendition not found on disk: Video ID={}, rendition={}", videoId, rendition);
+            throw new ResourceNotFoundException("Rendition not found");
+        }
+
+        // Returning a Resource lets Spring MVC answer Range requests with 206 partial content
+        MediaType mediaType = MediaTypeFactory.getMediaType(rendition).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        return ResponseEntity.ok().contentType(mediaType).body(new FileSystemResource(file));
+    }
+}
@@ -3,24 +3,37 @@ package com.api.videostreaming.controllers;
 import ch.qos.logback.classic.Logger;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
 import java.util.List;
 
 import org.slf4j.LoggerFactory;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import com.api.videostreaming.enums.SearchMode;
+import com.api.videostreaming.enums.VideoSort;
+import com.api.videostreaming.pojos.requests.FacetFilter;
 import com.api.videostreaming.pojos.requests.MetadataRequest;
 import com.api.videostreaming.pojos.requests.VideoRequest;
+import com.api.videostreaming.pojos.responses.ChangeFeedResponse;
+import com.api.videostreaming.pojos.responses.FacetedVideosResponse;
 import com.api.videostreaming.pojos.responses.LoadVideoResponse;
 import com.api.videostreaming.pojos.responses.MetadataResponse;
 import com.api.videostreaming.pojos.responses.PlayVideoResponse;
 import com.api.videostreaming.pojos.responses.PublishVideoResponse;
+import com.api.videostreaming.pojos.responses.RelatedVideoResponse;
 import com.api.videostreaming.pojos.responses.SearchVideoResponse;
 import com.api.videostreaming.pojos.responses.SoftDeleteResponse;
+import com.api.videostreaming.pojos.responses.SuggestionResponse;
 import com.api.videostreaming.pojos.responses.VideoMetaDataResponse;
+import com.api.videostreaming.services.ChangeFeedService;
+import com.api.videostreaming.services.RelatedVideosService;
+import com.api.videostreaming.services.SuggestionService;
 import com.api.videostreaming.services.VideoService;
 import com.api.videostreaming.utilities.Constants;
 import com.api.videostreaming.utilities.URIConstants;
@@ -31,12 +44,17 @@ import com.api.videostreaming.utilities.URIConstants;
 public class VideoController {
     private static final Logger log = (Logger) LoggerFactory.getLogger(VideoController.class);
     private final VideoService videoService;
+    private final SuggestionService suggestionService;
+    private final RelatedVideosService relatedVideosService;
+    private final ChangeFeedService changeFeedService;
 
-    @Operation(summary = "API: to get all non-deleted videos metadata", description = "", security = {@SecurityRequirement(name = "bearerAuth")})
+    @Operation(summary = "API: to get all non-deleted videos metadata", description = "sort=popular|recent|year orders active videos by decayed popularity, publish time or release year.", security = {@SecurityRequirement(name = "bearerAuth")})
     @GetMapping(URIConstants.GET_ALL)
-    public ResponseEntity<List<VideoMetaDataResponse>> getAllVideos(@RequestParam Integer page, @RequestParam Integer size) {
-        log.info("{} getAllVideos Request received: page={}, size={}", Constants.REQUEST, page, size);
-        ResponseEntity<List<VideoMetaDataResponse>> response = videoService.getAllVideos(page, size);
+    public ResponseEntity<List<VideoMetaDataResponse>> getAllVideos(@RequestParam Integer page, @RequestParam Integer size,
+            @RequestParam(defaultValue = "DEFAULT") VideoSort sort,
+            @ParameterObject FacetFilter filter) {
+        log.info("{} getAllVideos Request received: page={}, size={}, sort={}, filter={}", Constants.REQUEST, page, size, sort, filter);
+        ResponseEntity<List<VideoMetaDataResponse>> response = videoService.getAllVideos(filter, sort, page, size);
         log.info("{} getAllVideos Response status: {}, Records found: {}", Constants.RESPONSE, 
         response.getStatusCode(), response.getBody());
         
@@ -99,33 +117,98 @@ public class VideoController {
 
     @Operation(
             summary = "API to play video content",
-            description = "Fetches video content URL based on video ID.",
+            description = "Fetches video content URL based on video ID along with a short-lived signed playback URL.",
             security = {@SecurityRequirement(name = "bearerAuth")}
     )
     @GetMapping(URIConstants.PLAY_VIDEO)
-    public ResponseEntity<PlayVideoResponse> playVideoContent(@PathVariable Long videoId) {
+    public ResponseEntity<PlayVideoResponse> playVideoContent(@PathVariable Long videoId, HttpServletRequest httpRequest) {
         log.info("Received request to play video for ID: {}", videoId);
-        ResponseEntity<PlayVideoResponse> response = videoService.playVideoContent(videoId);
+        ResponseEntity<PlayVideoResponse> response = videoService.playVideoContent(videoId, httpRequest.getRemoteAddr());
         log.info("Response: Status = {}, Video ID = {}", response.getStatusCode(), videoId);
         return response;
     }
 
     @Operation(
             summary = "API: to search on metadata (title, director, genre, cast)",
-            description = "Search for videos using a search phrase across title, director, genre, and cast.",
+            description = "Search for videos using a search phrase across title, director, genre, and cast. mode=FUZZY tolerates typos (1-2 edits) and sound-alike names, ranking exact matches first (sort does not apply to FUZZY).",
             security = {@SecurityRequirement(name = "bearerAuth")}
     )
     @GetMapping(URIConstants.SEARCH)
     public ResponseEntity<List<SearchVideoResponse>> searchVideos(
             @RequestParam String searchPhrase,
             @RequestParam Integer page,
-            @RequestParam Integer size) {
+            @RequestParam Integer size,
+            @RequestParam(defaultValue = "CONTAINS") SearchMode mode,
+            @RequestParam(defaultValue = "DEFAULT") VideoSort sort,
+            @ParameterObject FacetFilter filter) {
         
-        log.info("Received search request: phrase='{}', page={}, size={}", searchPhrase, page, size);
-        ResponseEntity<List<SearchVideoResponse>> response = videoService.searchVideos(searchPhrase, page, size);
+        log.info("Received search request: phrase='{}', mode={}, sort={}, page={}, size={}, filter={}", searchPhrase, mode, sort, page, size, filter);
+        ResponseEntity<List<SearchVideoResponse>> response = videoService.searchVideos(searchPhrase, mode, filter, sort, page, size);
         log.info("Response: Status = {}, Videos Found = {}", response.getStatusCode(), response.getBody());
         return response;
     }
 
+    @Operation(
+            summary = "API: faceted browse with counts",
+            description = "Filters active videos by genre, year, resolution, format and duration bucket (optionally within a search phrase) and returns facet counts alongside the page.",
+            security = {@SecurityRequirement(name = "bearerAuth")}
+    )
+    @GetMapping(URIConstants.BROWSE)
+    public ResponseEntity<FacetedVideosResponse> browseVideos(
+            @RequestParam(required = false) String searchPhrase,
+            @RequestParam Integer page,
+            @RequestParam Integer size,
+            @RequestParam(defaultValue = "DEFAULT") VideoSort sort,
+            @ParameterObject FacetFilter filter) {
+
+        log.info("Received browse request: phrase='{}', sort={}, page={}, size={}, filter={}", searchPhrase, sort, page, size, filter);
+        ResponseEntity<FacetedVideosResponse> response = videoService.browseVideos(searchPhrase, filter, sort, page, size);
+        log.info("Response: Status = {}, Videos Found = {}", response.getStatusCode(), response.getBody().getTotalElements());
+        return response;
+    }
+
+    @Operation(
+            summary = "API: typeahead suggestions for the search box",
+            description = "Returns the top completions for a prefix across titles, directors, cast and genres, ranked by engagement. Served from memory.",
+            security = {@SecurityRequirement(name = "bearerAuth")}
+    )
+    @GetMapping(URIConstants.SUGGEST)
+    public ResponseEntity<List<SuggestionResponse>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") Integer limit) {
+
+        log.debug("Received suggest request: prefix='{}', limit={}", prefix, limit);
+        return suggestionService.suggest(prefix, limit);
+    }
+
+    @Operation(
+            summary = "API: related videos",
+            description = "Videos co-viewed with this one, topped up with metadata matches (director, cast, genre). Precomputed, served from memory.",
+            security = {@SecurityRequirement(name = "bearerAuth")}
+    )
+    @GetMapping(URIConstants.RELATED_VIDEOS)
+    public ResponseEntity<List<RelatedVideoResponse>> getRelatedVideos(
+            @PathVariable Long videoId,
+            @RequestParam(defaultValue = "10") Integer limit) {
+
+        log.debug("Received related videos request: videoId={}, limit={}", videoId, limit);
+        return relatedVideosService.getRelatedVideos(videoId, limit);
+    }
+
+    @Operation(
+            summary = "API: catalog change feed",
+            description = "Catalog changes (publish, metadata edit, soft delete) after sequence number since, oldest first, in batches of up to limit. "
+                    + "When there is nothing newer the request is held open for up to waitInMs. Continue from nextSeq.",
+            security = {@SecurityRequirement(name = "bearerAuth")}
+    )
+    @GetMapping(URIConstants.CHANGES)
+    public DeferredResult<ResponseEntity<ChangeFeedResponse>> getChanges(
+            @RequestParam(defaultValue = "0") Long since,
+            @RequestParam(defaultValue = "500") Integer limit,
+            @RequestParam(defaultValue = "25000") Long waitInMs) {
+
+        log.debug("Received change feed request: since={}, limit={}, waitInMs={}", since, limit, waitInMs);
+        return changeFeedService.getChanges(since, limit, waitInMs);
+    }
 
 }
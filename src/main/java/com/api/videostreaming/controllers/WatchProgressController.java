@@ -0,0 +1,64 @@
+package com.api.videostreaming.controllers;
+
+import java.util.List;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.api.videostreaming.pojos.requests.WatchProgressRequest;
+import com.api.videostreaming.pojos.responses.WatchProgressResponse;
+import com.api.videostreaming.services.WatchProgressService;
+import com.api.videostreaming.utilities.URIConstants;
+
+import ch.qos.logback.classic.Logger;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping(URIConstants.API_VERSION + URIConstants.PROGRESS_BASE_URL)
+@RequiredArgsConstructor
+public class WatchProgressController {
+    private static final Logger log = (Logger) LoggerFactory.getLogger(WatchProgressController.class);
+    private final WatchProgressService watchProgressService;
+
+    @Operation(
+            summary = "Record a playback heartbeat",
+            description = "Stores the caller's latest position in a video. Heartbeats are coalesced in memory and written to the database in batches; older timestamps never overwrite newer ones.",
+            security = {@SecurityRequirement(name = "bearerAuth")}
+    )
+    @PostMapping(URIConstants.VIDEO_ID)
+    public ResponseEntity<WatchProgressResponse> recordProgress(@PathVariable Long videoId,
+            @Valid @RequestBody WatchProgressRequest request) {
+        // heartbeats are the highest-rate call we have, keep them out of the info log
+        log.debug("Heartbeat received: videoId={}, request={}", videoId, request);
+        return watchProgressService.recordProgress(videoId, request);
+    }
+
+    @Operation(
+            summary = "Get the caller's resume position for a video",
+            security = {@SecurityRequirement(name = "bearerAuth")}
+    )
+    @GetMapping(URIConstants.VIDEO_ID)
+    public ResponseEntity<WatchProgressResponse> getProgress(@PathVariable Long videoId) {
+        log.info("Fetching resume position for Video ID={}", videoId);
+        ResponseEntity<WatchProgressResponse> response = watchProgressService.getProgress(videoId);
+        log.info("Returning resume position: {}", response.getBody());
+        return response;
+    }
+
+    @Operation(
+            summary = "Continue watching",
+            description = "The caller's most recently watched active videos with their resume positions, newest first.",
+            security = {@SecurityRequirement(name = "bearerAuth")}
+    )
+    @GetMapping(URIConstants.CONTINUE_WATCHING)
+    public ResponseEntity<List<WatchProgressResponse>> getContinueWatching(@RequestParam(defaultValue = "20") Integer limit) {
+        log.info("Fetching continue watching list: limit={}", limit);
+        ResponseEntity<List<WatchProgressResponse>> response = watchProgressService.getContinueWatching(limit);
+        log.info("Returning {} continue watching entries", response.getBody().size());
+        return response;
+    }
+}
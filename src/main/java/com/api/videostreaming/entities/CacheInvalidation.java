@@ -0,0 +1,38 @@
+package com.api.videostreaming.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One InvalidationBus message, when the bus runs over the database (invalidation.transport=outbox).
+ * Every node polls this table by id and removes rows older than the retention.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "cache_invalidations", indexes = {
+        @Index(columnList = "origin, seq"),
+        @Index(columnList = "created_at")})
+public class CacheInvalidation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // sending node and its sequence number
+    @Column(nullable = false)
+    private long origin;
+
+    @Column(nullable = false)
+    private long seq;
+
+    // comma separated
+    @Column(name = "video_ids", nullable = false, columnDefinition = "TEXT")
+    private String videoIds;
+
+    // epoch millis
+    @Column(name = "created_at", nullable = false)
+    private long createdAt;
+}
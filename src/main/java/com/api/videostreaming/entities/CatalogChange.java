@@ -0,0 +1,38 @@
+package com.api.videostreaming.entities;
+
+import com.api.videostreaming.enums.CatalogChangeType;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Outbox row for one catalog mutation, written in the same transaction as the mutation itself.
+ * seq is handed out under the CatalogChangeSequence row lock, so it is gapless and rows become
+ * visible in seq order; downstream consumers read the feed by seq.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "catalog_changes")
+public class CatalogChange {
+
+    @Id
+    private Long seq;
+
+    @Column(name = "video_id", nullable = false)
+    private Long videoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CatalogChangeType type;
+
+    private String title;
+
+    private boolean active;
+
+    // epoch millis
+    @Column(name = "changed_at", nullable = false)
+    private long changedAt;
+}
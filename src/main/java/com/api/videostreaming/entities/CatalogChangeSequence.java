@@ -0,0 +1,23 @@
+package com.api.videostreaming.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Single-row counter behind CatalogChange.seq. Appending locks the row until commit, so catalog
+ * writers take turns and a later seq can never commit before an earlier one.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "catalog_change_sequence")
+public class CatalogChangeSequence {
+
+    @Id
+    private Integer id;
+
+    @Column(name = "last_seq", nullable = false)
+    private long lastSeq;
+}
@@ -0,0 +1,39 @@
+package com.api.videostreaming.entities;
+
+import com.api.videostreaming.enums.CreditRole;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One person's role in one video. The unique key leads with person_id, so a filmography is an
+ * index range scan ordered by video_id; the video_id index serves syncing a video's credits.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "credits",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"person_id", "video_id", "role"}),
+        indexes = @Index(columnList = "video_id"))
+public class Credit {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "person_id", nullable = false)
+    private Long personId;
+
+    @Column(name = "video_id", nullable = false)
+    private Long videoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private CreditRole role;
+
+    // position in the cast list; 0 for the director
+    @Column(name = "billing_order", nullable = false)
+    private int billingOrder;
+}
@@ -0,0 +1,35 @@
+package com.api.videostreaming.entities;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A cast member or director, interned once by normalized name so credits refer to an id instead
+ * of repeating the name string. Names are never edited, so rows are immutable.
+ */
+@Entity
+@Immutable
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "people", uniqueConstraints = @UniqueConstraint(columnNames = "normalized_name"))
+public class Person {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // as first seen
+    @Column(nullable = false)
+    private String name;
+
+    @Column(name = "normalized_name", nullable = false)
+    private String normalizedName;
+}
@@ -0,0 +1,24 @@
+package com.api.videostreaming.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Single-row clock written to the primary by ReplicaRoutingDataSource. Reading it back from a
+ * replica tells how far that replica has caught up.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "replication_heartbeat")
+public class ReplicationHeartbeat {
+
+    @Id
+    private Integer id;
+
+    // primary wall clock at the time of the beat, epoch millis
+    @Column(name = "beat_at", nullable = false)
+    private long beatAt;
+}
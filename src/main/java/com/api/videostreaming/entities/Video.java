@@ -4,10 +4,17 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JoinFormula;
+
 import java.util.List;
 
+// read-mostly: cached in the second-level cache, kept consistent on update by soft locks
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -23,6 +30,7 @@ public class Video {
     @Column(nullable = false)
     private String director;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "video_cast", joinColumns = @JoinColumn(name = "video_id"))
     @Column(name = "cast_member")
@@ -44,7 +52,10 @@ public class Video {
 
     private Integer duration;  // Duration in seconds
 
+    // mapped from this side with a formula rather than mappedBy: Hibernate cannot cache the inverse
+    // side of a one-to-one, so every cached Video would still query video_metadata by video_id
     @JsonIgnore
-    @OneToOne(mappedBy = "video", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @ManyToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @JoinFormula("(SELECT m.id FROM video_metadata m WHERE m.video_id = id)")
     private VideoMetadata metadata;
 }
@@ -9,7 +9,9 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "video_engagements")
+// one row per video; DatabaseEngagementStore increments it with ON DUPLICATE KEY UPDATE. The key is
+// added by VideoEngagementsMigration, named here so ddl-auto recognises it instead of adding its own
+@Table(name = "video_engagements", uniqueConstraints = @UniqueConstraint(name = "uk_video_engagements_video_id", columnNames = "video_id"))
 public class VideoEngagements {
     
     @Id
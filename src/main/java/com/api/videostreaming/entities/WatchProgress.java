@@ -0,0 +1,40 @@
+package com.api.videostreaming.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Last known playback position of a user in a video. Written in batches by
+ * WatchProgressServiceImpl, never once per heartbeat.
+ *
+ * Ids come from a pooled table generator rather than IDENTITY: an IDENTITY insert has to run
+ * at once to learn its id, which turns off Hibernate's JDBC insert batching for the entity.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "watch_progress",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "video_id"}),
+        indexes = @Index(columnList = "user_id, updated_at"))
+public class WatchProgress {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "watch_progress_ids")
+    @TableGenerator(name = "watch_progress_ids", table = "id_generators", pkColumnValue = "watch_progress", allocationSize = 500)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "video_id", nullable = false)
+    private Long videoId;
+
+    @Column(name = "position_in_sec", nullable = false)
+    private int positionInSec;
+
+    // client heartbeat time, epoch millis
+    @Column(name = "updated_at", nullable = false)
+    private long updatedAt;
+}
@@ -0,0 +1,7 @@
+package com.api.videostreaming.enums;
+
+public enum CatalogChangeType {
+    PUBLISHED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,6 @@
+package com.api.videostreaming.enums;
+
+public enum RelatedReason {
+    CO_VIEWED,
+    METADATA
+}
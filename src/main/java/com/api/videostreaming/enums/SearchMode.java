@@ -0,0 +1,6 @@
+package com.api.videostreaming.enums;
+
+public enum SearchMode {
+    CONTAINS,
+    FUZZY
+}
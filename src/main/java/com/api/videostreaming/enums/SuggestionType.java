@@ -0,0 +1,8 @@
+package com.api.videostreaming.enums;
+
+public enum SuggestionType {
+    TITLE,
+    DIRECTOR,
+    CAST,
+    GENRE
+}
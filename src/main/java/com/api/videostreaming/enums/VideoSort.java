@@ -0,0 +1,8 @@
+package com.api.videostreaming.enums;
+
+public enum VideoSort {
+    DEFAULT,
+    POPULAR,
+    RECENT,
+    YEAR
+}
@@ -9,6 +9,7 @@ import com.api.videostreaming.exceptions.customExceptions.AuthenticationFailedEx
 import com.api.videostreaming.exceptions.customExceptions.ForbiddenException;
 import com.api.videostreaming.exceptions.customExceptions.InternalServerErrorException;
 import com.api.videostreaming.exceptions.customExceptions.ResourceNotFoundException;
+import com.api.videostreaming.exceptions.customExceptions.ServiceUnavailableException;
 import com.api.videostreaming.pojos.responses.ErrorResponse;
 
 @RestControllerAdvice
@@ -44,4 +45,10 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.FORBIDDEN);
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(errorResponse);
+    }
+
 }
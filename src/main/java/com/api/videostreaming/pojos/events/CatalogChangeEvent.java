@@ -0,0 +1,27 @@
+package com.api.videostreaming.pojos.events;
+
+import com.api.videostreaming.entities.Video;
+import com.api.videostreaming.enums.CatalogChangeType;
+
+import lombok.*;
+
+/**
+ * Published by VideoServiceImpl after a video is saved, so in-memory indexes can update incrementally.
+ * It is published inside the writer's transaction: only the outbox row and people credits are written
+ * there, every in-memory or broadcasting listener runs after commit so a rolled-back change never
+ * reaches it.
+ * Remote events replay a change made on another node (CatalogInvalidationServiceImpl) and must not
+ * be broadcast again.
+ */
+@Data
+@AllArgsConstructor
+public class CatalogChangeEvent {
+    private Long videoId;
+    private CatalogChangeType type;
+    private Video video;
+    private boolean remote;
+
+    public CatalogChangeEvent(Long videoId, CatalogChangeType type, Video video) {
+        this(videoId, type, video, false);
+    }
+}
@@ -0,0 +1,29 @@
+package com.api.videostreaming.pojos.requests;
+
+import java.util.List;
+
+import lombok.*;
+
+/**
+ * Optional facet filters bound from query parameters, e.g. ?genre=Action&genre=Drama&year=2024.
+ * Values of one facet are OR-ed, different facets are AND-ed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FacetFilter {
+    private List<String> genre;
+    private List<Integer> year;
+    private List<Integer> resolution;
+    private List<String> format;
+    private List<String> duration;
+
+    public boolean isEmpty() {
+        return isEmpty(genre) && isEmpty(year) && isEmpty(resolution) && isEmpty(format) && isEmpty(duration);
+    }
+
+    private static boolean isEmpty(List<?> values) {
+        return values == null || values.isEmpty();
+    }
+}
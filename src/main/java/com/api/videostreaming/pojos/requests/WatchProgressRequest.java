@@ -0,0 +1,20 @@
+package com.api.videostreaming.pojos.requests;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WatchProgressRequest {
+
+    @NotNull(message = "Position is required")
+    @Min(value = 0, message = "Position cannot be negative")
+    private Integer positionInSec;
+
+    // client clock, epoch millis; server time is used when missing
+    private Long timestamp;
+}
@@ -0,0 +1,18 @@
+package com.api.videostreaming.pojos.responses;
+
+import com.api.videostreaming.enums.CatalogChangeType;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogChangeResponse {
+    private long seq;
+    private Long videoId;
+    private CatalogChangeType type;
+    private String title;
+    private boolean active;
+    private long changedAt;
+}
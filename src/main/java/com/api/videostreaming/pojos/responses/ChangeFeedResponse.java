@@ -0,0 +1,17 @@
+package com.api.videostreaming.pojos.responses;
+
+import java.util.List;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeFeedResponse {
+    private List<CatalogChangeResponse> changes;
+    // pass as since on the next call
+    private long nextSeq;
+    // false when more changes are already waiting past nextSeq
+    private boolean caughtUp;
+}
@@ -0,0 +1,17 @@
+package com.api.videostreaming.pojos.responses;
+
+import java.util.List;
+
+import com.api.videostreaming.enums.CreditRole;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreditResponse {
+    private Long videoId;
+    private String title;
+    private List<CreditRole> roles;
+}
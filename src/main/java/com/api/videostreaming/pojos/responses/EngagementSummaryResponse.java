@@ -0,0 +1,17 @@
+package com.api.videostreaming.pojos.responses;
+
+import java.util.List;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EngagementSummaryResponse {
+    private long totalImpressions;
+    private long totalViews;
+    // videos with at least one recorded engagement
+    private long engagedVideos;
+    private List<EngagementResponse> topByViews;
+}
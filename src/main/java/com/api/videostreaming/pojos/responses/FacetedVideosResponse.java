@@ -0,0 +1,17 @@
+package com.api.videostreaming.pojos.responses;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FacetedVideosResponse {
+    private List<VideoMetaDataResponse> videos;
+    private long totalElements;
+    // facet -> value -> number of matching active videos
+    private Map<String, Map<String, Integer>> facets;
+}
@@ -0,0 +1,20 @@
+package com.api.videostreaming.pojos.responses;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Builder
+public class FilmographyResponse {
+    private Long personId;
+    private String name;
+    private List<CreditResponse> credits;
+    // pass as after on the next call; absent on the last page
+    private Long nextAfter;
+}
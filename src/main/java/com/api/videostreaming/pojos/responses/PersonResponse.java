@@ -0,0 +1,12 @@
+package com.api.videostreaming.pojos.responses;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PersonResponse {
+    private Long personId;
+    private String name;
+}
@@ -13,6 +13,8 @@ public class PlayVideoResponse {
     private String format;
     private Integer resolution;
     private Integer duration;
+    private String playbackUrl;
+    private Long playbackUrlExpiresAt;
     private String message;
     private boolean success;
 }
@@ -0,0 +1,16 @@
+package com.api.videostreaming.pojos.responses;
+
+import com.api.videostreaming.enums.RelatedReason;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RelatedVideoResponse {
+    private Long videoId;
+    private String title;
+    private double score;
+    private RelatedReason reason;
+}
@@ -0,0 +1,23 @@
+package com.api.videostreaming.pojos.responses;
+
+import java.util.List;
+
+import com.api.videostreaming.enums.SuggestionType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Builder
+public class SuggestionResponse {
+    private String text;
+    private SuggestionType type;
+    // the best-scoring of videoIds, for clients that open a title directly
+    private Long videoId;
+    // every video with this title, best first; null for directors, cast and genres
+    private List<Long> videoIds;
+    private long score;
+}
@@ -0,0 +1,18 @@
+package com.api.videostreaming.pojos.responses;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Builder
+public class WatchProgressResponse {
+    private Long videoId;
+    private String title;
+    private Integer positionInSec;
+    private Long timestamp;
+    private Boolean accepted;
+}
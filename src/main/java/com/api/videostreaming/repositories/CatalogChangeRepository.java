@@ -0,0 +1,23 @@
+package com.api.videostreaming.repositories;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.api.videostreaming.entities.CatalogChange;
+
+@Repository
+public interface CatalogChangeRepository extends JpaRepository<CatalogChange, Long> {
+
+    // one batch of the feed, by primary key range
+    @Transactional(readOnly = true)
+    List<CatalogChange> findBySeqGreaterThanOrderBySeqAsc(long seq, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(c.seq), 0) FROM CatalogChange c")
+    @Transactional(readOnly = true)
+    long findLatestSeq();
+}
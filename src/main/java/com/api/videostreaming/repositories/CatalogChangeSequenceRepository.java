@@ -0,0 +1,22 @@
+package com.api.videostreaming.repositories;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.api.videostreaming.entities.CatalogChangeSequence;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface CatalogChangeSequenceRepository extends JpaRepository<CatalogChangeSequence, Integer> {
+
+    // SELECT ... FOR UPDATE, held until the caller's transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CatalogChangeSequence s WHERE s.id = :id")
+    Optional<CatalogChangeSequence> findForUpdate(@Param("id") Integer id);
+}
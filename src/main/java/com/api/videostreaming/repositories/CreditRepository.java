@@ -0,0 +1,39 @@
+package com.api.videostreaming.repositories;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.api.videostreaming.entities.Credit;
+import com.api.videostreaming.enums.CreditRole;
+
+@Repository
+public interface CreditRepository extends JpaRepository<Credit, Long> {
+
+    List<Credit> findByVideoId(Long videoId);
+
+    // videos that predate the people index; each probe is one lookup on the video_id index
+    @Query("SELECT v.id FROM Video v WHERE v.id > :afterVideoId " +
+       "AND NOT EXISTS (SELECT 1 FROM Credit c WHERE c.videoId = v.id) " +
+       "ORDER BY v.id")
+    List<Long> findVideoIdsWithoutCredits(@Param("afterVideoId") long afterVideoId, Pageable pageable);
+
+    // keyset page of a person's active videos: seeks past afterVideoId on (person_id, video_id, ...)
+    @Query("SELECT DISTINCT c.videoId FROM Credit c, Video v " +
+       "WHERE v.id = c.videoId AND v.isActive = true " +
+       "AND c.personId = :personId AND c.videoId > :afterVideoId " +
+       "AND (:role IS NULL OR c.role = :role) " +
+       "ORDER BY c.videoId")
+    @Transactional(readOnly = true)
+    List<Long> findFilmographyVideoIds(@Param("personId") Long personId, @Param("role") CreditRole role,
+                                       @Param("afterVideoId") long afterVideoId, Pageable pageable);
+
+    @Transactional(readOnly = true)
+    List<Credit> findByPersonIdAndVideoIdIn(Long personId, Collection<Long> videoIds);
+}
@@ -0,0 +1,42 @@
+package com.api.videostreaming.repositories;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.api.videostreaming.entities.Person;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface PersonRepository extends JpaRepository<Person, Long> {
+
+    List<Person> findByNormalizedNameIn(Collection<String> normalizedNames);
+
+    // keeps the existing row when another transaction interned the name first; the native spaces
+    // hint limits second-level cache invalidation to people instead of every region
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO people (name, normalized_name) VALUES (:name, :normalizedName)", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "people"))
+    int insertIgnore(@Param("name") String name, @Param("normalizedName") String normalizedName);
+
+    // a locking read sees rows committed after this transaction's snapshot was taken
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT p FROM Person p WHERE p.normalizedName IN :normalizedNames")
+    List<Person> lockByNormalizedNameIn(@Param("normalizedNames") Collection<String> normalizedNames);
+
+    // prefix match on the unique index
+    @Transactional(readOnly = true)
+    List<Person> findByNormalizedNameStartingWithOrderByNormalizedNameAsc(String prefix, Pageable pageable);
+}
@@ -1,16 +1,22 @@
 package com.api.videostreaming.repositories;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import com.api.videostreaming.entities.Video;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface VideoRepository extends JpaRepository<Video, Long> {
 
@@ -19,6 +25,7 @@ public interface VideoRepository extends JpaRepository<Video, Long> {
     List<Video> findByDirectorContainingIgnoreCase(String director);
 
      // Correct way to check if a video title exists (case insensitive)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByTitleIgnoreCase(String title);
     
     // Alternative Custom Query (Optional)
@@ -27,15 +34,53 @@ public interface VideoRepository extends JpaRepository<Video, Long> {
 
 
     @Query("SELECT v FROM Video v " +
-       "JOIN v.metadata m " +
+       "JOIN VideoMetadata m ON m.video = v " +
        "LEFT JOIN v.cast c " +  // Use LEFT JOIN for cast to prevent filtering videos without cast members
        "WHERE LOWER(v.title) LIKE LOWER(CONCAT('%', :searchPhrase, '%')) " +
        "OR LOWER(v.director) LIKE LOWER(CONCAT('%', :searchPhrase, '%')) " +
        "OR LOWER(m.genre) LIKE LOWER(CONCAT('%', :searchPhrase, '%')) " +
        "OR LOWER(c) LIKE LOWER(CONCAT('%', :searchPhrase, '%'))")
+    @Transactional(readOnly = true) // read-only so it can be served by a replica
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true")) // page and count, invalidated by writes to these tables
     Page<Video> searchVideos(String searchPhrase, Pageable pageable);
 
+    // same predicate as searchVideos, ids only, so results can be intersected with facet bitmaps
+    @Query("SELECT DISTINCT v.id FROM Video v " +
+       "JOIN VideoMetadata m ON m.video = v " +
+       "LEFT JOIN v.cast c " +
+       "WHERE LOWER(v.title) LIKE LOWER(CONCAT('%', :searchPhrase, '%')) " +
+       "OR LOWER(v.director) LIKE LOWER(CONCAT('%', :searchPhrase, '%')) " +
+       "OR LOWER(m.genre) LIKE LOWER(CONCAT('%', :searchPhrase, '%')) " +
+       "OR LOWER(c) LIKE LOWER(CONCAT('%', :searchPhrase, '%'))")
+    @Transactional(readOnly = true)
+    List<Long> searchVideoIds(@Param("searchPhrase") String searchPhrase);
+
     Page<Video> findAll(Pageable pageable);
 
+    // flat rows for the in-memory catalog snapshot, scalars only so no entities are built
+    @Query("SELECT v.id, v.title, v.director, v.fileUrl, v.fileSize, v.format, v.resolution, v.duration, v.isActive, " +
+       "m.genre, m.yearOfRelease, m.runningTime " +
+       "FROM Video v LEFT JOIN VideoMetadata m ON m.video = v " +
+       "WHERE v.id > :afterId ORDER BY v.id")
+    @Transactional(readOnly = true)
+    List<Object[]> findSnapshotRows(@Param("afterId") long afterId, Pageable pageable);
+
+    // the same rows for just these videos; a missing id is a deleted video
+    @Query("SELECT v.id, v.title, v.director, v.fileUrl, v.fileSize, v.format, v.resolution, v.duration, v.isActive, " +
+       "m.genre, m.yearOfRelease, m.runningTime " +
+       "FROM Video v LEFT JOIN VideoMetadata m ON m.video = v " +
+       "WHERE v.id IN :videoIds")
+    @Transactional(readOnly = true)
+    List<Object[]> findSnapshotRowsByIds(@Param("videoIds") Collection<Long> videoIds);
+
+    @Query("SELECT v.id, c FROM Video v JOIN v.cast c WHERE v.id IN :videoIds")
+    @Transactional(readOnly = true)
+    List<Object[]> findCastOf(@Param("videoIds") Collection<Long> videoIds);
+
+    // metadata rows are keyed by their own id, so second-level cache evictions look them up here
+    @Query("SELECT m.id FROM VideoMetadata m WHERE m.video.id IN :videoIds")
+    @Transactional(readOnly = true)
+    List<Long> findMetadataIdsOf(@Param("videoIds") Collection<Long> videoIds);
+
 }
 
@@ -0,0 +1,17 @@
+package com.api.videostreaming.repositories;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.api.videostreaming.entities.WatchProgress;
+
+@Repository
+public interface WatchProgressRepository extends JpaRepository<WatchProgress, Long> {
+    List<WatchProgress> findByUserIdOrderByUpdatedAtDesc(Long userId, Pageable pageable);
+
+    List<WatchProgress> findByUserIdAndVideoIdIn(Long userId, Collection<Long> videoIds);
+}
@@ -0,0 +1,138 @@
+package com.api.videostreaming.securities;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.api.videostreaming.pojos.responses.ErrorResponse;
+import com.api.videostreaming.utilities.Constants;
+import com.api.videostreaming.utilities.GradientConcurrencyLimiter;
+import com.api.videostreaming.utilities.URIConstants;
+import com.google.gson.Gson;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Adaptive concurrency limits in front of the controllers, so a slow database sheds load
+ * instead of piling up request threads.
+ *
+ * Every endpoint class (play, search, engagement, auth, default) has its own latency-driven
+ * limit, and all of them share one node-wide limit. Each class may only fill its share of the
+ * node-wide limit, so as the node saturates engagement tracking is shed first and playback last.
+ * Rejections are an immediate 503 with Retry-After. Signed segment streaming is exempt: it never
+ * touches MySQL and its long transfers would skew the latency signal. So are the change feed
+ * and the live engagement stream, whose requests are held open on purpose.
+ */
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+    private static final String VERSION = URIConstants.API_VERSION;
+    private static final String VIDEO = VERSION + URIConstants.VIDEO_BASE_URL;
+
+    private final Gson gson;
+    private final RequestMatcher exempt;
+    private final Map<String, RequestMatcher> groups = new LinkedHashMap<>();
+    private final Map<String, GradientConcurrencyLimiter> limiters = new LinkedHashMap<>();
+    private final Map<String, Double> shares = new LinkedHashMap<>();
+    private final GradientConcurrencyLimiter nodeLimiter;
+
+    public ConcurrencyLimitFilter(Gson gson, Environment env) {
+        this.gson = gson;
+        this.exempt = new OrRequestMatcher(
+                new AntPathRequestMatcher(VERSION + URIConstants.STREAM_BASE_URL + "/**"),
+                new AntPathRequestMatcher(VIDEO + URIConstants.CHANGES),
+                new AntPathRequestMatcher(VERSION + URIConstants.ES_BASE_URL + URIConstants.LIVE_ENGAGEMENT));
+
+        // first match wins
+        groups.put("auth", new AntPathRequestMatcher(VERSION + URIConstants.AUTH_BASE_URL + "/**"));
+        groups.put("play", new OrRequestMatcher(
+                new AntPathRequestMatcher(VIDEO + URIConstants.PLAY_VIDEO),
+                new AntPathRequestMatcher(VIDEO + URIConstants.LOAD_VIDEO)));
+        groups.put("search", new OrRequestMatcher(
+                new AntPathRequestMatcher(VIDEO + URIConstants.SEARCH),
+                new AntPathRequestMatcher(VIDEO + URIConstants.BROWSE),
+                new AntPathRequestMatcher(VIDEO + URIConstants.SUGGEST),
+                new AntPathRequestMatcher(VIDEO + URIConstants.GET_ALL),
+                new AntPathRequestMatcher(VIDEO + URIConstants.RELATED_VIDEOS)));
+        groups.put("engagement", new OrRequestMatcher(
+                new AntPathRequestMatcher(VERSION + URIConstants.ES_BASE_URL + "/**"),
+                new AntPathRequestMatcher(VERSION + URIConstants.PROGRESS_BASE_URL + "/**")));
+        groups.put("default", AnyRequestMatcher.INSTANCE);
+
+        int minLimit = env.getProperty("concurrency.minLimit", Integer.class, 4);
+        double tolerance = env.getProperty("concurrency.tolerance", Double.class, 1.5);
+        long windowMillis = env.getProperty("concurrency.windowInMs", Long.class, 100L);
+        for (String group : groups.keySet()) {
+            int initialLimit = env.getProperty("concurrency." + group + ".initialLimit", Integer.class, 20);
+            int maxLimit = env.getProperty("concurrency." + group + ".maxLimit", Integer.class, 200);
+            limiters.put(group, new GradientConcurrencyLimiter(initialLimit, minLimit, maxLimit, tolerance, windowMillis));
+            shares.put(group, env.getProperty("concurrency." + group + ".share", Double.class, 1.0));
+        }
+        nodeLimiter = new GradientConcurrencyLimiter(
+                env.getProperty("concurrency.node.initialLimit", Integer.class, 100), minLimit,
+                env.getProperty("concurrency.node.maxLimit", Integer.class, 200), tolerance, windowMillis);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (exempt.matches(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String group = groupOf(request);
+        GradientConcurrencyLimiter limiter = limiters.get(group);
+        if (!nodeLimiter.tryAcquire(shares.get(group))) {
+            reject(response, group, "node", nodeLimiter);
+            return;
+        }
+        if (!limiter.tryAcquire()) {
+            nodeLimiter.cancel();
+            reject(response, group, group, limiter);
+            return;
+        }
+
+        long started = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long rtt = System.nanoTime() - started;
+            limiter.release(rtt);
+            nodeLimiter.release(rtt);
+        }
+    }
+
+    private String groupOf(HttpServletRequest request) {
+        for (Map.Entry<String, RequestMatcher> entry : groups.entrySet()) {
+            if (entry.getValue().matches(request)) {
+                return entry.getKey();
+            }
+        }
+        return "default";
+    }
+
+    private void reject(HttpServletResponse response, String group, String limit, GradientConcurrencyLimiter limiter) throws IOException {
+        log.warn("LOAD SHED: group: {}, limit: {} ({} in flight, limit {})", group, limit, limiter.getInFlight(), limiter.getLimit());
+        response.setStatus(Constants.SERVICE_UNAVAILABLE_CODE);
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Retry-After", "1");
+        response.getWriter().write(gson.toJson(new ErrorResponse(Constants.SERVICE_UNAVAILABLE_CODE, Constants.LOAD_SHED)));
+        response.getWriter().flush();
+    }
+}
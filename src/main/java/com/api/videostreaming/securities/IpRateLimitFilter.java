@@ -0,0 +1,26 @@
+package com.api.videostreaming.securities;
+
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.google.gson.Gson;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Per-IP token buckets, ahead of JwtAuthenticationFilter. A flood is rejected here before any
+ * token is parsed or verified, including requests without an Authorization header, which
+ * JwtAuthenticationFilter answers without passing them further down the chain.
+ */
+@Component
+public class IpRateLimitFilter extends RateLimitFilter {
+
+    public IpRateLimitFilter(Gson gson, Environment env) {
+        super(gson, env, "ip");
+    }
+
+    @Override
+    protected String keyOf(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
+}
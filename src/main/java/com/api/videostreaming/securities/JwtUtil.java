@@ -5,6 +5,7 @@ import java.security.MessageDigest;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 import javax.crypto.SecretKey;
@@ -62,6 +63,11 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
+    // single parse + signature/expiry check, throws ExpiredJwtException / JwtException
+    public Claims parseToken(String token) {
+        return getAllClaimsFromToken(token);
+    }
+
     // for retrieveing any information from token we will need the secret key
     private Claims getAllClaimsFromToken(String token) {
         return Jwts.parserBuilder()
@@ -77,18 +83,30 @@ public class JwtUtil {
         return expiration.before(new Date());
     }
 
-    // generate auth token for user
+    // generate auth token for user (refresh tokens start a new family)
     public String generateToken(String userName, String tokenType) {
+        String familyId = tokenType.equals(Constants.TYPE_REFRESH_TOKEN) ? UUID.randomUUID().toString() : null;
+        return generateToken(userName, tokenType, familyId);
+    }
+
+    // generate token for user, refresh tokens carry a unique jti and the family they were rotated from
+    public String generateToken(String userName, String tokenType, String familyId) {
         long expirationTimeInSec = jwtExpirationTimeInSec;
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(Constants.TOKEN_TYPE, tokenType);
         if (tokenType.equals(Constants.TYPE_REFRESH_TOKEN)) {
             // refresh token time will be double
             expirationTimeInSec = 2 * expirationTimeInSec;
+            claims.put(Claims.ID, UUID.randomUUID().toString());
+            claims.put(Constants.TOKEN_FAMILY, familyId);
         }
-        Map<String, Object> claims = new HashMap<>();
-        claims.put(Constants.TOKEN_TYPE, tokenType);
         return doGenerateToken(claims, userName, expirationTimeInSec);
     }
 
+    public long getRefreshTokenExpirationTimeInSec() {
+        return 2 * jwtExpirationTimeInSec;
+    }
+
     private String doGenerateToken(Map<String, Object> claims, String subject, long customJwtExpirationTime) {
         return Jwts.builder()
                 .setClaims(claims)
@@ -0,0 +1,96 @@
+package com.api.videostreaming.securities;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.api.videostreaming.utilities.URIConstants;
+
+/**
+ * Mints and verifies short-lived HMAC-SHA256 signed playback URLs.
+ * Verification is pure CPU work: no token parsing, no database and no I/O,
+ * so segment requests can bypass the JWT filter entirely.
+ */
+@Component
+public class PlaybackUrlSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Pattern RENDITION_PATTERN = Pattern.compile("[A-Za-z0-9_-]+(\\.[A-Za-z0-9]+)?");
+
+    private final long urlExpirationTimeInSec;
+    private final boolean bindClientIp;
+    private final SecretKeySpec key;
+    private final Mac prototype;
+
+    // one initialised Mac per thread, cloned from the keyed prototype
+    private final ThreadLocal<Mac> macs;
+
+    public PlaybackUrlSigner(@Value("${playback.signingKey}") String signingKey,
+                             @Value("${playback.urlExpirationTimeInSec}") long urlExpirationTimeInSec,
+                             @Value("${playback.bindClientIp}") boolean bindClientIp) {
+        this.urlExpirationTimeInSec = urlExpirationTimeInSec;
+        this.bindClientIp = bindClientIp;
+        this.key = new SecretKeySpec(signingKey.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.prototype = initMac(key);
+        this.macs = ThreadLocal.withInitial(this::cloneMac);
+    }
+
+    private Mac initMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (Exception e) {
+            throw new IllegalStateException("Error while initialising playback url signer", e);
+        }
+    }
+
+    private Mac cloneMac() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            // provider does not support cloning, key a fresh instance for this thread
+            return initMac(key);
+        }
+    }
+
+    // a plain file name, so a rendition can never leave its video's directory under the media root
+    public static boolean isRendition(String rendition) {
+        return rendition != null && RENDITION_PATTERN.matcher(rendition).matches();
+    }
+
+    // expiry (epoch seconds) for a url minted now
+    public long nextExpiry() {
+        return System.currentTimeMillis() / 1000 + urlExpirationTimeInSec;
+    }
+
+    // signed relative url for the byte serving path
+    public String buildPlaybackUrl(Long videoId, String rendition, long expiresAt, String clientIp) {
+        return URIConstants.API_VERSION + URIConstants.STREAM_BASE_URL + "/" + videoId + "/" + rendition
+                + "?" + URIConstants.STREAM_EXPIRY_PARAM + "=" + expiresAt
+                + "&" + URIConstants.STREAM_SIGNATURE_PARAM + "=" + sign(videoId, rendition, expiresAt, clientIp);
+    }
+
+    public String sign(long videoId, String rendition, long expiresAt, String clientIp) {
+        String payload = videoId + "|" + rendition + "|" + expiresAt + "|" + (bindClientIp && clientIp != null ? clientIp : "");
+        Mac mac = macs.get();
+        return ENCODER.encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // constant time comparison, expiry checked first so stale urls never cost a MAC
+    public boolean verify(long videoId, String rendition, long expiresAt, String clientIp, String signature) {
+        if (signature == null || expiresAt < System.currentTimeMillis() / 1000) {
+            return false;
+        }
+        byte[] expected = sign(videoId, rendition, expiresAt, clientIp).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,100 @@
+package com.api.videostreaming.securities;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.api.videostreaming.pojos.responses.ErrorResponse;
+import com.api.videostreaming.utilities.Constants;
+import com.api.videostreaming.utilities.TokenBucketRateLimiter;
+import com.api.videostreaming.utilities.URIConstants;
+import com.google.gson.Gson;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Token buckets, one limiter per endpoint group, keyed by whatever keyOf returns for a request.
+ * IpRateLimitFilter runs before JwtAuthenticationFilter, so every request, with or without a
+ * token, pays one bucket check before any token is parsed; UserRateLimitFilter runs after it,
+ * on the verified subject.
+ */
+public abstract class RateLimitFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+    private static final String VERSION = URIConstants.API_VERSION;
+
+    private final Gson gson;
+    private final String keyType;
+    private final Map<String, RequestMatcher> groups = new LinkedHashMap<>();
+    private final Map<String, TokenBucketRateLimiter> limiters = new LinkedHashMap<>();
+
+    protected RateLimitFilter(Gson gson, Environment env, String keyType) {
+        this.gson = gson;
+        this.keyType = keyType;
+
+        // first match wins
+        groups.put("auth", new AntPathRequestMatcher(VERSION + URIConstants.AUTH_BASE_URL + "/**"));
+        groups.put("search", new AntPathRequestMatcher(VERSION + URIConstants.VIDEO_BASE_URL + URIConstants.SEARCH));
+        groups.put("browse", new AntPathRequestMatcher(VERSION + URIConstants.VIDEO_BASE_URL + URIConstants.BROWSE));
+        groups.put("suggest", new AntPathRequestMatcher(VERSION + URIConstants.VIDEO_BASE_URL + URIConstants.SUGGEST));
+        groups.put("track", new AntPathRequestMatcher(VERSION + URIConstants.ES_BASE_URL + URIConstants.TRACK_ENGAGEMENT));
+        groups.put("progress", new AntPathRequestMatcher(VERSION + URIConstants.PROGRESS_BASE_URL + "/**"));
+        groups.put("stream", new AntPathRequestMatcher(VERSION + URIConstants.STREAM_BASE_URL + "/**"));
+        groups.put("default", AnyRequestMatcher.INSTANCE);
+
+        int maxBuckets = env.getProperty("rateLimit.maxBuckets", Integer.class, 100_000);
+        long idleEvictionMillis = env.getProperty("rateLimit.idleEvictionInSec", Long.class, 300L) * 1000;
+        for (String group : groups.keySet()) {
+            int capacity = env.getProperty("rateLimit." + group + ".capacity", Integer.class, 60);
+            int refillPerSec = env.getProperty("rateLimit." + group + ".refillPerSec", Integer.class, 10);
+            limiters.put(group, new TokenBucketRateLimiter(capacity, refillPerSec, maxBuckets, idleEvictionMillis));
+        }
+    }
+
+    // null when this filter has no key for the request, which then passes unlimited
+    protected abstract String keyOf(HttpServletRequest request);
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String key = keyOf(request);
+        if (key != null) {
+            String group = groupOf(request);
+            if (!limiters.get(group).tryAcquire(key)) {
+                reject(response, group, key);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private String groupOf(HttpServletRequest request) {
+        for (Map.Entry<String, RequestMatcher> entry : groups.entrySet()) {
+            if (entry.getValue().matches(request)) {
+                return entry.getKey();
+            }
+        }
+        return "default";
+    }
+
+    private void reject(HttpServletResponse response, String group, String key) throws IOException {
+        log.warn("RATE LIMITED: group: {}, {}: {}", group, keyType, key);
+        response.setStatus(Constants.TOO_MANY_REQUESTS_CODE);
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Retry-After", "1");
+        response.getWriter().write(gson.toJson(new ErrorResponse(Constants.TOO_MANY_REQUESTS_CODE, Constants.TOO_MANY_REQUESTS)));
+        response.getWriter().flush();
+    }
+}
@@ -0,0 +1,188 @@
+package com.api.videostreaming.securities;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-memory denylist for refresh tokens (by jti) and whole token families (by fid).
+ *
+ * Revoked jtis live in time buckets keyed by the token's own expiry, so a lookup only touches
+ * the one bucket the token can be in and whole buckets are dropped once every token in them
+ * has expired. Every revocation is also appended to a small log file that is replayed at
+ * startup, so restarts do not resurrect revoked tokens. The log is compacted at startup and
+ * whenever a sweep drops expired entries, so it never holds much more than the live window.
+ * MySQL is never involved.
+ */
+@Component
+public class TokenRevocationStore {
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationStore.class);
+
+    private static final String TOKEN_ENTRY = "J";
+    private static final String FAMILY_ENTRY = "F";
+
+    private final Path logFile;
+    private final long bucketSizeInSec;
+
+    // expiry bucket -> revoked jtis expiring within it
+    private final Map<Long, Set<String>> revokedTokens = new ConcurrentHashMap<>();
+    // family id -> epoch second after which no token of the family can still be valid
+    private final Map<String, Long> revokedFamilies = new ConcurrentHashMap<>();
+
+    private BufferedWriter writer;
+    private volatile long lastSweepSec;
+
+    public TokenRevocationStore(@Value("${auth.revocation.filePath}") String filePath,
+                                @Value("${auth.revocation.bucketSizeInSec}") long bucketSizeInSec) {
+        this.logFile = Paths.get(filePath);
+        this.bucketSizeInSec = bucketSizeInSec;
+    }
+
+    @PostConstruct
+    public void load() {
+        try {
+            if (logFile.getParent() != null) {
+                Files.createDirectories(logFile.getParent());
+            }
+            long now = nowSec();
+            if (Files.exists(logFile)) {
+                for (String line : Files.readAllLines(logFile, StandardCharsets.UTF_8)) {
+                    String[] parts = line.split(" ");
+                    if (parts.length != 3 || Long.parseLong(parts[2]) <= now) {
+                        continue;
+                    }
+                    if (TOKEN_ENTRY.equals(parts[0])) {
+                        revokedTokens.computeIfAbsent(bucketOf(Long.parseLong(parts[2])), b -> ConcurrentHashMap.newKeySet()).add(parts[1]);
+                    } else if (FAMILY_ENTRY.equals(parts[0])) {
+                        revokedFamilies.merge(parts[1], Long.parseLong(parts[2]), Math::max);
+                    }
+                }
+            }
+            compact();
+            writer = openWriter();
+            log.info("Token revocation store loaded: {} tokens, {} families", revokedTokenCount(), revokedFamilies.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to load token revocation log " + logFile, e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    public boolean isTokenRevoked(String jti, long expiresAtSec) {
+        Set<String> bucket = revokedTokens.get(bucketOf(expiresAtSec));
+        return bucket != null && bucket.contains(jti);
+    }
+
+    public boolean isFamilyRevoked(String familyId) {
+        Long until = revokedFamilies.get(familyId);
+        return until != null && until > nowSec();
+    }
+
+    // returns false when the jti was already revoked, i.e. the token is being replayed
+    public boolean revokeToken(String jti, long expiresAtSec) {
+        boolean added = revokedTokens.computeIfAbsent(bucketOf(expiresAtSec), b -> ConcurrentHashMap.newKeySet()).add(jti);
+        if (added) {
+            append(TOKEN_ENTRY, jti, expiresAtSec);
+        }
+        sweepExpired();
+        return added;
+    }
+
+    public void revokeFamily(String familyId, long untilSec) {
+        revokedFamilies.merge(familyId, untilSec, Math::max);
+        append(FAMILY_ENTRY, familyId, untilSec);
+    }
+
+    public int revokedTokenCount() {
+        return revokedTokens.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private long bucketOf(long expiresAtSec) {
+        return expiresAtSec / bucketSizeInSec;
+    }
+
+    private long nowSec() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    // drops whole buckets, at most once per bucket period, and compacts the log if anything went
+    private void sweepExpired() {
+        long now = nowSec();
+        if (now - lastSweepSec < bucketSizeInSec) {
+            return;
+        }
+        lastSweepSec = now;
+        long currentBucket = bucketOf(now);
+        boolean dropped = revokedTokens.keySet().removeIf(bucket -> bucket < currentBucket);
+        dropped |= revokedFamilies.values().removeIf(until -> until <= now);
+        if (dropped) {
+            compactLog();
+        }
+    }
+
+    private synchronized void append(String type, String id, long expiresAtSec) {
+        try {
+            writer.write(type + " " + id + " " + expiresAtSec);
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            // memory stays authoritative for this process, only restart recovery is affected
+            log.error("Unable to append to token revocation log {}", logFile, e);
+        }
+    }
+
+    // under the append lock, so no line is written to the file being replaced; a revocation added
+    // to memory before the rewrite but appended after it is just logged twice
+    private synchronized void compactLog() {
+        try {
+            writer.close();
+            compact();
+        } catch (IOException e) {
+            log.error("Unable to compact token revocation log {}", logFile, e);
+        }
+        try {
+            writer = openWriter();
+        } catch (IOException e) {
+            log.error("Unable to reopen token revocation log {}", logFile, e);
+        }
+    }
+
+    private BufferedWriter openWriter() throws IOException {
+        return Files.newBufferedWriter(logFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    // rewrite the log with live entries only, so its size tracks the live revocation window across restarts
+    private void compact() throws IOException {
+        List<String> lines = new ArrayList<>();
+        // last second of the bucket: an upper bound of the real expiry that maps back to the same bucket
+        revokedTokens.forEach((bucket, jtis) -> jtis.forEach(jti -> lines.add(TOKEN_ENTRY + " " + jti + " " + ((bucket + 1) * bucketSizeInSec - 1))));
+        revokedFamilies.forEach((familyId, until) -> lines.add(FAMILY_ENTRY + " " + familyId + " " + until));
+        Path tmp = logFile.resolveSibling(logFile.getFileName() + ".tmp");
+        Files.write(tmp, lines, StandardCharsets.UTF_8);
+        Files.move(tmp, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
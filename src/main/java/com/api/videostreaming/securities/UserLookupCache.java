@@ -0,0 +1,64 @@
+package com.api.videostreaming.securities;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.api.videostreaming.entities.Users;
+import com.api.videostreaming.repositories.UsersRepository;
+
+/**
+ * Read-through cache in front of UsersRepository.findByUserName with a TTL and a hard size cap.
+ * Cached Users are treated as immutable: writers save a new instance and call {@link #put}.
+ */
+@Component
+public class UserLookupCache {
+
+    private final UsersRepository usersRepo;
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Map<String, CachedUser> users = new ConcurrentHashMap<>();
+
+    private record CachedUser(Users user, long expiresAt) {}
+
+    public UserLookupCache(UsersRepository usersRepo,
+                           @Value("${auth.userCache.ttlInSec}") long ttlInSec,
+                           @Value("${auth.userCache.maxEntries}") int maxEntries) {
+        this.usersRepo = usersRepo;
+        this.ttlMillis = ttlInSec * 1000;
+        this.maxEntries = maxEntries;
+    }
+
+    public Users findByUserName(String userName) {
+        long now = System.currentTimeMillis();
+        CachedUser cached = users.get(userName);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.user();
+        }
+
+        Users user = usersRepo.findByUserName(userName);
+        if (user != null) {
+            put(user);
+        } else {
+            users.remove(userName);
+        }
+        return user;
+    }
+
+    public void put(Users user) {
+        long now = System.currentTimeMillis();
+        if (users.size() >= maxEntries) {
+            users.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (users.size() >= maxEntries) {
+                users.clear();
+            }
+        }
+        users.put(user.getUserName(), new CachedUser(user, now + ttlMillis));
+    }
+
+    public void evict(String userName) {
+        users.remove(userName);
+    }
+}
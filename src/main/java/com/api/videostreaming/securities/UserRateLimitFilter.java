@@ -0,0 +1,30 @@
+package com.api.videostreaming.securities;
+
+import org.springframework.core.env.Environment;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import com.google.gson.Gson;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Per-user token buckets, after JwtAuthenticationFilter, so the key is the subject of a verified
+ * token; a forged subject would otherwise let anyone drain another user's bucket. Requests
+ * without a verified token were already limited by IpRateLimitFilter.
+ */
+@Component
+public class UserRateLimitFilter extends RateLimitFilter {
+
+    public UserRateLimitFilter(Gson gson, Environment env) {
+        super(gson, env, "user");
+    }
+
+    // set by JwtAuthenticationFilter once the token's signature and expiry check out
+    @Override
+    protected String keyOf(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
@@ -3,26 +3,45 @@ package com.api.videostreaming.serviceImpls;
 import com.api.videostreaming.entities.Users;
 import com.api.videostreaming.exceptions.customExceptions.AuthenticationFailedException;
 import com.api.videostreaming.exceptions.customExceptions.ForbiddenException;
+import com.api.videostreaming.exceptions.customExceptions.InternalServerErrorException;
 import com.api.videostreaming.exceptions.customExceptions.ResourceNotFoundException;
+import com.api.videostreaming.exceptions.customExceptions.ServiceUnavailableException;
 import com.api.videostreaming.pojos.requests.LoginRequest;
 import com.api.videostreaming.pojos.requests.RefreshTokenRequest;
 import com.api.videostreaming.pojos.responses.JwtResponse;
 import com.api.videostreaming.repositories.UsersRepository;
 import com.api.videostreaming.securities.JwtUtil;
+import com.api.videostreaming.securities.TokenRevocationStore;
+import com.api.videostreaming.securities.UserLookupCache;
 import com.api.videostreaming.services.AuthService;
 import com.api.videostreaming.utilities.Constants;
 import com.google.gson.Gson;
 
 import ch.qos.logback.classic.Logger;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 @RequiredArgsConstructor
@@ -31,8 +50,15 @@ public class AuthServiceImpl implements AuthService {
     private static final Logger log = (Logger) LoggerFactory.getLogger(AuthServiceImpl.class);
     private final JwtUtil jwtUtil;
     private final UsersRepository usersRepo; 
+    private final UserLookupCache userLookupCache;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor loginVerificationExecutor;
     private final Gson gson = new Gson();
 
+    @Value("${auth.login.timeoutInMs}")
+    private long loginTimeoutInMs;
+
     @Override
     public ResponseEntity<JwtResponse> generateToken(LoginRequest loginReq) {
         String userName = loginReq.getUsername();
@@ -43,15 +69,13 @@ public class AuthServiceImpl implements AuthService {
             throw new AuthenticationFailedException(Constants.INVALID_PARAMETERS);
         }
 
-        Users user = usersRepo.findByUserName(userName);
+        Users user = userLookupCache.findByUserName(userName);
         if (user == null) {
             log.warn("generateToken: User not found");
             throw new AuthenticationFailedException(Constants.BAD_CREDENTIALS);
         }
 
-        // Ensure password is encoded before checking
-        String encodedPassword = Base64.getEncoder().encodeToString(password.getBytes());
-        if (!encodedPassword.equals(user.getPassword())) {
+        if (!verifyPassword(user, password)) {
             log.warn("generateToken: Invalid credentials");
             throw new AuthenticationFailedException(Constants.BAD_CREDENTIALS);
         }
@@ -71,6 +95,50 @@ public class AuthServiceImpl implements AuthService {
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
+    // hashing runs on the bounded login pool, fail fast when it is saturated
+    private boolean verifyPassword(Users user, String password) {
+        Future<Boolean> verification;
+        try {
+            verification = loginVerificationExecutor.submit(() -> passwordMatches(user, password));
+        } catch (RejectedExecutionException e) {
+            log.warn("generateToken: login verification pool saturated");
+            throw new ServiceUnavailableException(Constants.LOGIN_BUSY);
+        }
+
+        try {
+            return verification.get(loginTimeoutInMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            verification.cancel(true);
+            log.warn("generateToken: login verification timed out after {} ms", loginTimeoutInMs);
+            throw new ServiceUnavailableException(Constants.LOGIN_BUSY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(Constants.LOGIN_BUSY);
+        } catch (ExecutionException e) {
+            log.error("generateToken: login verification failed", e.getCause());
+            throw new InternalServerErrorException(Constants.SERVER_ERROR);
+        }
+    }
+
+    // bcrypt for migrated users, legacy Base64 otherwise (rehashed to bcrypt on the first successful login)
+    private boolean passwordMatches(Users user, String password) {
+        String stored = user.getPassword();
+        if (stored != null && stored.startsWith(Constants.BCRYPT_PREFIX)) {
+            return passwordEncoder.matches(password, stored.substring(Constants.BCRYPT_PREFIX.length()));
+        }
+
+        byte[] encodedPassword = Base64.getEncoder().encode(password.getBytes(StandardCharsets.UTF_8));
+        if (stored == null || !MessageDigest.isEqual(encodedPassword, stored.getBytes(StandardCharsets.UTF_8))) {
+            return false;
+        }
+
+        Users migrated = new Users(user.getUserId(), user.getUserName(), Constants.BCRYPT_PREFIX + passwordEncoder.encode(password));
+        usersRepo.save(migrated);
+        userLookupCache.put(migrated);
+        log.info("generateToken: password for user {} migrated to bcrypt", user.getUserName());
+        return true;
+    }
+
     @Override
     public ResponseEntity<JwtResponse> refreshToken(RefreshTokenRequest refreshTokenReq) {
         String refreshToken = refreshTokenReq.getRefreshToken();
@@ -83,26 +151,57 @@ public class AuthServiceImpl implements AuthService {
             throw new ResourceNotFoundException(Constants.INVALID_PARAMETERS);
         }
 
+        // Parse once: signature, expiry and all claims
+        Claims claims;
+        try {
+            claims = jwtUtil.parseToken(refreshToken);
+        } catch (ExpiredJwtException e) {
+            log.warn("Refresh token has expired.");
+            throw new ForbiddenException(Constants.JWT_TOKEN_EXPIRED);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("Invalid refresh token provided.");
+            throw new AuthenticationFailedException(Constants.INVALID_REFRESH_TOKEN);
+        }
+
         // Validate Token Type
-        String tokenType = jwtUtil.getCustomClaimFromToken(refreshToken, Constants.TOKEN_TYPE);
+        Object tokenType = claims.get(Constants.TOKEN_TYPE);
         if (tokenType == null || !tokenType.equals(Constants.TYPE_REFRESH_TOKEN)) {
             log.warn("Invalid refresh token provided.");
-            throw new AuthenticationFailedException("Invalid refresh token");
+            throw new AuthenticationFailedException(Constants.INVALID_REFRESH_TOKEN);
         }
 
-        // Check if Token is Expired
-        if (Boolean.TRUE.equals(jwtUtil.isTokenExpired(refreshToken))) {
-            log.warn("Refresh token has expired.");
-            throw new ForbiddenException(Constants.JWT_TOKEN_EXPIRED);
+        String userName = claims.getSubject();
+        String familyId = claims.get(Constants.TOKEN_FAMILY, String.class);
+        String jti = claims.getId();
+
+        // Rotation: every refresh token is single use; replaying one revokes its whole family
+        if (jti != null && familyId != null) {
+            if (tokenRevocationStore.isFamilyRevoked(familyId)) {
+                log.warn("Refresh token family {} is revoked, user: {}", familyId, userName);
+                throw new AuthenticationFailedException(Constants.REFRESH_TOKEN_REVOKED);
+            }
+            long expiresAt = claims.getExpiration().getTime() / 1000;
+            if (!tokenRevocationStore.revokeToken(jti, expiresAt)) {
+                log.warn("Refresh token reuse detected, revoking family {} for user: {}", familyId, userName);
+                tokenRevocationStore.revokeFamily(familyId, System.currentTimeMillis() / 1000 + jwtUtil.getRefreshTokenExpirationTimeInSec());
+                throw new AuthenticationFailedException(Constants.REFRESH_TOKEN_REVOKED);
+            }
+        } else {
+            // issued before rotation existed: honour it once, keyed by its hash since it may carry no jti,
+            // and move the client onto a family
+            long expiresAt = claims.getExpiration().getTime() / 1000;
+            if (!tokenRevocationStore.revokeToken(legacyTokenKey(refreshToken), expiresAt)) {
+                log.warn("Pre-rotation refresh token replayed for user: {}", userName);
+                throw new AuthenticationFailedException(Constants.REFRESH_TOKEN_REVOKED);
+            }
+            familyId = UUID.randomUUID().toString();
         }
 
-        // Extract Username from Token
-        String userName = jwtUtil.getUsernameFromToken(refreshToken);
         log.info("Generating new tokens for user: {}", userName);
 
         // Generate New Access & Refresh Tokens
         String newJwtToken = jwtUtil.generateToken(userName, Constants.TYPE_AUTH_TOKEN);
-        String newRefreshToken = jwtUtil.generateToken(userName, Constants.TYPE_REFRESH_TOKEN);
+        String newRefreshToken = jwtUtil.generateToken(userName, Constants.TYPE_REFRESH_TOKEN, familyId);
 
         JwtResponse response = JwtResponse.builder()
                 .token(newJwtToken)
@@ -115,4 +214,13 @@ public class AuthServiceImpl implements AuthService {
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
+    private static String legacyTokenKey(String refreshToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+            return "sha256-" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
 }
@@ -0,0 +1,186 @@
+package com.api.videostreaming.serviceImpls;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.hibernate.Cache;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.videostreaming.entities.Video;
+import com.api.videostreaming.entities.VideoMetadata;
+import com.api.videostreaming.enums.CatalogChangeType;
+import com.api.videostreaming.pojos.events.CatalogChangeEvent;
+import com.api.videostreaming.repositories.VideoRepository;
+import com.api.videostreaming.services.CatalogInvalidationService;
+import com.api.videostreaming.utilities.InvalidationBus;
+import com.api.videostreaming.utilities.InvalidationTransport;
+import com.api.videostreaming.utilities.MulticastInvalidationTransport;
+import com.api.videostreaming.utilities.OutboxInvalidationTransport;
+
+import ch.qos.logback.classic.Logger;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Keeps the in-memory catalog state of every node (facets, fuzzy and suggestion indexes, related
+ * videos, popularity, playback snapshots) in step with edits made on other nodes.
+ *
+ * Local catalog changes are broadcast on the InvalidationBus, coalesced per flush interval. For
+ * each received invalidation the video is re-read from the primary and published locally as a
+ * remote CatalogChangeEvent, so every listener updates the same way it does for a local edit.
+ * The second-level cache only sees this node's writes, so it is evicted before the re-read.
+ * invalidation.transport picks the wire: outbox (cache_invalidations table), multicast, or none.
+ */
+@Service
+public class CatalogInvalidationServiceImpl implements CatalogInvalidationService {
+    private static final Logger log = (Logger) LoggerFactory.getLogger(CatalogInvalidationServiceImpl.class);
+    private static final int MAX_IDS_PER_MESSAGE = 1024;
+    private static final String VIDEO_CAST_ROLE = Video.class.getName() + ".cast";
+
+    private final VideoRepository videoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    // read-write on purpose: a replica may not have the change yet
+    private final TransactionTemplate primaryTransaction;
+
+    @Value("${invalidation.transport}")
+    private String transportName;
+
+    @Value("${invalidation.historySize}")
+    private int historySize;
+
+    @Value("${invalidation.replayTimeoutInMs}")
+    private long replayTimeoutInMs;
+
+    @Value("${invalidation.outbox.pollIntervalInMs}")
+    private long outboxPollIntervalInMs;
+
+    @Value("${invalidation.outbox.batchSize}")
+    private int outboxBatchSize;
+
+    @Value("${invalidation.outbox.retentionInSec}")
+    private long outboxRetentionInSec;
+
+    @Value("${invalidation.multicast.group}")
+    private String multicastGroup;
+
+    @Value("${invalidation.multicast.port}")
+    private int multicastPort;
+
+    @Value("${invalidation.multicast.interface}")
+    private String multicastInterface;
+
+    @Value("${invalidation.multicast.timeToLive}")
+    private int multicastTimeToLive;
+
+    private volatile InvalidationTransport transport;
+    private volatile InvalidationBus bus;
+
+    public CatalogInvalidationServiceImpl(VideoRepository videoRepository, ApplicationEventPublisher eventPublisher,
+                                          JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                                          PlatformTransactionManager transactionManager) {
+        this.videoRepository = videoRepository;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        transport = switch (transportName) {
+            case "outbox" -> new OutboxInvalidationTransport(jdbcTemplate, outboxPollIntervalInMs, outboxBatchSize, outboxRetentionInSec * 1000);
+            case "multicast" -> new MulticastInvalidationTransport(multicastGroup, multicastPort, multicastInterface, multicastTimeToLive);
+            default -> null;
+        };
+        if (transport == null) {
+            return;
+        }
+        // a fresh id per start: a restarted node is a new sender, so nobody waits for its old sequence
+        long nodeId = UUID.randomUUID().getMostSignificantBits();
+        bus = new InvalidationBus(nodeId, transport, this::reload, this::resyncAll,
+                MAX_IDS_PER_MESSAGE, historySize, replayTimeoutInMs, System::currentTimeMillis);
+        bus.start();
+        log.info("Catalog invalidation bus started: transport={}, node={}", transportName, nodeId);
+    }
+
+    // after commit: a peer reloading while the writer's transaction is open would re-read and cache the old row
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        InvalidationBus current = bus;
+        if (current != null && !event.isRemote()) {
+            current.invalidate(event.getVideoId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${invalidation.coalesceInMs}")
+    public void flush() {
+        InvalidationBus current = bus;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.flush();
+            current.checkGaps();
+        } catch (Exception e) {
+            log.error("Unable to broadcast catalog invalidations", e);
+        }
+    }
+
+    @Override
+    public void reload(Set<Long> videoIds) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        videoIds.forEach(videoId -> {
+            cache.evictEntityData(Video.class, videoId);
+            cache.evictCollectionData(VIDEO_CAST_ROLE, videoId);
+        });
+        // metadata is keyed by its own id, which the message does not carry
+        primaryTransaction.execute(status -> videoRepository.findMetadataIdsOf(videoIds))
+                .forEach(metadataId -> cache.evictEntityData(VideoMetadata.class, metadataId));
+        cache.evictQueryRegions();
+        primaryTransaction.executeWithoutResult(status -> videoIds.forEach(videoId -> publishRemote(videoId, videoRepository.findById(videoId))));
+        log.debug("Reloaded {} videos invalidated by another node", videoIds.size());
+    }
+
+    @Override
+    public void resyncAll() {
+        long started = System.currentTimeMillis();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        primaryTransaction.executeWithoutResult(status -> videoRepository.findAll().forEach(video -> publishRemote(video.getId(), Optional.of(video))));
+        log.warn("Catalog resynced after lost invalidations in {} ms", System.currentTimeMillis() - started);
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+        if (transport != null) {
+            transport.close();
+        }
+    }
+
+    // listeners run after commit and read the lazy cast and metadata, so they are loaded here
+    private void publishRemote(Long videoId, Optional<Video> video) {
+        video.ifPresent(loaded -> {
+            Hibernate.initialize(loaded.getCast());
+            Hibernate.initialize(loaded.getMetadata());
+        });
+        boolean removed = video.isEmpty() || !video.get().isActive();
+        eventPublisher.publishEvent(new CatalogChangeEvent(videoId,
+                removed ? CatalogChangeType.DELETED : CatalogChangeType.UPDATED, video.orElse(null), true));
+    }
+}
@@ -0,0 +1,328 @@
+package com.api.videostreaming.serviceImpls;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.videostreaming.entities.CatalogChange;
+import com.api.videostreaming.entities.Video;
+import com.api.videostreaming.entities.VideoMetadata;
+import com.api.videostreaming.pojos.events.CatalogChangeEvent;
+import com.api.videostreaming.repositories.CatalogChangeRepository;
+import com.api.videostreaming.repositories.VideoRepository;
+import com.api.videostreaming.services.CatalogSnapshotService;
+import com.api.videostreaming.utilities.ColumnarCatalog;
+import com.api.videostreaming.utilities.SnapshotFile;
+
+import ch.qos.logback.classic.Logger;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Serves the catalog read paths (load, play, listing and search) from a ColumnarCatalog instead
+ * of the database. Soft-deleted videos stay in, flagged inactive, because load and the unfiltered
+ * listing return them too.
+ *
+ * The catalog is checkpointed to a SnapshotFile whose high-water mark is the last catalog_changes
+ * seq it reflects. On startup a usable checkpoint is loaded and only the changes after its mark
+ * are replayed from the database; without one, the catalog is loaded in keyset batches of scalar
+ * rows. Change events keep it current right away once their transaction commits, so a checkpoint
+ * never holds a write that rolled back, and a tailer of catalog_changes re-reads every changed
+ * video, so nothing an event missed (another node's change, a lost remote event) stays stale.
+ *
+ * It loads ahead of the other ApplicationReadyEvent listeners, so the suggestion, facet, fuzzy,
+ * related and popularity indexes rebuild from it (findAllActive) rather than each reading every
+ * active video from the database.
+ */
+@Service
+public class CatalogSnapshotServiceImpl implements CatalogSnapshotService {
+    private static final Logger log = (Logger) LoggerFactory.getLogger(CatalogSnapshotServiceImpl.class);
+    private static final int SNAPSHOT_KIND = 0x4341544c; // "CATL"
+
+    private final VideoRepository videoRepository;
+    private final CatalogChangeRepository catalogChangeRepository;
+    // read-write, so loads and replays read the primary, where catalog_changes is gapless
+    private final TransactionTemplate primaryTransaction;
+    private volatile ColumnarCatalog catalog = new ColumnarCatalog();
+    private volatile boolean ready;
+    // every change up to this seq is in the catalog
+    private volatile long appliedSeq;
+    private long checkpointedSeq = -1;
+
+    @Value("${catalog.snapshot.enabled}")
+    private boolean enabled;
+
+    @Value("${catalog.snapshot.batchSize}")
+    private int batchSize;
+
+    @Value("${catalog.snapshot.filePath}")
+    private String filePath;
+
+    public CatalogSnapshotServiceImpl(VideoRepository videoRepository, CatalogChangeRepository catalogChangeRepository,
+                                      PlatformTransactionManager transactionManager) {
+        this.videoRepository = videoRepository;
+        this.catalogChangeRepository = catalogChangeRepository;
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public Optional<Video> find(Long videoId) {
+        if (videoId == null || videoId <= 0 || videoId > Integer.MAX_VALUE) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(catalog.get(videoId.intValue())).map(CatalogSnapshotServiceImpl::toVideo);
+    }
+
+    @Override
+    public List<Video> findAll(List<Long> videoIds) {
+        List<Video> videos = new ArrayList<>(videoIds.size());
+        videoIds.forEach(videoId -> find(videoId).ifPresent(videos::add));
+        return videos;
+    }
+
+    @Override
+    public List<Video> findAllActive() {
+        if (!ready) {
+            return videoRepository.findByIsActiveTrue();
+        }
+        ColumnarCatalog current = catalog;
+        List<Video> videos = new ArrayList<>(current.size());
+        current.ids().forEach((int id) -> {
+            ColumnarCatalog.Row row = current.get(id);
+            if (row != null && row.active()) {
+                videos.add(toVideo(row));
+            }
+        });
+        return videos;
+    }
+
+    @Override
+    public RoaringBitmap allIds() {
+        return catalog.ids();
+    }
+
+    @Override
+    public RoaringBitmap search(String searchPhrase) {
+        return catalog.search(searchPhrase);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        boolean warm = warmStart();
+        if (!warm) {
+            loadFromDatabase();
+        }
+        ready = true;
+        log.info("Catalog snapshot {}: {} videos at seq {}, ~{} MB in {} ms", warm ? "restored" : "loaded", catalog.size(),
+                appliedSeq, catalog.estimatedBytes() / (1024 * 1024), System.currentTimeMillis() - started);
+    }
+
+    // applies catalog_changes committed since the last run, including other nodes' changes
+    @Scheduled(fixedDelayString = "${catalog.snapshot.catchUpIntervalInMs}")
+    public void catchUp() {
+        if (!ready) {
+            return;
+        }
+        try {
+            replayChanges();
+        } catch (Exception e) {
+            log.warn("Catching up on catalog_changes after seq {} failed: {}", appliedSeq, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.snapshot.checkpointIntervalInMs}", initialDelayString = "${catalog.snapshot.checkpointIntervalInMs}")
+    public synchronized void checkpoint() {
+        if (!ready || filePath.isBlank() || appliedSeq == checkpointedSeq) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        long seq = appliedSeq; // read before the columns, so the file holds at least everything up to it
+        ColumnarCatalog current = catalog;
+        try {
+            SnapshotFile.write(Path.of(filePath), SNAPSHOT_KIND, ColumnarCatalog.SNAPSHOT_VERSION, seq, current::writeTo);
+            checkpointedSeq = seq;
+            log.info("Catalog snapshot checkpointed at seq {}: {} videos in {} ms", seq, current.size(),
+                    System.currentTimeMillis() - started);
+        } catch (IOException e) {
+            log.error("Unable to checkpoint the catalog snapshot to {}", filePath, e);
+        }
+    }
+
+    // the next start, typically the next release during a rolling deploy, replays next to nothing
+    @PreDestroy
+    public void close() {
+        checkpoint();
+    }
+
+    private boolean warmStart() {
+        if (filePath.isBlank()) {
+            return false;
+        }
+        Optional<SnapshotFile.Loaded<ColumnarCatalog>> loaded;
+        try {
+            loaded = SnapshotFile.read(Path.of(filePath), SNAPSHOT_KIND, ColumnarCatalog.SNAPSHOT_VERSION, ColumnarCatalog::readFrom);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unable to read the catalog snapshot {}, loading from the database: {}", filePath, e.getMessage());
+            return false;
+        }
+        if (loaded.isEmpty()) {
+            return false;
+        }
+        long highWaterMark = loaded.get().header().highWaterMark();
+        long latestSeq = primaryTransaction.execute(status -> catalogChangeRepository.findLatestSeq());
+        if (highWaterMark > latestSeq) {
+            // the database was restored or replaced since the checkpoint
+            log.warn("Catalog snapshot {} is at seq {} but catalog_changes ends at {}, loading from the database",
+                    filePath, highWaterMark, latestSeq);
+            return false;
+        }
+        catalog = loaded.get().value();
+        appliedSeq = highWaterMark;
+        checkpointedSeq = highWaterMark;
+        int replayed = replayChanges();
+        log.info("Catalog snapshot {} from {} replayed {} changes after seq {}", filePath,
+                Instant.ofEpochMilli(loaded.get().header().createdAt()), replayed, highWaterMark);
+        return true;
+    }
+
+    // rows changed by events while loading are newer than what the load read, so they are kept
+    private void loadFromDatabase() {
+        // taken first: every change up to it is committed, so the batches read it
+        appliedSeq = primaryTransaction.execute(status -> catalogChangeRepository.findLatestSeq());
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            List<Object[]> rows = primaryTransaction.execute(status -> videoRepository.findSnapshotRows(from, PageRequest.of(0, batchSize)));
+            if (rows.isEmpty()) {
+                break;
+            }
+            List<Long> videoIds = rows.stream().map(row -> (Long) row[0]).toList();
+            Map<Long, List<String>> casts = primaryTransaction.execute(status -> castsOf(videoIds));
+            rows.forEach(row -> catalog.putIfAbsent(toRow(row, casts.getOrDefault((Long) row[0], List.of()))));
+            afterId = videoIds.get(videoIds.size() - 1);
+        }
+    }
+
+    // re-reads the videos named by changes after appliedSeq, a batch at a time; returns the changes applied
+    private synchronized int replayChanges() {
+        int replayed = 0;
+        while (true) {
+            int count = primaryTransaction.execute(status -> {
+                List<CatalogChange> changes = catalogChangeRepository.findBySeqGreaterThanOrderBySeqAsc(appliedSeq, PageRequest.of(0, batchSize));
+                if (changes.isEmpty()) {
+                    return 0;
+                }
+                Set<Long> videoIds = new LinkedHashSet<>();
+                changes.forEach(change -> videoIds.add(change.getVideoId()));
+                reload(videoIds);
+                appliedSeq = changes.get(changes.size() - 1).getSeq();
+                return changes.size();
+            });
+            replayed += count;
+            if (count < batchSize) {
+                return replayed;
+            }
+        }
+    }
+
+    private void reload(Collection<Long> videoIds) {
+        List<Object[]> rows = videoRepository.findSnapshotRowsByIds(videoIds);
+        Map<Long, List<String>> casts = castsOf(videoIds);
+        Set<Long> gone = new HashSet<>(videoIds);
+        for (Object[] row : rows) {
+            gone.remove((Long) row[0]);
+            catalog.put(toRow(row, casts.getOrDefault((Long) row[0], List.of())));
+        }
+        gone.forEach(videoId -> catalog.remove(Math.toIntExact(videoId)));
+    }
+
+    private Map<Long, List<String>> castsOf(Collection<Long> videoIds) {
+        Map<Long, List<String>> casts = new HashMap<>();
+        videoRepository.findCastOf(videoIds)
+                .forEach(row -> casts.computeIfAbsent((Long) row[0], key -> new ArrayList<>()).add((String) row[1]));
+        return casts;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.getVideo() == null) {
+            catalog.remove(Math.toIntExact(event.getVideoId())); // gone from the database
+        } else {
+            catalog.put(toRow(event.getVideo()));
+        }
+    }
+
+    private static ColumnarCatalog.Row toRow(Object[] row, List<String> cast) {
+        return new ColumnarCatalog.Row(Math.toIntExact((Long) row[0]), (String) row[1], (String) row[2], cast,
+                (String) row[3], (Long) row[4], (String) row[5], (Integer) row[6], (Integer) row[7], (Boolean) row[8],
+                (String) row[9], (Integer) row[10], (Integer) row[11]);
+    }
+
+    private static ColumnarCatalog.Row toRow(Video video) {
+        VideoMetadata metadata = video.getMetadata();
+        return new ColumnarCatalog.Row(Math.toIntExact(video.getId()), video.getTitle(), video.getDirector(),
+                video.getCast() == null ? null : new ArrayList<>(video.getCast()), video.getFileUrl(), video.getFileSize(),
+                video.getFormat(), video.getResolution(), video.getDuration(), video.isActive(),
+                metadata == null ? null : metadata.getGenre(),
+                metadata == null ? null : metadata.getYearOfRelease(),
+                metadata == null ? null : metadata.getRunningTime());
+    }
+
+    private static Video toVideo(ColumnarCatalog.Row row) {
+        boolean noMetadata = row.genre() == null && row.yearOfRelease() == null && row.runningTime() == null;
+        VideoMetadata metadata = noMetadata ? null : VideoMetadata.builder()
+                .genre(row.genre())
+                .yearOfRelease(row.yearOfRelease())
+                .runningTime(row.runningTime())
+                .build();
+        return Video.builder()
+                .id((long) row.id())
+                .title(row.title())
+                .director(row.director())
+                .cast(row.cast())
+                .isActive(row.active())
+                .fileUrl(row.fileUrl())
+                .fileSize(row.fileSize())
+                .format(row.format())
+                .resolution(row.resolution())
+                .duration(row.duration())
+                .metadata(metadata)
+                .build();
+    }
+}
@@ -0,0 +1,143 @@
+package com.api.videostreaming.serviceImpls;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.api.videostreaming.entities.CatalogChange;
+import com.api.videostreaming.entities.CatalogChangeSequence;
+import com.api.videostreaming.pojos.events.CatalogChangeEvent;
+import com.api.videostreaming.pojos.responses.CatalogChangeResponse;
+import com.api.videostreaming.pojos.responses.ChangeFeedResponse;
+import com.api.videostreaming.repositories.CatalogChangeRepository;
+import com.api.videostreaming.repositories.CatalogChangeSequenceRepository;
+import com.api.videostreaming.services.ChangeFeedService;
+
+import ch.qos.logback.classic.Logger;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Change feed for downstream consumers (search, CDN purge, analytics), backed by the
+ * catalog_changes outbox.
+ *
+ * Every local catalog change is appended inside the transaction that made it, so the feed holds
+ * exactly the committed mutations. Consumers read batches by seq from any offset; a caught-up
+ * consumer's request is parked and answered by the poller as soon as a newer seq shows up, which
+ * costs one MAX(seq) query per interval however many consumers are waiting.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChangeFeedServiceImpl implements ChangeFeedService {
+    private static final Logger log = (Logger) LoggerFactory.getLogger(ChangeFeedServiceImpl.class);
+    private static final int SEQUENCE_ROW = 1;
+
+    private final CatalogChangeRepository changeRepository;
+    private final CatalogChangeSequenceRepository sequenceRepository;
+
+    @Value("${feed.maxBatchSize}")
+    private int maxBatchSize;
+
+    @Value("${feed.maxWaitInMs}")
+    private long maxWaitInMs;
+
+    private record Waiter(long since, int limit, DeferredResult<ResponseEntity<ChangeFeedResponse>> result) {}
+
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createSequence() {
+        if (sequenceRepository.existsById(SEQUENCE_ROW)) {
+            return;
+        }
+        try {
+            sequenceRepository.saveAndFlush(new CatalogChangeSequence(SEQUENCE_ROW, changeRepository.findLatestSeq()));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Catalog change sequence was created by another node");
+        }
+    }
+
+    // in the publisher's transaction, so the outbox row commits or rolls back with the change
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (event.isRemote()) {
+            return; // appended by the node that made it
+        }
+        CatalogChangeSequence sequence = sequenceRepository.findForUpdate(SEQUENCE_ROW)
+                .orElseThrow(() -> new IllegalStateException("Catalog change sequence row is missing"));
+        long seq = sequence.getLastSeq() + 1;
+        sequence.setLastSeq(seq);
+        changeRepository.save(CatalogChange.builder()
+                .seq(seq)
+                .videoId(event.getVideoId())
+                .type(event.getType())
+                .title(event.getVideo() == null ? null : event.getVideo().getTitle())
+                .active(event.getVideo() != null && event.getVideo().isActive())
+                .changedAt(System.currentTimeMillis())
+                .build());
+        log.debug("Catalog change {} appended: Video ID={}, Type={}", seq, event.getVideoId(), event.getType());
+    }
+
+    @Override
+    public DeferredResult<ResponseEntity<ChangeFeedResponse>> getChanges(long since, int limit, long waitInMs) {
+        int batch = Math.max(1, Math.min(limit, maxBatchSize));
+        long wait = Math.max(0, Math.min(waitInMs, maxWaitInMs));
+        DeferredResult<ResponseEntity<ChangeFeedResponse>> result = new DeferredResult<>(wait);
+
+        List<CatalogChange> changes = changeRepository.findBySeqGreaterThanOrderBySeqAsc(since, PageRequest.of(0, batch));
+        if (!changes.isEmpty() || wait == 0) {
+            result.setResult(response(since, batch, changes));
+            return result;
+        }
+        Waiter waiter = new Waiter(since, batch, result);
+        result.onTimeout(() -> result.setResult(response(since, batch, List.of())));
+        result.onCompletion(() -> waiters.remove(waiter));
+        waiters.add(waiter);
+        return result;
+    }
+
+    // answers parked consumers once something newer than their offset has committed
+    @Scheduled(fixedDelayString = "${feed.pollIntervalInMs}")
+    public void releaseWaiters() {
+        if (waiters.isEmpty()) {
+            return;
+        }
+        long latest = changeRepository.findLatestSeq();
+        for (Waiter waiter : waiters) {
+            if (waiter.since() < latest && !waiter.result().isSetOrExpired()) {
+                waiter.result().setResult(response(waiter.since(), waiter.limit(),
+                        changeRepository.findBySeqGreaterThanOrderBySeqAsc(waiter.since(), PageRequest.of(0, waiter.limit()))));
+            }
+        }
+    }
+
+    private static ResponseEntity<ChangeFeedResponse> response(long since, int batch, List<CatalogChange> changes) {
+        ChangeFeedResponse response = ChangeFeedResponse.builder()
+                .changes(changes.stream().map(change -> CatalogChangeResponse.builder()
+                        .seq(change.getSeq())
+                        .videoId(change.getVideoId())
+                        .type(change.getType())
+                        .title(change.getTitle())
+                        .active(change.isActive())
+                        .changedAt(change.getChangedAt())
+                        .build()).toList())
+                .nextSeq(changes.isEmpty() ? since : changes.get(changes.size() - 1).getSeq())
+                .caughtUp(changes.size() < batch)
+                .build();
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+}
@@ -1,114 +1,303 @@
 package com.api.videostreaming.serviceImpls;
 
+import com.api.videostreaming.entities.Users;
 import com.api.videostreaming.entities.Video;
-import com.api.videostreaming.entities.VideoEngagements;
 import com.api.videostreaming.enums.EngagementType;
 import com.api.videostreaming.exceptions.customExceptions.ResourceNotFoundException;
+import com.api.videostreaming.exceptions.customExceptions.ServiceUnavailableException;
+import com.api.videostreaming.pojos.responses.EngagementEvent;
 import com.api.videostreaming.pojos.responses.EngagementResponse;
-import com.api.videostreaming.repositories.VideoEngagementRepository;
+import com.api.videostreaming.pojos.responses.EngagementSummaryResponse;
 import com.api.videostreaming.repositories.VideoRepository;
+import com.api.videostreaming.securities.UserLookupCache;
 import com.api.videostreaming.services.EngagementService;
+import com.api.videostreaming.services.FacetService;
+import com.api.videostreaming.utilities.Constants;
+import com.api.videostreaming.utilities.EngagementStore;
+import com.api.videostreaming.utilities.SingleFlight;
+import com.api.videostreaming.utilities.TimingWheelDedupSet;
 
 import ch.qos.logback.classic.Logger;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @RequiredArgsConstructor
 public class EngagementServiceImpl implements EngagementService {
     private static final Logger log = (Logger) LoggerFactory.getLogger(EngagementServiceImpl.class);
+    private static final long DEDUP_TICK_MILLIS = 1000;
+    private static final int DEDUP_SHARDS = 64;
+    private static final int MAX_SUMMARY_LIMIT = 100;
     private final VideoRepository videoRepository;
-    private final VideoEngagementRepository engagementRepository;
+    private final EngagementStore engagementStore;
+    private final FacetService facetService;
+    private final UserLookupCache userLookupCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${engagement.useKafka}") 
     private boolean useKafka;
 
+    // 0 disables de-duplication
+    @Value("${engagement.dedupWindowInSec}")
+    private long dedupWindowInSec;
+
+    // (user, video, type) keys counted inside the current window
+    private TimingWheelDedupSet recentEngagements;
+
+    @Value("${catalog.singleFlight.timeoutInMs}")
+    private long loadTimeoutInMs;
+
+    // immutable, handed to every caller waiting on the same load
+    private record EngagementStats(Long videoId, String title, int impressions, int views) {}
+    private final SingleFlight<Long, EngagementStats> statsLoads = new SingleFlight<>();
+
+    @PostConstruct
+    public void init() {
+        if (dedupWindowInSec > 0) {
+            recentEngagements = new TimingWheelDedupSet(dedupWindowInSec * 1000, DEDUP_TICK_MILLIS, DEDUP_SHARDS);
+        }
+    }
+
 
     @Override
     @Transactional
     public ResponseEntity<EngagementResponse> trackEngagement(Long videoId, EngagementType type) {
         log.info("Processing engagement tracking for Video ID={}, Type={}", videoId, type);
-    
-        Video video = videoRepository.findById(videoId)
-                .orElseThrow(() -> new ResourceNotFoundException("Video not found for ID: " + videoId));
+
+        // per-user stream for in-process consumers (related videos)
+        Long userId = currentUserId();
+
+        // refreshes and player retries inside the window are acknowledged but not counted, and
+        // cost nothing beyond this check
+        if (isDuplicate(userId, videoId, type)) {
+            return duplicate(userId, videoId, type);
+        }
+        requireActive(userId, videoId, type);
     
         if (useKafka) {
-            // Simulate sending event to Kafka
-            // KafkaTemplate<String, String> kafkaTemplate
-            // kafkaTemplate.send(topic, message)
-            log.info("Engagement event sent to Kafka for Video ID: {}, Type: {}", videoId, type);
-    
-            EngagementResponse response = EngagementResponse.builder()
-                    .success(true)
-                    .message("Engagement event sent to Kafka")
-                    .videoId(videoId)
-                    .type(type)
-                    .build();
-    
-            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
-        } else {
-            // Fetch existing engagement or create a new one
-            VideoEngagements engagement = engagementRepository.findByVideoId(videoId).orElse(null);
+            return sendToKafka(userId, videoId, type);
+        }
+        // one atomic increment in whichever store is configured
+        try {
+            engagementStore.increment(videoId, type);
+        } catch (RuntimeException e) {
+            // nothing was counted, so the client's retry must not be taken for a duplicate
+            forget(userId, videoId, type);
+            throw e;
+        }
+        return recorded(userId, videoId, type);
+    }
+
+    @Override
+    public CompletionStage<ResponseEntity<EngagementResponse>> trackEngagement(Long videoId, EngagementType type,
+                                                                               BiFunction<Long, EngagementType, CompletionStage<?>> write) {
+        log.info("Processing engagement tracking for Video ID={}, Type={}", videoId, type);
+
+        Long userId = currentUserId();
+        if (isDuplicate(userId, videoId, type)) {
+            return CompletableFuture.completedFuture(duplicate(userId, videoId, type));
+        }
+        requireActive(userId, videoId, type);
+
+        if (useKafka) {
+            return CompletableFuture.completedFuture(sendToKafka(userId, videoId, type));
+        }
+        return write.apply(videoId, type).handle((ignored, error) -> {
+            if (error != null) {
+                forget(userId, videoId, type);
+                throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+            }
+            return recorded(userId, videoId, type);
+        });
+    }
+
+    private ResponseEntity<EngagementResponse> duplicate(Long userId, Long videoId, EngagementType type) {
+        log.info("Duplicate engagement ignored for Video ID={}, User ID={}, Type={}", videoId, userId, type);
+        EngagementResponse response = EngagementResponse.builder()
+                .success(true)
+                .message(Constants.ENGAGEMENT_DUPLICATE)
+                .videoId(videoId)
+                .userId(userId)
+                .type(type)
+                .build();
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    // in-memory check against the active bitmap, so a burst on a new release never reads MySQL
+    private void requireActive(Long userId, Long videoId, EngagementType type) {
+        if (!facetService.isActive(videoId)) {
+            forget(userId, videoId, type);
+            throw new ResourceNotFoundException("Video not found for ID: " + videoId);
+        }
+    }
+
+    private ResponseEntity<EngagementResponse> sendToKafka(Long userId, Long videoId, EngagementType type) {
+        // Simulate sending event to Kafka
+        // KafkaTemplate<String, String> kafkaTemplate
+        // kafkaTemplate.send(topic, message)
+        log.info("Engagement event sent to Kafka for Video ID: {}, Type: {}", videoId, type);
+        publishOnCommit(userId, videoId, type);
+
+        EngagementResponse response = EngagementResponse.builder()
+                .success(true)
+                .message("Engagement event sent to Kafka")
+                .videoId(videoId)
+                .type(type)
+                .build();
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    private ResponseEntity<EngagementResponse> recorded(Long userId, Long videoId, EngagementType type) {
+        log.info("Engagement recorded for Video ID={}, Type={}", videoId, type);
+        publishOnCommit(userId, videoId, type);
+
+        EngagementResponse response = EngagementResponse.builder()
+                .success(true)
+                .message("Engagement recorded successfully")
+                .videoId(videoId)
+                .userId(userId)
+                .build();
+
+        log.info("Engagement response : {}",response);
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
     
-            if (engagement == null) {
-                engagement = VideoEngagements.builder()
-                        .video(video)
-                        .build();
-                log.info("New engagement created for Video ID={}", videoId);
-            } else {
-                if (type == EngagementType.IMPRESSION) {
-                    engagement.setImpressions(engagement.getImpressions() + 1);
-                } else {
-                    engagement.setViews(engagement.getViews() + 1);
+
+    // anonymous callers have no stable key and are always counted
+    private boolean isDuplicate(Long userId, Long videoId, EngagementType type) {
+        return recentEngagements != null && userId != null
+                && !recentEngagements.firstSeen(TimingWheelDedupSet.keyOf(userId, videoId, type.ordinal()));
+    }
+
+    private void forget(Long userId, Long videoId, EngagementType type) {
+        if (recentEngagements != null && userId != null) {
+            recentEngagements.forget(TimingWheelDedupSet.keyOf(userId, videoId, type.ordinal()));
+        }
+    }
+
+    // listeners only hear about engagements that were counted; a rollback releases the dedup key
+    private void publishOnCommit(Long userId, Long videoId, EngagementType type) {
+        EngagementEvent event = new EngagementEvent(videoId, userId, type);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eventPublisher.publishEvent(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eventPublisher.publishEvent(event);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    forget(userId, videoId, type);
                 }
-                log.info("Updated engagement for Video ID={} -> Impressions={}, Views={}",
-                        videoId, engagement.getImpressions(), engagement.getViews());
             }
-    
-            engagementRepository.save(engagement);
-            log.info("Engagement recorded in DB for Video ID={}, Type={}", videoId, type);
-    
-            EngagementResponse response = EngagementResponse.builder()
-                    .success(true)
-                    .message("Engagement recorded successfully")
-                    .videoId(videoId)
-                    .build();
-    
-            log.info("Engagement response : {}",response);
-            return ResponseEntity.status(HttpStatus.OK).body(response);
+        });
+    }
+
+    // id of the authenticated caller, null for anonymous requests
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
         }
+        Users user = userLookupCache.findByUserName(authentication.getName());
+        return user == null ? null : user.getUserId();
     }
-    
+
 
     @Override
     public ResponseEntity<EngagementResponse> getEngagements(Long videoId) {
         log.info("Fetching engagement stats for Video ID={}", videoId);
     
-        Video video = videoRepository.findById(videoId)
-                .orElseThrow(() -> new ResourceNotFoundException("Video not found for ID: " + videoId));
-    
-        // Fetch impressions & views directly from the database
-        VideoEngagements engagement = engagementRepository.findByVideoId(videoId)
-                .orElseThrow(() -> new ResourceNotFoundException("Engagement data not found for Video ID: " + videoId));
+        // concurrent reads of one video's stats share a single pair of queries
+        EngagementStats stats;
+        try {
+            stats = statsLoads.load(videoId, () -> loadStats(videoId), loadTimeoutInMs);
+        } catch (TimeoutException e) {
+            log.warn("Timed out after {} ms waiting for in-flight stats of Video ID={}", loadTimeoutInMs, videoId);
+            throw new ServiceUnavailableException(Constants.LOOKUP_TIMEOUT);
+        }
     
         EngagementResponse response = EngagementResponse.builder()
-                .videoId(video.getId())
-                .title(video.getTitle())
-                .impressions(engagement.getImpressions()) // Fetch actual impression count
-                .views(engagement.getViews()) // Fetch actual view count
+                .videoId(stats.videoId())
+                .title(stats.title())
+                .impressions(stats.impressions()) // Fetch actual impression count
+                .views(stats.views()) // Fetch actual view count
                 .message("Engagement statistics retrieved successfully")
                 .success(true)
                 .build();
     
         log.info("Returning engagement stats for Video ID={} -> Impressions={}, Views={}",
-                videoId, engagement.getImpressions(), engagement.getViews());
+                videoId, stats.impressions(), stats.views());
     
         return ResponseEntity.status(HttpStatus.OK).body(response);
-    }    
+    }
+
+    // runs on the leader's thread; not-found errors reach every waiting caller
+    private EngagementStats loadStats(Long videoId) {
+        Video video = videoRepository.findById(videoId)
+                .orElseThrow(() -> new ResourceNotFoundException("Video not found for ID: " + videoId));
+    
+        // Fetch impressions & views directly from the database
+        EngagementStore.Counts engagement = engagementStore.find(videoId)
+                .orElseThrow(() -> new ResourceNotFoundException("Engagement data not found for Video ID: " + videoId));
+    
+        return new EngagementStats(video.getId(), video.getTitle(), engagement.impressions(), engagement.views());
+    }
+
+    @Override
+    public ResponseEntity<EngagementSummaryResponse> getEngagementSummary(int limit) {
+        log.info("Fetching engagement summary, top {} by views", limit);
+
+        // both fan out to every engagement shard in parallel when sharding is enabled
+        EngagementStore.Totals totals = engagementStore.totals();
+        List<EngagementStore.Counts> top = engagementStore.topByViews(Math.max(0, Math.min(limit, MAX_SUMMARY_LIMIT)));
+
+        Map<Long, String> titles = videoRepository.findAllById(top.stream().map(EngagementStore.Counts::videoId).toList())
+                .stream()
+                .collect(Collectors.toMap(Video::getId, Video::getTitle));
+        List<EngagementResponse> topByViews = top.stream()
+                .map(engagement -> EngagementResponse.builder()
+                        .videoId(engagement.videoId())
+                        .title(titles.get(engagement.videoId()))
+                        .impressions(engagement.impressions())
+                        .views(engagement.views())
+                        .success(true)
+                        .build())
+                .toList();
+
+        EngagementSummaryResponse response = EngagementSummaryResponse.builder()
+                .totalImpressions(totals.impressions())
+                .totalViews(totals.views())
+                .engagedVideos(totals.videos())
+                .topByViews(topByViews)
+                .build();
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
 }
@@ -0,0 +1,144 @@
+package com.api.videostreaming.serviceImpls;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.api.videostreaming.entities.Video;
+import com.api.videostreaming.enums.CatalogChangeType;
+import com.api.videostreaming.pojos.events.CatalogChangeEvent;
+import com.api.videostreaming.pojos.requests.FacetFilter;
+import com.api.videostreaming.services.CatalogSnapshotService;
+import com.api.videostreaming.services.FacetService;
+import com.api.videostreaming.utilities.Constants;
+import com.api.videostreaming.utilities.FacetBitmapIndex;
+
+import ch.qos.logback.classic.Logger;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Facet bitmaps over active videos: genre, year, resolution, format and duration bucket.
+ * Built at startup and maintained from catalog change events; soft-deleted videos drop out
+ * of every bitmap.
+ */
+@Service
+@RequiredArgsConstructor
+public class FacetServiceImpl implements FacetService {
+    private static final Logger log = (Logger) LoggerFactory.getLogger(FacetServiceImpl.class);
+
+    // upper bounds in minutes, the last bucket is open ended
+    private static final int[] DURATION_BUCKETS = {30, 60, 90, 120};
+
+    private final CatalogSnapshotService catalogSnapshot;
+    private final FacetBitmapIndex index = new FacetBitmapIndex(List.of(
+            Constants.FACET_GENRE, Constants.FACET_YEAR, Constants.FACET_RESOLUTION, Constants.FACET_FORMAT, Constants.FACET_DURATION));
+
+    @Override
+    public RoaringBitmap match(FacetFilter filter) {
+        return index.match(filtersOf(filter));
+    }
+
+    @Override
+    public Map<String, Map<String, Integer>> counts(FacetFilter filter, RoaringBitmap within) {
+        return index.counts(filtersOf(filter), within);
+    }
+
+    @Override
+    public boolean isActive(long videoId) {
+        return videoId <= Integer.MAX_VALUE && index.isActive((int) videoId);
+    }
+
+    @Override
+    public List<Long> orderedByYear(RoaringBitmap within, long offset, int limit) {
+        Comparator<String> newestFirst = Comparator.comparing(Integer::valueOf, Comparator.reverseOrder());
+        return index.orderedBy(Constants.FACET_YEAR, newestFirst, within, offset, limit).stream()
+                .map(Integer::longValue)
+                .collect(Collectors.toList());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        List<Video> videos = catalogSnapshot.findAllActive();
+        Map<Integer, Map<String, String>> documents = new HashMap<>();
+        videos.forEach(video -> documents.put(Math.toIntExact(video.getId()), valuesOf(video)));
+        index.putAll(documents);
+        log.info("Facet index built: {} videos in {} ms", videos.size(), System.currentTimeMillis() - started);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        int id = Math.toIntExact(event.getVideoId());
+        if (event.getType() == CatalogChangeType.DELETED || !event.getVideo().isActive()) {
+            index.remove(id);
+        } else {
+            index.put(id, valuesOf(event.getVideo()));
+        }
+    }
+
+    private Map<String, String> valuesOf(Video video) {
+        Map<String, String> values = new HashMap<>();
+        if (video.getMetadata() != null) {
+            values.put(Constants.FACET_GENRE, normalize(video.getMetadata().getGenre()));
+            values.put(Constants.FACET_YEAR, toString(video.getMetadata().getYearOfRelease()));
+        }
+        values.put(Constants.FACET_RESOLUTION, toString(video.getResolution()));
+        values.put(Constants.FACET_FORMAT, normalize(video.getFormat()));
+        values.put(Constants.FACET_DURATION, durationBucketOf(video.getDuration()));
+        return values;
+    }
+
+    private Map<String, List<String>> filtersOf(FacetFilter filter) {
+        Map<String, List<String>> filters = new LinkedHashMap<>();
+        if (filter == null) {
+            return filters;
+        }
+        filters.put(Constants.FACET_GENRE, normalized(filter.getGenre()));
+        filters.put(Constants.FACET_YEAR, normalized(filter.getYear()));
+        filters.put(Constants.FACET_RESOLUTION, normalized(filter.getResolution()));
+        filters.put(Constants.FACET_FORMAT, normalized(filter.getFormat()));
+        filters.put(Constants.FACET_DURATION, normalized(filter.getDuration()));
+        return filters;
+    }
+
+    private List<String> normalized(List<?> values) {
+        return values == null ? null : values.stream().map(String::valueOf).map(this::normalize).collect(Collectors.toList());
+    }
+
+    // duration is stored in seconds, bucket labels are in minutes: 0-30, 30-60, ..., 120+
+    private String durationBucketOf(Integer durationInSec) {
+        if (durationInSec == null) {
+            return null;
+        }
+        int minutes = durationInSec / 60;
+        int lower = 0;
+        for (int upper : DURATION_BUCKETS) {
+            if (minutes < upper) {
+                return lower + "-" + upper;
+            }
+            lower = upper;
+        }
+        return lower + "+";
+    }
+
+    private String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase();
+    }
+
+    private String toString(Integer value) {
+        return value == null ? null : value.toString();
+    }
+}
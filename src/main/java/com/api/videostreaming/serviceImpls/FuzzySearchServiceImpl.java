@@ -0,0 +1,82 @@
+package com.api.videostreaming.serviceImpls;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.api.videostreaming.entities.Video;
+import com.api.videostreaming.enums.CatalogChangeType;
+import com.api.videostreaming.pojos.events.CatalogChangeEvent;
+import com.api.videostreaming.services.CatalogSnapshotService;
+import com.api.videostreaming.services.FuzzySearchService;
+import com.api.videostreaming.utilities.FuzzyTermIndex;
+
+import ch.qos.logback.classic.Logger;
+
+/**
+ * Typo-tolerant search over titles, genres, directors and cast of active videos, served from an
+ * in-memory term dictionary. Director and cast words are also matched phonetically.
+ */
+@Service
+public class FuzzySearchServiceImpl implements FuzzySearchService {
+    private static final Logger log = (Logger) LoggerFactory.getLogger(FuzzySearchServiceImpl.class);
+
+    private final CatalogSnapshotService catalogSnapshot;
+    private final int maxEdits;
+    private final FuzzyTermIndex index = new FuzzyTermIndex();
+
+    public FuzzySearchServiceImpl(CatalogSnapshotService catalogSnapshot, @Value("${search.fuzzy.maxEdits}") int maxEdits) {
+        this.catalogSnapshot = catalogSnapshot;
+        this.maxEdits = maxEdits;
+    }
+
+    @Override
+    public List<Long> search(String searchPhrase) {
+        return index.search(searchPhrase, maxEdits).keySet().stream()
+                .map(Integer::longValue)
+                .collect(Collectors.toList());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        List<Video> videos = catalogSnapshot.findAllActive();
+        videos.forEach(this::index);
+        log.info("Fuzzy term index built: {} videos in {} ms", videos.size(), System.currentTimeMillis() - started);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (event.getType() == CatalogChangeType.DELETED || !event.getVideo().isActive()) {
+            index.remove(Math.toIntExact(event.getVideoId()));
+        } else {
+            index(event.getVideo());
+        }
+    }
+
+    private void index(Video video) {
+        List<String> texts = new ArrayList<>();
+        texts.add(video.getTitle());
+        if (video.getMetadata() != null && video.getMetadata().getGenre() != null) {
+            texts.add(video.getMetadata().getGenre());
+        }
+        List<String> names = new ArrayList<>();
+        if (video.getDirector() != null) {
+            names.add(video.getDirector());
+        }
+        if (video.getCast() != null) {
+            names.addAll(video.getCast());
+        }
+        index.put(Math.toIntExact(video.getId()), texts, names);
+    }
+}
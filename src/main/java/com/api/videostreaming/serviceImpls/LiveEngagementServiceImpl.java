@@ -0,0 +1,178 @@
+package com.api.videostreaming.serviceImpls;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.api.videostreaming.exceptions.customExceptions.ServiceUnavailableException;
+import com.api.videostreaming.pojos.responses.EngagementEvent;
+import com.api.videostreaming.pojos.responses.EngagementResponse;
+import com.api.videostreaming.services.LiveEngagementService;
+import com.api.videostreaming.utilities.CoalescingFanout;
+import com.api.videostreaming.utilities.Constants;
+import com.api.videostreaming.utilities.EngagementStore;
+import com.google.gson.Gson;
+
+import ch.qos.logback.classic.Logger;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Live engagement counters for dashboards, over Server-Sent Events.
+ *
+ * Tracked engagements only mark their video. Each tick re-reads the counts of the marked videos
+ * that have subscribers, once per video, and writes the same encoded frame to every subscriber.
+ * Every refreshEveryTicks ticks all subscribed videos are re-read as well, which picks up counts
+ * made on other nodes; a frame is only sent when the counts actually moved. Ticks run on their
+ * own thread and only queue frames; a pool of sender threads writes them, so a slow client never
+ * holds up the tick or the other clients. A client that falls maxQueuedFrames frames behind, or
+ * whose write fails, is completed and frees its subscriber slot.
+ */
+@Service
+public class LiveEngagementServiceImpl implements LiveEngagementService {
+    private static final Logger log = (Logger) LoggerFactory.getLogger(LiveEngagementServiceImpl.class);
+    private static final String EVENT_NAME = "engagement";
+
+    private final EngagementStore engagementStore;
+    private final Gson gson;
+
+    @Value("${engagement.live.tickInMs}")
+    private long tickInMs;
+
+    @Value("${engagement.live.refreshEveryTicks}")
+    private int refreshEveryTicks;
+
+    @Value("${engagement.live.maxVideosPerSubscription}")
+    private int maxVideosPerSubscription;
+
+    @Value("${engagement.live.maxSubscribers}")
+    private int maxSubscribers;
+
+    @Value("${engagement.live.timeoutInMs}")
+    private long timeoutInMs;
+
+    private record Frame(int impressions, int views, byte[] bytes) {}
+
+    private final CoalescingFanout fanout;
+    // last frame per watched video: unchanged counts are not resent, new subscribers start from it
+    private final Map<Long, Frame> lastFrames = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("live-engagement-"));
+    private final ExecutorService senders;
+    private long ticks;
+
+    public LiveEngagementServiceImpl(EngagementStore engagementStore, Gson gson,
+                                     @Value("${engagement.live.senderThreads}") int senderThreads,
+                                     @Value("${engagement.live.maxQueuedFrames}") int maxQueuedFrames) {
+        this.engagementStore = engagementStore;
+        this.gson = gson;
+        this.senders = Executors.newFixedThreadPool(senderThreads, new CustomizableThreadFactory("live-engagement-send-"));
+        this.fanout = new CoalescingFanout(senders, maxQueuedFrames);
+    }
+
+    @PostConstruct
+    public void start() {
+        ticker.scheduleWithFixedDelay(this::tickSafely, tickInMs, tickInMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    @EventListener
+    public void onEngagement(EngagementEvent event) {
+        fanout.markChanged(event.getVideoId());
+    }
+
+    @Override
+    public SseEmitter subscribe(List<Long> videoIds) {
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            log.warn("Live engagement subscription rejected, {} subscribers connected", maxSubscribers);
+            throw new ServiceUnavailableException(Constants.LIVE_SUBSCRIBERS_FULL);
+        }
+        List<Long> watched = videoIds.stream().distinct().limit(maxVideosPerSubscription).toList();
+        SseEmitter emitter = new SseEmitter(timeoutInMs);
+        CoalescingFanout.Subscriber subscriber = frame -> emitter.send(SseEmitter.event().name(EVENT_NAME).data(frame, MediaType.APPLICATION_JSON));
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                fanout.unsubscribe(subscriber, watched);
+                watched.stream().filter(videoId -> fanout.subscriberCount(videoId) == 0).forEach(lastFrames::remove);
+                subscribers.decrementAndGet();
+            }
+        };
+        emitter.onCompletion(release);
+        emitter.onTimeout(release);
+        emitter.onError(e -> release.run());
+
+        // subscribed before the first frame, so no change can fall in between; the first frames are
+        // queued like any other, so they are not overtaken by a tick
+        fanout.subscribe(subscriber, watched, () -> {
+            release.run();
+            emitter.complete();
+        });
+        for (Long videoId : watched) {
+            Frame frame = lastFrames.get(videoId);
+            if (!fanout.send(subscriber, (frame == null ? refresh(videoId) : frame).bytes())) {
+                break;
+            }
+        }
+        log.info("Live engagement subscription opened for {} videos", watched.size());
+        return emitter;
+    }
+
+    // one tick, on the ticker thread
+    public void tick() {
+        if (refreshEveryTicks > 0 && ++ticks % refreshEveryTicks == 0) {
+            fanout.subscribedKeys().forEach(fanout::markChanged);
+        }
+        fanout.tick(videoId -> {
+            Frame previous = lastFrames.get(videoId);
+            Frame current = refresh(videoId);
+            return previous != null && previous.impressions() == current.impressions() && previous.views() == current.views()
+                    ? null : current.bytes();
+        });
+    }
+
+    private Frame refresh(long videoId) {
+        EngagementStore.Counts engagement = engagementStore.find(videoId).orElse(null);
+        int impressions = engagement == null ? 0 : engagement.impressions();
+        int views = engagement == null ? 0 : engagement.views();
+        EngagementResponse response = EngagementResponse.builder()
+                .videoId(videoId)
+                .impressions(impressions)
+                .views(views)
+                .success(true)
+                .build();
+        Frame frame = new Frame(impressions, views, gson.toJson(response).getBytes(StandardCharsets.UTF_8));
+        lastFrames.put(videoId, frame);
+        return frame;
+    }
+
+    private void tickSafely() {
+        try {
+            tick();
+        } catch (Exception e) {
+            log.warn("Live engagement tick failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.api.videostreaming.serviceImpls;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.videostreaming.entities.Credit;
+import com.api.videostreaming.entities.Person;
+import com.api.videostreaming.entities.Video;
+import com.api.videostreaming.enums.CatalogChangeType;
+import com.api.videostreaming.enums.CreditRole;
+import com.api.videostreaming.exceptions.customExceptions.ResourceNotFoundException;
+import com.api.videostreaming.pojos.events.CatalogChangeEvent;
+import com.api.videostreaming.pojos.responses.CreditResponse;
+import com.api.videostreaming.pojos.responses.FilmographyResponse;
+import com.api.videostreaming.pojos.responses.PersonResponse;
+import com.api.videostreaming.repositories.CreditRepository;
+import com.api.videostreaming.repositories.PersonRepository;
+import com.api.videostreaming.repositories.VideoRepository;
+import com.api.videostreaming.services.PeopleService;
+import com.api.videostreaming.utilities.RadixSuggestionTrie;
+
+import ch.qos.logback.classic.Logger;
+
+/**
+ * People index: directors and cast members interned into the people table, linked to videos by
+ * credit rows. Video.director and Video.cast stay the source of truth; credits are re-derived
+ * from them in the transaction of every local publish or edit, and videos published before the
+ * index existed are backfilled at startup.
+ */
+@Service
+public class PeopleServiceImpl implements PeopleService {
+    private static final Logger log = (Logger) LoggerFactory.getLogger(PeopleServiceImpl.class);
+
+    private record CreditKey(long personId, CreditRole role) {}
+
+    private final PersonRepository personRepository;
+    private final CreditRepository creditRepository;
+    private final VideoRepository videoRepository;
+    // read-write, so the backfill reads and writes the primary
+    private final TransactionTemplate primaryTransaction;
+
+    @Value("${people.maxPageSize}")
+    private int maxPageSize;
+
+    @Value("${people.migration.batchSize}")
+    private int migrationBatchSize;
+
+    public PeopleServiceImpl(PersonRepository personRepository, CreditRepository creditRepository,
+                             VideoRepository videoRepository, PlatformTransactionManager transactionManager) {
+        this.personRepository = personRepository;
+        this.creditRepository = creditRepository;
+        this.videoRepository = videoRepository;
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    // resumable: each batch commits on its own and the next run skips videos that have credits
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyCredits() {
+        long after = 0;
+        int migrated = 0;
+        try {
+            while (true) {
+                List<Long> videoIds = creditRepository.findVideoIdsWithoutCredits(after, PageRequest.of(0, migrationBatchSize));
+                if (videoIds.isEmpty()) {
+                    break;
+                }
+                primaryTransaction.executeWithoutResult(status -> videoRepository.findAllById(videoIds).forEach(this::syncCredits));
+                after = videoIds.get(videoIds.size() - 1);
+                migrated += videoIds.size();
+            }
+        } catch (DataIntegrityViolationException e) {
+            log.info("Credits are being migrated by another node, stopping after {} videos", migrated);
+            return;
+        }
+        if (migrated > 0) {
+            log.info("Migrated director and cast of {} videos into credits", migrated);
+        }
+    }
+
+    // in the publisher's transaction, so credits commit or roll back with the video
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (event.isRemote() || event.getType() == CatalogChangeType.DELETED || event.getVideo() == null) {
+            return; // remote: written by the node that made the change; deleted: hidden at read time
+        }
+        syncCredits(event.getVideo());
+    }
+
+    @Override
+    public void syncCredits(Video video) {
+        List<String> cast = video.getCast() == null ? List.of() : video.getCast();
+        List<String> names = new ArrayList<>(cast);
+        names.add(video.getDirector());
+        Map<String, Long> personIds = intern(names);
+
+        Map<CreditKey, Integer> wanted = new LinkedHashMap<>();
+        Long directorId = personIds.get(RadixSuggestionTrie.normalize(video.getDirector()));
+        if (directorId != null) {
+            wanted.put(new CreditKey(directorId, CreditRole.DIRECTOR), 0);
+        }
+        for (int i = 0; i < cast.size(); i++) {
+            Long personId = personIds.get(RadixSuggestionTrie.normalize(cast.get(i)));
+            if (personId != null) {
+                wanted.putIfAbsent(new CreditKey(personId, CreditRole.CAST), i);
+            }
+        }
+
+        List<Credit> stale = new ArrayList<>();
+        for (Credit credit : creditRepository.findByVideoId(video.getId())) {
+            Integer billingOrder = wanted.remove(new CreditKey(credit.getPersonId(), credit.getRole()));
+            if (billingOrder == null) {
+                stale.add(credit);
+            } else {
+                credit.setBillingOrder(billingOrder);
+            }
+        }
+        creditRepository.deleteAll(stale);
+        creditRepository.saveAll(wanted.entrySet().stream()
+                .map(e -> Credit.builder()
+                        .personId(e.getKey().personId())
+                        .videoId(video.getId())
+                        .role(e.getKey().role())
+                        .billingOrder(e.getValue())
+                        .build())
+                .toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<PersonResponse>> findPeople(String name, int limit) {
+        String prefix = RadixSuggestionTrie.normalize(name);
+        if (prefix.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.OK).body(List.of());
+        }
+        List<PersonResponse> people = personRepository
+                .findByNormalizedNameStartingWithOrderByNormalizedNameAsc(prefix, PageRequest.of(0, pageSize(limit)))
+                .stream()
+                .map(person -> new PersonResponse(person.getId(), person.getName()))
+                .toList();
+        return ResponseEntity.status(HttpStatus.OK).body(people);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<FilmographyResponse> getFilmography(Long personId, CreditRole role, long after, int limit) {
+        Person person = personRepository.findById(personId)
+                .orElseThrow(() -> new ResourceNotFoundException("Person not found"));
+        int size = pageSize(limit);
+
+        // one row past the page tells whether there is a next one
+        List<Long> videoIds = creditRepository.findFilmographyVideoIds(personId, role, after, PageRequest.of(0, size + 1));
+        boolean more = videoIds.size() > size;
+        List<Long> page = more ? videoIds.subList(0, size) : videoIds;
+
+        Map<Long, List<CreditRole>> roles = creditRepository.findByPersonIdAndVideoIdIn(personId, page).stream()
+                .filter(credit -> role == null || credit.getRole() == role)
+                .collect(Collectors.groupingBy(Credit::getVideoId, Collectors.mapping(Credit::getRole, Collectors.toList())));
+        Map<Long, Video> videos = videoRepository.findAllById(page).stream()
+                .collect(Collectors.toMap(Video::getId, Function.identity()));
+
+        List<CreditResponse> credits = page.stream()
+                .filter(videos::containsKey)
+                .map(videoId -> CreditResponse.builder()
+                        .videoId(videoId)
+                        .title(videos.get(videoId).getTitle())
+                        .roles(roles.getOrDefault(videoId, List.of()))
+                        .build())
+                .toList();
+
+        return ResponseEntity.status(HttpStatus.OK).body(FilmographyResponse.builder()
+                .personId(person.getId())
+                .name(person.getName())
+                .credits(credits)
+                .nextAfter(more ? page.get(page.size() - 1) : null)
+                .build());
+    }
+
+    // normalized name -> person id, creating people seen for the first time in the caller's
+    // transaction, so they roll back with it and no second connection is taken
+    private Map<String, Long> intern(Collection<String> names) {
+        Map<String, String> firstSpelling = new LinkedHashMap<>();
+        for (String name : names) {
+            String normalized = RadixSuggestionTrie.normalize(name);
+            if (!normalized.isEmpty()) {
+                firstSpelling.putIfAbsent(normalized, name.trim());
+            }
+        }
+        Map<String, Long> personIds = new HashMap<>();
+        if (firstSpelling.isEmpty()) {
+            return personIds;
+        }
+        personRepository.findByNormalizedNameIn(firstSpelling.keySet())
+                .forEach(person -> personIds.put(person.getNormalizedName(), person.getId()));
+        firstSpelling.keySet().removeAll(personIds.keySet());
+        if (!firstSpelling.isEmpty()) {
+            // a concurrent insert of the same name blocks here until its transaction ends, then is kept
+            firstSpelling.forEach((normalized, name) -> personRepository.insertIgnore(name, normalized));
+            personRepository.lockByNormalizedNameIn(firstSpelling.keySet())
+                    .forEach(person -> personIds.put(person.getNormalizedName(), person.getId()));
+        }
+        return personIds;
+    }
+
+    private int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, maxPageSize));
+    }
+}
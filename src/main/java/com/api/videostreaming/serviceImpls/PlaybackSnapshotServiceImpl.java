@@ -0,0 +1,189 @@
+package com.api.videostreaming.serviceImpls;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.videostreaming.entities.Video;
+import com.api.videostreaming.enums.CatalogChangeType;
+import com.api.videostreaming.exceptions.customExceptions.ServiceUnavailableException;
+import com.api.videostreaming.pojos.events.CatalogChangeEvent;
+import com.api.videostreaming.repositories.VideoRepository;
+import com.api.videostreaming.services.PlaybackSnapshotService;
+import com.api.videostreaming.utilities.CircuitBreaker;
+import com.api.videostreaming.utilities.Constants;
+import com.api.videostreaming.utilities.MappedKeyValueStore;
+import com.google.gson.Gson;
+
+import ch.qos.logback.classic.Logger;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Keeps /play and /load working while MySQL is down.
+ *
+ * Every successful video read and every catalog write refreshes a last-known-good snapshot of the
+ * playback fields (fileUrl, format, resolution, ...) in a memory-mapped file on local disk. Reads go
+ * through a circuit breaker around VideoRepository: when the database fails or the circuit is
+ * open, the snapshot is served instead, and the video is queued for revalidation. A scheduled task
+ * re-reads queued videos once the breaker lets a probe through, which also closes the circuit.
+ *
+ * Soft-deleted videos are removed from the store, so the fallback never revives them.
+ */
+@Service
+public class PlaybackSnapshotServiceImpl implements PlaybackSnapshotService {
+    private static final Logger log = (Logger) LoggerFactory.getLogger(PlaybackSnapshotServiceImpl.class);
+
+    private static final int REVALIDATE_BATCH = 100;
+
+    // persisted form, only the fields play/load need
+    private record Snapshot(Long id, String title, String director, List<String> cast, String fileUrl,
+                            Long fileSize, String format, Integer resolution, Integer duration) {}
+
+    private final VideoRepository videoRepository;
+    private final Gson gson;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CircuitBreaker breaker;
+    private final MappedKeyValueStore store;
+    private final Set<Long> pendingRevalidation = ConcurrentHashMap.newKeySet();
+
+    public PlaybackSnapshotServiceImpl(VideoRepository videoRepository, Gson gson,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${playback.snapshot.filePath}") String filePath,
+                                       @Value("${playback.snapshot.capacityInMb}") int capacityInMb,
+                                       @Value("${playback.snapshot.failureThreshold}") int failureThreshold,
+                                       @Value("${playback.snapshot.openInMs}") long openInMs) {
+        this.videoRepository = videoRepository;
+        this.gson = gson;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.breaker = new CircuitBreaker(failureThreshold, openInMs);
+        this.store = new MappedKeyValueStore(Paths.get(filePath), capacityInMb * 1024 * 1024);
+        log.info("Playback snapshot store opened: {} videos", store.size());
+    }
+
+    @Override
+    public Optional<Video> load(Long videoId, Supplier<Optional<Video>> databaseLoad) {
+        if (!breaker.allowRequest()) {
+            return fallback(videoId, null);
+        }
+        Optional<Video> video;
+        try {
+            video = databaseLoad.get();
+        } catch (DataAccessException | TransactionException e) {
+            breaker.onFailure();
+            log.warn("Database read failed for Video ID: {} (circuit {}), serving snapshot", videoId, breaker.getState(), e);
+            return fallback(videoId, e);
+        } catch (RuntimeException e) {
+            // not an outage, but the outcome must still be reported or a HALF_OPEN probe never ends
+            breaker.onFailure();
+            throw e;
+        }
+        breaker.onSuccess();
+        refresh(videoId, video);
+        return video;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        try {
+            boolean removed = event.getType() == CatalogChangeType.DELETED || !event.getVideo().isActive();
+            refresh(event.getVideoId(), removed ? Optional.empty() : Optional.of(event.getVideo()));
+        } catch (Exception e) {
+            log.error("Unable to update playback snapshot for video ID: {}", event.getVideoId(), e);
+        }
+    }
+
+    // re-reads videos served from the snapshot once the breaker allows a probe
+    @Scheduled(fixedDelayString = "${playback.snapshot.revalidateIntervalInMs}")
+    public void revalidate() {
+        if (pendingRevalidation.isEmpty() || !breaker.allowRequest()) {
+            return;
+        }
+        List<Long> batch = new ArrayList<>(REVALIDATE_BATCH);
+        Iterator<Long> ids = pendingRevalidation.iterator();
+        while (ids.hasNext() && batch.size() < REVALIDATE_BATCH) {
+            batch.add(ids.next());
+        }
+        for (Long videoId : batch) {
+            try {
+                Optional<Snapshot> fresh = readOnlyTransaction.execute(status -> videoRepository.findById(videoId).map(this::snapshotOf));
+                breaker.onSuccess();
+                refreshSnapshot(videoId, fresh);
+                pendingRevalidation.remove(videoId);
+            } catch (RuntimeException e) {
+                breaker.onFailure();
+                log.warn("Revalidation failed for Video ID: {}, circuit {}: {}", videoId, breaker.getState(), e.getMessage());
+                return;
+            }
+        }
+        log.info("Revalidated {} playback snapshots, {} pending", batch.size(), pendingRevalidation.size());
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        store.close();
+    }
+
+    private Optional<Video> fallback(Long videoId, RuntimeException cause) {
+        byte[] stored = store.get(videoId);
+        if (stored == null) {
+            if (cause != null) {
+                throw cause;
+            }
+            throw new ServiceUnavailableException(Constants.DATABASE_UNAVAILABLE);
+        }
+        pendingRevalidation.add(videoId);
+        return Optional.of(toVideo(gson.fromJson(new String(stored, StandardCharsets.UTF_8), Snapshot.class)));
+    }
+
+    private void refresh(Long videoId, Optional<Video> video) {
+        refreshSnapshot(videoId, video.filter(Video::isActive).map(this::snapshotOf));
+    }
+
+    private void refreshSnapshot(Long videoId, Optional<Snapshot> snapshot) {
+        if (snapshot.isEmpty()) {
+            store.remove(videoId);
+        } else if (!store.put(videoId, gson.toJson(snapshot.get()).getBytes(StandardCharsets.UTF_8))) {
+            log.warn("Playback snapshot store is full, Video ID: {} not stored", videoId);
+        }
+    }
+
+    private Snapshot snapshotOf(Video video) {
+        return new Snapshot(video.getId(), video.getTitle(), video.getDirector(),
+                video.getCast() == null ? null : new ArrayList<>(video.getCast()), video.getFileUrl(),
+                video.getFileSize(), video.getFormat(), video.getResolution(), video.getDuration());
+    }
+
+    private Video toVideo(Snapshot snapshot) {
+        return Video.builder()
+                .id(snapshot.id())
+                .title(snapshot.title())
+                .director(snapshot.director())
+                .cast(snapshot.cast())
+                .isActive(true)
+                .fileUrl(snapshot.fileUrl())
+                .fileSize(snapshot.fileSize())
+                .format(snapshot.format())
+                .resolution(snapshot.resolution())
+                .duration(snapshot.duration())
+                .build();
+    }
+}
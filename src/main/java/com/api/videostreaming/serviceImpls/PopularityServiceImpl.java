@@ -0,0 +1,87 @@
+package com.api.videostreaming.serviceImpls;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.api.videostreaming.entities.Video;
+import com.api.videostreaming.enums.CatalogChangeType;
+import com.api.videostreaming.enums.EngagementType;
+import com.api.videostreaming.pojos.events.CatalogChangeEvent;
+import com.api.videostreaming.pojos.responses.EngagementEvent;
+import com.api.videostreaming.services.CatalogSnapshotService;
+import com.api.videostreaming.services.PopularityService;
+import com.api.videostreaming.utilities.DecayedPopularityIndex;
+import com.api.videostreaming.utilities.EngagementStore;
+
+import ch.qos.logback.classic.Logger;
+
+/**
+ * Time-decayed popularity of active videos, updated from every tracked engagement.
+ * At startup the stored totals seed the scores, as if they all happened now.
+ */
+@Service
+public class PopularityServiceImpl implements PopularityService {
+    private static final Logger log = (Logger) LoggerFactory.getLogger(PopularityServiceImpl.class);
+
+    private static final double VIEW_WEIGHT = 1.0;
+    private static final double IMPRESSION_WEIGHT = 0.1;
+
+    private final CatalogSnapshotService catalogSnapshot;
+    private final EngagementStore engagementStore;
+    private final DecayedPopularityIndex index;
+
+    public PopularityServiceImpl(CatalogSnapshotService catalogSnapshot,
+                                 EngagementStore engagementStore,
+                                 @Value("${popularity.halfLifeInHours}") long halfLifeInHours) {
+        this.catalogSnapshot = catalogSnapshot;
+        this.engagementStore = engagementStore;
+        this.index = new DecayedPopularityIndex(halfLifeInHours * 3_600_000L);
+    }
+
+    @Override
+    public List<Long> rankedIds(RoaringBitmap within, long offset, int limit) {
+        return index.page(id -> within.contains((int) id), offset, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        Map<Long, Double> seeds = new HashMap<>();
+        for (EngagementStore.Counts engagement : engagementStore.findAll()) {
+            seeds.merge(engagement.videoId(), weightOf(engagement), Double::sum);
+        }
+        List<Video> videos = catalogSnapshot.findAllActive();
+        videos.forEach(video -> index.track(video.getId(), seeds.getOrDefault(video.getId(), 0.0)));
+        log.info("Popularity index built: {} videos in {} ms", videos.size(), System.currentTimeMillis() - started);
+    }
+
+    @EventListener
+    public void onEngagement(EngagementEvent event) {
+        index.add(event.getVideoId(), event.getType() == EngagementType.VIEW ? VIEW_WEIGHT : IMPRESSION_WEIGHT);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (event.getType() == CatalogChangeType.DELETED || !event.getVideo().isActive()) {
+            index.remove(event.getVideoId());
+        } else {
+            index.track(event.getVideoId(), 0);
+        }
+    }
+
+    private double weightOf(EngagementStore.Counts engagement) {
+        return engagement.views() * VIEW_WEIGHT + engagement.impressions() * IMPRESSION_WEIGHT;
+    }
+}
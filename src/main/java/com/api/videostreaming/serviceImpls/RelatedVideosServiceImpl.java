@@ -0,0 +1,207 @@
+package com.api.videostreaming.serviceImpls;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.api.videostreaming.entities.Video;
+import com.api.videostreaming.enums.CatalogChangeType;
+import com.api.videostreaming.enums.EngagementType;
+import com.api.videostreaming.enums.RelatedReason;
+import com.api.videostreaming.exceptions.customExceptions.ResourceNotFoundException;
+import com.api.videostreaming.pojos.events.CatalogChangeEvent;
+import com.api.videostreaming.pojos.responses.EngagementEvent;
+import com.api.videostreaming.pojos.responses.RelatedVideoResponse;
+import com.api.videostreaming.services.CatalogSnapshotService;
+import com.api.videostreaming.services.RelatedVideosService;
+import com.api.videostreaming.utilities.CoEngagementGraph;
+
+import ch.qos.logback.classic.Logger;
+
+/**
+ * "Related videos": co-viewed neighbors first, topped up with metadata neighbors (same director,
+ * shared cast, same genre) so cold items still get a list.
+ *
+ * Final lists are rebuilt for just the affected videos on every view / catalog event and
+ * published per video, so serving is a single map read. Co-view history is in memory only;
+ * after a restart lists start from metadata and warm up as views come in.
+ */
+@Service
+public class RelatedVideosServiceImpl implements RelatedVideosService {
+    private static final Logger log = (Logger) LoggerFactory.getLogger(RelatedVideosServiceImpl.class);
+
+    private static final int DIRECTOR_POINTS = 3;
+    private static final int CAST_POINTS = 2;
+    private static final int GENRE_POINTS = 1;
+
+    private final CatalogSnapshotService catalogSnapshot;
+    private final int topK;
+    private final CoEngagementGraph graph;
+    private final Map<Long, List<RelatedVideoResponse>> related = new ConcurrentHashMap<>();
+
+    // metadata side, guarded by this
+    private record Features(String title, String director, Set<String> cast, String genre) {}
+    private final Map<Long, Features> features = new HashMap<>();
+    private final Map<String, Set<Long>> byDirector = new HashMap<>();
+    private final Map<String, Set<Long>> byCast = new HashMap<>();
+    private final Map<String, Set<Long>> byGenre = new HashMap<>();
+
+    public RelatedVideosServiceImpl(CatalogSnapshotService catalogSnapshot,
+                                    @Value("${recommend.topK}") int topK,
+                                    @Value("${recommend.historySize}") int historySize,
+                                    @Value("${recommend.maxUsers}") int maxUsers,
+                                    @Value("${recommend.maxCandidates}") int maxCandidates) {
+        this.catalogSnapshot = catalogSnapshot;
+        this.topK = topK;
+        this.graph = new CoEngagementGraph(historySize, maxUsers, maxCandidates, topK);
+    }
+
+    @Override
+    public ResponseEntity<List<RelatedVideoResponse>> getRelatedVideos(Long videoId, int limit) {
+        List<RelatedVideoResponse> neighbors = related.get(videoId);
+        if (neighbors == null) {
+            throw new ResourceNotFoundException("Video not found");
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(neighbors.subList(0, Math.max(0, Math.min(limit, neighbors.size()))));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        List<Video> videos = catalogSnapshot.findAllActive();
+        videos.forEach(this::addFeatures);
+        features.keySet().forEach(this::publish);
+        log.info("Related videos built: {} videos in {} ms", videos.size(), System.currentTimeMillis() - started);
+    }
+
+    @EventListener
+    public synchronized void onEngagement(EngagementEvent event) {
+        if (event.getType() != EngagementType.VIEW || event.getUserId() == null || !features.containsKey(event.getVideoId())) {
+            return;
+        }
+        graph.recordView(event.getUserId(), event.getVideoId()).forEach(this::publish);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onCatalogChange(CatalogChangeEvent event) {
+        try {
+            Long videoId = event.getVideoId();
+            // neighbors before and after the change may both hold this video in their lists
+            Set<Long> affected = new HashSet<>(metadataCandidates(videoId).keySet());
+            removeFeatures(videoId);
+            if (event.getType() == CatalogChangeType.DELETED || !event.getVideo().isActive()) {
+                affected.addAll(graph.removeVideo(videoId));
+                related.remove(videoId);
+            } else {
+                addFeatures(event.getVideo());
+                affected.addAll(metadataCandidates(videoId).keySet());
+                publish(videoId);
+            }
+            affected.remove(videoId);
+            affected.forEach(this::publish);
+        } catch (Exception e) {
+            log.error("Unable to update related videos for video ID: {}", event.getVideoId(), e);
+        }
+    }
+
+    private void publish(Long videoId) {
+        Features own = features.get(videoId);
+        if (own == null) {
+            return;
+        }
+        Map<Long, RelatedVideoResponse> merged = new LinkedHashMap<>();
+        for (CoEngagementGraph.Neighbor neighbor : graph.neighbors(videoId)) {
+            Features other = features.get(neighbor.videoId());
+            if (other != null) {
+                merged.put(neighbor.videoId(), new RelatedVideoResponse(neighbor.videoId(), other.title(), neighbor.score(), RelatedReason.CO_VIEWED));
+            }
+        }
+        if (merged.size() < topK) {
+            metadataCandidates(videoId).entrySet().stream()
+                    .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                    .filter(e -> !merged.containsKey(e.getKey()))
+                    .limit(topK - merged.size())
+                    .forEach(e -> merged.put(e.getKey(),
+                            new RelatedVideoResponse(e.getKey(), features.get(e.getKey()).title(), e.getValue(), RelatedReason.METADATA)));
+        }
+        related.put(videoId, List.copyOf(merged.values()));
+    }
+
+    // candidate -> metadata points; genre-only matches are only scanned as far as needed to fill a list
+    private Map<Long, Integer> metadataCandidates(Long videoId) {
+        Map<Long, Integer> points = new HashMap<>();
+        Features own = features.get(videoId);
+        if (own == null) {
+            return points;
+        }
+        byDirector.getOrDefault(own.director(), Set.of()).forEach(id -> points.merge(id, DIRECTOR_POINTS, Integer::sum));
+        own.cast().forEach(member -> byCast.getOrDefault(member, Set.of()).forEach(id -> points.merge(id, CAST_POINTS, Integer::sum)));
+        Set<Long> sameGenre = byGenre.getOrDefault(own.genre(), Set.of());
+        points.keySet().stream().filter(sameGenre::contains).collect(Collectors.toList())
+                .forEach(id -> points.merge(id, GENRE_POINTS, Integer::sum));
+        sameGenre.stream()
+                .filter(id -> !points.containsKey(id) && !id.equals(videoId))
+                .limit(topK)
+                .forEach(id -> points.put(id, GENRE_POINTS));
+        points.remove(videoId);
+        return points;
+    }
+
+    private void addFeatures(Video video) {
+        Set<String> cast = video.getCast() == null ? Set.of()
+                : video.getCast().stream().map(this::normalize).collect(Collectors.toCollection(LinkedHashSet::new));
+        String genre = video.getMetadata() == null ? null : normalize(video.getMetadata().getGenre());
+        Features f = new Features(video.getTitle(), normalize(video.getDirector()), cast, genre);
+        features.put(video.getId(), f);
+        index(byDirector, f.director(), video.getId());
+        f.cast().forEach(member -> index(byCast, member, video.getId()));
+        index(byGenre, f.genre(), video.getId());
+    }
+
+    private void removeFeatures(Long videoId) {
+        Features f = features.remove(videoId);
+        if (f == null) {
+            return;
+        }
+        unindex(byDirector, f.director(), videoId);
+        f.cast().forEach(member -> unindex(byCast, member, videoId));
+        unindex(byGenre, f.genre(), videoId);
+    }
+
+    private void index(Map<String, Set<Long>> postings, String key, Long videoId) {
+        if (key != null) {
+            postings.computeIfAbsent(key, k -> new HashSet<>()).add(videoId);
+        }
+    }
+
+    private void unindex(Map<String, Set<Long>> postings, String key, Long videoId) {
+        if (key != null) {
+            postings.computeIfPresent(key, (k, ids) -> {
+                ids.remove(videoId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase();
+    }
+}
@@ -0,0 +1,207 @@
+package com.api.videostreaming.serviceImpls;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.api.videostreaming.entities.Video;
+import com.api.videostreaming.enums.CatalogChangeType;
+import com.api.videostreaming.enums.EngagementType;
+import com.api.videostreaming.enums.SuggestionType;
+import com.api.videostreaming.pojos.events.CatalogChangeEvent;
+import com.api.videostreaming.pojos.responses.EngagementEvent;
+import com.api.videostreaming.pojos.responses.SuggestionResponse;
+import com.api.videostreaming.services.CatalogSnapshotService;
+import com.api.videostreaming.services.SuggestionService;
+import com.api.videostreaming.utilities.EngagementStore;
+import com.api.videostreaming.utilities.RadixSuggestionTrie;
+
+import ch.qos.logback.classic.Logger;
+
+/**
+ * Typeahead over titles, directors, cast and genres of active videos.
+ *
+ * The trie is built once at startup and then kept current from catalog change events.
+ * A director / cast member / genre is ranked by the summed engagement of its videos, and a
+ * title by that of every video sharing it. Engagements are summed per video as they arrive
+ * and applied to the trie every suggest.scoreFlushIntervalInMs.
+ * Writes are serialized here; suggest() only reads the trie and never touches the database.
+ */
+@Service
+public class SuggestionServiceImpl implements SuggestionService {
+    private static final Logger log = (Logger) LoggerFactory.getLogger(SuggestionServiceImpl.class);
+    private static final long VIEW_SCORE = 10;
+    private static final long IMPRESSION_SCORE = 1;
+
+    private final CatalogSnapshotService catalogSnapshot;
+    private final EngagementStore engagementStore;
+    private final int topK;
+    private final RadixSuggestionTrie trie;
+
+    // writer-side bookkeeping, guarded by this
+    private final Map<String, Map<Long, Long>> termVideos = new HashMap<>();
+    private final Map<String, RadixSuggestionTrie.Entry> termEntries = new HashMap<>();
+    private final Map<Long, List<Term>> videoTerms = new HashMap<>();
+    private final Map<Long, Long> videoScores = new HashMap<>();
+
+    // engagement score not yet applied to the trie, per video
+    private final Map<Long, Long> pendingScores = new ConcurrentHashMap<>();
+
+    private record Term(String id, String text, SuggestionType type) {}
+
+    public SuggestionServiceImpl(CatalogSnapshotService catalogSnapshot,
+                                 EngagementStore engagementStore,
+                                 @Value("${suggest.topK}") int topK) {
+        this.catalogSnapshot = catalogSnapshot;
+        this.engagementStore = engagementStore;
+        this.topK = topK;
+        this.trie = new RadixSuggestionTrie(topK);
+    }
+
+    @Override
+    public ResponseEntity<List<SuggestionResponse>> suggest(String prefix, int limit) {
+        List<SuggestionResponse> suggestions = trie.suggest(prefix, Math.max(1, Math.min(limit, topK))).stream()
+                .map(entry -> SuggestionResponse.builder()
+                        .text(entry.text())
+                        .type(SuggestionType.valueOf(entry.type()))
+                        .videoId(entry.videoIds() == null ? null : entry.videoIds().get(0))
+                        .videoIds(entry.videoIds())
+                        .score(entry.score())
+                        .build())
+                .collect(Collectors.toList());
+
+        return ResponseEntity.status(HttpStatus.OK).body(suggestions);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        for (EngagementStore.Counts engagement : engagementStore.findAll()) {
+            videoScores.merge(engagement.videoId(), scoreOf(engagement), Long::sum);
+        }
+        List<Video> videos = catalogSnapshot.findAllActive();
+        videos.forEach(this::index);
+        log.info("Suggestion index built: {} videos, {} terms in {} ms", videos.size(), termEntries.size(), System.currentTimeMillis() - started);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onCatalogChange(CatalogChangeEvent event) {
+        try {
+            unindex(event.getVideoId());
+            if (event.getType() != CatalogChangeType.DELETED && event.getVideo().isActive()) {
+                if (!videoScores.containsKey(event.getVideoId())) {
+                    videoScores.put(event.getVideoId(), engagementStore.find(event.getVideoId()).map(this::scoreOf).orElse(0L));
+                }
+                index(event.getVideo());
+            } else {
+                videoScores.remove(event.getVideoId());
+            }
+        } catch (Exception e) {
+            // the catalog write already succeeded, a stale suggestion is not worth failing it
+            log.error("Unable to update suggestion index for video ID: {}", event.getVideoId(), e);
+        }
+    }
+
+    @EventListener
+    public void onEngagement(EngagementEvent event) {
+        pendingScores.merge(event.getVideoId(), event.getType() == EngagementType.VIEW ? VIEW_SCORE : IMPRESSION_SCORE, Long::sum);
+    }
+
+    // each touched term is re-ranked once per flush, however many engagements its videos had
+    @Scheduled(fixedDelayString = "${suggest.scoreFlushIntervalInMs}")
+    public synchronized void applyEngagements() {
+        Map<String, Term> touched = new LinkedHashMap<>();
+        for (Long videoId : List.copyOf(pendingScores.keySet())) {
+            long delta = pendingScores.remove(videoId);
+            List<Term> terms = videoTerms.get(videoId);
+            if (terms == null) {
+                // not indexed (inactive or not loaded yet): rebuild and catalog events read the store
+                continue;
+            }
+            long score = videoScores.merge(videoId, delta, Long::sum);
+            for (Term t : terms) {
+                termVideos.get(t.id()).put(videoId, score);
+                touched.put(t.id(), t);
+            }
+        }
+        touched.values().forEach(this::publish);
+    }
+
+    // a view says more than an impression
+    private long scoreOf(EngagementStore.Counts engagement) {
+        return engagement.views() * VIEW_SCORE + engagement.impressions() * IMPRESSION_SCORE;
+    }
+
+    private void index(Video video) {
+        List<Term> terms = new ArrayList<>();
+        terms.add(term(video.getTitle(), SuggestionType.TITLE));
+        terms.add(term(video.getDirector(), SuggestionType.DIRECTOR));
+        if (video.getCast() != null) {
+            video.getCast().forEach(member -> terms.add(term(member, SuggestionType.CAST)));
+        }
+        if (video.getMetadata() != null) {
+            terms.add(term(video.getMetadata().getGenre(), SuggestionType.GENRE));
+        }
+        terms.removeIf(t -> t.text() == null || RadixSuggestionTrie.normalize(t.text()).isEmpty());
+
+        long score = videoScores.getOrDefault(video.getId(), 0L);
+        for (Term t : terms) {
+            termVideos.computeIfAbsent(t.id(), id -> new HashMap<>()).put(video.getId(), score);
+            publish(t);
+        }
+        videoTerms.put(video.getId(), terms);
+    }
+
+    private void unindex(Long videoId) {
+        List<Term> terms = videoTerms.remove(videoId);
+        if (terms == null) {
+            return;
+        }
+        for (Term t : terms) {
+            Map<Long, Long> videos = termVideos.get(t.id());
+            if (videos == null || videos.remove(videoId) == null) {
+                continue;
+            }
+            if (videos.isEmpty()) {
+                termVideos.remove(t.id());
+                trie.remove(termEntries.remove(t.id()));
+            } else {
+                publish(t);
+            }
+        }
+    }
+
+    // titles shared by several videos keep all of them, best first
+    private void publish(Term t) {
+        Map<Long, Long> videos = termVideos.get(t.id());
+        long score = videos.values().stream().mapToLong(Long::longValue).sum();
+        List<Long> videoIds = t.type() != SuggestionType.TITLE ? null : videos.entrySet().stream()
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .toList();
+        RadixSuggestionTrie.Entry entry = new RadixSuggestionTrie.Entry(t.id(), t.text(), t.type().name(), videoIds, score);
+        termEntries.put(t.id(), entry);
+        trie.put(entry);
+    }
+
+    private Term term(String text, SuggestionType type) {
+        return new Term(type + ":" + RadixSuggestionTrie.normalize(text), text, type);
+    }
+}
@@ -1,23 +1,40 @@
 package com.api.videostreaming.serviceImpls;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
+import org.apache.commons.lang3.StringUtils;
+import org.roaringbitmap.RoaringBitmap;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.api.videostreaming.entities.Video;
 import com.api.videostreaming.entities.VideoMetadata;
+import com.api.videostreaming.enums.CatalogChangeType;
+import com.api.videostreaming.enums.SearchMode;
+import com.api.videostreaming.enums.VideoSort;
 import com.api.videostreaming.exceptions.customExceptions.InternalServerErrorException;
 import com.api.videostreaming.exceptions.customExceptions.ResourceNotFoundException;
+import com.api.videostreaming.exceptions.customExceptions.ServiceUnavailableException;
+import com.api.videostreaming.pojos.events.CatalogChangeEvent;
+import com.api.videostreaming.pojos.requests.FacetFilter;
 import com.api.videostreaming.pojos.requests.MetadataRequest;
 import com.api.videostreaming.pojos.requests.VideoRequest;
+import com.api.videostreaming.pojos.responses.FacetedVideosResponse;
 import com.api.videostreaming.pojos.responses.LoadVideoResponse;
 import com.api.videostreaming.pojos.responses.MetadataResponse;
 import com.api.videostreaming.pojos.responses.PlayVideoResponse;
@@ -26,7 +43,15 @@ import com.api.videostreaming.pojos.responses.SearchVideoResponse;
 import com.api.videostreaming.pojos.responses.SoftDeleteResponse;
 import com.api.videostreaming.pojos.responses.VideoMetaDataResponse;
 import com.api.videostreaming.repositories.VideoRepository;
+import com.api.videostreaming.securities.PlaybackUrlSigner;
+import com.api.videostreaming.services.CatalogSnapshotService;
+import com.api.videostreaming.services.FacetService;
+import com.api.videostreaming.services.FuzzySearchService;
+import com.api.videostreaming.services.PlaybackSnapshotService;
+import com.api.videostreaming.services.PopularityService;
 import com.api.videostreaming.services.VideoService;
+import com.api.videostreaming.utilities.Constants;
+import com.api.videostreaming.utilities.SingleFlight;
 
 import ch.qos.logback.classic.Logger;
 import lombok.RequiredArgsConstructor;
@@ -36,8 +61,22 @@ import lombok.RequiredArgsConstructor;
 public class VideoServiceImpl implements VideoService {
     private static final Logger log = (Logger) LoggerFactory.getLogger(VideoService.class);
     private final VideoRepository videoRepository;
+    private final PlaybackUrlSigner playbackUrlSigner;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FacetService facetService;
+    private final FuzzySearchService fuzzySearchService;
+    private final PopularityService popularityService;
+    private final PlaybackSnapshotService playbackSnapshotService;
+    private final CatalogSnapshotService catalogSnapshot;
+
+    // concurrent /load and /play misses for one video share a single database read
+    private final SingleFlight<Long, Optional<Video>> videoLoads = new SingleFlight<>();
+
+    @Value("${catalog.singleFlight.timeoutInMs}")
+    private long loadTimeoutInMs;
 
     @Override
+    @Transactional // CatalogChangeEvent listeners append the change feed's outbox row in this transaction
     public ResponseEntity<PublishVideoResponse> publishVideo(VideoRequest request) {
         log.info("Publishing new video: {}", request.getTitle());
 
@@ -73,6 +112,7 @@ public class VideoServiceImpl implements VideoService {
             video.setMetadata(metadata); // Auto-save metadata due to @OneToOne(cascade = CascadeType.ALL)
 
             video = videoRepository.save(video);
+            eventPublisher.publishEvent(new CatalogChangeEvent(video.getId(), CatalogChangeType.PUBLISHED, video));
 
             log.info("Video '{}' published successfully with ID: {}", video.getTitle(), video.getId());
 
@@ -87,6 +127,7 @@ public class VideoServiceImpl implements VideoService {
     }
 
     @Override
+    @Transactional
     public ResponseEntity<MetadataResponse> addOrEditVideoMetadata(Long videoId, MetadataRequest request) {
         log.info("Updating metadata for video ID: {}", videoId);
     
@@ -124,6 +165,7 @@ public class VideoServiceImpl implements VideoService {
     
             video.setMetadata(metadata);
             videoRepository.save(video);
+            eventPublisher.publishEvent(new CatalogChangeEvent(videoId, CatalogChangeType.UPDATED, video));
     
             log.info("Metadata updated successfully for video ID: {}", videoId);
     
@@ -138,6 +180,7 @@ public class VideoServiceImpl implements VideoService {
 
 
     @Override
+    @Transactional
     public ResponseEntity<SoftDeleteResponse> softDeleteVideo(Long videoId) {
         log.info("Attempting to soft delete video ID: {}", videoId);
 
@@ -161,6 +204,7 @@ public class VideoServiceImpl implements VideoService {
             // Perform soft delete
             video.setActive(false);
             videoRepository.save(video);
+            eventPublisher.publishEvent(new CatalogChangeEvent(videoId, CatalogChangeType.DELETED, video));
 
             log.info("Video ID '{}' has been soft deleted", videoId);
 
@@ -178,8 +222,7 @@ public class VideoServiceImpl implements VideoService {
     public ResponseEntity<LoadVideoResponse> loadVideoContent(Long videoId) {
         log.info("Fetching video content for Video ID: {}", videoId);
     
-        // Fetch video directly from VideoRepository
-        Video video = videoRepository.findById(videoId)
+        Video video = findVideoShared(videoId)
                 .orElseThrow(() -> new ResourceNotFoundException("Video not found"));
     
         // Check if file URL is missing (Internal Server Error case)
@@ -209,11 +252,10 @@ public class VideoServiceImpl implements VideoService {
     }
     
     @Override
-    public ResponseEntity<PlayVideoResponse> playVideoContent(Long videoId) {
+    public ResponseEntity<PlayVideoResponse> playVideoContent(Long videoId, String clientIp) {
         log.info("Fetching video content for ID: {}", videoId);
 
-        // Fetch the video directly from VideoRepository
-        Video video = videoRepository.findById(videoId)
+        Video video = findVideoShared(videoId)
                 .orElseThrow(() -> new ResourceNotFoundException("Video not found"));
 
         // Check if video has a valid file URL
@@ -222,6 +264,18 @@ public class VideoServiceImpl implements VideoService {
             throw new InternalServerErrorException("Video file URL is missing");
         }
 
+        // Mint a short-lived signed url so segment requests skip JWT and DB lookups; a file the
+        // stream endpoint cannot serve gets no url rather than one that is always refused
+        String rendition = renditionOf(video.getFileUrl());
+        Long expiresAt = null;
+        String playbackUrl = null;
+        if (rendition != null) {
+            expiresAt = playbackUrlSigner.nextExpiry();
+            playbackUrl = playbackUrlSigner.buildPlaybackUrl(video.getId(), rendition, expiresAt, clientIp);
+        } else {
+            log.warn("No signed playback url for Video ID: {}, file name of {} is not a servable rendition", videoId, video.getFileUrl());
+        }
+
         // Build response with video streaming details
         PlayVideoResponse response = PlayVideoResponse.builder()
                 .videoId(video.getId())
@@ -230,6 +284,8 @@ public class VideoServiceImpl implements VideoService {
                 .format(video.getFormat())
                 .resolution(video.getResolution())
                 .duration(video.getDuration())
+                .playbackUrl(playbackUrl)
+                .playbackUrlExpiresAt(expiresAt)
                 .message("Video is ready to play")
                 .success(true)
                 .build();
@@ -240,14 +296,76 @@ public class VideoServiceImpl implements VideoService {
     }
 
 
+    // served from the catalog snapshot once loaded; otherwise a read-only lookup through the
+    // single-flight loader. The result is a detached snapshot (cast and metadata copied eagerly)
+    // because followers read it from other threads. While MySQL is unavailable the last known
+    // good snapshot is served instead
+    private Optional<Video> findVideoShared(Long videoId) {
+        if (catalogSnapshot.isReady()) {
+            Optional<Video> video = catalogSnapshot.find(videoId);
+            if (video.isPresent()) {
+                return video; // a miss may be a video published on another node, so it falls through
+            }
+        }
+        try {
+            return videoLoads.load(videoId,
+                    () -> playbackSnapshotService.load(videoId, () -> videoRepository.findById(videoId).map(this::snapshotOf)),
+                    loadTimeoutInMs);
+        } catch (TimeoutException e) {
+            log.warn("Timed out after {} ms waiting for in-flight load of Video ID: {}", loadTimeoutInMs, videoId);
+            throw new ServiceUnavailableException(Constants.LOOKUP_TIMEOUT);
+        }
+    }
+
+    private Video snapshotOf(Video video) {
+        VideoMetadata metadata = video.getMetadata() == null ? null : VideoMetadata.builder()
+                .id(video.getMetadata().getId())
+                .synopsis(video.getMetadata().getSynopsis())
+                .yearOfRelease(video.getMetadata().getYearOfRelease())
+                .genre(video.getMetadata().getGenre())
+                .runningTime(video.getMetadata().getRunningTime())
+                .build();
+        return Video.builder()
+                .id(video.getId())
+                .title(video.getTitle())
+                .director(video.getDirector())
+                .cast(video.getCast() == null ? null : new ArrayList<>(video.getCast()))
+                .isActive(video.isActive())
+                .fileUrl(video.getFileUrl())
+                .fileSize(video.getFileSize())
+                .format(video.getFormat())
+                .resolution(video.getResolution())
+                .duration(video.getDuration())
+                .metadata(metadata)
+                .build();
+    }
+
+    // file name of fileUrl, e.g. movie-1080p.mp4 for https://cdn.example.com/dune/movie-1080p.mp4?v=2;
+    // the stream endpoint serves it from {playback.mediaRootPath}/{videoId}/. Null when there is none
+    private String renditionOf(String fileUrl) {
+        String path = fileUrl.split("[?#]", 2)[0];
+        String name = path.substring(path.lastIndexOf('/') + 1);
+        return PlaybackUrlSigner.isRendition(name) ? name : null;
+    }
+
+
     @Override
-    public ResponseEntity<List<SearchVideoResponse>> searchVideos(String searchPhrase, int page, int size) {
-        log.info("Searching videos with phrase: '{}', page={}, size={}", searchPhrase, page, size);
+    public ResponseEntity<List<SearchVideoResponse>> searchVideos(String searchPhrase, SearchMode mode, FacetFilter filter, VideoSort sort, int page, int size) {
+        log.info("Searching videos with phrase: '{}', mode={}, filter={}, sort={}, page={}, size={}", searchPhrase, mode, filter, sort, page, size);
 
         Pageable pageable = PageRequest.of(page, size);
 
-        // Search across metadata fields (title, director, genre, cast)
-        Page<Video> videoPage = videoRepository.searchVideos(searchPhrase, pageable);
+        // Search across metadata fields (title, director, genre, cast), narrowed by facet bitmaps and ordered in memory when asked
+        Page<Video> videoPage;
+        if (mode == SearchMode.FUZZY) {
+            videoPage = fuzzyPageOf(searchPhrase, filter, pageable);
+        } else if (hasFacets(filter) || isSorted(sort)) {
+            videoPage = pageOf(facetMatches(searchPhrase, filter), sort, pageable);
+        } else if (catalogSnapshot.isReady()) {
+            videoPage = pageOf(catalogSnapshot.search(searchPhrase), VideoSort.DEFAULT, pageable);
+        } else {
+            videoPage = videoRepository.searchVideos(searchPhrase, pageable);
+        }
 
         if (videoPage.isEmpty()) {
             log.warn("No videos found for search phrase: '{}'", searchPhrase);
@@ -274,13 +392,20 @@ public class VideoServiceImpl implements VideoService {
 
 
     @Override
-    public ResponseEntity<List<VideoMetaDataResponse>> getAllVideos(int page, int size) {
-        log.info("Fetching all videos: page={}, size={}", page, size);
+    public ResponseEntity<List<VideoMetaDataResponse>> getAllVideos(FacetFilter filter, VideoSort sort, int page, int size) {
+        log.info("Fetching all videos: filter={}, sort={}, page={}, size={}", filter, sort, page, size);
 
         Pageable pageable = PageRequest.of(page, size);
 
-        // Fetch paginated videos
-        Page<Video> videoPage = videoRepository.findAll(pageable);
+        // Fetch paginated videos, filtered through the facet bitmaps and ordered in memory when requested
+        Page<Video> videoPage;
+        if (hasFacets(filter) || isSorted(sort)) {
+            videoPage = pageOf(facetService.match(filter), sort, pageable);
+        } else if (catalogSnapshot.isReady()) {
+            videoPage = pageOf(catalogSnapshot.allIds(), VideoSort.DEFAULT, pageable);
+        } else {
+            videoPage = videoRepository.findAll(pageable);
+        }
         if (videoPage.isEmpty()) {
             log.warn("No videos found in the database");
             throw new ResourceNotFoundException("No videos found");
@@ -288,19 +413,128 @@ public class VideoServiceImpl implements VideoService {
 
         // Convert Video entities to VideoMetaDataResponse DTO
         List<VideoMetaDataResponse> responseList = videoPage.stream()
-                .map(video -> VideoMetaDataResponse.builder()
-                        .videoId(video.getId())
-                        .title(video.getTitle())
-                        .director(video.getDirector())
-                        .genre(video.getMetadata().getGenre())
-                        .releaseYear(video.getMetadata().getYearOfRelease())
-                        .runningTime(video.getMetadata().getRunningTime())
-                        .build())
+                .map(this::toMetaDataResponse)
                 .collect(Collectors.toList());
 
         log.info("Fetched {} videos successfully", videoPage.getTotalElements());
 
         return ResponseEntity.status(HttpStatus.OK).body(responseList);
     }
-    
+
+
+    @Override
+    public ResponseEntity<FacetedVideosResponse> browseVideos(String searchPhrase, FacetFilter filter, VideoSort sort, int page, int size) {
+        log.info("Browsing videos: phrase='{}', filter={}, sort={}, page={}, size={}", searchPhrase, filter, sort, page, size);
+
+        RoaringBitmap searched = StringUtils.isBlank(searchPhrase) ? null : searchIds(searchPhrase);
+        RoaringBitmap matches = facetService.match(filter);
+        if (searched != null) {
+            matches.and(searched);
+        }
+
+        // Counts are computed over the search hits, so they describe what the next click would return
+        Page<Video> videoPage = pageOf(matches, sort, PageRequest.of(page, size));
+        FacetedVideosResponse response = FacetedVideosResponse.builder()
+                .videos(videoPage.stream().map(this::toMetaDataResponse).collect(Collectors.toList()))
+                .totalElements(videoPage.getTotalElements())
+                .facets(facetService.counts(filter, searched))
+                .build();
+
+        log.info("Browse completed: Found {} videos", videoPage.getTotalElements());
+
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+
+    private boolean hasFacets(FacetFilter filter) {
+        return filter != null && !filter.isEmpty();
+    }
+
+    private boolean isSorted(VideoSort sort) {
+        return sort != null && sort != VideoSort.DEFAULT;
+    }
+
+    // active ids passing the facet filter, intersected with the free-text hits when a phrase is given
+    private RoaringBitmap facetMatches(String searchPhrase, FacetFilter filter) {
+        RoaringBitmap matches = facetService.match(filter);
+        if (StringUtils.isNotBlank(searchPhrase)) {
+            matches.and(searchIds(searchPhrase));
+        }
+        return matches;
+    }
+
+    private RoaringBitmap searchIds(String searchPhrase) {
+        if (catalogSnapshot.isReady()) {
+            return catalogSnapshot.search(searchPhrase);
+        }
+        RoaringBitmap ids = new RoaringBitmap();
+        videoRepository.searchVideoIds(searchPhrase).forEach(id -> ids.add(Math.toIntExact(id)));
+        return ids;
+    }
+
+    // in-memory typo-tolerant match, ranked exact first, then narrowed by the facet bitmaps
+    private Page<Video> fuzzyPageOf(String searchPhrase, FacetFilter filter, Pageable pageable) {
+        List<Long> ranked = fuzzySearchService.search(searchPhrase);
+        if (hasFacets(filter)) {
+            RoaringBitmap allowed = facetService.match(filter);
+            ranked = ranked.stream().filter(id -> allowed.contains(Math.toIntExact(id))).collect(Collectors.toList());
+        }
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        int to = Math.min(from + pageable.getPageSize(), ranked.size());
+        return pageOf(ranked.subList(from, to), pageable, ranked.size());
+    }
+
+    // one page of ids: by id (publish order), newest first, by decayed popularity or by release year
+    private Page<Video> pageOf(RoaringBitmap ids, VideoSort sort, Pageable pageable) {
+        int total = ids.getCardinality();
+        long offset = pageable.getOffset();
+        int limit = pageable.getPageSize();
+        List<Long> pageIds = new ArrayList<>();
+        switch (sort == null ? VideoSort.DEFAULT : sort) {
+            case POPULAR -> pageIds = popularityService.rankedIds(ids, offset, limit);
+            case YEAR -> pageIds = facetService.orderedByYear(ids, offset, limit);
+            case RECENT -> {
+                for (long rank = total - 1 - offset; rank >= 0 && pageIds.size() < limit; rank--) {
+                    pageIds.add((long) ids.select((int) rank));
+                }
+            }
+            default -> {
+                for (long rank = offset; rank < total && pageIds.size() < limit; rank++) {
+                    pageIds.add((long) ids.select((int) rank));
+                }
+            }
+        }
+        return pageOf(pageIds, pageable, total);
+    }
+
+    // loads the page from the catalog snapshot, or with a single findAllById, and keeps the order of pageIds
+    private Page<Video> pageOf(List<Long> pageIds, Pageable pageable, long total) {
+        List<Video> videos = pageIds.isEmpty() ? new ArrayList<>() : videosOf(pageIds);
+        videos.sort(Comparator.comparingInt(video -> pageIds.indexOf(video.getId())));
+        return new PageImpl<>(videos, pageable, total);
+    }
+
+    private List<Video> videosOf(List<Long> videoIds) {
+        if (!catalogSnapshot.isReady()) {
+            return new ArrayList<>(videoRepository.findAllById(videoIds));
+        }
+        List<Video> videos = catalogSnapshot.findAll(videoIds);
+        if (videos.size() < videoIds.size()) {
+            Set<Long> found = videos.stream().map(Video::getId).collect(Collectors.toSet());
+            videos.addAll(videoRepository.findAllById(videoIds.stream().filter(id -> !found.contains(id)).toList()));
+        }
+        return videos;
+    }
+
+    private VideoMetaDataResponse toMetaDataResponse(Video video) {
+        return VideoMetaDataResponse.builder()
+                .videoId(video.getId())
+                .title(video.getTitle())
+                .director(video.getDirector())
+                .genre(video.getMetadata().getGenre())
+                .releaseYear(video.getMetadata().getYearOfRelease())
+                .runningTime(video.getMetadata().getRunningTime())
+                .build();
+    }
+
 }
@@ -0,0 +1,243 @@
+package com.api.videostreaming.serviceImpls;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.videostreaming.entities.Users;
+import com.api.videostreaming.entities.Video;
+import com.api.videostreaming.entities.WatchProgress;
+import com.api.videostreaming.exceptions.customExceptions.AuthenticationFailedException;
+import com.api.videostreaming.exceptions.customExceptions.ResourceNotFoundException;
+import com.api.videostreaming.pojos.requests.WatchProgressRequest;
+import com.api.videostreaming.pojos.responses.WatchProgressResponse;
+import com.api.videostreaming.repositories.VideoRepository;
+import com.api.videostreaming.repositories.WatchProgressRepository;
+import com.api.videostreaming.securities.UserLookupCache;
+import com.api.videostreaming.services.CatalogSnapshotService;
+import com.api.videostreaming.services.FacetService;
+import com.api.videostreaming.services.WatchProgressService;
+import com.api.videostreaming.utilities.Constants;
+import com.api.videostreaming.utilities.WatchProgressBuffer;
+import com.api.videostreaming.utilities.WatchProgressBuffer.Key;
+import com.api.videostreaming.utilities.WatchProgressBuffer.Position;
+
+import ch.qos.logback.classic.Logger;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Resume positions from player heartbeats.
+ *
+ * Heartbeats only touch memory: the latest position per (user, video) wins and the key is marked
+ * dirty. A scheduled flush writes each dirty key once, in batches of progress.batchSize inside one
+ * transaction per batch, so MySQL sees one write per key per flush interval instead of one per
+ * heartbeat. Reads come from memory; a user's rows are read from MySQL once, on first access, and
+ * titles come from the catalog snapshot.
+ *
+ * Positions not yet flushed are lost on a crash (at most one flush interval); a graceful shutdown
+ * flushes everything.
+ */
+@Service
+public class WatchProgressServiceImpl implements WatchProgressService {
+    private static final Logger log = (Logger) LoggerFactory.getLogger(WatchProgressServiceImpl.class);
+
+    private final WatchProgressRepository progressRepository;
+    private final VideoRepository videoRepository;
+    private final CatalogSnapshotService catalogSnapshot;
+    private final FacetService facetService;
+    private final UserLookupCache userLookupCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxLoadedPerUser;
+    private final long idleEvictionMillis;
+    private final WatchProgressBuffer buffer = new WatchProgressBuffer();
+
+    public WatchProgressServiceImpl(WatchProgressRepository progressRepository,
+                                    VideoRepository videoRepository,
+                                    CatalogSnapshotService catalogSnapshot,
+                                    FacetService facetService,
+                                    UserLookupCache userLookupCache,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${progress.batchSize}") int batchSize,
+                                    @Value("${progress.maxLoadedPerUser}") int maxLoadedPerUser,
+                                    @Value("${progress.idleEvictionInSec}") long idleEvictionInSec) {
+        this.progressRepository = progressRepository;
+        this.videoRepository = videoRepository;
+        this.catalogSnapshot = catalogSnapshot;
+        this.facetService = facetService;
+        this.userLookupCache = userLookupCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxLoadedPerUser = maxLoadedPerUser;
+        this.idleEvictionMillis = idleEvictionInSec * 1000;
+    }
+
+    @Override
+    public ResponseEntity<WatchProgressResponse> recordProgress(Long videoId, WatchProgressRequest request) {
+        long userId = currentUserId();
+        // in-memory check, a heartbeat never reads MySQL
+        if (!facetService.isActive(videoId)) {
+            throw new ResourceNotFoundException("Video not found for ID: " + videoId);
+        }
+        long now = System.currentTimeMillis();
+        // a client clock ahead of ours must not pin the position against later heartbeats
+        long timestamp = request.getTimestamp() == null ? now : Math.min(request.getTimestamp(), now);
+        boolean accepted = buffer.record(userId, videoId, request.getPositionInSec(), timestamp, now);
+        log.debug("Heartbeat: user={}, video={}, position={}, accepted={}", userId, videoId, request.getPositionInSec(), accepted);
+
+        WatchProgressResponse response = WatchProgressResponse.builder()
+                .videoId(videoId)
+                .positionInSec(request.getPositionInSec())
+                .timestamp(timestamp)
+                .accepted(accepted)
+                .build();
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @Override
+    public ResponseEntity<WatchProgressResponse> getProgress(Long videoId) {
+        long userId = currentUserId();
+        long now = System.currentTimeMillis();
+        ensureLoaded(userId, now);
+        Position position = buffer.get(userId, videoId, now);
+        if (position == null) {
+            // older than the rows loaded up front
+            buffer.load(userId, toPositions(progressRepository.findByUserIdAndVideoIdIn(userId, List.of(videoId))), now);
+            position = buffer.get(userId, videoId, now);
+        }
+        if (position == null) {
+            throw new ResourceNotFoundException("No progress recorded for Video ID: " + videoId);
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(toResponse(position, null));
+    }
+
+    @Override
+    public ResponseEntity<List<WatchProgressResponse>> getContinueWatching(int limit) {
+        long userId = currentUserId();
+        long now = System.currentTimeMillis();
+        ensureLoaded(userId, now);
+        List<Position> positions = buffer.mostRecent(userId, maxLoadedPerUser, now).stream()
+                .filter(p -> facetService.isActive(p.videoId()))
+                .limit(Math.max(limit, 0))
+                .toList();
+
+        // titles from the catalog snapshot; MySQL only answers until its first load has finished
+        List<Long> videoIds = positions.stream().map(Position::videoId).toList();
+        List<Video> titled = catalogSnapshot.isReady() ? catalogSnapshot.findAll(videoIds) : videoRepository.findAllById(videoIds);
+        Map<Long, Video> videos = titled.stream()
+                .collect(Collectors.toMap(Video::getId, Function.identity()));
+        List<WatchProgressResponse> response = positions.stream()
+                .filter(p -> videos.containsKey(p.videoId()))
+                .map(p -> toResponse(p, videos.get(p.videoId()).getTitle()))
+                .toList();
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    @Scheduled(fixedDelayString = "${progress.flushIntervalInMs}")
+    public void flush() {
+        long started = System.currentTimeMillis();
+        int written = 0;
+        Map<Key, Position> batch;
+        while (!(batch = buffer.drainDirty(batchSize)).isEmpty()) {
+            Map<Key, Position> pending = batch;
+            try {
+                transactionTemplate.executeWithoutResult(status -> persist(pending));
+                written += pending.size();
+            } catch (Exception e) {
+                buffer.requeue(pending.keySet());
+                log.error("Unable to flush {} watch positions, will retry", pending.size(), e);
+                break;
+            }
+        }
+        int evicted = buffer.evictIdle(started - idleEvictionMillis);
+        if (written > 0 || evicted > 0) {
+            log.info("Watch progress flushed: {} rows in {} ms, {} idle users evicted", written, System.currentTimeMillis() - started, evicted);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // one select by primary key for rows we already know, one per user for first-time rows
+    private void persist(Map<Key, Position> batch) {
+        List<Long> knownIds = batch.values().stream().map(Position::rowId).filter(id -> id != null).toList();
+        Map<Long, WatchProgress> rows = new HashMap<>();
+        progressRepository.findAllById(knownIds).forEach(row -> rows.put(row.getId(), row));
+
+        Map<Long, List<Key>> unknownByUser = batch.entrySet().stream()
+                .filter(e -> e.getValue().rowId() == null || !rows.containsKey(e.getValue().rowId()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.groupingBy(Key::userId));
+        Map<Key, WatchProgress> byKey = new HashMap<>();
+        rows.values().forEach(row -> byKey.put(new Key(row.getUserId(), row.getVideoId()), row));
+        unknownByUser.forEach((userId, keys) -> progressRepository
+                .findByUserIdAndVideoIdIn(userId, keys.stream().map(Key::videoId).toList())
+                .forEach(row -> byKey.put(new Key(row.getUserId(), row.getVideoId()), row)));
+
+        List<WatchProgress> changed = new ArrayList<>(batch.size());
+        batch.forEach((key, position) -> {
+            WatchProgress row = byKey.get(key);
+            if (row == null) {
+                row = WatchProgress.builder().userId(key.userId()).videoId(key.videoId()).build();
+            } else if (row.getUpdatedAt() >= position.timestamp()) {
+                return; // another instance already wrote something newer
+            }
+            row.setPositionInSec(position.positionInSec());
+            row.setUpdatedAt(position.timestamp());
+            changed.add(row);
+        });
+        progressRepository.saveAll(changed).forEach(row -> buffer.assignRowId(new Key(row.getUserId(), row.getVideoId()), row.getId()));
+    }
+
+    private void ensureLoaded(long userId, long now) {
+        if (buffer.isLoaded(userId)) {
+            return;
+        }
+        buffer.load(userId, toPositions(progressRepository.findByUserIdOrderByUpdatedAtDesc(userId, PageRequest.of(0, maxLoadedPerUser))), now);
+    }
+
+    private List<Position> toPositions(List<WatchProgress> rows) {
+        return rows.stream()
+                .map(row -> new Position(row.getVideoId(), row.getPositionInSec(), row.getUpdatedAt(), row.getId()))
+                .toList();
+    }
+
+    private WatchProgressResponse toResponse(Position position, String title) {
+        return WatchProgressResponse.builder()
+                .videoId(position.videoId())
+                .title(title)
+                .positionInSec(position.positionInSec())
+                .timestamp(position.timestamp())
+                .build();
+    }
+
+    private long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            throw new AuthenticationFailedException(Constants.UNAUTHORIZED_REQUEST);
+        }
+        Users user = userLookupCache.findByUserName(authentication.getName());
+        if (user == null) {
+            throw new AuthenticationFailedException(Constants.UNAUTHORIZED_REQUEST);
+        }
+        return user.getUserId();
+    }
+}
@@ -0,0 +1,11 @@
+package com.api.videostreaming.services;
+
+import java.util.Set;
+
+public interface CatalogInvalidationService {
+    // re-reads these videos and replays them locally as remote catalog changes
+    void reload(Set<Long> videoIds);
+
+    // same for the whole catalog, after invalidations were lost for good
+    void resyncAll();
+}
@@ -0,0 +1,29 @@
+package com.api.videostreaming.services;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import com.api.videostreaming.entities.Video;
+
+public interface CatalogSnapshotService {
+    // false until the first full load has finished; until then reads go to the database
+    boolean isReady();
+
+    // detached copy built from the snapshot, empty when the snapshot does not hold the video
+    Optional<Video> find(Long videoId);
+
+    // in the order of videoIds, skipping ids the snapshot does not hold
+    List<Video> findAll(List<Long> videoIds);
+
+    // what VideoRepository.findByIsActiveTrue returns, from the snapshot once it is ready, so the
+    // in-memory indexes rebuild from a restored checkpoint instead of reloading every video
+    List<Video> findAllActive();
+
+    // every video, soft-deleted ones included, as VideoRepository.findAll sees them
+    RoaringBitmap allIds();
+
+    // same matches as VideoRepository.searchVideoIds
+    RoaringBitmap search(String searchPhrase);
+}
@@ -0,0 +1,11 @@
+package com.api.videostreaming.services;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.api.videostreaming.pojos.responses.ChangeFeedResponse;
+
+public interface ChangeFeedService {
+    // changes after since; with nothing new, held open for up to waitInMs
+    DeferredResult<ResponseEntity<ChangeFeedResponse>> getChanges(long since, int limit, long waitInMs);
+}
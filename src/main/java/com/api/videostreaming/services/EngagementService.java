@@ -1,11 +1,25 @@
 package com.api.videostreaming.services;
 
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiFunction;
+
 import org.springframework.http.ResponseEntity;
 
 import com.api.videostreaming.enums.EngagementType;
 import com.api.videostreaming.pojos.responses.EngagementResponse;
+import com.api.videostreaming.pojos.responses.EngagementSummaryResponse;
 
 public interface EngagementService {
     ResponseEntity<EngagementResponse> trackEngagement(Long videoId, EngagementType type);
+
+    /**
+     * trackEngagement with the counter increment done by {@code write}, for callers that write
+     * without blocking a thread. De-duplication, the active check and the event stay here; the
+     * event is published once the returned write completes, and a failed write releases the
+     * dedup key.
+     */
+    CompletionStage<ResponseEntity<EngagementResponse>> trackEngagement(Long videoId, EngagementType type,
+                                                                        BiFunction<Long, EngagementType, CompletionStage<?>> write);
     ResponseEntity<EngagementResponse> getEngagements(Long videoId);
+    ResponseEntity<EngagementSummaryResponse> getEngagementSummary(int limit);
 }
\ No newline at end of file
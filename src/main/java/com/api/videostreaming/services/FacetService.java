@@ -0,0 +1,20 @@
+package com.api.videostreaming.services;
+
+import java.util.List;
+import java.util.Map;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import com.api.videostreaming.pojos.requests.FacetFilter;
+
+public interface FacetService {
+    RoaringBitmap match(FacetFilter filter);
+
+    Map<String, Map<String, Integer>> counts(FacetFilter filter, RoaringBitmap within);
+
+    // O(1) membership check against the active bitmap
+    boolean isActive(long videoId);
+
+    // ids from within, newest release year first
+    List<Long> orderedByYear(RoaringBitmap within, long offset, int limit);
+}
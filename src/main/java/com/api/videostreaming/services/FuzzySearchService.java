@@ -0,0 +1,8 @@
+package com.api.videostreaming.services;
+
+import java.util.List;
+
+public interface FuzzySearchService {
+    // ids of active videos matching every word of the phrase, best match first
+    List<Long> search(String searchPhrase);
+}
@@ -0,0 +1,10 @@
+package com.api.videostreaming.services;
+
+import java.util.List;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface LiveEngagementService {
+    // current impressions/views of these videos, then every change as it happens
+    SseEmitter subscribe(List<Long> videoIds);
+}
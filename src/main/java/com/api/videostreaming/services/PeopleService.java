@@ -0,0 +1,16 @@
+package com.api.videostreaming.services;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+
+import com.api.videostreaming.entities.Video;
+import com.api.videostreaming.enums.CreditRole;
+import com.api.videostreaming.pojos.responses.FilmographyResponse;
+import com.api.videostreaming.pojos.responses.PersonResponse;
+
+public interface PeopleService {
+    ResponseEntity<List<PersonResponse>> findPeople(String name, int limit);
+    ResponseEntity<FilmographyResponse> getFilmography(Long personId, CreditRole role, long after, int limit);
+    void syncCredits(Video video);
+}
@@ -0,0 +1,11 @@
+package com.api.videostreaming.services;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import com.api.videostreaming.entities.Video;
+
+public interface PlaybackSnapshotService {
+    // runs databaseLoad behind the circuit breaker, falling back to the last known good snapshot
+    Optional<Video> load(Long videoId, Supplier<Optional<Video>> databaseLoad);
+}
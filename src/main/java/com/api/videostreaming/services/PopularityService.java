@@ -0,0 +1,10 @@
+package com.api.videostreaming.services;
+
+import java.util.List;
+
+import org.roaringbitmap.RoaringBitmap;
+
+public interface PopularityService {
+    // ids from within, most popular first
+    List<Long> rankedIds(RoaringBitmap within, long offset, int limit);
+}
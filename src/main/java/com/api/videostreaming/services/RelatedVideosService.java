@@ -0,0 +1,11 @@
+package com.api.videostreaming.services;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+
+import com.api.videostreaming.pojos.responses.RelatedVideoResponse;
+
+public interface RelatedVideosService {
+    ResponseEntity<List<RelatedVideoResponse>> getRelatedVideos(Long videoId, int limit);
+}
@@ -0,0 +1,11 @@
+package com.api.videostreaming.services;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+
+import com.api.videostreaming.pojos.responses.SuggestionResponse;
+
+public interface SuggestionService {
+    ResponseEntity<List<SuggestionResponse>> suggest(String prefix, int limit);
+}
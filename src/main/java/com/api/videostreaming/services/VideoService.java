@@ -5,8 +5,12 @@ import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 
+import com.api.videostreaming.enums.SearchMode;
+import com.api.videostreaming.enums.VideoSort;
+import com.api.videostreaming.pojos.requests.FacetFilter;
 import com.api.videostreaming.pojos.requests.MetadataRequest;
 import com.api.videostreaming.pojos.requests.VideoRequest;
+import com.api.videostreaming.pojos.responses.FacetedVideosResponse;
 import com.api.videostreaming.pojos.responses.LoadVideoResponse;
 import com.api.videostreaming.pojos.responses.MetadataResponse;
 import com.api.videostreaming.pojos.responses.PlayVideoResponse;
@@ -24,10 +28,12 @@ public interface VideoService {
 
     ResponseEntity<LoadVideoResponse> loadVideoContent(Long videoContentId);
 
-    ResponseEntity<PlayVideoResponse> playVideoContent(Long videoId);
+    ResponseEntity<PlayVideoResponse> playVideoContent(Long videoId, String clientIp);
 
-    ResponseEntity<List<SearchVideoResponse>> searchVideos(String searchPhrase, int page, int size);
+    ResponseEntity<List<SearchVideoResponse>> searchVideos(String searchPhrase, SearchMode mode, FacetFilter filter, VideoSort sort, int page, int size);
 
-    ResponseEntity<List<VideoMetaDataResponse>> getAllVideos(int page, int size);
+    ResponseEntity<List<VideoMetaDataResponse>> getAllVideos(FacetFilter filter, VideoSort sort, int page, int size);
+
+    ResponseEntity<FacetedVideosResponse> browseVideos(String searchPhrase, FacetFilter filter, VideoSort sort, int page, int size);
     
 }
@@ -0,0 +1,14 @@
+package com.api.videostreaming.services;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+
+import com.api.videostreaming.pojos.requests.WatchProgressRequest;
+import com.api.videostreaming.pojos.responses.WatchProgressResponse;
+
+public interface WatchProgressService {
+    ResponseEntity<WatchProgressResponse> recordProgress(Long videoId, WatchProgressRequest request);
+    ResponseEntity<WatchProgressResponse> getProgress(Long videoId);
+    ResponseEntity<List<WatchProgressResponse>> getContinueWatching(int limit);
+}
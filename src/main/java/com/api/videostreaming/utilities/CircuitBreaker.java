@@ -0,0 +1,71 @@
+package com.api.videostreaming.utilities;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Consecutive-failure circuit breaker.
+ *
+ * CLOSED lets everything through. After failureThreshold consecutive failures it goes OPEN and
+ * rejects every call for openMillis. The first call after that window is let through as the
+ * HALF_OPEN probe: success closes the circuit, failure re-opens it for another window. A probe
+ * that never reports back is given up on after openMillis and the next call probes again.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final LongSupplier clock;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile State state = State.CLOSED;
+    // when the circuit opened, or when the current probe started
+    private volatile long openedAt;
+
+    public CircuitBreaker(int failureThreshold, long openMillis, LongSupplier clock) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.clock = clock;
+    }
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this(failureThreshold, openMillis, System::currentTimeMillis);
+    }
+
+    public boolean allowRequest() {
+        State current = state;
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (clock.getAsLong() - openedAt >= openMillis) {
+            // exactly one caller wins the probe
+            synchronized (this) {
+                long now = clock.getAsLong();
+                if (state != State.CLOSED && now - openedAt >= openMillis) {
+                    state = State.HALF_OPEN;
+                    openedAt = now;
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        state = State.CLOSED;
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+}
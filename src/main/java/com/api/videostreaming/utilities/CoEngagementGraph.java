@@ -0,0 +1,154 @@
+package com.api.videostreaming.utilities;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Item-item co-view similarity maintained incrementally from a stream of (user, video) views.
+ *
+ * Each user keeps a short history of distinct videos; a new view bumps the co-count between the
+ * video and everything in that history. Similarity is cosine over viewer sets:
+ * co(a, b) / sqrt(viewers(a) * viewers(b)). Memory is bounded on every axis: users are LRU-capped,
+ * histories are capped, and each video keeps at most maxCandidates co-counts (the weakest is evicted).
+ *
+ * Neighbor lists are immutable and published per video, so {@link #neighbors} is one map read.
+ * Writers are serialized here.
+ */
+public class CoEngagementGraph {
+
+    public record Neighbor(long videoId, double score) {}
+
+    private static final Comparator<Neighbor> BY_SCORE = Comparator.comparingDouble(Neighbor::score).reversed()
+            .thenComparingLong(Neighbor::videoId);
+
+    private final int historySize;
+    private final int maxCandidates;
+    private final int topK;
+    private final Map<Long, Deque<Long>> histories;
+    private final Map<Long, Integer> viewers = new HashMap<>();
+    private final Map<Long, Map<Long, Integer>> coCounts = new HashMap<>();
+    private final Map<Long, List<Neighbor>> neighbors = new ConcurrentHashMap<>();
+
+    public CoEngagementGraph(int historySize, int maxUsers, int maxCandidates, int topK) {
+        this.historySize = historySize;
+        this.maxCandidates = maxCandidates;
+        this.topK = topK;
+        this.histories = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Deque<Long>> eldest) {
+                return size() > maxUsers;
+            }
+        };
+    }
+
+    public List<Neighbor> neighbors(long videoId) {
+        return neighbors.getOrDefault(videoId, List.of());
+    }
+
+    // returns the videos whose neighbor list changed
+    public synchronized Set<Long> recordView(long userId, long videoId) {
+        Deque<Long> history = histories.computeIfAbsent(userId, u -> new ArrayDeque<>());
+        if (history.contains(videoId)) {
+            return Set.of();
+        }
+        viewers.merge(videoId, 1, Integer::sum);
+
+        Set<Long> changed = new HashSet<>();
+        for (Long other : history) {
+            bump(videoId, other);
+            bump(other, videoId);
+            // the other side only needs this one pair re-ranked
+            if (replaceNeighbor(other, videoId)) {
+                changed.add(other);
+            }
+        }
+        if (!history.isEmpty()) {
+            recompute(videoId);
+            changed.add(videoId);
+        }
+
+        history.addLast(videoId);
+        if (history.size() > historySize) {
+            history.removeFirst();
+        }
+        return changed;
+    }
+
+    // returns the videos whose neighbor list changed
+    public synchronized Set<Long> removeVideo(long videoId) {
+        Set<Long> changed = new HashSet<>();
+        Map<Long, Integer> candidates = coCounts.remove(videoId);
+        if (candidates != null) {
+            for (Long other : candidates.keySet()) {
+                Map<Long, Integer> otherCandidates = coCounts.get(other);
+                if (otherCandidates != null) {
+                    otherCandidates.remove(videoId);
+                }
+                if (neighbors(other).stream().anyMatch(n -> n.videoId() == videoId)) {
+                    recompute(other);
+                    changed.add(other);
+                }
+            }
+        }
+        viewers.remove(videoId);
+        neighbors.remove(videoId);
+        histories.values().forEach(history -> history.remove(videoId));
+        return changed;
+    }
+
+    private void bump(long videoId, long other) {
+        Map<Long, Integer> candidates = coCounts.computeIfAbsent(videoId, v -> new HashMap<>());
+        if (!candidates.containsKey(other) && candidates.size() >= maxCandidates) {
+            Long weakest = null;
+            int weakestCount = Integer.MAX_VALUE;
+            for (Map.Entry<Long, Integer> e : candidates.entrySet()) {
+                if (e.getValue() < weakestCount) {
+                    weakest = e.getKey();
+                    weakestCount = e.getValue();
+                }
+            }
+            candidates.remove(weakest);
+        }
+        candidates.merge(other, 1, Integer::sum);
+    }
+
+    private double similarity(long a, long b) {
+        Integer co = coCounts.getOrDefault(a, Map.of()).get(b);
+        if (co == null) {
+            return 0;
+        }
+        return co / Math.sqrt((double) viewers.getOrDefault(a, 1) * viewers.getOrDefault(b, 1));
+    }
+
+    private void recompute(long videoId) {
+        List<Neighbor> ranked = new ArrayList<>();
+        coCounts.getOrDefault(videoId, Map.of()).keySet().forEach(other -> ranked.add(new Neighbor(other, similarity(videoId, other))));
+        ranked.sort(BY_SCORE);
+        neighbors.put(videoId, List.copyOf(ranked.subList(0, Math.min(topK, ranked.size()))));
+    }
+
+    // O(topK) update of one pair in an existing list
+    private boolean replaceNeighbor(long videoId, long other) {
+        List<Neighbor> current = neighbors(videoId);
+        Neighbor updated = new Neighbor(other, similarity(videoId, other));
+        boolean listed = current.stream().anyMatch(n -> n.videoId() == other);
+        if (!listed && current.size() >= topK && BY_SCORE.compare(updated, current.get(current.size() - 1)) >= 0) {
+            return false;
+        }
+        List<Neighbor> ranked = new ArrayList<>(current.size() + 1);
+        current.stream().filter(n -> n.videoId() != other).forEach(ranked::add);
+        ranked.add(updated);
+        ranked.sort(BY_SCORE);
+        neighbors.put(videoId, List.copyOf(ranked.subList(0, Math.min(topK, ranked.size()))));
+        return true;
+    }
+}
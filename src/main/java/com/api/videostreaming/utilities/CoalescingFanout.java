@@ -0,0 +1,187 @@
+package com.api.videostreaming.utilities;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pushes per-key updates to many subscribers at a fixed tick.
+ *
+ * Changes only mark their key, so any number of changes to one key between two ticks cost one
+ * frame. On each tick every marked key with subscribers is encoded once and the same bytes are
+ * queued for all of its subscribers; the work per tick follows the number of changed keys, not
+ * the number of subscribers.
+ *
+ * Each subscriber has its own bounded queue, drained on the sender executor, so the tick never
+ * waits on a socket and one slow client cannot delay the others. A subscriber whose send fails,
+ * or that falls maxQueuedFrames frames behind, is dropped from every key and its onDrop runs.
+ */
+public class CoalescingFanout {
+    private static final Logger log = LoggerFactory.getLogger(CoalescingFanout.class);
+
+    public interface Subscriber {
+        void send(byte[] frame) throws Exception;
+    }
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Map<Subscriber, Outbox> outboxes = new ConcurrentHashMap<>();
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+    private final Executor sender;
+    private final int maxQueuedFrames;
+
+    // sends on the ticking thread, for tests and single-subscriber use
+    public CoalescingFanout() {
+        this(Runnable::run, Integer.MAX_VALUE);
+    }
+
+    public CoalescingFanout(Executor sender, int maxQueuedFrames) {
+        this.sender = sender;
+        this.maxQueuedFrames = maxQueuedFrames;
+    }
+
+    public void subscribe(Subscriber subscriber, Collection<Long> keys) {
+        subscribe(subscriber, keys, () -> {});
+    }
+
+    public void subscribe(Subscriber subscriber, Collection<Long> keys, Runnable onDrop) {
+        outboxes.computeIfAbsent(subscriber, s -> new Outbox(s, onDrop));
+        keys.forEach(key -> subscribers.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscriber));
+    }
+
+    public void unsubscribe(Subscriber subscriber, Collection<Long> keys) {
+        removeFrom(subscriber, keys);
+        if (subscribers.values().stream().noneMatch(subs -> subs.contains(subscriber))) {
+            outboxes.remove(subscriber);
+        }
+    }
+
+    // queues a frame for one subscriber behind anything already queued for it; false if it was dropped
+    public boolean send(Subscriber subscriber, byte[] frame) {
+        Outbox outbox = outboxes.get(subscriber);
+        return outbox != null && outbox.offer(frame);
+    }
+
+    // keys nobody watches are not even marked
+    public void markChanged(long key) {
+        if (subscribers.containsKey(key)) {
+            changed.add(key);
+        }
+    }
+
+    public Set<Long> subscribedKeys() {
+        return subscribers.keySet();
+    }
+
+    public int subscriberCount(long key) {
+        Set<Subscriber> subs = subscribers.get(key);
+        return subs == null ? 0 : subs.size();
+    }
+
+    // encoder returns null when the key has nothing new to say; returns the number of frames encoded
+    public int tick(LongFunction<byte[]> encoder) {
+        int frames = 0;
+        Iterator<Long> keys = changed.iterator();
+        while (keys.hasNext()) {
+            long key = keys.next();
+            keys.remove();
+            Set<Subscriber> subs = subscribers.get(key);
+            if (subs == null || subs.isEmpty()) {
+                continue;
+            }
+            byte[] frame = encoder.apply(key);
+            if (frame == null) {
+                continue;
+            }
+            frames++;
+            for (Subscriber subscriber : subs) {
+                send(subscriber, frame);
+            }
+        }
+        return frames;
+    }
+
+    private void drop(Subscriber subscriber, String reason) {
+        Outbox outbox = outboxes.remove(subscriber);
+        if (outbox == null) {
+            return;
+        }
+        log.debug("Dropping subscriber: {}", reason);
+        removeFrom(subscriber, subscribers.keySet());
+        outbox.frames.clear();
+        try {
+            outbox.onDrop.run();
+        } catch (Exception e) {
+            log.debug("onDrop of dropped subscriber failed: {}", e.getMessage());
+        }
+    }
+
+    private void removeFrom(Subscriber subscriber, Collection<Long> keys) {
+        keys.forEach(key -> subscribers.computeIfPresent(key, (k, subs) -> {
+            subs.remove(subscriber);
+            return subs.isEmpty() ? null : subs;
+        }));
+    }
+
+    private final class Outbox {
+        private final Subscriber subscriber;
+        private final Runnable onDrop;
+        private final BlockingQueue<byte[]> frames = new LinkedBlockingQueue<>(maxQueuedFrames);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Outbox(Subscriber subscriber, Runnable onDrop) {
+            this.subscriber = subscriber;
+            this.onDrop = onDrop;
+        }
+
+        private boolean offer(byte[] frame) {
+            if (!frames.offer(frame)) {
+                drop(subscriber, maxQueuedFrames + " frames behind");
+                return false;
+            }
+            schedule();
+            return true;
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RuntimeException e) {
+                    draining.set(false);
+                    drop(subscriber, "sender rejected: " + e.getMessage());
+                }
+            }
+        }
+
+        // at most one drain per subscriber at a time, so its frames go out in order
+        private void drain() {
+            try {
+                byte[] frame;
+                while ((frame = frames.poll()) != null) {
+                    try {
+                        subscriber.send(frame);
+                    } catch (Exception e) {
+                        drop(subscriber, e.getMessage());
+                        return;
+                    }
+                }
+            } finally {
+                draining.set(false);
+            }
+            // a frame offered between the last poll and the reset above
+            if (!frames.isEmpty() && outboxes.get(subscriber) == this) {
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,701 @@
+package com.api.videostreaming.utilities;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * The whole catalog in columns: one slot per video across primitive arrays. Director, cast
+ * members, genre and format are dictionary-encoded, so each distinct string is held once;
+ * titles and file urls are packed as UTF-8 into shared byte arenas. There are no per-video
+ * objects, which keeps a few million videos within a few hundred MB.
+ *
+ * Slots stay dense: removing a video moves the last slot into the hole. Replaced titles, urls and
+ * cast lists leave garbage in their arena, compacted once it outgrows the live bytes. Dictionaries
+ * only grow; building a new catalog starts them afresh.
+ *
+ * writeTo and readFrom save the columns to a SnapshotFile and restore them, compacted, without
+ * going through Row; the slot index and id bitmap are rebuilt from the ids.
+ */
+public class ColumnarCatalog {
+    private static final int NULL = Integer.MIN_VALUE;
+    private static final long NULL_LONG = Long.MIN_VALUE;
+    // bump whenever the layout written by writeTo changes
+    public static final int SNAPSHOT_VERSION = 1;
+
+    public record Row(int id, String title, String director, List<String> cast, String fileUrl, Long fileSize,
+                      String format, Integer resolution, Integer duration, boolean active,
+                      String genre, Integer yearOfRelease, Integer runningTime) {}
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // directors and cast members share one dictionary, genres and formats another
+    private final Dictionary names = new Dictionary();
+    private final Dictionary labels = new Dictionary();
+    private final ByteArena titles = new ByteArena();
+    private final ByteArena fileUrls = new ByteArena();
+    private final IntArena casts = new IntArena();
+    private final SlotIndex slots = new SlotIndex();
+    private final RoaringBitmap ids = new RoaringBitmap();
+
+    private int size;
+    private int[] videoIds = new int[0];
+    private int[] director = new int[0];
+    private int[] genre = new int[0];
+    private int[] format = new int[0];
+    private int[] resolution = new int[0];
+    private int[] duration = new int[0];
+    // NULL when the video has no metadata row
+    private int[] yearOfRelease = new int[0];
+    private int[] runningTime = new int[0];
+    private long[] fileSize = new long[0];
+    private boolean[] active = new boolean[0];
+
+    public void put(Row row) {
+        lock.writeLock().lock();
+        try {
+            putLocked(row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // for bulk loads racing live updates: a slot written since the load's read is newer
+    public boolean putIfAbsent(Row row) {
+        lock.writeLock().lock();
+        try {
+            if (slots.get(row.id()) >= 0) {
+                return false;
+            }
+            putLocked(row);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            int slot = slots.remove(id);
+            if (slot < 0) {
+                return;
+            }
+            ids.remove(id);
+            titles.release(slot);
+            fileUrls.release(slot);
+            casts.release(slot);
+            int last = --size;
+            if (slot != last) {
+                moveSlot(last, slot);
+                slots.put(videoIds[slot], slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Row get(int id) {
+        lock.readLock().lock();
+        try {
+            int slot = slots.get(id);
+            return slot < 0 ? null : rowAt(slot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public RoaringBitmap ids() {
+        lock.readLock().lock();
+        try {
+            return ids.clone();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of videos with metadata whose title, director, genre or a cast member contains phrase,
+     * ignoring case: the predicate of VideoRepository.searchVideos. Dictionaries are scanned once,
+     * so the per-slot work is a few code lookups plus a byte search in the title.
+     */
+    public RoaringBitmap search(String phrase) {
+        String needle = phrase == null ? "" : phrase.toLowerCase();
+        byte[] asciiNeedle = isAscii(needle) ? needle.getBytes(StandardCharsets.US_ASCII) : null;
+        RoaringBitmap hits = new RoaringBitmap();
+        lock.readLock().lock();
+        try {
+            BitSet nameHits = names.matching(needle);
+            BitSet labelHits = labels.matching(needle);
+            for (int slot = 0; slot < size; slot++) {
+                if (yearOfRelease[slot] == NULL) {
+                    continue;
+                }
+                if (matches(director[slot], nameHits) || matches(genre[slot], labelHits)
+                        || casts.containsAny(slot, nameHits)
+                        || titleContains(slot, needle, asciiNeedle)) {
+                    hits.add(videoIds[slot]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return hits;
+    }
+
+    // heap held by the columns, arenas and dictionaries, roughly
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long columns = (long) videoIds.length * (Integer.BYTES * 8 + Long.BYTES + 1);
+            return columns + titles.bytes() + fileUrls.bytes() + casts.bytes() + slots.bytes()
+                    + names.bytes() + labels.bytes() + ids.getSizeInBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // under the read lock: lookups and searches carry on, writers wait for the copy into the file
+    public void writeTo(SnapshotFile.Writer out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(size);
+            names.writeTo(out);
+            labels.writeTo(out);
+            for (int[] column : new int[][]{videoIds, director, genre, format, resolution, duration, yearOfRelease, runningTime}) {
+                out.writeInts(column, 0, size);
+            }
+            out.writeLongs(fileSize, 0, size);
+            out.writeBooleans(active, 0, size);
+            titles.writeTo(out, size);
+            fileUrls.writeTo(out, size);
+            casts.writeTo(out, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static ColumnarCatalog readFrom(SnapshotFile.Reader in) {
+        ColumnarCatalog catalog = new ColumnarCatalog();
+        int size = in.readInt();
+        catalog.names.readFrom(in);
+        catalog.labels.readFrom(in);
+        catalog.videoIds = in.readInts(size, size);
+        catalog.director = in.readInts(size, size);
+        catalog.genre = in.readInts(size, size);
+        catalog.format = in.readInts(size, size);
+        catalog.resolution = in.readInts(size, size);
+        catalog.duration = in.readInts(size, size);
+        catalog.yearOfRelease = in.readInts(size, size);
+        catalog.runningTime = in.readInts(size, size);
+        catalog.fileSize = in.readLongs(size, size);
+        catalog.active = in.readBooleans(size, size);
+        catalog.titles.readFrom(in, size);
+        catalog.fileUrls.readFrom(in, size);
+        catalog.casts.readFrom(in, size);
+        for (int slot = 0; slot < size; slot++) {
+            catalog.slots.put(catalog.videoIds[slot], slot);
+        }
+        catalog.ids.addN(catalog.videoIds, 0, size);
+        catalog.size = size;
+        return catalog;
+    }
+
+    private void putLocked(Row row) {
+        if (row.id() <= 0) {
+            throw new IllegalArgumentException("Video ids must be positive: " + row.id());
+        }
+        int slot = slots.get(row.id());
+        if (slot < 0) {
+            slot = size++;
+            ensureCapacity(size);
+            titles.reset(slot);
+            fileUrls.reset(slot);
+            casts.reset(slot);
+            slots.put(row.id(), slot);
+            ids.add(row.id());
+        }
+        videoIds[slot] = row.id();
+        director[slot] = names.encode(row.director());
+        genre[slot] = labels.encode(row.genre());
+        format[slot] = labels.encode(row.format());
+        resolution[slot] = orNull(row.resolution());
+        duration[slot] = orNull(row.duration());
+        yearOfRelease[slot] = orNull(row.yearOfRelease());
+        runningTime[slot] = orNull(row.runningTime());
+        fileSize[slot] = row.fileSize() == null ? NULL_LONG : row.fileSize();
+        active[slot] = row.active();
+        titles.set(slot, row.title());
+        fileUrls.set(slot, row.fileUrl());
+        casts.set(slot, row.cast() == null ? null : row.cast().stream().mapToInt(names::encode).toArray());
+
+        titles.compactIfWasteful(size);
+        fileUrls.compactIfWasteful(size);
+        casts.compactIfWasteful(size);
+    }
+
+    private Row rowAt(int slot) {
+        int[] castCodes = casts.get(slot);
+        List<String> cast = null;
+        if (castCodes != null) {
+            cast = new ArrayList<>(castCodes.length);
+            for (int code : castCodes) {
+                cast.add(names.decode(code));
+            }
+        }
+        return new Row(videoIds[slot], titles.get(slot), names.decode(director[slot]), cast, fileUrls.get(slot),
+                fileSize[slot] == NULL_LONG ? null : fileSize[slot], labels.decode(format[slot]),
+                boxed(resolution[slot]), boxed(duration[slot]), active[slot], labels.decode(genre[slot]),
+                boxed(yearOfRelease[slot]), boxed(runningTime[slot]));
+    }
+
+    private void moveSlot(int from, int to) {
+        videoIds[to] = videoIds[from];
+        director[to] = director[from];
+        genre[to] = genre[from];
+        format[to] = format[from];
+        resolution[to] = resolution[from];
+        duration[to] = duration[from];
+        yearOfRelease[to] = yearOfRelease[from];
+        runningTime[to] = runningTime[from];
+        fileSize[to] = fileSize[from];
+        active[to] = active[from];
+        titles.move(from, to);
+        fileUrls.move(from, to);
+        casts.move(from, to);
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= videoIds.length) {
+            return;
+        }
+        int capacity = Math.max(16, Math.max(needed, videoIds.length + (videoIds.length >> 1)));
+        videoIds = Arrays.copyOf(videoIds, capacity);
+        director = Arrays.copyOf(director, capacity);
+        genre = Arrays.copyOf(genre, capacity);
+        format = Arrays.copyOf(format, capacity);
+        resolution = Arrays.copyOf(resolution, capacity);
+        duration = Arrays.copyOf(duration, capacity);
+        yearOfRelease = Arrays.copyOf(yearOfRelease, capacity);
+        runningTime = Arrays.copyOf(runningTime, capacity);
+        fileSize = Arrays.copyOf(fileSize, capacity);
+        active = Arrays.copyOf(active, capacity);
+        titles.grow(capacity);
+        fileUrls.grow(capacity);
+        casts.grow(capacity);
+    }
+
+    private boolean titleContains(int slot, String needle, byte[] asciiNeedle) {
+        if (asciiNeedle != null) {
+            return titles.containsIgnoreAsciiCase(slot, asciiNeedle);
+        }
+        String title = titles.get(slot);
+        return title != null && title.toLowerCase().contains(needle);
+    }
+
+    private static boolean matches(int code, BitSet hits) {
+        return code != NULL && hits.get(code);
+    }
+
+    private static int orNull(Integer value) {
+        return value == null ? NULL : value;
+    }
+
+    private static Integer boxed(int value) {
+        return value == NULL ? null : value;
+    }
+
+    private static boolean isAscii(String value) {
+        return value.chars().allMatch(c -> c < 0x80);
+    }
+
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private long chars;
+
+        int encode(String value) {
+            if (value == null) {
+                return NULL;
+            }
+            return codes.computeIfAbsent(value, key -> {
+                values.add(key);
+                chars += key.length();
+                return values.size() - 1;
+            });
+        }
+
+        String decode(int code) {
+            return code == NULL ? null : values.get(code);
+        }
+
+        BitSet matching(String lowerNeedle) {
+            BitSet hits = new BitSet(values.size());
+            for (int code = 0; code < values.size(); code++) {
+                if (values.get(code).toLowerCase().contains(lowerNeedle)) {
+                    hits.set(code);
+                }
+            }
+            return hits;
+        }
+
+        // string, map entry and boxed code per value
+        long bytes() {
+            return chars * 2 + values.size() * 96L;
+        }
+
+        void writeTo(SnapshotFile.Writer out) throws IOException {
+            out.writeInt(values.size());
+            for (String value : values) {
+                out.writeString(value);
+            }
+        }
+
+        // codes are positions, so encoding in order gives every value its old code
+        void readFrom(SnapshotFile.Reader in) {
+            for (int count = in.readInt(); count > 0; count--) {
+                encode(in.readString());
+            }
+        }
+    }
+
+    // variable-length values of every slot packed into one growing array; length -1 is null
+    private abstract static class Arena {
+        int[] offsets = new int[0];
+        int[] lengths = new int[0];
+        int used;
+        int garbage;
+
+        abstract int capacity();
+
+        abstract void resize(int capacity);
+
+        abstract void copyWithin(int[] liveOffsets, int[] liveLengths, int slots);
+
+        abstract void writeData(SnapshotFile.Writer out, int offset, int length) throws IOException;
+
+        abstract void readData(SnapshotFile.Reader in, int length);
+
+        void grow(int slots) {
+            offsets = Arrays.copyOf(offsets, slots);
+            lengths = Arrays.copyOf(lengths, slots);
+        }
+
+        void reset(int slot) {
+            lengths[slot] = -1;
+        }
+
+        void release(int slot) {
+            if (lengths[slot] > 0) {
+                garbage += lengths[slot];
+            }
+            lengths[slot] = -1;
+        }
+
+        void move(int from, int to) {
+            offsets[to] = offsets[from];
+            lengths[to] = lengths[from];
+            lengths[from] = -1;
+        }
+
+        int reserve(int slot, int length) {
+            release(slot);
+            if (used + length > capacity()) {
+                resize((int) Math.min(Integer.MAX_VALUE - 8, Math.max((long) used + length, (long) capacity() * 2)));
+            }
+            offsets[slot] = used;
+            lengths[slot] = length;
+            used += length;
+            return offsets[slot];
+        }
+
+        void compactIfWasteful(int slots) {
+            if (garbage < 4096 || garbage < used - garbage) {
+                return;
+            }
+            copyWithin(offsets, lengths, slots);
+            garbage = 0;
+        }
+
+        long bytes() {
+            return (long) offsets.length * Integer.BYTES * 2;
+        }
+
+        // lengths, then the live values back to back in slot order, which is the compacted layout
+        void writeTo(SnapshotFile.Writer out, int slots) throws IOException {
+            out.writeInts(lengths, 0, slots);
+            int live = 0;
+            for (int slot = 0; slot < slots; slot++) {
+                live += Math.max(0, lengths[slot]);
+            }
+            out.writeInt(live);
+            for (int slot = 0; slot < slots; slot++) {
+                if (lengths[slot] > 0) {
+                    writeData(out, offsets[slot], lengths[slot]);
+                }
+            }
+        }
+
+        void readFrom(SnapshotFile.Reader in, int slots) {
+            lengths = in.readInts(slots, slots);
+            offsets = new int[slots];
+            used = in.readInt();
+            readData(in, used);
+            int at = 0;
+            for (int slot = 0; slot < slots; slot++) {
+                offsets[slot] = at;
+                at += Math.max(0, lengths[slot]);
+            }
+            garbage = 0;
+        }
+    }
+
+    private static final class ByteArena extends Arena {
+        private byte[] data = new byte[1024];
+
+        void set(int slot, String value) {
+            if (value == null) {
+                release(slot);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            int offset = reserve(slot, bytes.length); // may replace data
+            System.arraycopy(bytes, 0, data, offset, bytes.length);
+        }
+
+        String get(int slot) {
+            return lengths[slot] < 0 ? null : new String(data, offsets[slot], lengths[slot], StandardCharsets.UTF_8);
+        }
+
+        // needle is lower-case ASCII; non-ASCII bytes of the value never match it
+        boolean containsIgnoreAsciiCase(int slot, byte[] needle) {
+            int length = lengths[slot];
+            if (length < needle.length) {
+                return false;
+            }
+            int start = offsets[slot];
+            for (int i = start, last = start + length - needle.length; i <= last; i++) {
+                int j = 0;
+                while (j < needle.length && lower(data[i + j]) == needle[j]) {
+                    j++;
+                }
+                if (j == needle.length) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static byte lower(byte b) {
+            return b >= 'A' && b <= 'Z' ? (byte) (b + 32) : b;
+        }
+
+        @Override
+        int capacity() {
+            return data.length;
+        }
+
+        @Override
+        void resize(int capacity) {
+            data = Arrays.copyOf(data, capacity);
+        }
+
+        @Override
+        void writeData(SnapshotFile.Writer out, int offset, int length) throws IOException {
+            out.writeBytes(data, offset, length);
+        }
+
+        @Override
+        void readData(SnapshotFile.Reader in, int length) {
+            data = in.readBytes(length);
+        }
+
+        @Override
+        void copyWithin(int[] liveOffsets, int[] liveLengths, int slots) {
+            byte[] packed = new byte[Math.max(1024, used - garbage)];
+            int at = 0;
+            for (int slot = 0; slot < slots; slot++) {
+                if (liveLengths[slot] >= 0) {
+                    System.arraycopy(data, liveOffsets[slot], packed, at, liveLengths[slot]);
+                    liveOffsets[slot] = at;
+                    at += liveLengths[slot];
+                }
+            }
+            data = packed;
+            used = at;
+        }
+
+        @Override
+        long bytes() {
+            return super.bytes() + data.length;
+        }
+    }
+
+    private static final class IntArena extends Arena {
+        private int[] data = new int[1024];
+
+        void set(int slot, int[] values) {
+            if (values == null) {
+                release(slot);
+                return;
+            }
+            int offset = reserve(slot, values.length); // may replace data
+            System.arraycopy(values, 0, data, offset, values.length);
+        }
+
+        int[] get(int slot) {
+            return lengths[slot] < 0 ? null : Arrays.copyOfRange(data, offsets[slot], offsets[slot] + lengths[slot]);
+        }
+
+        boolean containsAny(int slot, BitSet codes) {
+            for (int i = offsets[slot], end = i + Math.max(0, lengths[slot]); i < end; i++) {
+                if (data[i] != NULL && codes.get(data[i])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        int capacity() {
+            return data.length;
+        }
+
+        @Override
+        void resize(int capacity) {
+            data = Arrays.copyOf(data, capacity);
+        }
+
+        @Override
+        void writeData(SnapshotFile.Writer out, int offset, int length) throws IOException {
+            out.writeInts(data, offset, length);
+        }
+
+        @Override
+        void readData(SnapshotFile.Reader in, int length) {
+            data = in.readInts(length, length);
+        }
+
+        @Override
+        void copyWithin(int[] liveOffsets, int[] liveLengths, int slots) {
+            int[] packed = new int[Math.max(1024, used - garbage)];
+            int at = 0;
+            for (int slot = 0; slot < slots; slot++) {
+                if (liveLengths[slot] >= 0) {
+                    System.arraycopy(data, liveOffsets[slot], packed, at, liveLengths[slot]);
+                    liveOffsets[slot] = at;
+                    at += liveLengths[slot];
+                }
+            }
+            data = packed;
+            used = at;
+        }
+
+        @Override
+        long bytes() {
+            return super.bytes() + (long) data.length * Integer.BYTES;
+        }
+    }
+
+    // video id -> slot, open addressing with linear probing; 0 marks an empty bucket
+    private static final class SlotIndex {
+        private int[] keys = new int[16];
+        private int[] values = new int[16];
+        private int count;
+
+        int get(int key) {
+            int mask = keys.length - 1;
+            for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+                if (keys[i] == 0) {
+                    return -1;
+                }
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+        }
+
+        void put(int key, int value) {
+            if ((count + 1) * 2 > keys.length) {
+                rehash(keys.length * 2);
+            }
+            int mask = keys.length - 1;
+            for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+                if (keys[i] == 0) {
+                    keys[i] = key;
+                    values[i] = value;
+                    count++;
+                    return;
+                }
+                if (keys[i] == key) {
+                    values[i] = value;
+                    return;
+                }
+            }
+        }
+
+        // backward-shift deletion, so probes never need tombstones
+        int remove(int key) {
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (keys[i] != key) {
+                if (keys[i] == 0) {
+                    return -1;
+                }
+                i = (i + 1) & mask;
+            }
+            int removed = values[i];
+            for (int j = (i + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+                int home = hash(keys[j]) & mask;
+                boolean movable = i <= j ? (home <= i || home > j) : (home <= i && home > j);
+                if (movable) {
+                    keys[i] = keys[j];
+                    values[i] = values[j];
+                    i = j;
+                }
+            }
+            keys[i] = 0;
+            count--;
+            return removed;
+        }
+
+        long bytes() {
+            return (long) keys.length * Integer.BYTES * 2;
+        }
+
+        private void rehash(int capacity) {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new int[capacity];
+            values = new int[capacity];
+            count = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int hash(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
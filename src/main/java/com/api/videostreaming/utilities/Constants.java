@@ -17,6 +17,7 @@ public class Constants {
     public static final int TOO_MANY_REQUESTS_CODE = 429;
     public static final int INTERNAL_SERVER_ERROR_CODE = 500;
     public static final int BAD_GATEWAY_ERROR_CODE = 502;
+    public static final int SERVICE_UNAVAILABLE_CODE = 503;
 
     public static final String SUCCESSFUL = "successful";
     public static final String UNSUCCESSFUL = "unsuccessful";
@@ -34,6 +35,10 @@ public class Constants {
     public static final String TOO_MANY_REQUESTS = "TOO_MANY_REQUESTS";
     public static final String INVALID_USER_TYPE = "INVALID_USER_TYPE";
     public static final String NO_CONTENT = "NO_CONTENT";
+    public static final String SERVICE_UNAVAILABLE = "SERVICE_UNAVAILABLE";
+    public static final String LOOKUP_TIMEOUT = "LOOKUP_TIMEOUT";
+    public static final String LOAD_SHED = "LOAD_SHED";
+    public static final String DATABASE_UNAVAILABLE = "DATABASE_UNAVAILABLE";
 
     /*
      * Code Base Constats
@@ -43,12 +48,17 @@ public class Constants {
     public static final String TOKEN_TYPE = "tokenType"; 
     public static final String TYPE_REFRESH_TOKEN = "refresh";
     public static final String TYPE_AUTH_TOKEN = "auth";
+    public static final String TOKEN_FAMILY = "fid";
 
     /*
      * ADMIN Constats
     */
     public static final String BAD_CREDENTIALS = "Invalid credentials, user not found";
     public static final String TOKEN_GENERATED = "token generated";
+    public static final String LOGIN_BUSY = "LOGIN_BUSY";
+    public static final String BCRYPT_PREFIX = "{bcrypt}";
+    public static final String INVALID_REFRESH_TOKEN = "Invalid refresh token";
+    public static final String REFRESH_TOKEN_REVOKED = "REFRESH_TOKEN_REVOKED";
 
     /*
      * VIDEO Constats
@@ -59,10 +69,18 @@ public class Constants {
     public static final String META_DATA_UPDATED_SUCCESSFULLY = "META_DATA_UPDATED_SUCCESSFULLY";
     public static final String VIDEO_DELETED = "video deleted";
     public static final String VIDEO_CONTENT_DATA_FETCH = "VIDEO_CONTENT_DATA_FETCH";
+    public static final String INVALID_PLAYBACK_SIGNATURE = "INVALID_PLAYBACK_SIGNATURE";
+    public static final String FACET_GENRE = "genre";
+    public static final String FACET_YEAR = "year";
+    public static final String FACET_RESOLUTION = "resolution";
+    public static final String FACET_FORMAT = "format";
+    public static final String FACET_DURATION = "duration";
 
     /*
      * Engagment strategy
     */
     public static final String ENGAGEMENT_REGISTER = "ENGAGEMENT_REGISTER";
+    public static final String ENGAGEMENT_DUPLICATE = "Duplicate engagement within the de-duplication window, not counted";
+    public static final String LIVE_SUBSCRIBERS_FULL = "LIVE_SUBSCRIBERS_FULL";
 }
 
@@ -0,0 +1,20 @@
+package com.api.videostreaming.utilities;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Carries PnCounterMap entries between nodes. Delivery may be lossy, duplicated or reordered:
+ * merging is idempotent and the periodic full-state rounds repair anything lost.
+ */
+public interface CounterTransport extends Closeable {
+
+    // entries sent by peers go to receiver; a node's own sends may or may not come back
+    void start(Consumer<List<PnCounterMap.Entry>> receiver);
+
+    void publish(List<PnCounterMap.Entry> entries);
+
+    @Override
+    void close();
+}
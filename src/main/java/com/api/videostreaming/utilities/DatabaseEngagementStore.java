@@ -0,0 +1,64 @@
+package com.api.videostreaming.utilities;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.api.videostreaming.enums.EngagementType;
+
+/**
+ * Engagement counters on video_engagements, one row per video. An engagement is one
+ * INSERT ... ON DUPLICATE KEY UPDATE against the unique video_id, so the first engagements of a
+ * video cannot race to create two rows and concurrent increments are never lost.
+ *
+ * Reads sum per video, so rows duplicated before video_id was unique are still counted once.
+ */
+public class DatabaseEngagementStore implements EngagementStore {
+
+    // also issued over R2DBC by the reactive deployment
+    public static final String INCREMENT = "INSERT INTO video_engagements (video_id, impressions, views) VALUES (?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE impressions = impressions + VALUES(impressions), views = views + VALUES(views)";
+    private static final String COLUMNS = "SELECT video_id, SUM(impressions), SUM(views) FROM video_engagements";
+    private static final String FIND = COLUMNS + " WHERE video_id = ? GROUP BY video_id";
+    private static final String FIND_ALL = COLUMNS + " GROUP BY video_id";
+    private static final String TOP = FIND_ALL + " ORDER BY SUM(views) DESC, video_id LIMIT ?";
+    private static final String TOTALS = "SELECT COALESCE(SUM(impressions), 0), COALESCE(SUM(views), 0), COUNT(DISTINCT video_id) FROM video_engagements";
+
+    private final JdbcTemplate jdbc;
+
+    public DatabaseEngagementStore(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public void increment(long videoId, EngagementType type) {
+        jdbc.update(INCREMENT, videoId, type == EngagementType.IMPRESSION ? 1 : 0, type == EngagementType.IMPRESSION ? 0 : 1);
+    }
+
+    @Override
+    public Optional<Counts> find(long videoId) {
+        return jdbc.query(FIND, DatabaseEngagementStore::toCounts, videoId).stream().findFirst();
+    }
+
+    @Override
+    public List<Counts> findAll() {
+        return jdbc.query(FIND_ALL, DatabaseEngagementStore::toCounts);
+    }
+
+    @Override
+    public Totals totals() {
+        return jdbc.queryForObject(TOTALS, (rs, rowNum) -> new Totals(rs.getLong(1), rs.getLong(2), rs.getLong(3)));
+    }
+
+    @Override
+    public List<Counts> topByViews(int limit) {
+        return jdbc.query(TOP, DatabaseEngagementStore::toCounts, limit);
+    }
+
+    private static Counts toCounts(ResultSet rs, int rowNum) throws SQLException {
+        return new Counts(rs.getLong(1), rs.getInt(2), rs.getInt(3));
+    }
+}
@@ -0,0 +1,114 @@
+package com.api.videostreaming.utilities;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
+
+/**
+ * Exponentially time-decayed popularity, kept in score order.
+ *
+ * Uses forward decay: an event of weight w at time t adds w * e^(lambda * (t - landmark)), so old
+ * contributions never need to be touched and relative order is the same as with backward decay.
+ * Scores are held as logarithms (log-sum-exp on update), which keeps them finite forever without
+ * ever rescaling the index.
+ *
+ * An update is O(1) on the score map plus an O(log n) remove/add in the skip list. Updates of one
+ * video are serialized by ConcurrentHashMap.compute on its key; readers iterate the skip list
+ * without locking.
+ */
+public class DecayedPopularityIndex {
+
+    private record Ranked(double logScore, long videoId) {}
+
+    private static final Comparator<Ranked> BY_SCORE = Comparator.comparingDouble(Ranked::logScore).reversed()
+            .thenComparingLong(Ranked::videoId);
+
+    private final double lambdaPerMilli;
+    private final long landmarkMillis;
+    private final LongSupplier clock;
+    private final Map<Long, Double> logScores = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Ranked> ranking = new ConcurrentSkipListSet<>(BY_SCORE);
+
+    public DecayedPopularityIndex(long halfLifeMillis, LongSupplier clock) {
+        this.lambdaPerMilli = Math.log(2) / halfLifeMillis;
+        this.clock = clock;
+        this.landmarkMillis = clock.getAsLong();
+    }
+
+    public DecayedPopularityIndex(long halfLifeMillis) {
+        this(halfLifeMillis, System::currentTimeMillis);
+    }
+
+    // starts tracking a video (no-op when already tracked), optionally with an initial weight
+    public void track(long videoId, double initialWeight) {
+        logScores.computeIfAbsent(videoId, id -> {
+            double logScore = initialWeight > 0 ? logWeightNow(initialWeight) : Double.NEGATIVE_INFINITY;
+            ranking.add(new Ranked(logScore, id));
+            return logScore;
+        });
+    }
+
+    // only tracked (active) videos are scored
+    public void add(long videoId, double weight) {
+        double increment = logWeightNow(weight);
+        logScores.computeIfPresent(videoId, (id, current) -> {
+            double next = logAddExp(current, increment);
+            ranking.remove(new Ranked(current, id));
+            ranking.add(new Ranked(next, id));
+            return next;
+        });
+    }
+
+    public void remove(long videoId) {
+        logScores.computeIfPresent(videoId, (id, current) -> {
+            ranking.remove(new Ranked(current, id));
+            return null;
+        });
+    }
+
+    // decayed to now
+    public double score(long videoId) {
+        Double logScore = logScores.get(videoId);
+        return logScore == null ? 0 : Math.exp(logScore - lambdaPerMilli * (clock.getAsLong() - landmarkMillis));
+    }
+
+    public int size() {
+        return logScores.size();
+    }
+
+    // most popular first, skipping ids rejected by filter
+    public List<Long> page(LongPredicate filter, long offset, int limit) {
+        List<Long> page = new ArrayList<>(limit);
+        long skipped = 0;
+        for (Ranked ranked : ranking) {
+            if (page.size() == limit) {
+                break;
+            }
+            if (!filter.test(ranked.videoId())) {
+                continue;
+            }
+            if (skipped++ < offset) {
+                continue;
+            }
+            page.add(ranked.videoId());
+        }
+        return page;
+    }
+
+    private double logWeightNow(double weight) {
+        return Math.log(weight) + lambdaPerMilli * (clock.getAsLong() - landmarkMillis);
+    }
+
+    private static double logAddExp(double a, double b) {
+        if (a == Double.NEGATIVE_INFINITY) {
+            return b;
+        }
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.exp(Math.min(a, b) - max));
+    }
+}
@@ -0,0 +1,31 @@
+package com.api.videostreaming.utilities;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.api.videostreaming.enums.EngagementType;
+
+/**
+ * Where engagement counters live: video_engagements by default, the engagement shards with
+ * engagement.sharding.enabled, or the replicated in-memory counters with engagement.replicated.enabled.
+ * Services read and count engagements only through this, so no path bypasses the configured store.
+ *
+ * Counting is a single atomic increment, never a read followed by a save, so concurrent
+ * engagements of one video are never lost or split over several rows.
+ */
+public interface EngagementStore {
+
+    record Counts(long videoId, int impressions, int views) {}
+
+    record Totals(long impressions, long views, long videos) {}
+
+    void increment(long videoId, EngagementType type);
+
+    Optional<Counts> find(long videoId);
+
+    List<Counts> findAll();
+
+    Totals totals();
+
+    List<Counts> topByViews(int limit);
+}
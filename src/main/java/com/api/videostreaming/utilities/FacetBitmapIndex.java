@@ -0,0 +1,194 @@
+package com.api.videostreaming.utilities;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * Roaring bitmaps of video ids per facet value, plus one bitmap of active videos.
+ *
+ * Filters OR the values of a facet and AND across facets. Counts are disjunctive: the counts
+ * of a facet ignore that facet's own filter, so a UI can still offer its sibling values.
+ *
+ * Bitmaps are updated in place under a write lock, so a put costs a few bitmap adds however
+ * large the index is, and a batch takes the lock once. Readers share a read lock and get back
+ * bitmaps of their own.
+ */
+public class FacetBitmapIndex {
+
+    private final List<String> facets;
+    private final Map<String, Map<String, RoaringBitmap>> bitmaps = new HashMap<>();
+    private final Map<Integer, Map<String, String>> documentValues = new HashMap<>();
+    private final RoaringBitmap active = new RoaringBitmap();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public FacetBitmapIndex(List<String> facets) {
+        this.facets = List.copyOf(facets);
+        facets.forEach(facet -> bitmaps.put(facet, new HashMap<>()));
+    }
+
+    // replaces whatever was indexed for id; null values are left out of their facet
+    public void put(int id, Map<String, String> values) {
+        putAll(Map.of(id, values));
+    }
+
+    // put for every id, under one write lock
+    public void putAll(Map<Integer, Map<String, String>> documents) {
+        lock.writeLock().lock();
+        try {
+            documents.forEach(this::index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            removeValues(id);
+            documentValues.remove(id);
+            active.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isActive(int id) {
+        lock.readLock().lock();
+        try {
+            return active.contains(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // active ids matching every facet in filters (values of one facet are OR-ed)
+    public RoaringBitmap match(Map<String, ? extends Collection<String>> filters) {
+        lock.readLock().lock();
+        try {
+            return matchExcept(filters, null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // value -> count per facet, restricted to within (all active ids when null)
+    public Map<String, Map<String, Integer>> counts(Map<String, ? extends Collection<String>> filters, RoaringBitmap within) {
+        lock.readLock().lock();
+        try {
+            return countsOf(filters, within);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<String, Map<String, Integer>> countsOf(Map<String, ? extends Collection<String>> filters, RoaringBitmap within) {
+        Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+        for (String facet : facets) {
+            RoaringBitmap base = matchExcept(filters, facet);
+            if (within != null) {
+                base.and(within);
+            }
+            Map<String, Integer> values = new LinkedHashMap<>();
+            bitmaps.get(facet).entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(e -> {
+                        int count = RoaringBitmap.andCardinality(base, e.getValue());
+                        if (count > 0) {
+                            values.put(e.getKey(), count);
+                        }
+                    });
+            counts.put(facet, values);
+        }
+        return counts;
+    }
+
+    // ids from within ordered by the facet's value (ascending ids inside one value), ids without a value last
+    public List<Integer> orderedBy(String facet, Comparator<String> valueOrder, RoaringBitmap within, long offset, int limit) {
+        List<Integer> page = new ArrayList<>(limit);
+        RoaringBitmap remaining = within.clone();
+        long[] skip = {offset};
+        lock.readLock().lock();
+        try {
+            List<Map.Entry<String, RoaringBitmap>> values = new ArrayList<>(bitmaps.get(facet).entrySet());
+            values.sort(Map.Entry.comparingByKey(valueOrder));
+            for (Map.Entry<String, RoaringBitmap> value : values) {
+                RoaringBitmap slice = RoaringBitmap.and(remaining, value.getValue());
+                remaining.andNot(slice);
+                if (!take(slice, skip, page, limit)) {
+                    return page;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        take(remaining, skip, page, limit);
+        return page;
+    }
+
+    // false once the page is full
+    private boolean take(RoaringBitmap slice, long[] skip, List<Integer> page, int limit) {
+        int cardinality = slice.getCardinality();
+        if (skip[0] >= cardinality) {
+            skip[0] -= cardinality;
+            return true;
+        }
+        for (int rank = (int) skip[0]; rank < cardinality && page.size() < limit; rank++) {
+            page.add(slice.select(rank));
+        }
+        skip[0] = 0;
+        return page.size() < limit;
+    }
+
+    private RoaringBitmap matchExcept(Map<String, ? extends Collection<String>> filters, String skippedFacet) {
+        RoaringBitmap result = active.clone();
+        for (Map.Entry<String, ? extends Collection<String>> filter : filters.entrySet()) {
+            Map<String, RoaringBitmap> values = bitmaps.get(filter.getKey());
+            if (values == null || filter.getValue() == null || filter.getValue().isEmpty() || filter.getKey().equals(skippedFacet)) {
+                continue;
+            }
+            RoaringBitmap any = new RoaringBitmap();
+            for (String value : filter.getValue()) {
+                RoaringBitmap bitmap = values.get(value);
+                if (bitmap != null) {
+                    any.or(bitmap);
+                }
+            }
+            result.and(any);
+        }
+        return result;
+    }
+
+    // callers hold the write lock
+    private void index(int id, Map<String, String> values) {
+        removeValues(id);
+        Map<String, String> indexed = new HashMap<>();
+        values.forEach((facet, value) -> {
+            if (value != null && bitmaps.containsKey(facet)) {
+                bitmaps.get(facet).computeIfAbsent(value, v -> new RoaringBitmap()).add(id);
+                indexed.put(facet, value);
+            }
+        });
+        documentValues.put(id, indexed);
+        active.add(id);
+    }
+
+    private void removeValues(int id) {
+        Map<String, String> previous = documentValues.get(id);
+        if (previous == null) {
+            return;
+        }
+        previous.forEach((facet, value) -> bitmaps.get(facet).computeIfPresent(value, (v, bitmap) -> {
+            bitmap.remove(id);
+            return bitmap.isEmpty() ? null : bitmap;
+        }));
+    }
+}
@@ -0,0 +1,224 @@
+package com.api.videostreaming.utilities;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.commons.codec.language.DoubleMetaphone;
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * In-memory term dictionary for typo-tolerant search.
+ *
+ * Terms live in a character trie with a posting bitmap per term; a query word walks the trie
+ * through a {@link LevenshteinAutomaton}, so only branches that can still be within the edit
+ * budget are visited. Name terms (directors, cast) are also keyed by their Double Metaphone
+ * codes, which catches spellings further apart than two edits but pronounced the same.
+ *
+ * Every query word must match for a document to be returned. A document scores the best
+ * match per word: exact 4, one edit 2, two edits or phonetic 1.
+ */
+public class FuzzyTermIndex {
+
+    private static final int EXACT_SCORE = 4;
+    private static final int ONE_EDIT_SCORE = 2;
+    private static final int WEAK_SCORE = 1;
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private RoaringBitmap postings;
+    }
+
+    private final Node root = new Node();
+    private final Map<String, Set<String>> phoneticTerms = new HashMap<>();
+    private final Map<Integer, Set<String>> documentTerms = new HashMap<>();
+    private final Map<Integer, Set<String>> documentNameTerms = new HashMap<>();
+    private final DoubleMetaphone metaphone = new DoubleMetaphone();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public static List<String> tokenize(String text) {
+        String normalized = RadixSuggestionTrie.normalize(text);
+        return normalized.isEmpty() ? List.of() : Arrays.asList(normalized.split(" "));
+    }
+
+    // replaces whatever was indexed for id
+    public void put(int id, List<String> texts, List<String> names) {
+        Set<String> terms = new HashSet<>();
+        texts.forEach(text -> terms.addAll(tokenize(text)));
+        Set<String> nameTerms = new HashSet<>();
+        names.forEach(name -> nameTerms.addAll(tokenize(name)));
+        terms.addAll(nameTerms);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            for (String term : terms) {
+                Node node = root;
+                for (int i = 0; i < term.length(); i++) {
+                    node = node.children.computeIfAbsent(term.charAt(i), c -> new Node());
+                }
+                if (node.postings == null) {
+                    node.postings = new RoaringBitmap();
+                }
+                node.postings.add(id);
+            }
+            for (String term : nameTerms) {
+                codesOf(term).forEach(code -> phoneticTerms.computeIfAbsent(code, c -> new HashSet<>()).add(term));
+            }
+            documentTerms.put(id, terms);
+            documentNameTerms.put(id, nameTerms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // document id -> score, best first
+    public Map<Integer, Integer> search(String phrase, int maxEdits) {
+        List<String> words = tokenize(phrase);
+        if (words.isEmpty()) {
+            return Map.of();
+        }
+        Map<Integer, Integer> totals = null;
+        lock.readLock().lock();
+        try {
+            for (String word : words) {
+                Map<Integer, Integer> scores = scoreWord(word, editsFor(word, maxEdits));
+                if (totals == null) {
+                    totals = scores;
+                } else {
+                    totals.keySet().retainAll(scores.keySet());
+                    totals.replaceAll((id, total) -> total + scores.get(id));
+                }
+                if (totals.isEmpty()) {
+                    return Map.of();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<Integer, Integer> ranked = new LinkedHashMap<>();
+        totals.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(e -> ranked.put(e.getKey(), e.getValue()));
+        return ranked;
+    }
+
+    // short words get fewer edits, otherwise almost everything matches
+    private int editsFor(String word, int maxEdits) {
+        if (word.length() <= 2) {
+            return 0;
+        }
+        return word.length() <= 5 ? Math.min(1, maxEdits) : maxEdits;
+    }
+
+    private Map<Integer, Integer> scoreWord(String word, int maxEdits) {
+        Map<Integer, Integer> scores = new HashMap<>();
+        LevenshteinAutomaton automaton = new LevenshteinAutomaton(word, maxEdits);
+        collect(root, automaton, automaton.start(), scores);
+
+        for (String code : codesOf(word)) {
+            for (String term : phoneticTerms.getOrDefault(code, Set.of())) {
+                RoaringBitmap postings = find(term);
+                if (postings != null) {
+                    postings.forEach((int id) -> scores.merge(id, WEAK_SCORE, Math::max));
+                }
+            }
+        }
+        return scores;
+    }
+
+    private void collect(Node node, LevenshteinAutomaton automaton, int[] state, Map<Integer, Integer> scores) {
+        if (node.postings != null && automaton.isMatch(state)) {
+            int distance = automaton.distance(state);
+            int score = distance == 0 ? EXACT_SCORE : distance == 1 ? ONE_EDIT_SCORE : WEAK_SCORE;
+            node.postings.forEach((int id) -> scores.merge(id, score, Math::max));
+        }
+        for (Map.Entry<Character, Node> child : node.children.entrySet()) {
+            int[] next = automaton.step(state, child.getKey());
+            if (automaton.canMatch(next)) {
+                collect(child.getValue(), automaton, next, scores);
+            }
+        }
+    }
+
+    private RoaringBitmap find(String term) {
+        Node node = root;
+        for (int i = 0; i < term.length() && node != null; i++) {
+            node = node.children.get(term.charAt(i));
+        }
+        return node == null ? null : node.postings;
+    }
+
+    private List<String> codesOf(String term) {
+        List<String> codes = new ArrayList<>(2);
+        String primary = metaphone.doubleMetaphone(term);
+        String alternate = metaphone.doubleMetaphone(term, true);
+        if (primary != null && !primary.isEmpty()) {
+            codes.add(primary);
+        }
+        if (alternate != null && !alternate.isEmpty() && !alternate.equals(primary)) {
+            codes.add(alternate);
+        }
+        return codes;
+    }
+
+    private void removeLocked(int id) {
+        Set<String> terms = documentTerms.remove(id);
+        Set<String> nameTerms = documentNameTerms.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            RoaringBitmap postings = find(term);
+            if (postings == null) {
+                continue;
+            }
+            postings.remove(id);
+            if (postings.isEmpty()) {
+                clear(term);
+                if (nameTerms.contains(term)) {
+                    codesOf(term).forEach(code -> phoneticTerms.computeIfPresent(code, (c, set) -> {
+                        set.remove(term);
+                        return set.isEmpty() ? null : set;
+                    }));
+                }
+            }
+        }
+    }
+
+    // drops the term and prunes the nodes that only existed for it
+    private void clear(String term) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < term.length(); i++) {
+            node = node.children.get(term.charAt(i));
+            path.add(node);
+        }
+        node.postings = null;
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node current = path.get(i);
+            if (current.postings != null || !current.children.isEmpty()) {
+                break;
+            }
+            path.get(i - 1).children.remove(term.charAt(i - 1));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.api.videostreaming.utilities;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit that adapts to measured latency (gradient algorithm, as in Netflix's
+ * concurrency-limits "Gradient2").
+ *
+ * Latency samples are averaged per window into a short-term RTT; a slow exponential average of
+ * those gives the long-term (baseline) RTT. Every window the limit is scaled by
+ * gradient = clamp(tolerance * longRtt / shortRtt, 0.5, 1) and grown by a queue allowance of
+ * sqrt(limit), then smoothed. Rising latency therefore shrinks the limit within a few windows,
+ * while healthy latency lets it grow until it is bounded by maxLimit. When fewer than half of the
+ * slots are in use the limit is left alone, because latency says nothing about capacity then.
+ *
+ * Acquire is one increment (plus a decrement on rejection); samples are lock-free and only the
+ * thread closing a window recomputes the limit.
+ */
+public class GradientConcurrencyLimiter {
+
+    private static final double LONG_RTT_ALPHA = 2.0 / (600 + 1); // ~600 windows
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong windowRttSum = new AtomicLong();
+    private final AtomicLong windowSamples = new AtomicLong();
+    private final AtomicLong windowEnd;
+    private volatile double limit;
+    private volatile double longRttNanos;
+    private volatile int peakInFlight;
+
+    public GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance, long windowMillis, LongSupplier nanoClock) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.windowNanos = windowMillis * 1_000_000;
+        this.nanoClock = nanoClock;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.windowEnd = new AtomicLong(nanoClock.getAsLong() + windowNanos);
+    }
+
+    public GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance, long windowMillis) {
+        this(initialLimit, minLimit, maxLimit, tolerance, windowMillis, System::nanoTime);
+    }
+
+    public boolean tryAcquire() {
+        return tryAcquire(1.0);
+    }
+
+    // admits only while in-flight stays below share * limit, so lower shares are shed first
+    public boolean tryAcquire(double share) {
+        int current = inFlight.incrementAndGet();
+        if (current > Math.max(1, (int) (limit * share))) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        if (current > peakInFlight) {
+            peakInFlight = current;
+        }
+        return true;
+    }
+
+    // every successful tryAcquire must be released exactly once
+    public void release(long rttNanos) {
+        inFlight.decrementAndGet();
+        windowRttSum.addAndGet(rttNanos);
+        windowSamples.incrementAndGet();
+
+        long now = nanoClock.getAsLong();
+        long end = windowEnd.get();
+        if (now >= end && windowEnd.compareAndSet(end, now + windowNanos)) {
+            long samples = windowSamples.getAndSet(0);
+            long sum = windowRttSum.getAndSet(0);
+            if (samples > 0) {
+                update((double) sum / samples);
+            }
+        }
+    }
+
+    // gives the slot back without a latency sample, e.g. when a later check rejected the request
+    public void cancel() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void update(double shortRtt) {
+        int peak = peakInFlight;
+        peakInFlight = inFlight.get();
+
+        double longRtt = longRttNanos == 0 ? shortRtt : longRttNanos * (1 - LONG_RTT_ALPHA) + shortRtt * LONG_RTT_ALPHA;
+        // after a long slow period, let the baseline drift back down instead of pinning the limit
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        longRttNanos = longRtt;
+
+        double current = limit;
+        if (peak < current / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double next = current * gradient + Math.sqrt(current);
+        next = current * (1 - SMOOTHING) + next * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
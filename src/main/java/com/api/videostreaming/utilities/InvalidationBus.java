@@ -0,0 +1,249 @@
+package com.api.videostreaming.utilities;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Broadcasts "video X changed" between nodes so each can reload its in-memory catalog state.
+ *
+ * Local changes are collected and sent together on flush, so a burst of edits to the same videos
+ * becomes one message. Every message carries the sender's id and its next sequence number.
+ * Receivers track the highest sequence seen per sender; a jump means messages were lost, and the
+ * missing range is requested again. The sender replays from a bounded history, or answers
+ * TRUNCATED when the range is gone. A gap that is still open after replayTimeout, or a TRUNCATED
+ * one, ends in a full resync.
+ */
+public class InvalidationBus {
+    private static final Logger log = LoggerFactory.getLogger(InvalidationBus.class);
+    private static final byte WIRE_VERSION = 1;
+    // a jump this large is a restart or a long partition; replaying it would cost more than a resync
+    private static final long MAX_REPLAY_GAP = 10_000;
+
+    public enum Kind { INVALIDATE, REPLAY_REQUEST, TRUNCATED }
+
+    /**
+     * INVALIDATE: videoIds changed at origin, version seq. REPLAY_REQUEST: resend origin's seq..toSeq.
+     * TRUNCATED: origin can no longer replay anything up to seq.
+     */
+    public record Message(Kind kind, long origin, long seq, long toSeq, long[] videoIds) {
+
+        public byte[] encode() {
+            ByteBuffer buffer = ByteBuffer.allocate(2 + 3 * Long.BYTES + Integer.BYTES + videoIds.length * Long.BYTES);
+            buffer.put(WIRE_VERSION).put((byte) kind.ordinal()).putLong(origin).putLong(seq).putLong(toSeq).putInt(videoIds.length);
+            for (long videoId : videoIds) {
+                buffer.putLong(videoId);
+            }
+            return buffer.array();
+        }
+
+        public static Message decode(byte[] data, int offset, int length) {
+            ByteBuffer buffer = ByteBuffer.wrap(data, offset, length);
+            if (buffer.get() != WIRE_VERSION) {
+                throw new IllegalArgumentException("Unknown invalidation wire version");
+            }
+            Kind kind = Kind.values()[buffer.get()];
+            long origin = buffer.getLong();
+            long seq = buffer.getLong();
+            long toSeq = buffer.getLong();
+            long[] videoIds = new long[buffer.getInt()];
+            for (int i = 0; i < videoIds.length; i++) {
+                videoIds[i] = buffer.getLong();
+            }
+            return new Message(kind, origin, seq, toSeq, videoIds);
+        }
+    }
+
+    private static final class OriginState {
+        private long highestSeq;
+        // missing seq -> when the gap was seen
+        private final TreeMap<Long, Long> missing = new TreeMap<>();
+
+        private OriginState(long highestSeq) {
+            this.highestSeq = highestSeq;
+        }
+    }
+
+    private final long nodeId;
+    private final InvalidationTransport transport;
+    private final Consumer<Set<Long>> reload;
+    private final Runnable fullResync;
+    private final int maxIdsPerMessage;
+    private final int historySize;
+    private final long replayTimeoutMillis;
+    private final LongSupplier clock;
+
+    private final Set<Long> pending = new LinkedHashSet<>();
+    private final ArrayDeque<Message> history = new ArrayDeque<>();
+    private final Map<Long, OriginState> origins = new HashMap<>();
+    private long nextSeq = 1;
+
+    public InvalidationBus(long nodeId, InvalidationTransport transport, Consumer<Set<Long>> reload, Runnable fullResync,
+                           int maxIdsPerMessage, int historySize, long replayTimeoutMillis, LongSupplier clock) {
+        this.nodeId = nodeId;
+        this.transport = transport;
+        this.reload = reload;
+        this.fullResync = fullResync;
+        this.maxIdsPerMessage = maxIdsPerMessage;
+        this.historySize = historySize;
+        this.replayTimeoutMillis = replayTimeoutMillis;
+        this.clock = clock;
+    }
+
+    public void start() {
+        transport.start(this::onMessage);
+    }
+
+    public void invalidate(long videoId) {
+        synchronized (pending) {
+            pending.add(videoId);
+        }
+    }
+
+    // sends everything invalidated since the last flush
+    public void flush() {
+        long[] videoIds;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            videoIds = pending.stream().mapToLong(Long::longValue).toArray();
+            pending.clear();
+        }
+        for (int from = 0; from < videoIds.length; from += maxIdsPerMessage) {
+            long[] chunk = Arrays.copyOfRange(videoIds, from, Math.min(videoIds.length, from + maxIdsPerMessage));
+            Message message;
+            synchronized (history) {
+                message = new Message(Kind.INVALIDATE, nodeId, nextSeq, nextSeq, chunk);
+                nextSeq++;
+                history.addLast(message);
+                if (history.size() > historySize) {
+                    history.removeFirst();
+                }
+            }
+            transport.publish(message);
+        }
+    }
+
+    public void onMessage(Message message) {
+        switch (message.kind()) {
+            case INVALIDATE -> onInvalidate(message);
+            case REPLAY_REQUEST -> {
+                if (message.origin() == nodeId) {
+                    replay(message.seq(), message.toSeq());
+                }
+            }
+            case TRUNCATED -> onTruncated(message);
+        }
+    }
+
+    // gives up on gaps that replays did not fill in time
+    public void checkGaps() {
+        long expiredBefore = clock.getAsLong() - replayTimeoutMillis;
+        boolean resync = false;
+        synchronized (origins) {
+            for (Map.Entry<Long, OriginState> origin : origins.entrySet()) {
+                if (origin.getValue().missing.values().removeIf(seenAt -> seenAt < expiredBefore)) {
+                    log.warn("Invalidations from node {} were lost and not replayed in time", origin.getKey());
+                    resync = true;
+                }
+            }
+        }
+        if (resync) {
+            fullResync.run();
+        }
+    }
+
+    private void onInvalidate(Message message) {
+        if (message.origin() == nodeId) {
+            return;
+        }
+        boolean apply;
+        boolean resync = false;
+        long replayFrom = 0, replayTo = 0;
+        synchronized (origins) {
+            OriginState state = origins.get(message.origin());
+            if (state == null) {
+                origins.put(message.origin(), new OriginState(message.seq()));
+                apply = true;
+            } else if (message.seq() > state.highestSeq) {
+                long gap = message.seq() - state.highestSeq - 1;
+                if (gap > MAX_REPLAY_GAP) {
+                    state.missing.clear();
+                    resync = true;
+                } else if (gap > 0) {
+                    long now = clock.getAsLong();
+                    for (long seq = state.highestSeq + 1; seq < message.seq(); seq++) {
+                        state.missing.put(seq, now);
+                    }
+                    replayFrom = state.highestSeq + 1;
+                    replayTo = message.seq() - 1;
+                }
+                state.highestSeq = message.seq();
+                apply = true;
+            } else {
+                // a replayed message fills its gap; anything else is a duplicate
+                apply = state.missing.remove(message.seq()) != null;
+            }
+        }
+        if (replayTo > 0) {
+            log.info("Missed invalidations {}..{} from node {}, requesting replay", replayFrom, replayTo, message.origin());
+            transport.requestReplay(message.origin(), replayFrom, replayTo);
+        }
+        if (apply) {
+            Set<Long> videoIds = new LinkedHashSet<>();
+            for (long videoId : message.videoIds()) {
+                videoIds.add(videoId);
+            }
+            reload.accept(videoIds);
+        }
+        if (resync) {
+            log.warn("Invalidation stream from node {} jumped to {}, resyncing", message.origin(), message.seq());
+            fullResync.run();
+        }
+    }
+
+    private void onTruncated(Message message) {
+        boolean resync;
+        synchronized (origins) {
+            OriginState state = origins.get(message.origin());
+            resync = state != null && !state.missing.headMap(message.seq(), true).isEmpty();
+            if (resync) {
+                state.missing.headMap(message.seq(), true).clear();
+            }
+        }
+        if (resync) {
+            log.warn("Node {} can no longer replay invalidations up to {}, resyncing", message.origin(), message.seq());
+            fullResync.run();
+        }
+    }
+
+    private void replay(long fromSeq, long toSeq) {
+        List<Message> replayed = new ArrayList<>();
+        long oldest;
+        synchronized (history) {
+            oldest = history.isEmpty() ? nextSeq : history.peekFirst().seq();
+            for (Message message : history) {
+                if (message.seq() >= fromSeq && message.seq() <= toSeq) {
+                    replayed.add(message);
+                }
+            }
+        }
+        if (fromSeq < oldest) {
+            transport.publish(new Message(Kind.TRUNCATED, nodeId, Math.min(toSeq, oldest - 1), 0, new long[0]));
+        }
+        replayed.forEach(transport::publish);
+    }
+}
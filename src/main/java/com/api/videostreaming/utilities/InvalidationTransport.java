@@ -0,0 +1,22 @@
+package com.api.videostreaming.utilities;
+
+import java.io.Closeable;
+import java.util.function.Consumer;
+
+/**
+ * Carries InvalidationBus messages between nodes. Delivery may be lossy, duplicated or reordered;
+ * the bus detects gaps from per-origin sequence numbers and asks for a replay.
+ */
+public interface InvalidationTransport extends Closeable {
+
+    // every received message, including this node's own, goes to receiver
+    void start(Consumer<InvalidationBus.Message> receiver);
+
+    void publish(InvalidationBus.Message message);
+
+    // redeliver origin's messages fromSeq..toSeq, if the transport still can
+    void requestReplay(long origin, long fromSeq, long toSeq);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,54 @@
+package com.api.videostreaming.utilities;
+
+/**
+ * Levenshtein automaton for one query word: accepts every string within maxEdits of it.
+ *
+ * A state is the row of edit distances between the input consumed so far and each prefix
+ * of the word. Stepping a trie edge costs O(word length), and a state that can no longer
+ * reach an accepting one ({@link #canMatch}) prunes the whole subtree below it.
+ */
+public final class LevenshteinAutomaton {
+
+    private final String word;
+    private final int maxEdits;
+
+    public LevenshteinAutomaton(String word, int maxEdits) {
+        this.word = word;
+        this.maxEdits = maxEdits;
+    }
+
+    public int[] start() {
+        int[] state = new int[word.length() + 1];
+        for (int i = 0; i < state.length; i++) {
+            state[i] = i;
+        }
+        return state;
+    }
+
+    public int[] step(int[] state, char c) {
+        int[] next = new int[state.length];
+        next[0] = state[0] + 1;
+        for (int i = 1; i < state.length; i++) {
+            int substitution = state[i - 1] + (word.charAt(i - 1) == c ? 0 : 1);
+            next[i] = Math.min(substitution, Math.min(next[i - 1], state[i]) + 1);
+        }
+        return next;
+    }
+
+    public boolean isMatch(int[] state) {
+        return distance(state) <= maxEdits;
+    }
+
+    public int distance(int[] state) {
+        return state[state.length - 1];
+    }
+
+    public boolean canMatch(int[] state) {
+        for (int distance : state) {
+            if (distance <= maxEdits) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
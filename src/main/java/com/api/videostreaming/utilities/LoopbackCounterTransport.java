@@ -0,0 +1,44 @@
+package com.api.videostreaming.utilities;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process transport: every node attached to the same Hub receives the others' entries
+ * synchronously on the publishing thread. For tests and for several nodes in one JVM.
+ */
+public class LoopbackCounterTransport implements CounterTransport {
+
+    public static class Hub {
+        private final List<LoopbackCounterTransport> members = new CopyOnWriteArrayList<>();
+    }
+
+    private final Hub hub;
+    private volatile Consumer<List<PnCounterMap.Entry>> receiver;
+
+    public LoopbackCounterTransport(Hub hub) {
+        this.hub = hub;
+    }
+
+    @Override
+    public void start(Consumer<List<PnCounterMap.Entry>> receiver) {
+        this.receiver = receiver;
+        hub.members.add(this);
+    }
+
+    @Override
+    public void publish(List<PnCounterMap.Entry> entries) {
+        List<PnCounterMap.Entry> copy = List.copyOf(entries);
+        for (LoopbackCounterTransport member : hub.members) {
+            if (member != this) {
+                member.receiver.accept(copy);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        hub.members.remove(this);
+    }
+}
@@ -0,0 +1,191 @@
+package com.api.videostreaming.utilities;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Small persistent long -> bytes store on a memory-mapped, append-only file.
+ *
+ * Records are [int length][long key][value][int crc]; a length of -1 is a delete. Writes go to the
+ * page cache through the mapping, so they survive a process crash without any fsync on the
+ * request path. On open the log is replayed into an in-memory offset index; the first zeroed or
+ * torn record marks the end. When the file is full, live records are copied into a fresh file
+ * that replaces the old one.
+ *
+ * Writing a value equal to the stored one is a no-op, so callers may put on every read.
+ */
+public class MappedKeyValueStore implements Closeable {
+
+    private static final int MAGIC = 0x4b565331; // "KVS1"
+    private static final int HEADER = Integer.BYTES;
+    private static final int RECORD_OVERHEAD = Integer.BYTES + Long.BYTES + Integer.BYTES;
+    private static final int TOMBSTONE = -1;
+
+    private final Path file;
+    private final int capacity;
+    private final Map<Long, Integer> index = new HashMap<>();
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int writePosition;
+
+    public MappedKeyValueStore(Path file, int capacity) {
+        this.file = file;
+        this.capacity = capacity;
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            map(file);
+            replay();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open " + file, e);
+        }
+    }
+
+    public synchronized byte[] get(long key) {
+        Integer offset = index.get(key);
+        return offset == null ? null : valueAt(offset);
+    }
+
+    // false when the value cannot fit even after compaction
+    public synchronized boolean put(long key, byte[] value) {
+        Integer offset = index.get(key);
+        if (offset != null && Arrays.equals(valueAt(offset), value)) {
+            return true;
+        }
+        if (!ensureRoom(RECORD_OVERHEAD + value.length)) {
+            return false;
+        }
+        index.put(key, append(key, value));
+        return true;
+    }
+
+    public synchronized void remove(long key) {
+        if (index.remove(key) != null && ensureRoom(RECORD_OVERHEAD)) {
+            append(key, null);
+        }
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private void map(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        if (buffer.getInt(0) != MAGIC) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(HEADER, 0);
+        }
+        writePosition = HEADER;
+    }
+
+    private void replay() {
+        int position = HEADER;
+        while (position + RECORD_OVERHEAD <= capacity) {
+            int length = buffer.getInt(position);
+            if (length == 0 || length < TOMBSTONE || position + RECORD_OVERHEAD + Math.max(length, 0) > capacity) {
+                break;
+            }
+            long key = buffer.getLong(position + Integer.BYTES);
+            int valueLength = Math.max(length, 0);
+            if (buffer.getInt(position + Integer.BYTES + Long.BYTES + valueLength) != crcOf(position, valueLength)) {
+                break; // torn write, everything after it is garbage
+            }
+            if (length == TOMBSTONE) {
+                index.remove(key);
+            } else {
+                index.put(key, position);
+            }
+            position += RECORD_OVERHEAD + valueLength;
+        }
+        writePosition = position;
+        clearTail();
+    }
+
+    private int append(long key, byte[] value) {
+        int position = writePosition;
+        int valueLength = value == null ? 0 : value.length;
+        buffer.putInt(position, value == null ? TOMBSTONE : valueLength);
+        buffer.putLong(position + Integer.BYTES, key);
+        if (value != null) {
+            buffer.put(position + Integer.BYTES + Long.BYTES, value);
+        }
+        buffer.putInt(position + Integer.BYTES + Long.BYTES + valueLength, crcOf(position, valueLength));
+        writePosition = position + RECORD_OVERHEAD + valueLength;
+        clearTail();
+        return position;
+    }
+
+    private byte[] valueAt(int position) {
+        byte[] value = new byte[buffer.getInt(position)];
+        buffer.get(position + Integer.BYTES + Long.BYTES, value);
+        return value;
+    }
+
+    private int crcOf(int position, int valueLength) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(position, Integer.BYTES + Long.BYTES + valueLength));
+        return (int) crc.getValue();
+    }
+
+    // the length slot after the last record must read 0 so a replay stops there
+    private void clearTail() {
+        if (writePosition + Integer.BYTES <= capacity) {
+            buffer.putInt(writePosition, 0);
+        }
+    }
+
+    private boolean ensureRoom(int recordSize) {
+        if (writePosition + recordSize + Integer.BYTES <= capacity) {
+            return true;
+        }
+        compact();
+        return writePosition + recordSize + Integer.BYTES <= capacity;
+    }
+
+    private void compact() {
+        Path compacted = file.resolveSibling(file.getFileName() + ".compact");
+        try {
+            Map<Long, byte[]> live = new HashMap<>();
+            index.forEach((key, offset) -> live.put(key, valueAt(offset)));
+            buffer.force();
+            channel.close();
+            Files.deleteIfExists(compacted);
+
+            map(compacted);
+            index.clear();
+            live.forEach((key, value) -> {
+                if (writePosition + RECORD_OVERHEAD + value.length + Integer.BYTES <= capacity) {
+                    index.put(key, append(key, value));
+                }
+            });
+            buffer.force();
+            channel.close();
+
+            Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            int position = writePosition;
+            map(file);
+            writePosition = position;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to compact " + file, e);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.api.videostreaming.utilities;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * UDP multicast transport for counter entries, split into datagrams of at most
+ * MAX_ENTRIES_PER_DATAGRAM entries. Nothing is acknowledged; a lost datagram is covered by the
+ * next full-state round. Loopback is on, so several nodes on one machine see each other. A blank
+ * interface name leaves the choice of interface to the operating system's multicast route.
+ */
+public class MulticastCounterTransport implements CounterTransport {
+    private static final Logger log = LoggerFactory.getLogger(MulticastCounterTransport.class);
+    private static final byte WIRE_VERSION = 1;
+    private static final int ENTRY_BYTES = 6 * Long.BYTES;
+    private static final int MAX_ENTRIES_PER_DATAGRAM = 1200;
+    private static final int MAX_DATAGRAM = 65_507;
+
+    private final InetSocketAddress group;
+    // null for the system default
+    private final NetworkInterface networkInterface;
+    private final MulticastSocket socket;
+    private volatile boolean running;
+
+    public MulticastCounterTransport(String groupAddress, int port, String interfaceName, int timeToLive) {
+        try {
+            this.group = new InetSocketAddress(InetAddress.getByName(groupAddress), port);
+            this.networkInterface = interfaceName == null || interfaceName.isBlank() ? null : NetworkInterface.getByName(interfaceName);
+            this.socket = new MulticastSocket(port);
+            socket.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+            if (networkInterface != null) {
+                socket.setOption(StandardSocketOptions.IP_MULTICAST_IF, networkInterface);
+            }
+            socket.setTimeToLive(timeToLive);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open multicast socket on " + groupAddress + ":" + port, e);
+        }
+    }
+
+    @Override
+    public void start(Consumer<List<PnCounterMap.Entry>> receiver) {
+        try {
+            socket.joinGroup(group, networkInterface);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to join multicast group " + group, e);
+        }
+        running = true;
+        Thread listener = new Thread(() -> listen(receiver), "counters-multicast");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void publish(List<PnCounterMap.Entry> entries) {
+        for (int from = 0; from < entries.size(); from += MAX_ENTRIES_PER_DATAGRAM) {
+            List<PnCounterMap.Entry> chunk = entries.subList(from, Math.min(entries.size(), from + MAX_ENTRIES_PER_DATAGRAM));
+            ByteBuffer buffer = ByteBuffer.allocate(1 + Integer.BYTES + chunk.size() * ENTRY_BYTES);
+            buffer.put(WIRE_VERSION).putInt(chunk.size());
+            for (PnCounterMap.Entry entry : chunk) {
+                buffer.putLong(entry.videoId()).putLong(entry.node())
+                        .putLong(entry.impressionsUp()).putLong(entry.impressionsDown())
+                        .putLong(entry.viewsUp()).putLong(entry.viewsDown());
+            }
+            try {
+                socket.send(new DatagramPacket(buffer.array(), buffer.capacity(), group));
+            } catch (IOException e) {
+                log.warn("Unable to multicast {} counter entries: {}", chunk.size(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        socket.close();
+    }
+
+    private void listen(Consumer<List<PnCounterMap.Entry>> receiver) {
+        byte[] data = new byte[MAX_DATAGRAM];
+        while (running) {
+            DatagramPacket packet = new DatagramPacket(data, data.length);
+            try {
+                socket.receive(packet);
+                receiver.accept(decode(ByteBuffer.wrap(packet.getData(), packet.getOffset(), packet.getLength())));
+            } catch (SocketException e) {
+                if (running) {
+                    log.error("Multicast counter socket failed: {}", e.getMessage());
+                }
+                return;
+            } catch (Exception e) {
+                log.warn("Dropping counter datagram: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static List<PnCounterMap.Entry> decode(ByteBuffer buffer) {
+        if (buffer.get() != WIRE_VERSION) {
+            throw new IllegalArgumentException("Unknown counter wire version");
+        }
+        int count = buffer.getInt();
+        List<PnCounterMap.Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(new PnCounterMap.Entry(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong()));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,98 @@
+package com.api.videostreaming.utilities;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.StandardSocketOptions;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * UDP multicast transport: one datagram per message, no acknowledgements. Loopback is on, so
+ * several nodes on one machine see each other's messages when run locally. Lost datagrams are
+ * recovered by the bus through REPLAY_REQUEST, which is itself multicast to the sender.
+ */
+public class MulticastInvalidationTransport implements InvalidationTransport {
+    private static final Logger log = LoggerFactory.getLogger(MulticastInvalidationTransport.class);
+    private static final int MAX_DATAGRAM = 65_507;
+
+    private final InetSocketAddress group;
+    private final NetworkInterface networkInterface;
+    private final MulticastSocket socket;
+    private volatile boolean running;
+
+    public MulticastInvalidationTransport(String groupAddress, int port, String interfaceName, int timeToLive) {
+        try {
+            this.group = new InetSocketAddress(InetAddress.getByName(groupAddress), port);
+            this.networkInterface = interfaceName == null || interfaceName.isBlank()
+                    ? NetworkInterface.getByInetAddress(InetAddress.getLoopbackAddress())
+                    : NetworkInterface.getByName(interfaceName);
+            this.socket = new MulticastSocket(port);
+            socket.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+            socket.setOption(StandardSocketOptions.IP_MULTICAST_IF, networkInterface);
+            socket.setTimeToLive(timeToLive);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open multicast socket on " + groupAddress + ":" + port, e);
+        }
+    }
+
+    @Override
+    public void start(Consumer<InvalidationBus.Message> receiver) {
+        try {
+            socket.joinGroup(group, networkInterface);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to join multicast group " + group, e);
+        }
+        running = true;
+        Thread listener = new Thread(() -> listen(receiver), "invalidation-multicast");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void publish(InvalidationBus.Message message) {
+        byte[] data = message.encode();
+        try {
+            socket.send(new DatagramPacket(data, data.length, group));
+        } catch (IOException e) {
+            // the receivers' gap detection covers a lost send
+            log.warn("Unable to multicast invalidation {} of node {}: {}", message.seq(), message.origin(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void requestReplay(long origin, long fromSeq, long toSeq) {
+        publish(new InvalidationBus.Message(InvalidationBus.Kind.REPLAY_REQUEST, origin, fromSeq, toSeq, new long[0]));
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        socket.close();
+    }
+
+    private void listen(Consumer<InvalidationBus.Message> receiver) {
+        byte[] buffer = new byte[MAX_DATAGRAM];
+        while (running) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+                receiver.accept(InvalidationBus.Message.decode(packet.getData(), packet.getOffset(), packet.getLength()));
+            } catch (SocketException e) {
+                if (running) {
+                    log.error("Multicast invalidation socket failed: {}", e.getMessage());
+                }
+                return;
+            } catch (Exception e) {
+                log.warn("Dropping invalidation datagram: {}", e.getMessage());
+            }
+        }
+    }
+}
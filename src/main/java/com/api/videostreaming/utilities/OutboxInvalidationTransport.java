@@ -0,0 +1,125 @@
+package com.api.videostreaming.utilities;
+
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Database transport: messages are rows in cache_invalidations and every node polls for rows
+ * past the last id it has seen. Nothing is lost while a row is retained, but ids are allocated
+ * before commit, so a row can become visible after the poller has passed its id. The bus sees
+ * that as a sequence gap, and the replay re-reads the range by (origin, seq) on the next few
+ * polls until the late row shows up.
+ */
+public class OutboxInvalidationTransport implements InvalidationTransport {
+    private static final Logger log = LoggerFactory.getLogger(OutboxInvalidationTransport.class);
+    private static final int REPLAY_ATTEMPTS = 10;
+    private static final int POLLS_PER_CLEANUP = 100;
+
+    private static final String INSERT = "INSERT INTO cache_invalidations (origin, seq, video_ids, created_at) VALUES (?, ?, ?, ?)";
+    private static final String LAST_ID = "SELECT COALESCE(MAX(id), 0) FROM cache_invalidations";
+    private static final String POLL = "SELECT id, origin, seq, video_ids FROM cache_invalidations WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String RANGE = "SELECT id, origin, seq, video_ids FROM cache_invalidations WHERE origin = ? AND seq BETWEEN ? AND ? ORDER BY seq";
+    private static final String CLEANUP = "DELETE FROM cache_invalidations WHERE created_at < ?";
+
+    private record Row(long id, InvalidationBus.Message message) {}
+
+    private final JdbcTemplate jdbc;
+    private final long pollIntervalMillis;
+    private final int batchSize;
+    private final long retentionMillis;
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("invalidation-outbox-"));
+
+    // origin, fromSeq, toSeq, attempts
+    private final Deque<long[]> pendingReplays = new ConcurrentLinkedDeque<>();
+    private volatile Consumer<InvalidationBus.Message> receiver;
+    private long lastId;
+    private long polls;
+
+    public OutboxInvalidationTransport(JdbcTemplate jdbc, long pollIntervalMillis, int batchSize, long retentionMillis) {
+        this.jdbc = jdbc;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.batchSize = batchSize;
+        this.retentionMillis = retentionMillis;
+    }
+
+    // the node has just loaded its state from the database, so only newer rows matter
+    @Override
+    public void start(Consumer<InvalidationBus.Message> receiver) {
+        this.receiver = receiver;
+        this.lastId = jdbc.queryForObject(LAST_ID, Long.class);
+        poller.scheduleWithFixedDelay(this::pollSafely, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void publish(InvalidationBus.Message message) {
+        if (message.kind() != InvalidationBus.Kind.INVALIDATE) {
+            return; // replays are served from the table itself
+        }
+        String videoIds = Arrays.stream(message.videoIds()).mapToObj(Long::toString).collect(Collectors.joining(","));
+        jdbc.update(INSERT, message.origin(), message.seq(), videoIds, System.currentTimeMillis());
+    }
+
+    @Override
+    public void requestReplay(long origin, long fromSeq, long toSeq) {
+        pendingReplays.add(new long[]{origin, fromSeq, toSeq, 0});
+    }
+
+    @Override
+    public void close() {
+        poller.shutdownNow();
+    }
+
+    // one poll, on the poller thread: new rows, then outstanding replays, then now and then old rows
+    public void poll() {
+        List<Row> rows;
+        do {
+            rows = jdbc.query(POLL, ROW_MAPPER, lastId, batchSize);
+            for (Row row : rows) {
+                lastId = row.id();
+                receiver.accept(row.message());
+            }
+        } while (rows.size() == batchSize);
+
+        for (int i = pendingReplays.size(); i > 0; i--) {
+            long[] replay = pendingReplays.poll();
+            List<Row> replayed = jdbc.query(RANGE, ROW_MAPPER, replay[0], replay[1], replay[2]);
+            replayed.forEach(row -> receiver.accept(row.message()));
+            // re-read until the whole range has shown up, or give up and let the bus time out
+            if (replayed.size() < replay[2] - replay[1] + 1 && ++replay[3] < REPLAY_ATTEMPTS) {
+                pendingReplays.add(replay);
+            }
+        }
+
+        if (++polls % POLLS_PER_CLEANUP == 0) {
+            jdbc.update(CLEANUP, System.currentTimeMillis() - retentionMillis);
+        }
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (Exception e) {
+            log.warn("Polling cache_invalidations failed: {}", e.getMessage());
+        }
+    }
+
+    private static final RowMapper<Row> ROW_MAPPER = (rs, rowNum) -> {
+        String videoIds = rs.getString(4);
+        long[] ids = videoIds.isEmpty() ? new long[0] : Arrays.stream(videoIds.split(",")).mapToLong(Long::parseLong).toArray();
+        long seq = rs.getLong(3);
+        return new Row(rs.getLong(1), new InvalidationBus.Message(InvalidationBus.Kind.INVALIDATE, rs.getLong(2), seq, seq, ids));
+    };
+}
@@ -0,0 +1,167 @@
+package com.api.videostreaming.utilities;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Impressions and views per video as PN-counters: every node only ever grows its own increment
+ * and decrement totals, and a count is the sum over all nodes of increments minus decrements.
+ *
+ * Merging keeps the per-node maximum, so a state applied twice, out of order or relayed through
+ * another node changes nothing, and nodes that have seen each other's latest entries agree
+ * without coordinating. Entries raised since the last drain are the delta to send to peers;
+ * this node's own raised entries are also tracked separately until they have been saved.
+ */
+public class PnCounterMap {
+
+    public enum Field { IMPRESSIONS, VIEWS }
+
+    // one node's contribution to one video; all four totals only grow
+    public record Entry(long videoId, long node, long impressionsUp, long impressionsDown, long viewsUp, long viewsDown) {
+
+        public long impressions() {
+            return impressionsUp - impressionsDown;
+        }
+
+        public long views() {
+            return viewsUp - viewsDown;
+        }
+
+        private Entry add(Field field, long delta) {
+            long up = Math.max(delta, 0), down = Math.max(-delta, 0);
+            return field == Field.IMPRESSIONS
+                    ? new Entry(videoId, node, impressionsUp + up, impressionsDown + down, viewsUp, viewsDown)
+                    : new Entry(videoId, node, impressionsUp, impressionsDown, viewsUp + up, viewsDown + down);
+        }
+
+        private boolean dominates(Entry other) {
+            return impressionsUp >= other.impressionsUp && impressionsDown >= other.impressionsDown
+                    && viewsUp >= other.viewsUp && viewsDown >= other.viewsDown;
+        }
+
+        private Entry max(Entry other) {
+            return new Entry(videoId, node, Math.max(impressionsUp, other.impressionsUp), Math.max(impressionsDown, other.impressionsDown),
+                    Math.max(viewsUp, other.viewsUp), Math.max(viewsDown, other.viewsDown));
+        }
+    }
+
+    public record Totals(long impressions, long views) {}
+
+    private record Key(long videoId, long node) {}
+
+    private final long nodeId;
+    // video -> node -> entry
+    private final Map<Long, Map<Long, Entry>> videos = new ConcurrentHashMap<>();
+    private final Set<Key> changed = ConcurrentHashMap.newKeySet();
+    private final Set<Long> unsaved = ConcurrentHashMap.newKeySet();
+
+    public PnCounterMap(long nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public long nodeId() {
+        return nodeId;
+    }
+
+    public void add(long videoId, Field field, long delta) {
+        videos.computeIfAbsent(videoId, id -> new ConcurrentHashMap<>())
+                .compute(nodeId, (node, entry) -> (entry == null ? new Entry(videoId, nodeId, 0, 0, 0, 0) : entry).add(field, delta));
+        // entry first, then the marks: a concurrent drain can only send too much, never too little
+        changed.add(new Key(videoId, nodeId));
+        unsaved.add(videoId);
+    }
+
+    // entries are raised to at least the given ones; returns how many were raised
+    public int merge(Collection<Entry> entries) {
+        int raised = 0;
+        for (Entry entry : entries) {
+            boolean[] updated = {false};
+            videos.computeIfAbsent(entry.videoId(), id -> new ConcurrentHashMap<>())
+                    .compute(entry.node(), (node, current) -> {
+                        if (current != null && current.dominates(entry)) {
+                            return current;
+                        }
+                        updated[0] = true;
+                        return current == null ? entry : current.max(entry);
+                    });
+            if (updated[0]) {
+                raised++;
+                // relayed on, so peers that cannot reach the origin still converge
+                changed.add(new Key(entry.videoId(), entry.node()));
+                if (entry.node() == nodeId) {
+                    unsaved.add(entry.videoId());
+                }
+            }
+        }
+        return raised;
+    }
+
+    public Totals totals(long videoId) {
+        Map<Long, Entry> entries = videos.get(videoId);
+        return entries == null ? null : sum(entries.values());
+    }
+
+    public Map<Long, Totals> allTotals() {
+        Map<Long, Totals> totals = new HashMap<>();
+        videos.forEach((videoId, entries) -> totals.put(videoId, sum(entries.values())));
+        return totals;
+    }
+
+    // everything, for anti-entropy rounds that repair lost deltas
+    public List<Entry> entries() {
+        List<Entry> entries = new ArrayList<>();
+        videos.values().forEach(nodes -> entries.addAll(nodes.values()));
+        return entries;
+    }
+
+    // entries raised since the last drain
+    public List<Entry> drainChanged() {
+        List<Entry> drained = new ArrayList<>();
+        Iterator<Key> keys = changed.iterator();
+        while (keys.hasNext()) {
+            Key key = keys.next();
+            keys.remove();
+            Map<Long, Entry> entries = videos.get(key.videoId());
+            Entry entry = entries == null ? null : entries.get(key.node());
+            if (entry != null) {
+                drained.add(entry);
+            }
+        }
+        return drained;
+    }
+
+    // this node's entries raised since they were last saved
+    public List<Entry> drainUnsaved() {
+        List<Entry> drained = new ArrayList<>();
+        Iterator<Long> videoIds = unsaved.iterator();
+        while (videoIds.hasNext()) {
+            Long videoId = videoIds.next();
+            videoIds.remove();
+            Entry entry = videos.get(videoId).get(nodeId);
+            if (entry != null) {
+                drained.add(entry);
+            }
+        }
+        return drained;
+    }
+
+    // after a failed save
+    public void requeueUnsaved(Collection<Entry> entries) {
+        entries.forEach(entry -> unsaved.add(entry.videoId()));
+    }
+
+    private static Totals sum(Collection<Entry> entries) {
+        long impressions = 0, views = 0;
+        for (Entry entry : entries) {
+            impressions += entry.impressions();
+            views += entry.views();
+        }
+        return new Totals(impressions, views);
+    }
+}
@@ -0,0 +1,232 @@
+package com.api.videostreaming.utilities;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Compressed radix trie for typeahead. Every node keeps the top-K entries of its subtree
+ * (pre-ranked by score), so a lookup is a walk down the prefix plus one array read.
+ *
+ * Readers never lock: edges are immutable (a split publishes new nodes), and terminal
+ * entries / top-K arrays are replaced wholesale through volatile writes. Writers are
+ * serialized by the owner of the trie, which is the only one calling {@link #put}/{@link #remove}.
+ * A term is indexed under its full text and under every following word, so "nolan" finds
+ * "Christopher Nolan".
+ */
+public class RadixSuggestionTrie {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Comparator<Entry> BY_SCORE = Comparator.comparingLong(Entry::score).reversed().thenComparing(Entry::id);
+    private static final Entry[] EMPTY = new Entry[0];
+
+    /**
+     * One suggestion. {@code id} identifies the term (type + normalized text) across updates;
+     * {@code videoIds} lists every video a title term stands for, best first.
+     */
+    public record Entry(String id, String text, String type, List<Long> videoIds, long score) {}
+
+    private static final class Node {
+        private final String edge;
+        private final Map<Character, Node> children;
+        private volatile Entry[] terminal;
+        private volatile Entry[] top;
+
+        private Node(String edge, Map<Character, Node> children, Entry[] terminal, Entry[] top) {
+            this.edge = edge;
+            this.children = children;
+            this.terminal = terminal;
+            this.top = top;
+        }
+
+        private Node(String edge) {
+            this(edge, new ConcurrentHashMap<>(), EMPTY, EMPTY);
+        }
+    }
+
+    private final int topK;
+    private final Node root = new Node("");
+
+    public RadixSuggestionTrie(int topK) {
+        this.topK = topK;
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(decomposed.toLowerCase()).replaceAll(" ").trim();
+    }
+
+    // top completions for a raw prefix, best first
+    public List<Entry> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        Node node = root;
+        int matched = 0;
+        while (matched < key.length()) {
+            Node child = node.children.get(key.charAt(matched));
+            if (child == null) {
+                return List.of();
+            }
+            int common = commonPrefix(child.edge, key, matched);
+            if (matched + common == key.length()) {
+                node = child;
+                break;
+            }
+            if (common < child.edge.length()) {
+                return List.of();
+            }
+            matched += common;
+            node = child;
+        }
+        Entry[] top = node.top;
+        return Arrays.asList(Arrays.copyOf(top, Math.min(limit, top.length)));
+    }
+
+    // insert or replace (same id) an entry; caller serializes writes
+    public void put(Entry entry) {
+        for (String key : keysOf(entry.text())) {
+            List<Node> path = insertPath(key);
+            Node node = path.get(path.size() - 1);
+            node.terminal = withEntry(node.terminal, entry);
+            recomputeTop(path);
+        }
+    }
+
+    public void remove(Entry entry) {
+        for (String key : keysOf(entry.text())) {
+            List<Node> path = findPath(key);
+            if (path == null) {
+                continue;
+            }
+            Node node = path.get(path.size() - 1);
+            node.terminal = withoutEntry(node.terminal, entry.id());
+            recomputeTop(path);
+        }
+    }
+
+    private Set<String> keysOf(String text) {
+        String normalized = normalize(text);
+        Set<String> keys = new HashSet<>();
+        if (normalized.isEmpty()) {
+            return keys;
+        }
+        keys.add(normalized);
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            keys.add(normalized.substring(i + 1));
+        }
+        return keys;
+    }
+
+    private int commonPrefix(String edge, String key, int offset) {
+        int max = Math.min(edge.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && edge.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    // root..node for key, creating / splitting nodes as needed
+    private List<Node> insertPath(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int matched = 0;
+        while (matched < key.length()) {
+            char c = key.charAt(matched);
+            Node child = node.children.get(c);
+            if (child == null) {
+                Node leaf = new Node(key.substring(matched));
+                node.children.put(c, leaf);
+                path.add(leaf);
+                return path;
+            }
+            int common = commonPrefix(child.edge, key, matched);
+            if (common < child.edge.length()) {
+                // split: publish a fresh middle node holding a shortened copy of the child
+                Node tail = new Node(child.edge.substring(common), child.children, child.terminal, child.top);
+                Node middle = new Node(child.edge.substring(0, common));
+                middle.children.put(tail.edge.charAt(0), tail);
+                middle.top = tail.top;
+                node.children.put(c, middle);
+                child = middle;
+            }
+            matched += common;
+            node = child;
+            path.add(node);
+        }
+        return path;
+    }
+
+    private List<Node> findPath(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int matched = 0;
+        while (matched < key.length()) {
+            Node child = node.children.get(key.charAt(matched));
+            if (child == null) {
+                return null;
+            }
+            int common = commonPrefix(child.edge, key, matched);
+            if (common < child.edge.length()) {
+                return null;
+            }
+            matched += common;
+            node = child;
+            path.add(node);
+        }
+        return path;
+    }
+
+    // bottom-up: each node merges its own entries with its children's top lists; empty leaves are pruned
+    private void recomputeTop(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            if (i > 0 && node.terminal.length == 0 && node.children.isEmpty()) {
+                path.get(i - 1).children.remove(node.edge.charAt(0), node);
+                continue;
+            }
+            List<Entry> candidates = new ArrayList<>(Arrays.asList(node.terminal));
+            for (Node child : node.children.values()) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort(BY_SCORE);
+            List<Entry> top = new ArrayList<>(topK);
+            Set<String> seen = new HashSet<>();
+            for (Entry candidate : candidates) {
+                if (top.size() == topK) {
+                    break;
+                }
+                if (seen.add(candidate.id())) {
+                    top.add(candidate);
+                }
+            }
+            node.top = top.toArray(EMPTY);
+        }
+    }
+
+    private Entry[] withEntry(Entry[] entries, Entry entry) {
+        Entry[] updated = withoutEntry(entries, entry.id());
+        Entry[] result = Arrays.copyOf(updated, updated.length + 1);
+        result[updated.length] = entry;
+        return result;
+    }
+
+    private Entry[] withoutEntry(Entry[] entries, String id) {
+        return Arrays.stream(entries).filter(e -> !e.id().equals(id)).toArray(Entry[]::new);
+    }
+}
@@ -0,0 +1,179 @@
+package com.api.videostreaming.utilities;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.api.videostreaming.pojos.events.CatalogChangeEvent;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary.
+ *
+ * The primary writes its clock into replication_heartbeat every beat; reading that row back from
+ * a replica gives the point in time the replica has replayed up to. A read needs a replica that
+ * has replayed at least up to now - maxLag, and, for a user who just changed the catalog, up to
+ * that change (read-your-writes). Eligible replicas are taken round-robin; when none qualifies,
+ * or a replica cannot be probed, the read goes to the primary.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy so the read-only flag of the transaction is
+ * known when the physical connection is picked.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    public static final String PRIMARY = "primary";
+    private static final String BEAT = "UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1";
+    private static final String FIRST_BEAT = "INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)";
+    private static final String REPLAYED_UP_TO = "SELECT beat_at FROM replication_heartbeat WHERE id = 1";
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagMillis;
+    private final LongSupplier clock;
+
+    // principal -> time of their last catalog write, kept only while some replica may still lag behind it
+    private final Map<String, Long> lastWriteAt = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicaDataSources, long maxLagMillis, LongSupplier clock) {
+        this.primary = primary;
+        this.maxLagMillis = maxLagMillis;
+        this.clock = clock;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicaDataSources.forEach((name, dataSource) -> {
+            targets.put(name, dataSource);
+            replicas.add(new Replica(name, new JdbcTemplate(dataSource)));
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicaDataSources, long maxLagMillis) {
+        this(primary, replicaDataSources, maxLagMillis, System::currentTimeMillis);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || replicas.isEmpty()) {
+            return PRIMARY;
+        }
+        long required = clock.getAsLong() - maxLagMillis;
+        String principal = currentPrincipal();
+        if (principal != null) {
+            required = Math.max(required, lastWriteAt.getOrDefault(principal, 0L));
+        }
+
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (replica.healthy && replica.replayedUpTo >= required) {
+                return replica.name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    // the writer's next reads must see this write
+    public void markWrite(String principal) {
+        if (principal != null) {
+            lastWriteAt.put(principal, clock.getAsLong());
+        }
+    }
+
+    // after commit: marked earlier, a heartbeat landing before the commit would clear a replica without the write
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        markWrite(currentPrincipal());
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.heartbeatIntervalInMs}")
+    public void heartbeat() {
+        beat();
+        probe();
+    }
+
+    public void beat() {
+        long now = clock.getAsLong();
+        try {
+            JdbcTemplate jdbc = new JdbcTemplate(primary);
+            if (jdbc.update(BEAT, now) == 0) {
+                jdbc.update(FIRST_BEAT, now);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Replication heartbeat failed on primary: {}", e.getMessage());
+        }
+    }
+
+    public void probe() {
+        for (Replica replica : replicas) {
+            try {
+                Long replayedUpTo = replica.jdbc.query(REPLAYED_UP_TO, rs -> rs.next() ? rs.getLong(1) : null);
+                replica.replayedUpTo = replayedUpTo == null ? 0 : replayedUpTo;
+                replica.healthy = true;
+            } catch (RuntimeException e) {
+                if (replica.healthy) {
+                    log.warn("Replica {} unreachable, routing its reads to primary: {}", replica.name, e.getMessage());
+                }
+                replica.healthy = false;
+            }
+        }
+        // once every usable replica has passed a write, nobody needs to stick to the primary for it
+        long horizon = clock.getAsLong() - maxLagMillis;
+        lastWriteAt.values().removeIf(writtenAt -> writtenAt < horizon);
+    }
+
+    @Override
+    public void close() {
+        for (Object target : getResolvedDataSources().values()) {
+            if (target instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close data source: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final JdbcTemplate jdbc;
+        private volatile long replayedUpTo;
+        private volatile boolean healthy;
+
+        private Replica(String name, JdbcTemplate jdbc) {
+            this.name = name;
+            this.jdbc = jdbc;
+        }
+    }
+}
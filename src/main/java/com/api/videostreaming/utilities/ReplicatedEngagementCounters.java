@@ -0,0 +1,201 @@
+package com.api.videostreaming.utilities;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.api.videostreaming.enums.EngagementType;
+
+/**
+ * Engagement counters that every node increments in memory, active-active, with no shared row.
+ *
+ * Each node owns its entry in a PnCounterMap. Every exchange interval the entries raised since
+ * the last round are sent to the peers, and every fullSyncEvery rounds the whole state is, which
+ * repairs lost deltas and brings new nodes up to date. Each node saves only its own entries to
+ * engagement_counters, so no two nodes ever write the same row.
+ *
+ * A node keeps its id across restarts and resumes from its saved entries, so the number of
+ * entries per video is bounded by the number of nodes rather than growing with every deploy.
+ * After a crash a peer may hold a higher value of this node's entry than was saved; until that
+ * arrives in a full sync, increments up to that gap are absorbed by it, which is no more than the
+ * crash would have lost unsaved anyway. The video_engagements rows present at startup are the
+ * baseline, loaded as node 0.
+ */
+public class ReplicatedEngagementCounters implements EngagementStore, Closeable {
+    private static final Logger log = LoggerFactory.getLogger(ReplicatedEngagementCounters.class);
+    private static final long BASELINE_NODE = 0;
+
+    private static final String TABLE = "engagement_counters";
+    private static final String CREATE = "CREATE TABLE IF NOT EXISTS " + TABLE + " (video_id BIGINT NOT NULL, node_id BIGINT NOT NULL, "
+            + "impressions_up BIGINT NOT NULL, impressions_down BIGINT NOT NULL, views_up BIGINT NOT NULL, views_down BIGINT NOT NULL, "
+            + "PRIMARY KEY (video_id, node_id))";
+    private static final String LOAD = "SELECT video_id, node_id, impressions_up, impressions_down, views_up, views_down FROM " + TABLE;
+    private static final String BASELINE = "SELECT video_id, SUM(impressions), SUM(views) FROM video_engagements GROUP BY video_id";
+    private static final String UPDATE = "UPDATE " + TABLE + " SET impressions_up = ?, impressions_down = ?, views_up = ?, views_down = ? "
+            + "WHERE video_id = ? AND node_id = ?";
+    private static final String INSERT = "INSERT INTO " + TABLE + " (video_id, node_id, impressions_up, impressions_down, views_up, views_down) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbc;
+    private final CounterTransport transport;
+    private final PnCounterMap counters;
+    private final long exchangeIntervalMillis;
+    private final int fullSyncEvery;
+    private final long saveIntervalMillis;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("engagement-counters-"));
+    private long rounds;
+
+    public ReplicatedEngagementCounters(JdbcTemplate jdbc, CounterTransport transport, long nodeId,
+                                        long exchangeIntervalMillis, int fullSyncEvery, long saveIntervalMillis) {
+        if (nodeId == BASELINE_NODE) {
+            throw new IllegalArgumentException("Node id 0 is reserved for the baseline");
+        }
+        this.jdbc = jdbc;
+        this.transport = transport;
+        this.counters = new PnCounterMap(nodeId);
+        this.exchangeIntervalMillis = exchangeIntervalMillis;
+        this.fullSyncEvery = fullSyncEvery;
+        this.saveIntervalMillis = saveIntervalMillis;
+    }
+
+    // loads the saved state of every node, then joins the peers
+    public void start() {
+        jdbc.execute(CREATE);
+        List<PnCounterMap.Entry> saved = new ArrayList<>(jdbc.query(BASELINE, (rs, rowNum) ->
+                new PnCounterMap.Entry(rs.getLong(1), BASELINE_NODE, rs.getLong(2), 0, rs.getLong(3), 0)));
+        saved.addAll(jdbc.query(LOAD, ENTRY_MAPPER));
+        counters.merge(saved);
+        // already known to every peer that read the same tables
+        counters.drainChanged();
+        transport.start(counters::merge);
+        scheduler.scheduleWithFixedDelay(this::exchangeSafely, exchangeIntervalMillis, exchangeIntervalMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::saveSafely, saveIntervalMillis, saveIntervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Engagement counters started as node {} with {} saved entries", counters.nodeId(), saved.size());
+    }
+
+    // counted in this node's memory only, there is no shared row to write
+    @Override
+    public void increment(long videoId, EngagementType type) {
+        counters.add(videoId, type == EngagementType.IMPRESSION ? PnCounterMap.Field.IMPRESSIONS : PnCounterMap.Field.VIEWS, 1);
+    }
+
+    // empty when no node has counted the video
+    @Override
+    public Optional<Counts> find(long videoId) {
+        return Optional.ofNullable(counters.totals(videoId)).map(totals -> toCounts(videoId, totals));
+    }
+
+    @Override
+    public List<Counts> findAll() {
+        return counters.allTotals().entrySet().stream().map(e -> toCounts(e.getKey(), e.getValue())).toList();
+    }
+
+    @Override
+    public Totals totals() {
+        Map<Long, PnCounterMap.Totals> all = counters.allTotals();
+        return new Totals(all.values().stream().mapToLong(PnCounterMap.Totals::impressions).sum(),
+                all.values().stream().mapToLong(PnCounterMap.Totals::views).sum(), all.size());
+    }
+
+    @Override
+    public List<Counts> topByViews(int limit) {
+        return findAll().stream()
+                .sorted(Comparator.comparingInt(Counts::views).reversed().thenComparingLong(Counts::videoId))
+                .limit(limit)
+                .toList();
+    }
+
+    // one round: the delta, or everything every fullSyncEvery rounds
+    public void exchange() {
+        List<PnCounterMap.Entry> delta = counters.drainChanged();
+        List<PnCounterMap.Entry> entries = ++rounds % fullSyncEvery == 0 ? counters.entries() : delta;
+        if (!entries.isEmpty()) {
+            transport.publish(entries);
+        }
+    }
+
+    public void save() {
+        List<PnCounterMap.Entry> entries = counters.drainUnsaved();
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            int[] updated = jdbc.batchUpdate(UPDATE, entries, entries.size(), (ps, entry) -> {
+                ps.setLong(1, entry.impressionsUp());
+                ps.setLong(2, entry.impressionsDown());
+                ps.setLong(3, entry.viewsUp());
+                ps.setLong(4, entry.viewsDown());
+                ps.setLong(5, entry.videoId());
+                ps.setLong(6, entry.node());
+            })[0];
+            List<PnCounterMap.Entry> inserts = new ArrayList<>();
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] == 0) {
+                    inserts.add(entries.get(i));
+                }
+            }
+            if (inserts.isEmpty()) {
+                return;
+            }
+            // nobody else writes this node's rows, so the insert cannot collide
+            jdbc.batchUpdate(INSERT, inserts, inserts.size(), (ps, entry) -> {
+                ps.setLong(1, entry.videoId());
+                ps.setLong(2, entry.node());
+                ps.setLong(3, entry.impressionsUp());
+                ps.setLong(4, entry.impressionsDown());
+                ps.setLong(5, entry.viewsUp());
+                ps.setLong(6, entry.viewsDown());
+            });
+        } catch (RuntimeException e) {
+            counters.requeueUnsaved(entries);
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        try {
+            exchange();
+            save();
+        } catch (Exception e) {
+            log.error("Unable to hand off engagement counters on shutdown", e);
+        }
+        transport.close();
+    }
+
+    private void exchangeSafely() {
+        try {
+            exchange();
+        } catch (Exception e) {
+            log.warn("Engagement counter exchange failed: {}", e.getMessage());
+        }
+    }
+
+    private void saveSafely() {
+        try {
+            save();
+        } catch (Exception e) {
+            log.warn("Saving engagement counters failed, retrying next interval: {}", e.getMessage());
+        }
+    }
+
+    private static Counts toCounts(long videoId, PnCounterMap.Totals totals) {
+        return new Counts(videoId, (int) totals.impressions(), (int) totals.views());
+    }
+
+    private static final RowMapper<PnCounterMap.Entry> ENTRY_MAPPER = (rs, rowNum) -> new PnCounterMap.Entry(
+            rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getLong(5), rs.getLong(6));
+}
@@ -0,0 +1,399 @@
+package com.api.videostreaming.utilities;
+
+import java.io.Closeable;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.api.videostreaming.enums.EngagementType;
+
+/**
+ * Engagement counters spread over several databases, one row per video.
+ *
+ * A video's row lives on the shard the consistent-hash ring assigns to its id. Single-video reads
+ * and writes touch exactly that shard; totals, top-K and full scans fan out to every shard in
+ * parallel and are merged here.
+ *
+ * The first time sharding is switched on, the existing video_engagements counts are copied onto
+ * the shards before this node serves a write (seedFrom), so enabling it loses no history.
+ *
+ * Re-sharding runs online: while it is in progress writes go to the owner under the target ring,
+ * reads try the target owner first and then the current one. A video's first write under the
+ * target ring copies its row over from the current owner before incrementing it there. The
+ * background migration walks each shard by video id, copies rows whose owner changes (never
+ * overwriting a row a live write got to first) and then deletes the source copy.
+ *
+ * Nodes coordinate through two tables on the first shard: every node heartbeats the ring it
+ * writes with into engagement_shard_members, and engagement_shard_state holds the ring the
+ * counters are fully on. The migrating node only starts moving rows once every live node writes
+ * with the target ring, so no node still increments a source row the migration deletes. When it
+ * finishes it records the target ring as current, and every other node drops its dual reads on
+ * its next heartbeat.
+ */
+public class ShardedEngagementStore implements EngagementStore, Closeable {
+    private static final Logger log = LoggerFactory.getLogger(ShardedEngagementStore.class);
+
+    private static final String TABLE = "video_engagement_counts";
+    private static final String CREATE = "CREATE TABLE IF NOT EXISTS " + TABLE + " (video_id BIGINT NOT NULL PRIMARY KEY, "
+            + "impressions INT NOT NULL DEFAULT 0, views INT NOT NULL DEFAULT 0)";
+    private static final String COLUMNS = "SELECT video_id, impressions, views FROM " + TABLE;
+    private static final String FIND = COLUMNS + " WHERE video_id = ?";
+    private static final String SCAN = COLUMNS + " WHERE video_id > ? ORDER BY video_id LIMIT ?";
+    private static final String TOP = COLUMNS + " ORDER BY views DESC, video_id LIMIT ?";
+    private static final String TOTALS = "SELECT COALESCE(SUM(impressions), 0), COALESCE(SUM(views), 0), COUNT(*) FROM " + TABLE;
+    private static final String INCREMENT = "INSERT INTO " + TABLE + " (video_id, impressions, views) VALUES (?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE impressions = impressions + VALUES(impressions), views = views + VALUES(views)";
+    private static final String COPY = "INSERT IGNORE INTO " + TABLE + " (video_id, impressions, views) VALUES (?, ?, ?)";
+    private static final String DELETE = "DELETE FROM " + TABLE + " WHERE video_id = ?";
+
+    private static final String CREATE_STATE = "CREATE TABLE IF NOT EXISTS engagement_shard_state (id INT NOT NULL PRIMARY KEY, "
+            + "ring VARCHAR(1024) NOT NULL, seeded BOOLEAN NOT NULL DEFAULT FALSE)";
+    private static final String INIT_STATE = "INSERT IGNORE INTO engagement_shard_state (id, ring, seeded) VALUES (1, ?, FALSE)";
+    private static final String CURRENT_RING = "SELECT ring FROM engagement_shard_state WHERE id = 1";
+    private static final String SET_RING = "UPDATE engagement_shard_state SET ring = ? WHERE id = 1";
+    private static final String SEEDED = "SELECT seeded FROM engagement_shard_state WHERE id = 1";
+    private static final String SET_SEEDED = "UPDATE engagement_shard_state SET seeded = TRUE WHERE id = 1";
+    private static final String CREATE_MEMBERS = "CREATE TABLE IF NOT EXISTS engagement_shard_members (member_id VARCHAR(64) NOT NULL PRIMARY KEY, "
+            + "ring VARCHAR(1024) NOT NULL, seen_at BIGINT NOT NULL)";
+    private static final String HEARTBEAT = "INSERT INTO engagement_shard_members (member_id, ring, seen_at) VALUES (?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE ring = VALUES(ring), seen_at = VALUES(seen_at)";
+    private static final String EXPIRE_MEMBERS = "DELETE FROM engagement_shard_members WHERE seen_at < ?";
+    private static final String MEMBERS_BEHIND = "SELECT COUNT(*) FROM engagement_shard_members WHERE ring <> ?";
+    private static final String LEAVE = "DELETE FROM engagement_shard_members WHERE member_id = ?";
+
+    private final Map<String, JdbcTemplate> shards = new LinkedHashMap<>();
+    private final JdbcTemplate control;
+    private final ExecutorService scatterPool;
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("engagement-shard-members-"));
+    private final int migrationBatchSize;
+    private final long memberTimeoutMillis;
+    private final String memberId = UUID.randomUUID().toString();
+
+    private volatile ConsistentHashRing ring;
+    private volatile ConsistentHashRing target;
+    private boolean migrator;
+    private boolean migrating;
+
+    // heartbeatMillis <= 0 leaves heartbeats to the caller
+    public ShardedEngagementStore(Map<String, DataSource> dataSources, ConsistentHashRing ring, int migrationBatchSize,
+                                  long heartbeatMillis, long memberTimeoutMillis) {
+        dataSources.forEach((name, dataSource) -> shards.put(name, new JdbcTemplate(dataSource)));
+        for (String node : ring.nodes()) {
+            if (!shards.containsKey(node)) {
+                throw new IllegalArgumentException("No data source for shard " + node);
+            }
+        }
+        this.ring = ring;
+        this.migrationBatchSize = migrationBatchSize;
+        this.memberTimeoutMillis = memberTimeoutMillis;
+        this.scatterPool = Executors.newFixedThreadPool(shards.size(), new CustomizableThreadFactory("engagement-shard-"));
+        shards.values().forEach(jdbc -> jdbc.execute(CREATE));
+
+        this.control = shards.values().iterator().next();
+        control.execute(CREATE_STATE);
+        control.execute(CREATE_MEMBERS);
+        control.update(INIT_STATE, ringId(ring));
+        String current = control.queryForObject(CURRENT_RING, String.class);
+        if (!ringId(ring).equals(current)) {
+            log.warn("Engagement counters are on ring {} but this node is configured with {}", current, ringId(ring));
+        }
+        heartbeat();
+        if (heartbeatMillis > 0) {
+            heartbeats.scheduleWithFixedDelay(this::heartbeatSafely, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // copies the baseline counts onto their shards once, before this node's first write; rows a
+    // node that seeded earlier already incremented are never overwritten
+    public void seedFrom(EngagementStore baseline) {
+        if (Boolean.TRUE.equals(control.queryForObject(SEEDED, Boolean.class))) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        Map<String, List<Object[]>> byShard = new HashMap<>();
+        List<Counts> rows = baseline.findAll();
+        for (Counts row : rows) {
+            byShard.computeIfAbsent(ring.nodeFor(row.videoId()), shard -> new ArrayList<>())
+                    .add(new Object[]{row.videoId(), row.impressions(), row.views()});
+        }
+        byShard.forEach((shard, args) -> {
+            for (int from = 0; from < args.size(); from += migrationBatchSize) {
+                shards.get(shard).batchUpdate(COPY, args.subList(from, Math.min(from + migrationBatchSize, args.size())));
+            }
+        });
+        control.update(SET_SEEDED);
+        log.info("Engagement shards seeded with {} videos in {} ms", rows.size(), System.currentTimeMillis() - started);
+    }
+
+    @Override
+    public Optional<Counts> find(long videoId) {
+        for (String shard : readOrder(videoId)) {
+            List<Counts> rows = shards.get(shard).query(FIND, ShardedEngagementStore::toCounts, videoId);
+            if (!rows.isEmpty()) {
+                return Optional.of(rows.get(0));
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public void increment(long videoId, EngagementType type) {
+        List<String> owners = readOrder(videoId);
+        JdbcTemplate owner = shards.get(owners.get(0));
+        if (owners.size() > 1) {
+            // not yet migrated: carry the current row over first, the source no longer changes
+            shards.get(owners.get(1)).query(FIND, ShardedEngagementStore::toCounts, videoId).forEach(row -> copy(owner, row));
+        }
+        owner.update(INCREMENT, videoId, type == EngagementType.IMPRESSION ? 1 : 0, type == EngagementType.IMPRESSION ? 0 : 1);
+    }
+
+    // every row once, gathered from all shards in parallel
+    @Override
+    public List<Counts> findAll() {
+        Map<Long, Counts> merged = new HashMap<>();
+        for (List<Counts> rows : scatter(jdbc -> scanAll(jdbc))) {
+            rows.forEach(row -> merged.merge(row.videoId(), row, ShardedEngagementStore::fresher));
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    @Override
+    public Totals totals() {
+        if (target != null) {
+            // a row may briefly exist on two shards mid-migration, so count unique videos
+            List<Counts> rows = findAll();
+            return new Totals(rows.stream().mapToLong(Counts::impressions).sum(), rows.stream().mapToLong(Counts::views).sum(), rows.size());
+        }
+        long impressions = 0, views = 0, videos = 0;
+        for (long[] shardTotals : scatter(jdbc -> jdbc.queryForObject(TOTALS,
+                (rs, i) -> new long[]{rs.getLong(1), rs.getLong(2), rs.getLong(3)}))) {
+            impressions += shardTotals[0];
+            views += shardTotals[1];
+            videos += shardTotals[2];
+        }
+        return new Totals(impressions, views, videos);
+    }
+
+    // each shard's top limit by views, merged; the global top limit is always among them
+    @Override
+    public List<Counts> topByViews(int limit) {
+        Map<Long, Counts> merged = new HashMap<>();
+        for (List<Counts> rows : scatter(jdbc -> jdbc.query(TOP, ShardedEngagementStore::toCounts, limit))) {
+            rows.forEach(row -> merged.merge(row.videoId(), row, ShardedEngagementStore::fresher));
+        }
+        return merged.values().stream()
+                .sorted(Comparator.comparingInt(Counts::views).reversed().thenComparingLong(Counts::videoId))
+                .limit(limit)
+                .toList();
+    }
+
+    public boolean isResharding() {
+        return target != null;
+    }
+
+    // writes and reads follow newRing from now on; only the node passed migrate = true moves rows,
+    // and only once every live node writes with newRing
+    public void startResharding(ConsistentHashRing newRing, boolean migrate) {
+        synchronized (this) {
+            if (target != null) {
+                throw new IllegalStateException("A re-shard is already running");
+            }
+            for (String node : newRing.nodes()) {
+                if (!shards.containsKey(node)) {
+                    throw new IllegalArgumentException("No data source for shard " + node);
+                }
+            }
+            target = newRing;
+            migrator = migrate;
+        }
+        log.info("Engagement re-shard {} -> {} started on this node{}", ring.nodes(), newRing.nodes(),
+                migrate ? ", rows move once every node is on the new ring" : ", rows are moved by the migrating node");
+        heartbeat();
+    }
+
+    // publishes the ring this node writes with; finishes a re-shard another node completed, and on
+    // the migrating node starts moving rows once no live node writes with another ring
+    public void heartbeat() {
+        ConsistentHashRing next = target;
+        long now = System.currentTimeMillis();
+        control.update(HEARTBEAT, memberId, ringId(next != null ? next : ring), now);
+        if (next == null) {
+            return;
+        }
+        if (ringId(next).equals(control.queryForObject(CURRENT_RING, String.class))) {
+            finish(next);
+            return;
+        }
+        synchronized (this) {
+            if (!migrator || migrating) {
+                return;
+            }
+            control.update(EXPIRE_MEMBERS, now - memberTimeoutMillis);
+            Integer behind = control.queryForObject(MEMBERS_BEHIND, Integer.class, ringId(next));
+            if (behind != null && behind > 0) {
+                log.info("Engagement re-shard waiting for {} nodes to switch to {}", behind, next.nodes());
+                return;
+            }
+            migrating = true;
+        }
+        Thread migration = new Thread(this::migrate, "engagement-reshard");
+        migration.setDaemon(true);
+        migration.start();
+    }
+
+    // moves every row whose owner changes, records the new ring, then switches to it
+    private void migrate() {
+        ConsistentHashRing from = ring;
+        ConsistentHashRing to = target;
+        long started = System.currentTimeMillis();
+        long moved;
+        try {
+            moved = moveRows(from, to);
+            control.update(SET_RING, ringId(to));
+        } catch (RuntimeException e) {
+            // writes keep going to the target owners and reads still find both copies, so this is safe to leave
+            log.error("Engagement re-shard {} -> {} failed, dual reads stay on until restart: {}", from.nodes(), to.nodes(), e.getMessage(), e);
+            return;
+        }
+        finish(to);
+        log.info("Engagement re-shard {} -> {} done: {} rows moved in {} ms", from.nodes(), to.nodes(), moved, System.currentTimeMillis() - started);
+    }
+
+    private synchronized void finish(ConsistentHashRing to) {
+        if (target == to) {
+            ring = to;
+            target = null;
+            migrating = false;
+            log.info("Engagement counters now on ring {}", to.nodes());
+        }
+    }
+
+    private long moveRows(ConsistentHashRing from, ConsistentHashRing to) {
+        long moved = 0;
+        for (String source : from.nodes()) {
+            JdbcTemplate sourceJdbc = shards.get(source);
+            long after = Long.MIN_VALUE;
+            List<Counts> batch;
+            do {
+                batch = sourceJdbc.query(SCAN, ShardedEngagementStore::toCounts, after, migrationBatchSize);
+                for (Counts row : batch) {
+                    String owner = to.nodeFor(row.videoId());
+                    if (!owner.equals(source)) {
+                        copy(shards.get(owner), row);
+                        sourceJdbc.update(DELETE, row.videoId());
+                        moved++;
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    after = batch.get(batch.size() - 1).videoId();
+                }
+            } while (batch.size() == migrationBatchSize);
+        }
+        return moved;
+    }
+
+    @Override
+    public void close() {
+        heartbeats.shutdownNow();
+        try {
+            control.update(LEAVE, memberId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to leave the engagement shard members: {}", e.getMessage());
+        }
+        scatterPool.shutdownNow();
+        for (JdbcTemplate jdbc : shards.values()) {
+            if (jdbc.getDataSource() instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close shard data source: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void heartbeatSafely() {
+        try {
+            heartbeat();
+        } catch (RuntimeException e) {
+            log.warn("Engagement shard heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    private static String ringId(ConsistentHashRing ring) {
+        return String.join(",", ring.nodes());
+    }
+
+    private List<String> readOrder(long videoId) {
+        ConsistentHashRing current = ring;
+        ConsistentHashRing next = target;
+        String owner = current.nodeFor(videoId);
+        if (next == null || next.nodeFor(videoId).equals(owner)) {
+            return List.of(owner);
+        }
+        return List.of(next.nodeFor(videoId), owner);
+    }
+
+    private <T> List<T> scatter(Function<JdbcTemplate, T> query) {
+        Set<String> involved = new LinkedHashSet<>(ring.nodes());
+        ConsistentHashRing next = target;
+        if (next != null) {
+            involved.addAll(next.nodes());
+        }
+        List<CompletableFuture<T>> futures = new ArrayList<>();
+        for (String shard : involved) {
+            futures.add(CompletableFuture.supplyAsync(() -> query.apply(shards.get(shard)), scatterPool));
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private List<Counts> scanAll(JdbcTemplate jdbc) {
+        List<Counts> rows = new ArrayList<>();
+        long after = Long.MIN_VALUE;
+        List<Counts> batch;
+        do {
+            batch = jdbc.query(SCAN, ShardedEngagementStore::toCounts, after, migrationBatchSize);
+            rows.addAll(batch);
+            if (!batch.isEmpty()) {
+                after = batch.get(batch.size() - 1).videoId();
+            }
+        } while (batch.size() == migrationBatchSize);
+        return rows;
+    }
+
+    // only inserts, so a migrated copy never replaces a row live writes already moved and incremented
+    private static void copy(JdbcTemplate jdbc, Counts row) {
+        jdbc.update(COPY, row.videoId(), row.impressions(), row.views());
+    }
+
+    // counters only grow, so of two copies the larger one is the newer
+    private static Counts fresher(Counts a, Counts b) {
+        return (long) a.impressions() + a.views() >= (long) b.impressions() + b.views() ? a : b;
+    }
+
+    private static Counts toCounts(ResultSet rs, int rowNum) throws SQLException {
+        return new Counts(rs.getLong(1), rs.getInt(2), rs.getInt(3));
+    }
+}
@@ -0,0 +1,62 @@
+package com.api.videostreaming.utilities;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads of the same key into one.
+ *
+ * The first caller for a key becomes the leader and runs the loader on its own thread; callers
+ * arriving while that load is in flight wait on the leader's future instead of loading again, and
+ * get its value or its exception. Nothing is cached: once the load completes the key is released,
+ * so the next caller loads fresh data.
+ *
+ * Values are handed to several threads at once and must be safe to share (no lazy JPA state).
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    // followers give up after timeoutMillis, the leader is bounded only by the loader itself
+    public V load(K key, Supplier<V> loader, long timeoutMillis) throws TimeoutException {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, own);
+        if (leader == null) {
+            try {
+                V value = loader.get();
+                own.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                own.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, own);
+            }
+        }
+
+        try {
+            return leader.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting for in-flight load of " + key);
+        } catch (ExecutionException e) {
+            // same exception the leader saw
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,263 @@
+package com.api.videostreaming.utilities;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Versioned, checksummed snapshot of an in-memory structure, for warm restarts.
+ *
+ * Layout: [int magic][int kind][int version][long highWaterMark][long createdAt][long payloadLength]
+ * [int crc32c] then the payload, little-endian. kind names the structure and version its payload
+ * format; the high-water mark is whatever position in the database's change history the payload
+ * reflects, so the owner replays only what came after it. The payload is written to a temporary
+ * file beside the target, forced to disk and moved over it, so a crash mid-write keeps the previous
+ * snapshot. Reading maps the file and bulk-copies arrays straight out of the page cache; a missing
+ * file, another kind or version, a short file or a checksum mismatch reads as no snapshot.
+ */
+public final class SnapshotFile {
+    private static final Logger log = LoggerFactory.getLogger(SnapshotFile.class);
+    private static final int MAGIC = 0x534e5031; // "SNP1"
+    private static final int HEADER = 3 * Integer.BYTES + 3 * Long.BYTES + Integer.BYTES;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    public record Header(int kind, int version, long highWaterMark, long createdAt) {}
+
+    public record Loaded<T>(Header header, T value) {}
+
+    @FunctionalInterface
+    public interface PayloadWriter {
+        void write(Writer out) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface PayloadReader<T> {
+        T read(Reader in);
+    }
+
+    private SnapshotFile() {
+    }
+
+    public static void write(Path file, int kind, int version, long highWaterMark, PayloadWriter payload) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                channel.position(HEADER);
+                Writer out = new Writer(channel);
+                payload.write(out);
+                out.flush();
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC).putInt(kind).putInt(version).putLong(highWaterMark)
+                        .putLong(System.currentTimeMillis()).putLong(out.length).putInt((int) out.crc.getValue()).flip();
+                channel.write(header, 0);
+                channel.force(true);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    // empty when there is no usable snapshot; the reason is logged
+    public static <T> Optional<Loaded<T>> read(Path file, int kind, int version, PayloadReader<T> payload) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER) {
+                log.warn("Snapshot {} is truncated", file);
+                return Optional.empty();
+            }
+            if (fileSize > Integer.MAX_VALUE) {
+                log.warn("Snapshot {} is larger than a single mapping", file);
+                return Optional.empty();
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            if (mapped.getInt(0) != MAGIC) {
+                log.warn("{} is not a snapshot file", file);
+                return Optional.empty();
+            }
+            Header header = new Header(mapped.getInt(4), mapped.getInt(8), mapped.getLong(12), mapped.getLong(20));
+            long payloadLength = mapped.getLong(28);
+            if (header.kind() != kind || header.version() != version) {
+                log.info("Snapshot {} is kind {} version {}, expected kind {} version {}", file,
+                        header.kind(), header.version(), kind, version);
+                return Optional.empty();
+            }
+            if (payloadLength != fileSize - HEADER) {
+                log.warn("Snapshot {} is truncated", file);
+                return Optional.empty();
+            }
+            ByteBuffer body = mapped.slice(HEADER, (int) payloadLength).order(ByteOrder.LITTLE_ENDIAN);
+            CRC32C crc = new CRC32C();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != mapped.getInt(36)) {
+                log.warn("Snapshot {} failed its checksum", file);
+                return Optional.empty();
+            }
+            return Optional.of(new Loaded<>(header, payload.read(new Reader(body))));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    /** Buffered payload output; arrays are written raw, so the caller writes their lengths first. */
+    public static final class Writer {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32C crc = new CRC32C();
+        private long length;
+
+        private Writer(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        public void writeInt(int value) throws IOException {
+            room(Integer.BYTES).putInt(value);
+        }
+
+        public void writeLong(long value) throws IOException {
+            room(Long.BYTES).putLong(value);
+        }
+
+        public void writeBoolean(boolean value) throws IOException {
+            room(1).put((byte) (value ? 1 : 0));
+        }
+
+        // length -1 for null
+        public void writeString(String value) throws IOException {
+            if (value == null) {
+                writeInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeInt(bytes.length);
+            writeBytes(bytes, 0, bytes.length);
+        }
+
+        public void writeBytes(byte[] values, int from, int count) throws IOException {
+            while (count > 0) {
+                int chunk = Math.min(count, room(1).remaining());
+                buffer.put(values, from, chunk);
+                from += chunk;
+                count -= chunk;
+            }
+        }
+
+        public void writeInts(int[] values, int from, int count) throws IOException {
+            while (count > 0) {
+                int chunk = Math.min(count, room(Integer.BYTES).remaining() / Integer.BYTES);
+                buffer.asIntBuffer().put(values, from, chunk);
+                buffer.position(buffer.position() + chunk * Integer.BYTES);
+                from += chunk;
+                count -= chunk;
+            }
+        }
+
+        public void writeLongs(long[] values, int from, int count) throws IOException {
+            while (count > 0) {
+                int chunk = Math.min(count, room(Long.BYTES).remaining() / Long.BYTES);
+                buffer.asLongBuffer().put(values, from, chunk);
+                buffer.position(buffer.position() + chunk * Long.BYTES);
+                from += chunk;
+                count -= chunk;
+            }
+        }
+
+        public void writeBooleans(boolean[] values, int from, int count) throws IOException {
+            for (int i = from; i < from + count; i++) {
+                writeBoolean(values[i]);
+            }
+        }
+
+        private ByteBuffer room(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+            return buffer;
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            length += buffer.remaining();
+            crc.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /** Reads the payload back in the order it was written, from the read-only mapping. */
+    public static final class Reader {
+        private final ByteBuffer buffer;
+
+        private Reader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        public int readInt() {
+            return buffer.getInt();
+        }
+
+        public long readLong() {
+            return buffer.getLong();
+        }
+
+        public boolean readBoolean() {
+            return buffer.get() != 0;
+        }
+
+        public String readString() {
+            int length = buffer.getInt();
+            if (length < 0) {
+                return null;
+            }
+            return new String(readBytes(length), StandardCharsets.UTF_8);
+        }
+
+        public byte[] readBytes(int count) {
+            byte[] values = new byte[count];
+            buffer.get(values);
+            return values;
+        }
+
+        // capacity >= count leaves room for the caller to keep growing the array
+        public int[] readInts(int count, int capacity) {
+            int[] values = new int[Math.max(count, capacity)];
+            buffer.asIntBuffer().get(values, 0, count);
+            buffer.position(buffer.position() + count * Integer.BYTES);
+            return values;
+        }
+
+        public long[] readLongs(int count, int capacity) {
+            long[] values = new long[Math.max(count, capacity)];
+            buffer.asLongBuffer().get(values, 0, count);
+            buffer.position(buffer.position() + count * Long.BYTES);
+            return values;
+        }
+
+        public boolean[] readBooleans(int count, int capacity) {
+            boolean[] values = new boolean[Math.max(count, capacity)];
+            for (int i = 0; i < count; i++) {
+                values[i] = buffer.get() != 0;
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.api.videostreaming.utilities;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * Expiring set of 64-bit keys: {@link #firstSeen} is true once per key per window.
+ *
+ * Keys live in a primitive open-addressing map (key -> expiry tick, linear probing, backward-shift
+ * delete) and in one slot of a hierarchical timing wheel: 4 levels of 64 slots, one tick per
+ * tickMillis, so windows up to 64^4 ticks are exact. Level 0 slots expire as the clock reaches them;
+ * a higher-level slot is cascaded one level down when the level below wraps. Each key is moved at
+ * most once per level, so insert and expiry are O(1) amortized, and memory follows the keys that
+ * are currently inside their window.
+ *
+ * Everything is long arrays, no per-key objects, so millions of keys cost no GC churn. The set is
+ * split into independently locked shards by key hash.
+ */
+public class TimingWheelDedupSet {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELTA = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private final long windowTicks;
+    private final long tickMillis;
+    private final LongSupplier clock;
+    private final Shard[] shards;
+
+    public TimingWheelDedupSet(long windowMillis, long tickMillis, int shardCount, LongSupplier clock) {
+        this.tickMillis = tickMillis;
+        this.windowTicks = Math.min(MAX_DELTA, Math.max(1, (windowMillis + tickMillis - 1) / tickMillis));
+        this.clock = clock;
+        this.shards = new Shard[Integer.highestOneBit(Math.max(1, shardCount))];
+        long now = clock.getAsLong() / tickMillis;
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(now);
+        }
+    }
+
+    public TimingWheelDedupSet(long windowMillis, long tickMillis, int shardCount) {
+        this(windowMillis, tickMillis, shardCount, System::currentTimeMillis);
+    }
+
+    // true the first time key is seen inside its window
+    public boolean firstSeen(long key) {
+        long k = key == 0 ? 1 : key; // 0 marks an empty map slot
+        Shard shard = shards[(int) (mix(k) >>> 32) & (shards.length - 1)];
+        long now = clock.getAsLong() / tickMillis;
+        synchronized (shard) {
+            shard.advanceTo(now);
+            if (shard.expiries.contains(k)) {
+                return false;
+            }
+            shard.schedule(k, now + windowTicks);
+            return true;
+        }
+    }
+
+    // takes key out of its window, e.g. when the event it admitted was not recorded after all
+    public void forget(long key) {
+        long k = key == 0 ? 1 : key;
+        Shard shard = shards[(int) (mix(k) >>> 32) & (shards.length - 1)];
+        synchronized (shard) {
+            // its wheel slot goes stale: expire and cascade skip keys no longer in the map
+            shard.expiries.remove(k);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                size += shard.expiries.size;
+            }
+        }
+        return size;
+    }
+
+    // one key per (a, b, c), e.g. (user, video, engagement type)
+    public static long keyOf(long a, long b, long c) {
+        return mix(mix(mix(a) ^ b) ^ c);
+    }
+
+    // murmur3 fmix64
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    private static final class Shard {
+        private final LongLongMap expiries = new LongLongMap();
+        private final LongList[][] wheel = new LongList[LEVELS][SLOTS];
+        private long currentTick;
+
+        private Shard(long currentTick) {
+            this.currentTick = currentTick;
+        }
+
+        private void schedule(long key, long expiryTick) {
+            expiries.put(key, expiryTick);
+            place(key, expiryTick);
+        }
+
+        private void place(long key, long expiryTick) {
+            long delta = expiryTick - currentTick;
+            int level = 0;
+            while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+                level++;
+            }
+            int slot = (int) (expiryTick >>> (SLOT_BITS * level)) & (SLOTS - 1);
+            LongList list = wheel[level][slot];
+            if (list == null) {
+                list = wheel[level][slot] = new LongList();
+            }
+            list.add(key);
+        }
+
+        private void advanceTo(long now) {
+            while (currentTick < now) {
+                if (expiries.size == 0) {
+                    // nothing scheduled, slots are all empty: jump straight to now
+                    currentTick = now;
+                    return;
+                }
+                currentTick++;
+                // highest level first, so cascaded keys land in slots not yet processed this tick
+                for (int level = LEVELS - 1; level > 0; level--) {
+                    if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                        cascade(level, (int) (currentTick >>> (SLOT_BITS * level)) & (SLOTS - 1));
+                    }
+                }
+                expire((int) currentTick & (SLOTS - 1));
+            }
+            expiries.shrinkIfSparse();
+        }
+
+        private void cascade(int level, int slot) {
+            LongList list = wheel[level][slot];
+            if (list == null || list.size == 0) {
+                return;
+            }
+            wheel[level][slot] = null;
+            for (int i = 0; i < list.size; i++) {
+                long expiry = expiries.get(list.keys[i]);
+                if (expiry != LongLongMap.MISSING) {
+                    place(list.keys[i], expiry);
+                }
+            }
+        }
+
+        private void expire(int slot) {
+            LongList list = wheel[0][slot];
+            if (list == null || list.size == 0) {
+                return;
+            }
+            for (int i = 0; i < list.size; i++) {
+                if (expiries.get(list.keys[i]) <= currentTick) {
+                    expiries.remove(list.keys[i]);
+                }
+            }
+            list.clear();
+        }
+    }
+
+    private static final class LongList {
+        private long[] keys = new long[4];
+        private int size;
+
+        private void add(long key) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            keys[size++] = key;
+        }
+
+        private void clear() {
+            size = 0;
+            if (keys.length > 1024) {
+                keys = new long[4];
+            }
+        }
+    }
+
+    // open addressing, linear probing, key 0 is reserved as empty
+    private static final class LongLongMap {
+        private static final long MISSING = Long.MIN_VALUE;
+        private static final int MIN_CAPACITY = 64;
+
+        private long[] keys = new long[MIN_CAPACITY];
+        private long[] values = new long[MIN_CAPACITY];
+        private int size;
+
+        private boolean contains(long key) {
+            return get(key) != MISSING;
+        }
+
+        private long get(long key) {
+            int mask = keys.length - 1;
+            for (int i = index(key, mask); keys[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return MISSING;
+        }
+
+        private void put(long key, long value) {
+            if ((size + 1) * 2 > keys.length) {
+                rehash(keys.length * 2);
+            }
+            int mask = keys.length - 1;
+            int i = index(key, mask);
+            while (keys[i] != 0 && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == 0) {
+                size++;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        private void remove(long key) {
+            int mask = keys.length - 1;
+            int i = index(key, mask);
+            while (keys[i] != key) {
+                if (keys[i] == 0) {
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            // backward-shift so probe chains stay unbroken without tombstones
+            int hole = i;
+            for (int j = (hole + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+                int home = index(keys[j], mask);
+                if (((j - home) & mask) >= ((j - hole) & mask)) {
+                    keys[hole] = keys[j];
+                    values[hole] = values[j];
+                    hole = j;
+                }
+            }
+            keys[hole] = 0;
+            size--;
+        }
+
+        private void shrinkIfSparse() {
+            if (keys.length > MIN_CAPACITY && size * 8 < keys.length) {
+                rehash(Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, size * 4))));
+            }
+        }
+
+        private void rehash(int capacity) {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            keys = new long[capacity];
+            values = new long[capacity];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int index(long key, int mask) {
+            return (int) mix(key) & mask;
+        }
+    }
+}
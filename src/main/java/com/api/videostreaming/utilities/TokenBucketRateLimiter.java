@@ -0,0 +1,109 @@
+package com.api.videostreaming.utilities;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token buckets keyed by an arbitrary string (user, IP, ...).
+ *
+ * Each bucket is a single AtomicLong packing the last refill time (40 bits of millis since
+ * the limiter was created) and the available tokens in milli-tokens (24 bits), so an acquire
+ * is one read plus one CAS and a rejection is a read only. The number of buckets is bounded:
+ * when the map is full, idle (fully refilled) buckets are swept first, then arbitrary entries
+ * if key churn is still too high (a dropped bucket simply restarts full).
+ */
+public class TokenBucketRateLimiter {
+
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long MILLI = 1000;
+
+    private final long capacityMilli;
+    private final long refillPerSec;
+    private final int maxBuckets;
+    private final long idleEvictionMillis;
+    private final LongSupplier clock;
+    private final long epoch;
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    public TokenBucketRateLimiter(int capacity, int refillPerSec, int maxBuckets, long idleEvictionMillis) {
+        this(capacity, refillPerSec, maxBuckets, idleEvictionMillis, System::currentTimeMillis);
+    }
+
+    public TokenBucketRateLimiter(int capacity, int refillPerSec, int maxBuckets, long idleEvictionMillis, LongSupplier clock) {
+        if (capacity <= 0 || capacity * MILLI > TOKEN_MASK || refillPerSec <= 0) {
+            throw new IllegalArgumentException("capacity must be in (0, " + TOKEN_MASK / MILLI + "] and refill positive");
+        }
+        this.capacityMilli = capacity * MILLI;
+        this.refillPerSec = refillPerSec;
+        this.maxBuckets = maxBuckets;
+        this.idleEvictionMillis = idleEvictionMillis;
+        this.clock = clock;
+        this.epoch = clock.getAsLong();
+    }
+
+    public boolean tryAcquire(String key) {
+        long now = clock.getAsLong() - epoch;
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets) {
+                evict(now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(pack(now, capacityMilli)));
+        }
+
+        while (true) {
+            long state = bucket.get();
+            long tokens = refilled(state, now);
+            if (tokens < MILLI) {
+                return false;
+            }
+            if (bucket.compareAndSet(state, pack(Math.max(now, state >>> TOKEN_BITS), tokens - MILLI))) {
+                return true;
+            }
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    // 1 token/sec == 1 milli-token/ms
+    private long refilled(long state, long now) {
+        long elapsed = Math.max(0, now - (state >>> TOKEN_BITS));
+        long tokens = state & TOKEN_MASK;
+        return elapsed >= capacityMilli / refillPerSec ? capacityMilli : Math.min(capacityMilli, tokens + elapsed * refillPerSec);
+    }
+
+    private long pack(long millis, long tokens) {
+        return (millis << TOKEN_BITS) | tokens;
+    }
+
+    // one sweeper at a time, other threads keep serving
+    private void evict(long now) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            buckets.values().removeIf(bucket -> {
+                long state = bucket.get();
+                return now - (state >>> TOKEN_BITS) >= idleEvictionMillis && refilled(state, now) == capacityMilli;
+            });
+            // still full under key churn: drop entries until back at 90% so memory stays flat
+            int target = maxBuckets - maxBuckets / 10;
+            Iterator<AtomicLong> it = buckets.values().iterator();
+            while (buckets.size() > target && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+}
@@ -28,11 +28,40 @@ public class URIConstants {
     public static final String PLAY_VIDEO = "/{videoId}/play";
     public static final String TRACK_ENGAGEMENT = "/{videoId}/track";
     public static final String SEARCH = "/search";
+    public static final String SUGGEST = "/suggest";
+    public static final String BROWSE = "/browse";
+    public static final String RELATED_VIDEOS = "/{videoId}/related";
+    public static final String CHANGES = "/changes";
 
 
     /*
      * ENGAGEMENT URIS
     */
     public static final String ES_BASE_URL = "/engagement";
+    public static final String ENGAGEMENT_SUMMARY = "/summary";
+    public static final String LIVE_ENGAGEMENT = "/live";
+
+
+    /*
+     * WATCH PROGRESS URIS
+    */
+    public static final String PROGRESS_BASE_URL = "/progress";
+    public static final String CONTINUE_WATCHING = "/continue-watching";
+
+
+    /*
+     * PEOPLE URIS
+    */
+    public static final String PEOPLE_BASE_URL = "/people";
+    public static final String FILMOGRAPHY = "/{personId}/videos";
+
+
+    /*
+     * STREAM URIS (signed urls, served without JWT)
+    */
+    public static final String STREAM_BASE_URL = "/stream";
+    public static final String STREAM_RENDITION = "/{videoId}/{rendition}";
+    public static final String STREAM_EXPIRY_PARAM = "exp";
+    public static final String STREAM_SIGNATURE_PARAM = "sig";
 
 }
\ No newline at end of file
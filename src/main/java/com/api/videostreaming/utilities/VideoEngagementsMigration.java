@@ -0,0 +1,109 @@
+package com.api.videostreaming.utilities;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Brings video_engagements to one row per video, which DatabaseEngagementStore's
+ * INSERT ... ON DUPLICATE KEY UPDATE relies on.
+ *
+ * Rows the old read-then-save path duplicated make the unique key impossible to add, and
+ * ddl-auto only logs that failure. This collapses each duplicated video into its oldest row,
+ * summing the counts under a row lock so concurrent writes are not lost, then adds the key. If
+ * the key is still missing afterwards startup fails rather than let every engagement insert a
+ * new row.
+ */
+public class VideoEngagementsMigration {
+    private static final Logger log = LoggerFactory.getLogger(VideoEngagementsMigration.class);
+
+    public static final String UNIQUE_KEY = "uk_video_engagements_video_id";
+
+    private static final String TABLE = "video_engagements";
+    private static final String DUPLICATED = "SELECT video_id FROM " + TABLE + " GROUP BY video_id HAVING COUNT(*) > 1";
+    private static final String LOCK = "SELECT id, impressions, views FROM " + TABLE + " WHERE video_id = ? ORDER BY id FOR UPDATE";
+    private static final String KEEP = "UPDATE " + TABLE + " SET impressions = ?, views = ? WHERE id = ?";
+    private static final String DROP = "DELETE FROM " + TABLE + " WHERE video_id = ? AND id <> ?";
+    private static final String ADD_KEY = "ALTER TABLE " + TABLE + " ADD CONSTRAINT " + UNIQUE_KEY + " UNIQUE (video_id)";
+    private static final int ATTEMPTS = 3;
+
+    private record Row(long id, long impressions, long views) {}
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transaction;
+
+    public VideoEngagementsMigration(JdbcTemplate jdbc, PlatformTransactionManager transactionManager) {
+        this.jdbc = jdbc;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    public void run() {
+        if (hasUniqueVideoKey()) {
+            return;
+        }
+        // writers still on the old path may add duplicates between the collapse and the ALTER
+        for (int attempt = 1; attempt <= ATTEMPTS && !hasUniqueVideoKey(); attempt++) {
+            int collapsed = collapseDuplicates();
+            try {
+                jdbc.execute(ADD_KEY);
+                log.info("video_engagements: collapsed {} duplicated videos and added {}", collapsed, UNIQUE_KEY);
+            } catch (DataAccessException e) {
+                log.warn("video_engagements: adding {} failed (attempt {} of {}): {}", UNIQUE_KEY, attempt, ATTEMPTS, e.getMessage());
+            }
+        }
+        if (!hasUniqueVideoKey()) {
+            throw new IllegalStateException("video_engagements has no unique key on video_id; engagement counts would split over new rows");
+        }
+    }
+
+    private int collapseDuplicates() {
+        List<Long> videoIds = jdbc.queryForList(DUPLICATED, Long.class);
+        for (Long videoId : videoIds) {
+            transaction.executeWithoutResult(status -> {
+                List<Row> rows = jdbc.query(LOCK, (rs, i) -> new Row(rs.getLong(1), rs.getLong(2), rs.getLong(3)), videoId);
+                if (rows.size() > 1) {
+                    long keep = rows.get(0).id();
+                    jdbc.update(KEEP, Math.toIntExact(rows.stream().mapToLong(Row::impressions).sum()),
+                            Math.toIntExact(rows.stream().mapToLong(Row::views).sum()), keep);
+                    jdbc.update(DROP, videoId, keep);
+                }
+            });
+        }
+        return videoIds.size();
+    }
+
+    // any unique index made of video_id alone, whatever created it
+    private boolean hasUniqueVideoKey() {
+        return Boolean.TRUE.equals(jdbc.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String table : List.of(TABLE, TABLE.toUpperCase())) {
+                Map<String, Set<String>> columns = new HashMap<>();
+                try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), null, table, true, false)) {
+                    while (rs.next()) {
+                        String index = rs.getString("INDEX_NAME");
+                        String column = rs.getString("COLUMN_NAME");
+                        if (index != null && column != null) {
+                            columns.computeIfAbsent(index, k -> new HashSet<>()).add(column.toLowerCase());
+                        }
+                    }
+                }
+                if (columns.values().stream().anyMatch(Set.of("video_id")::equals)) {
+                    return true;
+                }
+            }
+            return false;
+        }));
+    }
+}
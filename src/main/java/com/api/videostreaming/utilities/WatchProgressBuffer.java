@@ -0,0 +1,140 @@
+package com.api.videostreaming.utilities;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latest playback position per (user, video), coalesced in memory between database flushes.
+ *
+ * A heartbeat only replaces the position when its timestamp is newer, so retried or reordered
+ * heartbeats never move a resume point backwards. Changed keys are collected in a dirty set that
+ * the flusher drains; however many heartbeats arrive between two flushes, each key is written once.
+ *
+ * Users whose rows were read from the database are marked loaded, so their "continue watching"
+ * list is answered from here alone. Clean users idle for longer than the eviction window are dropped.
+ */
+public class WatchProgressBuffer {
+
+    public record Key(long userId, long videoId) {}
+
+    // rowId is the database id once the position has been persisted, null before that
+    public record Position(long videoId, int positionInSec, long timestamp, Long rowId) {}
+
+    private static final Comparator<Position> MOST_RECENT = Comparator.comparingLong(Position::timestamp).reversed()
+            .thenComparingLong(Position::videoId);
+
+    private static final class UserProgress {
+        private final Map<Long, Position> positions = new ConcurrentHashMap<>();
+        private volatile boolean loaded;
+        private volatile long lastAccess;
+    }
+
+    private final Map<Long, UserProgress> users = new ConcurrentHashMap<>();
+    private final Set<Key> dirty = ConcurrentHashMap.newKeySet();
+
+    // false when a newer position is already known
+    public boolean record(long userId, long videoId, int positionInSec, long timestamp, long now) {
+        UserProgress user = touch(userId, now);
+        boolean[] updated = {false};
+        user.positions.compute(videoId, (id, current) -> {
+            if (current != null && current.timestamp() >= timestamp) {
+                return current;
+            }
+            updated[0] = true;
+            return new Position(videoId, positionInSec, timestamp, current == null ? null : current.rowId());
+        });
+        // position first, then the dirty mark: a concurrent drain can only write too much, never too little
+        if (updated[0]) {
+            dirty.add(new Key(userId, videoId));
+        }
+        return updated[0];
+    }
+
+    public Position get(long userId, long videoId, long now) {
+        return touch(userId, now).positions.get(videoId);
+    }
+
+    public boolean isLoaded(long userId) {
+        UserProgress user = users.get(userId);
+        return user != null && user.loaded;
+    }
+
+    // merges persisted positions without overwriting newer in-memory ones
+    public void load(long userId, List<Position> persisted, long now) {
+        UserProgress user = touch(userId, now);
+        persisted.forEach(p -> user.positions.merge(p.videoId(), p, (current, stored) -> current.timestamp() >= stored.timestamp()
+                ? new Position(current.videoId(), current.positionInSec(), current.timestamp(), stored.rowId())
+                : stored));
+        user.loaded = true;
+    }
+
+    public List<Position> mostRecent(long userId, int limit, long now) {
+        return touch(userId, now).positions.values().stream()
+                .sorted(MOST_RECENT)
+                .limit(limit)
+                .toList();
+    }
+
+    // removes up to max dirty keys and returns them with their current position
+    public Map<Key, Position> drainDirty(int max) {
+        Map<Key, Position> drained = new LinkedHashMap<>();
+        Iterator<Key> keys = dirty.iterator();
+        while (keys.hasNext() && drained.size() < max) {
+            Key key = keys.next();
+            keys.remove();
+            UserProgress user = users.get(key.userId());
+            Position position = user == null ? null : user.positions.get(key.videoId());
+            if (position != null) {
+                drained.put(key, position);
+            }
+        }
+        return drained;
+    }
+
+    // after a failed flush
+    public void requeue(Set<Key> keys) {
+        dirty.addAll(keys);
+    }
+
+    public void assignRowId(Key key, long rowId) {
+        UserProgress user = users.get(key.userId());
+        if (user != null) {
+            user.positions.computeIfPresent(key.videoId(),
+                    (id, p) -> new Position(p.videoId(), p.positionInSec(), p.timestamp(), rowId));
+        }
+    }
+
+    public int dirtyCount() {
+        return dirty.size();
+    }
+
+    // drops users idle since before cutoff that have nothing left to flush
+    public int evictIdle(long cutoff) {
+        Set<Long> pending = new HashSet<>();
+        dirty.forEach(key -> pending.add(key.userId()));
+        int[] evicted = {0};
+        users.keySet().forEach(userId -> users.computeIfPresent(userId, (id, user) -> {
+            if (user.lastAccess < cutoff && !pending.contains(id)) {
+                evicted[0]++;
+                return null;
+            }
+            return user;
+        }));
+        return evicted[0];
+    }
+
+    private UserProgress touch(long userId, long now) {
+        // under the map's lock so evictIdle never drops a user that is being written
+        return users.compute(userId, (id, user) -> {
+            UserProgress touched = user == null ? new UserProgress() : user;
+            touched.lastAccess = now;
+            return touched;
+        });
+    }
+}
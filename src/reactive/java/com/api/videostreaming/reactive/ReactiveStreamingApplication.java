@@ -0,0 +1,53 @@
+package com.api.videostreaming.reactive;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.api.videostreaming.configs.EngagementCountersConfig;
+import com.api.videostreaming.configs.EngagementShardingConfig;
+import com.api.videostreaming.configs.EngagementStoreConfig;
+import com.api.videostreaming.configs.LoginVerificationConfig;
+import com.api.videostreaming.configs.ReadReplicaConfig;
+import com.api.videostreaming.configs.SecondLevelCacheConfig;
+
+/**
+ * Alternative deployment: play/stream and engagement endpoints served by WebFlux on Netty.
+ * Shares the service layer and its non-web configs with the servlet build, but not the servlet
+ * controllers, filters or SecurityConfig/WebConfig/SwaggerConfig.
+ * Build with {@code mvn -Preactive package}.
+ */
+// ReactiveDataConfig builds the R2DBC pool itself; an auto-configured one would replace the JDBC data source
+@SpringBootApplication(scanBasePackages = {
+    "com.api.videostreaming.serviceImpls",
+    "com.api.videostreaming.securities",
+    "com.api.videostreaming.reactive"
+}, exclude = R2dbcAutoConfiguration.class)
+@EnableJpaRepositories(basePackages = "com.api.videostreaming.repositories")
+@EntityScan(basePackages = "com.api.videostreaming.entities")
+@Import({
+    LoginVerificationConfig.class,
+    SecondLevelCacheConfig.class,
+    ReadReplicaConfig.class,
+    EngagementShardingConfig.class,
+    EngagementCountersConfig.class,
+    EngagementStoreConfig.class
+})
+@EnableScheduling
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE) // never picked up by the servlet app's scan
+public class ReactiveStreamingApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveStreamingApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("reactive")
+                .run(args);
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.api.videostreaming.reactive.configs;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+
+/**
+ * DatabaseClient for the engagement upsert. The pool is kept out of the context on purpose: a
+ * ConnectionFactory bean makes DataSourceAutoConfiguration back off, and JPA, the engagement
+ * store and the migration all need the JDBC data source. spring-data-r2dbc is not pulled in.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveDataConfig implements DisposableBean {
+
+    private ConnectionPool pool;
+
+    @Bean
+    public DatabaseClient databaseClient(@Value("${engagement.r2dbc.url}") String url,
+                                         @Value("${engagement.r2dbc.username}") String username,
+                                         @Value("${engagement.r2dbc.password}") String password,
+                                         @Value("${engagement.r2dbc.pool.initialSize}") int initialSize,
+                                         @Value("${engagement.r2dbc.pool.maxSize}") int maxSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .build());
+        return DatabaseClient.create(pool);
+    }
+
+    @Override
+    public void destroy() {
+        if (pool != null) {
+            pool.dispose();
+        }
+    }
+}
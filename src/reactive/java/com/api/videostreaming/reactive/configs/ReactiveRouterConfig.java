@@ -0,0 +1,41 @@
+package com.api.videostreaming.reactive.configs;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.api.videostreaming.reactive.handlers.EngagementHandler;
+import com.api.videostreaming.reactive.handlers.PlaybackHandler;
+import com.api.videostreaming.utilities.URIConstants;
+
+/**
+ * Same URIs as the servlet controllers, so clients can switch deployments without changes.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRouterConfig {
+
+    private static final String VIDEO = URIConstants.API_VERSION + URIConstants.VIDEO_BASE_URL;
+    private static final String ENGAGEMENT = URIConstants.API_VERSION + URIConstants.ES_BASE_URL;
+    private static final String STREAM = URIConstants.API_VERSION + URIConstants.STREAM_BASE_URL;
+
+    @Bean
+    public RouterFunction<ServerResponse> playbackRoutes(PlaybackHandler playbackHandler) {
+        return RouterFunctions.route()
+                .GET(VIDEO + URIConstants.PLAY_VIDEO, playbackHandler::playVideoContent)
+                .GET(VIDEO + URIConstants.LOAD_VIDEO, playbackHandler::loadVideoContent)
+                .GET(STREAM + URIConstants.STREAM_RENDITION, playbackHandler::streamVideo)
+                .build();
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> engagementRoutes(EngagementHandler engagementHandler) {
+        return RouterFunctions.route()
+                .POST(ENGAGEMENT + URIConstants.TRACK_ENGAGEMENT, engagementHandler::trackEngagement)
+                .GET(ENGAGEMENT + URIConstants.VIDEO_ID, engagementHandler::getEngagement)
+                .build();
+    }
+}
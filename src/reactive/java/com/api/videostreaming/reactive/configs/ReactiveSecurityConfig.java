@@ -0,0 +1,76 @@
+package com.api.videostreaming.reactive.configs;
+
+import java.util.ArrayList;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+import com.api.videostreaming.securities.JwtUtil;
+import com.api.videostreaming.utilities.URIConstants;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of SecurityConfig + JwtAuthenticationFilter. Tokens are issued by the
+ * servlet deployment (same jwtSecretKey), signed stream urls stay outside JWT as in the servlet build.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+    private static final String BEARER = "Bearer ";
+
+    @Bean
+    public SecurityWebFilterChain reactiveSecurityFilterChain(ServerHttpSecurity http, JwtUtil jwtUtil) {
+        AuthenticationWebFilter jwtFilter = new AuthenticationWebFilter(jwtAuthenticationManager(jwtUtil));
+        jwtFilter.setServerAuthenticationConverter(exchange -> {
+            String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+            if (header == null || !header.startsWith(BEARER)) {
+                return Mono.empty();
+            }
+            String token = header.substring(BEARER.length());
+            return Mono.just(new UsernamePasswordAuthenticationToken(token, token));
+        });
+
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .authorizeExchange(auth -> auth
+                        .pathMatchers(URIConstants.API_VERSION + URIConstants.STREAM_BASE_URL + "/**").permitAll()
+                        .pathMatchers(URIConstants.API_VERSION + URIConstants.AUTH_BASE_URL + "/**").permitAll()
+                        .anyExchange().authenticated())
+                .addFilterAt(jwtFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    // token parsing is pure CPU work, no need to leave the event loop
+    private ReactiveAuthenticationManager jwtAuthenticationManager(JwtUtil jwtUtil) {
+        return authentication -> Mono.<Authentication>fromCallable(() -> {
+            String token = (String) authentication.getCredentials();
+            String username = jwtUtil.getUsernameFromToken(token);
+            if (!Boolean.TRUE.equals(jwtUtil.validateToken(token, username))) {
+                throw new BadCredentialsException("Invalid JWT token");
+            }
+            User principal = new User(username, username, new ArrayList<>());
+            return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        }).onErrorMap(e -> !(e instanceof BadCredentialsException), e -> new BadCredentialsException("Invalid JWT token", e));
+    }
+}
@@ -0,0 +1,104 @@
+package com.api.videostreaming.reactive.handlers;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.api.videostreaming.enums.EngagementType;
+import com.api.videostreaming.services.EngagementService;
+import com.api.videostreaming.utilities.DatabaseEngagementStore;
+import com.api.videostreaming.utilities.EngagementStore;
+
+import ch.qos.logback.classic.Logger;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Both endpoints reuse the EngagementService contract, so writes get the same de-duplication,
+ * active check and events as the servlet build. When video_engagements is the engagement store
+ * the increment is DatabaseEngagementStore's upsert issued through R2DBC, so no thread waits on
+ * MySQL; other stores are incremented by the service on the bounded elastic pool. The caller's
+ * authentication is carried over from the reactive context for the per-user dedup key.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class EngagementHandler {
+    private static final Logger log = (Logger) LoggerFactory.getLogger(EngagementHandler.class);
+
+    private final EngagementService engagementService;
+    private final DatabaseClient databaseClient;
+    private final boolean writeOverR2dbc;
+
+    public EngagementHandler(EngagementService engagementService, DatabaseClient databaseClient, EngagementStore engagementStore) {
+        this.engagementService = engagementService;
+        this.databaseClient = databaseClient;
+        this.writeOverR2dbc = engagementStore instanceof DatabaseEngagementStore;
+    }
+
+    public Mono<ServerResponse> trackEngagement(ServerRequest request) {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(authentication -> Mono.fromCallable(() -> {
+                            Long videoId = Long.valueOf(request.pathVariable("videoId"));
+                            EngagementType type = EngagementType.valueOf(request.queryParam("type").orElseThrow());
+                            log.info("Received reactive engagement for Video ID={}, Type={}", videoId, type);
+                            if (!writeOverR2dbc) {
+                                return Mono.just(withAuthentication(authentication.orElse(null),
+                                        () -> engagementService.trackEngagement(videoId, type)));
+                            }
+                            // a user cache miss still reads MySQL, so this part stays off the event loop
+                            return Mono.fromCompletionStage(withAuthentication(authentication.orElse(null),
+                                    () -> engagementService.trackEngagement(videoId, type, this::increment)));
+                        })
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .flatMap(response -> response))
+                .flatMap(response -> ServerResponse.status(response.getStatusCode())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(response.getBody()))
+                .onErrorResume(ReactiveErrorMapper::toResponse);
+    }
+
+    public Mono<ServerResponse> getEngagement(ServerRequest request) {
+        return Mono.fromCallable(() -> engagementService.getEngagements(Long.valueOf(request.pathVariable("videoId"))))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(response -> ServerResponse.status(response.getStatusCode())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(response.getBody()))
+                .onErrorResume(ReactiveErrorMapper::toResponse);
+    }
+
+    // the same single upsert as DatabaseEngagementStore.increment, completed on the driver's threads
+    private CompletionStage<Long> increment(Long videoId, EngagementType type) {
+        return databaseClient.sql(DatabaseEngagementStore.INCREMENT)
+                .bind(0, videoId)
+                .bind(1, type == EngagementType.IMPRESSION ? 1 : 0)
+                .bind(2, type == EngagementType.IMPRESSION ? 0 : 1)
+                .fetch()
+                .rowsUpdated()
+                .toFuture();
+    }
+
+    // the service reads the caller from the thread-bound context, as it does under the servlet build
+    private static <T> T withAuthentication(Authentication authentication, Supplier<T> call) {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        try {
+            return call.get();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
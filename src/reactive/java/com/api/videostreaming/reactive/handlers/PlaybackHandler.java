@@ -0,0 +1,104 @@
+package com.api.videostreaming.reactive.handlers;
+
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.api.videostreaming.exceptions.customExceptions.ForbiddenException;
+import com.api.videostreaming.exceptions.customExceptions.ResourceNotFoundException;
+import com.api.videostreaming.securities.PlaybackUrlSigner;
+import com.api.videostreaming.services.VideoService;
+import com.api.videostreaming.utilities.Constants;
+import com.api.videostreaming.utilities.URIConstants;
+
+import ch.qos.logback.classic.Logger;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * play/load reuse the blocking VideoService contract on the bounded elastic pool; stream never blocks:
+ * the signature check is CPU only and file bytes are written through Netty's zero-copy file region.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class PlaybackHandler {
+    private static final Logger log = (Logger) LoggerFactory.getLogger(PlaybackHandler.class);
+
+    private final VideoService videoService;
+    private final PlaybackUrlSigner playbackUrlSigner;
+    private final Path mediaRootPath;
+
+    public PlaybackHandler(VideoService videoService, PlaybackUrlSigner playbackUrlSigner,
+                           @Value("${playback.mediaRootPath}") String mediaRootPath) {
+        this.videoService = videoService;
+        this.playbackUrlSigner = playbackUrlSigner;
+        this.mediaRootPath = Paths.get(mediaRootPath).toAbsolutePath().normalize();
+    }
+
+    public Mono<ServerResponse> playVideoContent(ServerRequest request) {
+        Long videoId = Long.valueOf(request.pathVariable("videoId"));
+        String clientIp = clientIp(request);
+        log.info("Received reactive request to play video for ID: {}", videoId);
+        return Mono.fromCallable(() -> videoService.playVideoContent(videoId, clientIp))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(response -> ServerResponse.status(response.getStatusCode())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(response.getBody()))
+                .onErrorResume(ReactiveErrorMapper::toResponse);
+    }
+
+    public Mono<ServerResponse> loadVideoContent(ServerRequest request) {
+        Long videoId = Long.valueOf(request.pathVariable("videoId"));
+        return Mono.fromCallable(() -> videoService.loadVideoContent(videoId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(response -> ServerResponse.status(response.getStatusCode())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(response.getBody()))
+                .onErrorResume(ReactiveErrorMapper::toResponse);
+    }
+
+    public Mono<ServerResponse> streamVideo(ServerRequest request) {
+        try {
+            long videoId = Long.parseLong(request.pathVariable("videoId"));
+            String rendition = request.pathVariable("rendition");
+            long expiresAt = Long.parseLong(request.queryParam(URIConstants.STREAM_EXPIRY_PARAM).orElse("0"));
+            String signature = request.queryParam(URIConstants.STREAM_SIGNATURE_PARAM).orElse(null);
+
+            if (!PlaybackUrlSigner.isRendition(rendition)
+                    || !playbackUrlSigner.verify(videoId, rendition, expiresAt, clientIp(request), signature)) {
+                log.warn("Rejected playback url: Video ID={}, rendition={}, exp={}", videoId, rendition, expiresAt);
+                return ReactiveErrorMapper.toResponse(new ForbiddenException(Constants.INVALID_PLAYBACK_SIGNATURE));
+            }
+
+            Path file = mediaRootPath.resolve(String.valueOf(videoId)).resolve(rendition).normalize();
+            if (!file.startsWith(mediaRootPath) || !Files.isRegularFile(file)) {
+                return ReactiveErrorMapper.toResponse(new ResourceNotFoundException("Rendition not found"));
+            }
+
+            // ResourceHttpMessageWriter answers Range requests and uses zero-copy transfer on Netty
+            MediaType mediaType = MediaTypeFactory.getMediaType(rendition).orElse(MediaType.APPLICATION_OCTET_STREAM);
+            return ServerResponse.ok().contentType(mediaType).body(BodyInserters.fromResource(new FileSystemResource(file)));
+        } catch (NumberFormatException e) {
+            return ReactiveErrorMapper.toResponse(new ForbiddenException(Constants.INVALID_PLAYBACK_SIGNATURE));
+        }
+    }
+
+    private String clientIp(ServerRequest request) {
+        return request.remoteAddress()
+                .map(InetSocketAddress::getAddress)
+                .map(address -> address.getHostAddress())
+                .orElse(null);
+    }
+}
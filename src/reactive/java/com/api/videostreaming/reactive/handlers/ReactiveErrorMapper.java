@@ -0,0 +1,48 @@
+package com.api.videostreaming.reactive.handlers;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.api.videostreaming.exceptions.customExceptions.AuthenticationFailedException;
+import com.api.videostreaming.exceptions.customExceptions.ForbiddenException;
+import com.api.videostreaming.exceptions.customExceptions.InternalServerErrorException;
+import com.api.videostreaming.exceptions.customExceptions.ResourceNotFoundException;
+import com.api.videostreaming.exceptions.customExceptions.ServiceUnavailableException;
+import com.api.videostreaming.pojos.responses.ErrorResponse;
+
+import ch.qos.logback.classic.Logger;
+import reactor.core.publisher.Mono;
+
+/**
+ * Same status/body mapping as GlobalExceptionHandler, for functional endpoints.
+ */
+final class ReactiveErrorMapper {
+    private static final Logger log = (Logger) LoggerFactory.getLogger(ReactiveErrorMapper.class);
+
+    private ReactiveErrorMapper() {}
+
+    static Mono<ServerResponse> toResponse(Throwable ex) {
+        HttpStatus status;
+        String message = ex.getMessage();
+        if (ex instanceof ResourceNotFoundException) {
+            status = HttpStatus.NOT_FOUND;
+        } else if (ex instanceof AuthenticationFailedException) {
+            status = HttpStatus.UNAUTHORIZED;
+        } else if (ex instanceof ForbiddenException) {
+            status = HttpStatus.FORBIDDEN;
+        } else if (ex instanceof InternalServerErrorException) {
+            status = HttpStatus.INTERNAL_SERVER_ERROR;
+        } else if (ex instanceof ServiceUnavailableException) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+        } else {
+            log.error("Unhandled error in reactive handler", ex);
+            status = HttpStatus.INTERNAL_SERVER_ERROR;
+            message = "An unexpected error occurred";
+        }
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ErrorResponse(status.value(), message));
+    }
+}
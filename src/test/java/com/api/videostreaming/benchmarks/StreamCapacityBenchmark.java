@@ -0,0 +1,187 @@
+package com.api.videostreaming.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+/**
+ * Concurrent-stream capacity benchmark, servlet build vs reactive build.
+ * Each simulated viewer reads its stream at a fixed bitrate for a fixed time, like a player
+ * would, so the server has to keep every connection open for the whole run. A stream "holds"
+ * if it receives at least 95% of its target bytes. Both deployments must be running.
+ *
+ * A manual tool, not a test, and not packaged with either deployment.
+ * Usage (classpath from {@code mvn dependency:build-classpath} plus target/test-classes):
+ *   java -cp ... com.api.videostreaming.benchmarks.StreamCapacityBenchmark \
+ *     servlet=http://localhost:8070 reactive=http://localhost:8071 token=&lt;jwt&gt; videoId=1 \
+ *     levels=250,500,1000,2000 bitrate=250000 seconds=20
+ */
+public class StreamCapacityBenchmark {
+
+    private static final Gson GSON = new Gson();
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "");
+        }
+        String token = options.getOrDefault("token", "");
+        String videoId = options.getOrDefault("videoId", "1");
+        int[] levels = Arrays.stream(options.getOrDefault("levels", "250,500,1000,2000").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        long bitrate = Long.parseLong(options.getOrDefault("bitrate", "250000"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "20"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2))
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        ScheduledExecutorService pacer = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors());
+
+        System.out.printf("%-10s %8s %8s %8s %10s %10s%n", "build", "streams", "held", "failed", "ttfb p50", "ttfb p99");
+        for (String build : List.of("servlet", "reactive")) {
+            String baseUrl = options.get(build);
+            if (baseUrl == null) {
+                continue;
+            }
+            for (int level : levels) {
+                String streamUrl = baseUrl + mintPlaybackUrl(client, baseUrl, videoId, token);
+                Result result = runLevel(client, pacer, streamUrl, level, bitrate, seconds);
+                System.out.printf("%-10s %8d %8d %8d %8dms %8dms%n", build, level, result.held, result.failed,
+                        result.percentile(50), result.percentile(99));
+            }
+        }
+        pacer.shutdownNow();
+        System.exit(0);
+    }
+
+    private static String mintPlaybackUrl(HttpClient client, String baseUrl, String videoId, String token) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/v1/api/video/" + videoId + "/play"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        String body = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        return GSON.fromJson(body, JsonObject.class).get("playbackUrl").getAsString();
+    }
+
+    private static Result runLevel(HttpClient client, ScheduledExecutorService pacer, String streamUrl,
+                                   int streams, long bitrate, int seconds) {
+        long targetBytes = bitrate * seconds;
+        List<CompletableFuture<long[]>> runs = new ArrayList<>(streams);
+        for (int i = 0; i < streams; i++) {
+            long start = System.nanoTime();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(streamUrl)).GET().build();
+            runs.add(client.sendAsync(request, info -> info.statusCode() == 200 || info.statusCode() == 206
+                            ? new PacedSubscriber(pacer, bitrate, seconds, start)
+                            : HttpResponse.BodySubscribers.replacing(new long[] {-1, 0}))
+                    .thenApply(HttpResponse::body)
+                    .exceptionally(e -> new long[] {-1, 0}));
+        }
+
+        Result result = new Result();
+        for (CompletableFuture<long[]> run : runs) {
+            long[] outcome = run.join();
+            if (outcome[0] < 0) {
+                result.failed++;
+                continue;
+            }
+            result.ttfbMillis.add(outcome[1]);
+            if (outcome[0] >= targetBytes * 95 / 100) {
+                result.held++;
+            }
+        }
+        return result;
+    }
+
+    // reads at most `bitrate` bytes per second and cancels after `seconds`, like a player buffer would
+    private static final class PacedSubscriber implements HttpResponse.BodySubscriber<long[]> {
+        private final ScheduledExecutorService pacer;
+        private final long bitrate;
+        private final long deadlineNanos;
+        private final long startNanos;
+        private final CompletableFuture<long[]> done = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+        private long received;
+        private long firstByteMillis = -1;
+
+        PacedSubscriber(ScheduledExecutorService pacer, long bitrate, int seconds, long startNanos) {
+            this.pacer = pacer;
+            this.bitrate = bitrate;
+            this.startNanos = startNanos;
+            this.deadlineNanos = startNanos + TimeUnit.SECONDS.toNanos(seconds);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            if (firstByteMillis < 0) {
+                firstByteMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            }
+            for (ByteBuffer buffer : buffers) {
+                received += buffer.remaining();
+            }
+            long now = System.nanoTime();
+            if (now >= deadlineNanos) {
+                subscription.cancel();
+                done.complete(new long[] {received, firstByteMillis});
+                return;
+            }
+            long aheadNanos = TimeUnit.SECONDS.toNanos(received) / bitrate - (now - startNanos);
+            pacer.schedule(() -> subscription.request(1), Math.max(0, aheadNanos), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            done.complete(new long[] {-1, 0});
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(new long[] {received, firstByteMillis});
+        }
+
+        @Override
+        public CompletionStage<long[]> getBody() {
+            return done;
+        }
+    }
+
+    private static final class Result {
+        private final List<Long> ttfbMillis = new ArrayList<>();
+        private int held;
+        private int failed;
+
+        long percentile(int p) {
+            if (ttfbMillis.isEmpty()) {
+                return 0;
+            }
+            List<Long> sorted = new ArrayList<>(ttfbMillis);
+            sorted.sort(null);
+            return sorted.get(Math.min(sorted.size() - 1, sorted.size() * p / 100));
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.api.videostreaming.implsTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.api.videostreaming.entities.Users;
+import com.api.videostreaming.exceptions.customExceptions.AuthenticationFailedException;
+import com.api.videostreaming.exceptions.customExceptions.ServiceUnavailableException;
+import com.api.videostreaming.pojos.requests.LoginRequest;
+import com.api.videostreaming.pojos.requests.RefreshTokenRequest;
+import com.api.videostreaming.pojos.responses.JwtResponse;
+import com.api.videostreaming.repositories.UsersRepository;
+import com.api.videostreaming.securities.JwtUtil;
+import com.api.videostreaming.securities.TokenRevocationStore;
+import com.api.videostreaming.securities.UserLookupCache;
+import com.api.videostreaming.serviceImpls.AuthServiceImpl;
+
+import io.jsonwebtoken.Claims;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceImplTest {
+
+    @Mock
+    private UsersRepository usersRepo;
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+    private ThreadPoolExecutor loginVerificationExecutor;
+    private TokenRevocationStore tokenRevocationStore;
+    private AuthServiceImpl authService;
+    private final JwtUtil jwtUtil = new JwtUtil(3600, "test-secret");
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        UserLookupCache userLookupCache = new UserLookupCache(usersRepo, 300, 100);
+        tokenRevocationStore = newRevocationStore();
+        loginVerificationExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        authService = new AuthServiceImpl(jwtUtil, usersRepo, userLookupCache, tokenRevocationStore, passwordEncoder, loginVerificationExecutor);
+        ReflectionTestUtils.setField(authService, "loginTimeoutInMs", 2000L);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        loginVerificationExecutor.shutdownNow();
+        tokenRevocationStore.close();
+    }
+
+    private TokenRevocationStore newRevocationStore() {
+        TokenRevocationStore store = new TokenRevocationStore(tempDir.resolve("revoked-tokens.log").toString(), 300);
+        store.load();
+        return store;
+    }
+
+    private RefreshTokenRequest refresh(String refreshToken) {
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken(refreshToken);
+        return request;
+    }
+
+    private LoginRequest login(String username, String password) {
+        LoginRequest request = new LoginRequest();
+        request.setUsername(username);
+        request.setPassword(password);
+        return request;
+    }
+
+    /**
+     * Test: Legacy Base64 password is accepted once and rehashed to bcrypt
+     */
+    @Test
+    void testGenerateToken_LegacyPasswordIsMigrated() {
+        Users legacy = new Users(1L, "admin", Base64.getEncoder().encodeToString("admin".getBytes()));
+        when(usersRepo.findByUserName("admin")).thenReturn(legacy);
+
+        ResponseEntity<JwtResponse> response = authService.generateToken(login("admin", "admin"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody().getToken());
+
+        ArgumentCaptor<Users> saved = ArgumentCaptor.forClass(Users.class);
+        verify(usersRepo, times(1)).save(saved.capture());
+        assertTrue(saved.getValue().getPassword().startsWith("{bcrypt}"));
+        assertTrue(passwordEncoder.matches("admin", saved.getValue().getPassword().substring("{bcrypt}".length())));
+
+        // second login is served from the cache with the migrated hash, no new lookup or save
+        authService.generateToken(login("admin", "admin"));
+        verify(usersRepo, times(1)).findByUserName("admin");
+        verify(usersRepo, times(1)).save(any(Users.class));
+    }
+
+    /**
+     * Test: Wrong password is rejected for bcrypt users
+     */
+    @Test
+    void testGenerateToken_WrongPassword() {
+        Users user = new Users(1L, "admin", "{bcrypt}" + passwordEncoder.encode("admin"));
+        when(usersRepo.findByUserName("admin")).thenReturn(user);
+
+        assertThrows(AuthenticationFailedException.class, () -> authService.generateToken(login("admin", "wrong")));
+        verify(usersRepo, never()).save(any(Users.class));
+    }
+
+    /**
+     * Test: Login fails fast with 503 when the verification pool and queue are full
+     */
+    @Test
+    void testGenerateToken_FailsFastWhenSaturated() throws Exception {
+        Users user = new Users(1L, "admin", "{bcrypt}" + passwordEncoder.encode("admin"));
+        when(usersRepo.findByUserName("admin")).thenReturn(user);
+
+        CountDownLatch release = new CountDownLatch(1);
+        loginVerificationExecutor.submit(() -> { release.await(); return null; });
+        loginVerificationExecutor.submit(() -> { release.await(); return null; });
+
+        try {
+            assertThrows(ServiceUnavailableException.class, () -> authService.generateToken(login("admin", "admin")));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    /**
+     * Test: Refresh rotates the token within the same family and the used token cannot be replayed
+     */
+    @Test
+    void testRefreshToken_RotationAndReuseDetection() {
+        String first = jwtUtil.generateToken("admin", "refresh");
+
+        String second = authService.refreshToken(refresh(first)).getBody().getRefreshToken();
+        assertEquals(jwtUtil.parseToken(first).get("fid"), jwtUtil.parseToken(second).get("fid"));
+        assertNotEquals(jwtUtil.parseToken(first).getId(), jwtUtil.parseToken(second).getId());
+
+        // replaying the used token revokes the family, so the latest token dies too
+        assertThrows(AuthenticationFailedException.class, () -> authService.refreshToken(refresh(first)));
+        assertThrows(AuthenticationFailedException.class, () -> authService.refreshToken(refresh(second)));
+    }
+
+    /**
+     * Test: A refresh token issued before rotation is exchanged once, then rejected on replay
+     */
+    @Test
+    void testRefreshToken_LegacyTokenIsSingleUse() {
+        String legacy = jwtUtil.generateToken("admin", "refresh", null);
+
+        String rotated = authService.refreshToken(refresh(legacy)).getBody().getRefreshToken();
+        assertNotNull(jwtUtil.parseToken(rotated).get("fid"));
+
+        assertThrows(AuthenticationFailedException.class, () -> authService.refreshToken(refresh(legacy)));
+        assertNotNull(authService.refreshToken(refresh(rotated)).getBody().getRefreshToken());
+    }
+
+    /**
+     * Test: Access tokens are not accepted as refresh tokens
+     */
+    @Test
+    void testRefreshToken_RejectsAccessToken() {
+        String access = jwtUtil.generateToken("admin", "auth");
+
+        assertThrows(AuthenticationFailedException.class, () -> authService.refreshToken(refresh(access)));
+    }
+
+    /**
+     * Test: Revocations survive a restart through the append-only log
+     */
+    @Test
+    void testRefreshToken_RevocationSurvivesRestart() throws Exception {
+        String first = jwtUtil.generateToken("admin", "refresh");
+        authService.refreshToken(refresh(first));
+        tokenRevocationStore.close();
+
+        TokenRevocationStore reloaded = newRevocationStore();
+        try {
+            Claims claims = jwtUtil.parseToken(first);
+            assertTrue(reloaded.isTokenRevoked(claims.getId(), claims.getExpiration().getTime() / 1000));
+            assertFalse(reloaded.isTokenRevoked("unknown-jti", claims.getExpiration().getTime() / 1000));
+        } finally {
+            reloaded.close();
+        }
+    }
+}
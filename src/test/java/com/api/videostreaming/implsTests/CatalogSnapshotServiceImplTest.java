@@ -0,0 +1,67 @@
+package com.api.videostreaming.implsTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.api.videostreaming.entities.Video;
+import com.api.videostreaming.entities.VideoMetadata;
+import com.api.videostreaming.enums.CatalogChangeType;
+import com.api.videostreaming.pojos.events.CatalogChangeEvent;
+import com.api.videostreaming.repositories.CatalogChangeRepository;
+import com.api.videostreaming.repositories.VideoRepository;
+import com.api.videostreaming.serviceImpls.CatalogSnapshotServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogSnapshotServiceImplTest {
+
+    @Mock
+    private VideoRepository videoRepository;
+
+    @Mock
+    private CatalogChangeRepository catalogChangeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CatalogSnapshotServiceImpl catalogSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        catalogSnapshotService = new CatalogSnapshotServiceImpl(videoRepository, catalogChangeRepository, transactionManager);
+        ReflectionTestUtils.setField(catalogSnapshotService, "enabled", true);
+    }
+
+    /**
+     * Test: Index rebuilds read active videos from the snapshot once it is ready, and from the database before that
+     */
+    @Test
+    void testFindAllActiveServedFromSnapshotOnceReady() {
+        Video dune = Video.builder().id(1L).title("Dune").director("Denis Villeneuve").cast(List.of("Zendaya")).isActive(true)
+                .metadata(VideoMetadata.builder().genre("Sci-Fi").build()).build();
+        Video removed = Video.builder().id(2L).title("Removed").director("Nobody").isActive(false).build();
+        catalogSnapshotService.onCatalogChange(new CatalogChangeEvent(1L, CatalogChangeType.PUBLISHED, dune));
+        catalogSnapshotService.onCatalogChange(new CatalogChangeEvent(2L, CatalogChangeType.UPDATED, removed));
+
+        when(videoRepository.findByIsActiveTrue()).thenReturn(List.of(dune));
+        assertEquals(List.of(dune), catalogSnapshotService.findAllActive());
+
+        ReflectionTestUtils.setField(catalogSnapshotService, "ready", true);
+        List<Video> active = catalogSnapshotService.findAllActive();
+
+        verify(videoRepository, times(1)).findByIsActiveTrue();
+        assertEquals(1, active.size());
+        assertEquals("Dune", active.get(0).getTitle());
+        assertEquals(List.of("Zendaya"), active.get(0).getCast());
+        assertEquals("Sci-Fi", active.get(0).getMetadata().getGenre());
+    }
+}
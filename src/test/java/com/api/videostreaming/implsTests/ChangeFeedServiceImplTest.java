@@ -0,0 +1,104 @@
+package com.api.videostreaming.implsTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.api.videostreaming.entities.CatalogChange;
+import com.api.videostreaming.entities.CatalogChangeSequence;
+import com.api.videostreaming.entities.Video;
+import com.api.videostreaming.enums.CatalogChangeType;
+import com.api.videostreaming.pojos.events.CatalogChangeEvent;
+import com.api.videostreaming.pojos.responses.ChangeFeedResponse;
+import com.api.videostreaming.repositories.CatalogChangeRepository;
+import com.api.videostreaming.repositories.CatalogChangeSequenceRepository;
+import com.api.videostreaming.serviceImpls.ChangeFeedServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeFeedServiceImplTest {
+
+    @Mock
+    private CatalogChangeRepository changeRepository;
+
+    @Mock
+    private CatalogChangeSequenceRepository sequenceRepository;
+
+    @InjectMocks
+    private ChangeFeedServiceImpl changeFeedService;
+
+    private final Video video = Video.builder().id(7L).title("Heat").isActive(true).build();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(changeFeedService, "maxBatchSize", 100);
+        ReflectionTestUtils.setField(changeFeedService, "maxWaitInMs", 30_000L);
+    }
+
+    /**
+     * Test: A local catalog change is appended under the next sequence number, remote replays are not
+     */
+    @Test
+    void testOnCatalogChange_AppendsNextSeq() {
+        CatalogChangeSequence sequence = new CatalogChangeSequence(1, 41);
+        when(sequenceRepository.findForUpdate(1)).thenReturn(Optional.of(sequence));
+
+        changeFeedService.onCatalogChange(new CatalogChangeEvent(7L, CatalogChangeType.UPDATED, video));
+        changeFeedService.onCatalogChange(new CatalogChangeEvent(7L, CatalogChangeType.UPDATED, video, true));
+
+        ArgumentCaptor<CatalogChange> appended = ArgumentCaptor.forClass(CatalogChange.class);
+        verify(changeRepository, times(1)).save(appended.capture());
+        assertEquals(42L, appended.getValue().getSeq());
+        assertEquals(7L, appended.getValue().getVideoId());
+        assertEquals(CatalogChangeType.UPDATED, appended.getValue().getType());
+        assertEquals("Heat", appended.getValue().getTitle());
+        assertEquals(42L, sequence.getLastSeq());
+    }
+
+    /**
+     * Test: Pending changes are returned at once; a caught-up consumer is parked until a newer seq commits
+     */
+    @Test
+    void testGetChanges_ReturnsBatchOrWaitsForNewer() {
+        CatalogChange first = CatalogChange.builder().seq(5L).videoId(7L).type(CatalogChangeType.PUBLISHED).title("Heat").active(true).build();
+        CatalogChange second = CatalogChange.builder().seq(6L).videoId(7L).type(CatalogChangeType.DELETED).title("Heat").build();
+        when(changeRepository.findBySeqGreaterThanOrderBySeqAsc(eq(4L), any(Pageable.class))).thenReturn(List.of(first, second));
+
+        DeferredResult<ResponseEntity<ChangeFeedResponse>> pending = changeFeedService.getChanges(4, 2, 1000);
+        ChangeFeedResponse batch = (ChangeFeedResponse) ((ResponseEntity<?>) pending.getResult()).getBody();
+        assertEquals(2, batch.getChanges().size());
+        assertEquals(6L, batch.getNextSeq());
+        assertFalse(batch.isCaughtUp());
+
+        when(changeRepository.findBySeqGreaterThanOrderBySeqAsc(eq(6L), any(Pageable.class))).thenReturn(List.of());
+        DeferredResult<ResponseEntity<ChangeFeedResponse>> parked = changeFeedService.getChanges(6, 2, 1000);
+        assertFalse(parked.hasResult());
+
+        when(changeRepository.findLatestSeq()).thenReturn(6L);
+        changeFeedService.releaseWaiters();
+        assertFalse(parked.hasResult());
+
+        CatalogChange third = CatalogChange.builder().seq(7L).videoId(8L).type(CatalogChangeType.PUBLISHED).build();
+        when(changeRepository.findLatestSeq()).thenReturn(7L);
+        when(changeRepository.findBySeqGreaterThanOrderBySeqAsc(eq(6L), any(Pageable.class))).thenReturn(List.of(third));
+        changeFeedService.releaseWaiters();
+        ChangeFeedResponse released = (ChangeFeedResponse) ((ResponseEntity<?>) parked.getResult()).getBody();
+        assertEquals(7L, released.getNextSeq());
+        assertTrue(released.isCaughtUp());
+    }
+}
@@ -3,6 +3,7 @@ package com.api.videostreaming.implsTests;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,20 +11,31 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import com.api.videostreaming.entities.Users;
 import com.api.videostreaming.entities.Video;
-import com.api.videostreaming.entities.VideoEngagements;
 import com.api.videostreaming.enums.EngagementType;
 import com.api.videostreaming.exceptions.customExceptions.ResourceNotFoundException;
+import com.api.videostreaming.pojos.responses.EngagementEvent;
 import com.api.videostreaming.pojos.responses.EngagementResponse;
-import com.api.videostreaming.repositories.VideoEngagementRepository;
+import com.api.videostreaming.pojos.responses.EngagementSummaryResponse;
 import com.api.videostreaming.repositories.VideoRepository;
+import com.api.videostreaming.securities.UserLookupCache;
 import com.api.videostreaming.serviceImpls.EngagementServiceImpl;
+import com.api.videostreaming.services.FacetService;
+import com.api.videostreaming.utilities.Constants;
+import com.api.videostreaming.utilities.EngagementStore;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 @ExtendWith(MockitoExtension.class)
 class EngagementServiceImplTest {
@@ -32,13 +44,22 @@ class EngagementServiceImplTest {
     private VideoRepository videoRepository;
 
     @Mock
-    private VideoEngagementRepository engagementRepository;
+    private EngagementStore engagementStore;
+
+    @Mock
+    private FacetService facetService;
+
+    @Mock
+    private UserLookupCache userLookupCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private EngagementServiceImpl engagementService;
 
     private Video video;
-    private VideoEngagements engagement;
+    private EngagementStore.Counts engagement;
     private final Long videoId = 1L;
 
     @BeforeEach
@@ -50,11 +71,7 @@ class EngagementServiceImplTest {
                 .isActive(true)
                 .build();
 
-        engagement = VideoEngagements.builder()
-                .video(video)
-                .impressions(5)
-                .views(2)
-                .build();
+        engagement = new EngagementStore.Counts(videoId, 5, 2);
     }
 
     /**
@@ -63,7 +80,7 @@ class EngagementServiceImplTest {
     @Test
     void testTrackEngagement_WithKafka() {
         ReflectionTestUtils.setField(engagementService, "useKafka", true);
-        when(videoRepository.findById(videoId)).thenReturn(Optional.of(video));
+        when(facetService.isActive(videoId)).thenReturn(true);
 
         ResponseEntity<EngagementResponse> response = engagementService.trackEngagement(videoId, EngagementType.VIEW);
 
@@ -72,21 +89,18 @@ class EngagementServiceImplTest {
         assertTrue(response.getBody().isSuccess());
         assertEquals("Engagement event sent to Kafka", response.getBody().getMessage());
 
-        verify(videoRepository, times(1)).findById(videoId);
-        verify(engagementRepository, never()).findByVideoId(any());
-        verify(engagementRepository, never()).save(any());
+        verify(videoRepository, never()).findById(anyLong());
+        verify(engagementStore, never()).increment(anyLong(), any());
     }
 
     /**
-     * Test: Engagement is stored in DB when `useKafka = false` (New Engagement)
+     * Test: Engagement is counted with one increment in the engagement store when `useKafka = false`
      */
     @Test
-    void testTrackEngagement_WithoutKafka_NewEngagement() {
+    void testTrackEngagement_WithoutKafka_IncrementsStore() {
         ReflectionTestUtils.setField(engagementService, "useKafka", false);
 
-        when(videoRepository.findById(videoId)).thenReturn(Optional.of(video));
-        when(engagementRepository.findByVideoId(videoId)).thenReturn(Optional.empty());
-        when(engagementRepository.save(any(VideoEngagements.class))).thenReturn(engagement);
+        when(facetService.isActive(videoId)).thenReturn(true);
 
         ResponseEntity<EngagementResponse> response = engagementService.trackEngagement(videoId, EngagementType.IMPRESSION);
 
@@ -95,35 +109,26 @@ class EngagementServiceImplTest {
         assertTrue(response.getBody().isSuccess());
         assertEquals("Engagement recorded successfully", response.getBody().getMessage());
 
-        verify(videoRepository, times(1)).findById(videoId);
-        verify(engagementRepository, times(1)).findByVideoId(videoId);
-        verify(engagementRepository, times(1)).save(any(VideoEngagements.class));
+        verify(videoRepository, never()).findById(anyLong());
+        verify(engagementStore, times(1)).increment(videoId, EngagementType.IMPRESSION);
+        // no read-modify-write, so concurrent engagements cannot overwrite each other
+        verify(engagementStore, never()).find(anyLong());
     }
 
     /**
-     * Test: Engagement is updated when it already exists
+     * Test: A view is counted as a view
      */
     @Test
-    void testTrackEngagement_UpdateExistingEngagement() {
+    void testTrackEngagement_ViewIncrementsViews() {
         ReflectionTestUtils.setField(engagementService, "useKafka", false);
 
-        when(videoRepository.findById(videoId)).thenReturn(Optional.of(video));
-        when(engagementRepository.findByVideoId(videoId)).thenReturn(Optional.of(engagement));
-        when(engagementRepository.save(any(VideoEngagements.class))).thenReturn(engagement);
+        when(facetService.isActive(videoId)).thenReturn(true);
 
         ResponseEntity<EngagementResponse> response = engagementService.trackEngagement(videoId, EngagementType.VIEW);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertNotNull(response.getBody());
-        assertTrue(response.getBody().isSuccess());
-        assertEquals("Engagement recorded successfully", response.getBody().getMessage());
-
-        verify(videoRepository, times(1)).findById(videoId);
-        verify(engagementRepository, times(1)).findByVideoId(videoId);
-        verify(engagementRepository, times(1)).save(any(VideoEngagements.class));
-
-        // Ensure view count increased
-        assertEquals(3, engagement.getViews()); // Previous views: 2 -> now 3
+        verify(engagementStore, times(1)).increment(videoId, EngagementType.VIEW);
+        verifyNoMoreInteractions(engagementStore);
     }
 
     /**
@@ -131,16 +136,73 @@ class EngagementServiceImplTest {
      */
     @Test
     void testTrackEngagement_VideoNotFound() {
-        when(videoRepository.findById(videoId)).thenReturn(Optional.empty());
+        when(facetService.isActive(videoId)).thenReturn(false);
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
                 () -> engagementService.trackEngagement(videoId, EngagementType.VIEW));
 
         assertEquals("Video not found for ID: " + videoId, exception.getMessage());
 
-        verify(videoRepository, times(1)).findById(videoId);
-        verify(engagementRepository, never()).findByVideoId(any());
-        verify(engagementRepository, never()).save(any());
+        verify(videoRepository, never()).findById(anyLong());
+        verifyNoInteractions(engagementStore);
+    }
+
+    /**
+     * Test: An engagement for a video not yet active is not remembered, so it counts once the video is published
+     */
+    @Test
+    void testTrackEngagement_InactiveVideoReleasesDedupKey() {
+        ReflectionTestUtils.setField(engagementService, "useKafka", false);
+        ReflectionTestUtils.setField(engagementService, "dedupWindowInSec", 60L);
+        engagementService.init();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("admin", null, List.of()));
+        try {
+            when(facetService.isActive(videoId)).thenReturn(false, true);
+            when(userLookupCache.findByUserName("admin")).thenReturn(new Users(42L, "admin", "secret"));
+
+            assertThrows(ResourceNotFoundException.class, () -> engagementService.trackEngagement(videoId, EngagementType.VIEW));
+            ResponseEntity<EngagementResponse> retry = engagementService.trackEngagement(videoId, EngagementType.VIEW);
+
+            assertEquals("Engagement recorded successfully", retry.getBody().getMessage());
+            verify(engagementStore, times(1)).increment(videoId, EngagementType.VIEW);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * Test: A caller-supplied write gets the same dedup and event, and a failed write releases the dedup key
+     */
+    @Test
+    void testTrackEngagement_CallerWrite() throws Exception {
+        ReflectionTestUtils.setField(engagementService, "useKafka", false);
+        ReflectionTestUtils.setField(engagementService, "dedupWindowInSec", 60L);
+        engagementService.init();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("admin", null, List.of()));
+        try {
+            when(facetService.isActive(videoId)).thenReturn(true);
+            when(userLookupCache.findByUserName("admin")).thenReturn(new Users(42L, "admin", "secret"));
+            CompletableFuture<Long> failed = CompletableFuture.failedFuture(new RuntimeException("Database Error"));
+
+            CompletableFuture<ResponseEntity<EngagementResponse>> first = engagementService
+                    .trackEngagement(videoId, EngagementType.VIEW, (id, type) -> failed).toCompletableFuture();
+            assertThrows(ExecutionException.class, first::get);
+            verifyNoInteractions(eventPublisher);
+
+            CompletableFuture<Long> write = new CompletableFuture<>();
+            CompletableFuture<ResponseEntity<EngagementResponse>> retry = engagementService
+                    .trackEngagement(videoId, EngagementType.VIEW, (id, type) -> write).toCompletableFuture();
+            assertFalse(retry.isDone());
+            write.complete(1L);
+
+            assertEquals("Engagement recorded successfully", retry.get().getBody().getMessage());
+            assertEquals(Constants.ENGAGEMENT_DUPLICATE, engagementService
+                    .trackEngagement(videoId, EngagementType.VIEW, (id, type) -> write).toCompletableFuture().get().getBody().getMessage());
+            verify(eventPublisher, times(1)).publishEvent(new EngagementEvent(videoId, 42L, EngagementType.VIEW));
+            verifyNoInteractions(engagementStore);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
     }
 
     /**
@@ -149,7 +211,7 @@ class EngagementServiceImplTest {
     @Test
     void testGetEngagements_Success() {
         when(videoRepository.findById(videoId)).thenReturn(Optional.of(video));
-        when(engagementRepository.findByVideoId(videoId)).thenReturn(Optional.of(engagement));
+        when(engagementStore.find(videoId)).thenReturn(Optional.of(engagement));
 
         ResponseEntity<EngagementResponse> response = engagementService.getEngagements(videoId);
 
@@ -161,7 +223,7 @@ class EngagementServiceImplTest {
         assertEquals(2, response.getBody().getViews());
 
         verify(videoRepository, times(1)).findById(videoId);
-        verify(engagementRepository, times(1)).findByVideoId(videoId);
+        verify(engagementStore, times(1)).find(videoId);
     }
 
     /**
@@ -177,7 +239,7 @@ class EngagementServiceImplTest {
         assertEquals("Video not found for ID: " + videoId, exception.getMessage());
 
         verify(videoRepository, times(1)).findById(videoId);
-        verify(engagementRepository, never()).findByVideoId(any());
+        verify(engagementStore, never()).find(anyLong());
     }
 
     /**
@@ -186,7 +248,7 @@ class EngagementServiceImplTest {
     @Test
     void testGetEngagements_EngagementNotFound() {
         when(videoRepository.findById(videoId)).thenReturn(Optional.of(video));
-        when(engagementRepository.findByVideoId(videoId)).thenReturn(Optional.empty());
+        when(engagementStore.find(videoId)).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
                 () -> engagementService.getEngagements(videoId));
@@ -194,6 +256,101 @@ class EngagementServiceImplTest {
         assertEquals("Engagement data not found for Video ID: " + videoId, exception.getMessage());
 
         verify(videoRepository, times(1)).findById(videoId);
-        verify(engagementRepository, times(1)).findByVideoId(videoId);
+        verify(engagementStore, times(1)).find(videoId);
+    }
+
+    /**
+     * Test: The engagement event carries the authenticated user's id
+     */
+    @Test
+    void testTrackEngagement_PublishesUserEvent() {
+        ReflectionTestUtils.setField(engagementService, "useKafka", false);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("admin", null, List.of()));
+        try {
+            when(facetService.isActive(videoId)).thenReturn(true);
+            when(userLookupCache.findByUserName("admin")).thenReturn(new Users(42L, "admin", "secret"));
+
+            ResponseEntity<EngagementResponse> response = engagementService.trackEngagement(videoId, EngagementType.VIEW);
+
+            assertEquals(42L, response.getBody().getUserId());
+            verify(eventPublisher, times(1)).publishEvent(new EngagementEvent(videoId, 42L, EngagementType.VIEW));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * Test: A repeated (user, video, type) event inside the window is acknowledged but not counted
+     */
+    @Test
+    void testTrackEngagement_DuplicateWithinWindowNotCounted() {
+        ReflectionTestUtils.setField(engagementService, "useKafka", false);
+        ReflectionTestUtils.setField(engagementService, "dedupWindowInSec", 60L);
+        engagementService.init();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("admin", null, List.of()));
+        try {
+            when(facetService.isActive(videoId)).thenReturn(true);
+            when(userLookupCache.findByUserName("admin")).thenReturn(new Users(42L, "admin", "secret"));
+
+            engagementService.trackEngagement(videoId, EngagementType.VIEW);
+            ResponseEntity<EngagementResponse> retry = engagementService.trackEngagement(videoId, EngagementType.VIEW);
+            engagementService.trackEngagement(videoId, EngagementType.IMPRESSION);
+
+            assertEquals(Constants.ENGAGEMENT_DUPLICATE, retry.getBody().getMessage());
+            // the retry is answered by the dedup check alone
+            verify(facetService, times(2)).isActive(videoId);
+            verify(engagementStore, times(1)).increment(videoId, EngagementType.VIEW);
+            verify(engagementStore, times(1)).increment(videoId, EngagementType.IMPRESSION);
+            verify(eventPublisher, times(1)).publishEvent(new EngagementEvent(videoId, 42L, EngagementType.VIEW));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * Test: A failed write is neither published nor remembered, so the client's retry is counted
+     */
+    @Test
+    void testTrackEngagement_FailedWriteReleasesDedupKey() {
+        ReflectionTestUtils.setField(engagementService, "useKafka", false);
+        ReflectionTestUtils.setField(engagementService, "dedupWindowInSec", 60L);
+        engagementService.init();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("admin", null, List.of()));
+        try {
+            when(facetService.isActive(videoId)).thenReturn(true);
+            when(userLookupCache.findByUserName("admin")).thenReturn(new Users(42L, "admin", "secret"));
+            doThrow(new RuntimeException("Database Error")).doNothing().when(engagementStore).increment(videoId, EngagementType.VIEW);
+
+            assertThrows(RuntimeException.class, () -> engagementService.trackEngagement(videoId, EngagementType.VIEW));
+            verifyNoInteractions(eventPublisher);
+
+            ResponseEntity<EngagementResponse> retry = engagementService.trackEngagement(videoId, EngagementType.VIEW);
+
+            assertEquals("Engagement recorded successfully", retry.getBody().getMessage());
+            verify(engagementStore, times(2)).increment(videoId, EngagementType.VIEW);
+            verify(eventPublisher, times(1)).publishEvent(new EngagementEvent(videoId, 42L, EngagementType.VIEW));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * Test: Summary combines store totals with the top videos by views and their titles
+     */
+    @Test
+    void testGetEngagementSummary() {
+        when(engagementStore.totals()).thenReturn(new EngagementStore.Totals(50, 20, 3));
+        when(engagementStore.topByViews(1)).thenReturn(List.of(engagement));
+        when(videoRepository.findAllById(List.of(videoId))).thenReturn(List.of(video));
+
+        ResponseEntity<EngagementSummaryResponse> response = engagementService.getEngagementSummary(1);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(50, response.getBody().getTotalImpressions());
+        assertEquals(20, response.getBody().getTotalViews());
+        assertEquals(3, response.getBody().getEngagedVideos());
+        assertEquals(1, response.getBody().getTopByViews().size());
+        assertEquals("Sample Video", response.getBody().getTopByViews().get(0).getTitle());
+        assertEquals(2, response.getBody().getTopByViews().get(0).getViews());
     }
 }
@@ -0,0 +1,68 @@
+package com.api.videostreaming.implsTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.api.videostreaming.enums.EngagementType;
+import com.api.videostreaming.exceptions.customExceptions.ServiceUnavailableException;
+import com.api.videostreaming.pojos.responses.EngagementEvent;
+import com.api.videostreaming.serviceImpls.LiveEngagementServiceImpl;
+import com.api.videostreaming.utilities.EngagementStore;
+import com.google.gson.Gson;
+
+@ExtendWith(MockitoExtension.class)
+class LiveEngagementServiceImplTest {
+
+    @Mock
+    private EngagementStore engagementStore;
+
+    private LiveEngagementServiceImpl liveEngagementService;
+
+    @BeforeEach
+    void setUp() {
+        liveEngagementService = new LiveEngagementServiceImpl(engagementStore, new Gson(), 1, 64);
+        ReflectionTestUtils.setField(liveEngagementService, "refreshEveryTicks", 0);
+        ReflectionTestUtils.setField(liveEngagementService, "maxVideosPerSubscription", 10);
+        ReflectionTestUtils.setField(liveEngagementService, "maxSubscribers", 2);
+        ReflectionTestUtils.setField(liveEngagementService, "timeoutInMs", 60_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        liveEngagementService.stop();
+    }
+
+    /**
+     * Test: Each changed video is read once per tick however many dashboards watch it, and subscribers are capped
+     */
+    @Test
+    void testTickReadsChangedVideosOncePerTick() {
+        when(engagementStore.find(1L)).thenReturn(Optional.of(new EngagementStore.Counts(1L, 3, 1)));
+
+        liveEngagementService.subscribe(List.of(1L));
+        liveEngagementService.subscribe(List.of(1L, 1L));
+        assertThrows(ServiceUnavailableException.class, () -> liveEngagementService.subscribe(List.of(1L)));
+        verify(engagementStore, times(1)).find(1L);
+
+        for (int i = 0; i < 10; i++) {
+            liveEngagementService.onEngagement(new EngagementEvent(1L, null, EngagementType.VIEW));
+        }
+        liveEngagementService.onEngagement(new EngagementEvent(2L, null, EngagementType.VIEW));
+        liveEngagementService.tick();
+        liveEngagementService.tick();
+
+        verify(engagementStore, times(2)).find(1L);
+        verify(engagementStore, never()).find(2L);
+    }
+}
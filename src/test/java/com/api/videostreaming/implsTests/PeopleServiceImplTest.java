@@ -0,0 +1,117 @@
+package com.api.videostreaming.implsTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.api.videostreaming.entities.Credit;
+import com.api.videostreaming.entities.Person;
+import com.api.videostreaming.entities.Video;
+import com.api.videostreaming.enums.CatalogChangeType;
+import com.api.videostreaming.enums.CreditRole;
+import com.api.videostreaming.pojos.events.CatalogChangeEvent;
+import com.api.videostreaming.pojos.responses.FilmographyResponse;
+import com.api.videostreaming.repositories.CreditRepository;
+import com.api.videostreaming.repositories.PersonRepository;
+import com.api.videostreaming.repositories.VideoRepository;
+import com.api.videostreaming.serviceImpls.PeopleServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class PeopleServiceImplTest {
+
+    @Mock
+    private PersonRepository personRepository;
+
+    @Mock
+    private CreditRepository creditRepository;
+
+    @Mock
+    private VideoRepository videoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PeopleServiceImpl peopleService;
+
+    @BeforeEach
+    void setUp() {
+        peopleService = new PeopleServiceImpl(personRepository, creditRepository, videoRepository, transactionManager);
+        ReflectionTestUtils.setField(peopleService, "maxPageSize", 100);
+    }
+
+    /**
+     * Test: A published video's director and cast are interned once by normalized name, only missing credits are inserted and dropped ones are deleted
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    void testOnCatalogChange_InternsPeopleAndDiffsCredits() {
+        Video video = Video.builder().id(7L).title("Heat").director("Michael Mann")
+                .cast(new ArrayList<>(List.of("Al Pacino", "Robert De Niro", "al  pacino"))).isActive(true).build();
+        when(personRepository.findByNormalizedNameIn(anyCollection())).thenReturn(List.of(
+                Person.builder().id(1L).name("Al Pacino").normalizedName("al pacino").build()));
+        when(personRepository.lockByNormalizedNameIn(anyCollection())).thenReturn(List.of(
+                Person.builder().id(10L).name("Robert De Niro").normalizedName("robert de niro").build(),
+                Person.builder().id(11L).name("Michael Mann").normalizedName("michael mann").build()));
+        Credit kept = Credit.builder().id(100L).personId(1L).videoId(7L).role(CreditRole.CAST).billingOrder(3).build();
+        Credit dropped = Credit.builder().id(101L).personId(99L).videoId(7L).role(CreditRole.CAST).billingOrder(1).build();
+        when(creditRepository.findByVideoId(7L)).thenReturn(List.of(kept, dropped));
+
+        peopleService.onCatalogChange(new CatalogChangeEvent(7L, CatalogChangeType.PUBLISHED, video));
+        peopleService.onCatalogChange(new CatalogChangeEvent(7L, CatalogChangeType.UPDATED, video, true));
+
+        InOrder inserts = inOrder(personRepository);
+        inserts.verify(personRepository).insertIgnore("Robert De Niro", "robert de niro");
+        inserts.verify(personRepository).insertIgnore("Michael Mann", "michael mann");
+        verify(personRepository, never()).insertIgnore(eq("Al Pacino"), any());
+        assertEquals(0, kept.getBillingOrder());
+        verify(creditRepository).deleteAll(List.of(dropped));
+        ArgumentCaptor<List<Credit>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(creditRepository).saveAll(inserted.capture());
+        assertEquals(2, inserted.getValue().size());
+        assertTrue(inserted.getValue().stream().anyMatch(c -> c.getPersonId() == 11L && c.getRole() == CreditRole.DIRECTOR));
+        assertTrue(inserted.getValue().stream().anyMatch(c -> c.getPersonId() == 10L && c.getRole() == CreditRole.CAST && c.getBillingOrder() == 1));
+    }
+
+    /**
+     * Test: A filmography page fetches one extra video id to decide whether nextAfter is returned
+     */
+    @Test
+    void testGetFilmography_KeysetPages() {
+        when(personRepository.findById(1L)).thenReturn(Optional.of(Person.builder().id(1L).name("Al Pacino").normalizedName("al pacino").build()));
+        when(creditRepository.findFilmographyVideoIds(eq(1L), eq(null), eq(5L), any(Pageable.class))).thenReturn(List.of(7L, 9L, 12L));
+        when(creditRepository.findByPersonIdAndVideoIdIn(1L, List.of(7L, 9L))).thenReturn(List.of(
+                Credit.builder().personId(1L).videoId(7L).role(CreditRole.CAST).build(),
+                Credit.builder().personId(1L).videoId(9L).role(CreditRole.CAST).build(),
+                Credit.builder().personId(1L).videoId(9L).role(CreditRole.DIRECTOR).build()));
+        when(videoRepository.findAllById(List.of(7L, 9L))).thenReturn(List.of(
+                Video.builder().id(9L).title("Scarface").build(), Video.builder().id(7L).title("Heat").build()));
+
+        FilmographyResponse page = peopleService.getFilmography(1L, null, 5L, 2).getBody();
+
+        assertEquals(List.of(7L, 9L), page.getCredits().stream().map(c -> c.getVideoId()).toList());
+        assertEquals("Heat", page.getCredits().get(0).getTitle());
+        assertEquals(List.of(CreditRole.CAST, CreditRole.DIRECTOR), page.getCredits().get(1).getRoles());
+        assertEquals(9L, page.getNextAfter());
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(creditRepository).findFilmographyVideoIds(eq(1L), eq(null), eq(5L), pageable.capture());
+        assertEquals(3, pageable.getValue().getPageSize());
+    }
+}
@@ -0,0 +1,80 @@
+package com.api.videostreaming.implsTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.api.videostreaming.entities.Video;
+import com.api.videostreaming.enums.EngagementType;
+import com.api.videostreaming.pojos.responses.EngagementEvent;
+import com.api.videostreaming.pojos.responses.SuggestionResponse;
+import com.api.videostreaming.serviceImpls.SuggestionServiceImpl;
+import com.api.videostreaming.services.CatalogSnapshotService;
+import com.api.videostreaming.utilities.EngagementStore;
+
+@ExtendWith(MockitoExtension.class)
+class SuggestionServiceImplTest {
+
+    @Mock
+    private CatalogSnapshotService catalogSnapshot;
+
+    @Mock
+    private EngagementStore engagementStore;
+
+    private SuggestionServiceImpl suggestionService;
+
+    @BeforeEach
+    void setUp() {
+        suggestionService = new SuggestionServiceImpl(catalogSnapshot, engagementStore, 10);
+        when(engagementStore.findAll()).thenReturn(List.of(new EngagementStore.Counts(1L, 5, 0)));
+        when(catalogSnapshot.findAllActive()).thenReturn(List.of(
+                Video.builder().id(1L).title("Dune").director("Denis Villeneuve").isActive(true).build(),
+                Video.builder().id(2L).title("Dune").director("David Lynch").isActive(true).build(),
+                Video.builder().id(3L).title("Arrival").director("Denis Villeneuve").isActive(true).build()));
+        suggestionService.rebuild();
+    }
+
+    /**
+     * Test: Videos sharing a normalized title are all kept on the one suggestion, best first
+     */
+    @Test
+    void testSharedTitleKeepsEveryVideo() {
+        SuggestionResponse dune = suggestionService.suggest("dun", 10).getBody().get(0);
+
+        assertEquals("Dune", dune.getText());
+        assertEquals(List.of(1L, 2L), dune.getVideoIds());
+        assertEquals(1L, dune.getVideoId());
+        assertEquals(5, dune.getScore());
+    }
+
+    /**
+     * Test: Engagements re-rank titles and people once applied, and only touch terms of indexed videos
+     */
+    @Test
+    void testEngagementsReRankSuggestions() {
+        for (int i = 0; i < 3; i++) {
+            suggestionService.onEngagement(new EngagementEvent(3L, null, EngagementType.VIEW));
+        }
+        suggestionService.onEngagement(new EngagementEvent(2L, null, EngagementType.VIEW));
+        suggestionService.onEngagement(new EngagementEvent(99L, null, EngagementType.VIEW));
+        assertEquals(0, suggestionService.suggest("arr", 10).getBody().get(0).getScore());
+
+        suggestionService.applyEngagements();
+
+        List<SuggestionResponse> titles = suggestionService.suggest("arr", 10).getBody();
+        assertEquals(30, titles.get(0).getScore());
+        SuggestionResponse dune = suggestionService.suggest("dune", 10).getBody().get(0);
+        assertEquals(List.of(2L, 1L), dune.getVideoIds());
+        assertEquals(15, dune.getScore());
+        assertEquals("Denis Villeneuve", suggestionService.suggest("denis", 10).getBody().get(0).getText());
+        assertEquals(35, suggestionService.suggest("denis", 10).getBody().get(0).getScore());
+        verify(engagementStore, times(1)).findAll();
+    }
+}
@@ -1,6 +1,8 @@
 package com.api.videostreaming.implsTests;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -9,20 +11,32 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import com.api.videostreaming.entities.*;
+import com.api.videostreaming.enums.SearchMode;
+import com.api.videostreaming.enums.VideoSort;
 import com.api.videostreaming.exceptions.customExceptions.InternalServerErrorException;
 import com.api.videostreaming.exceptions.customExceptions.ResourceNotFoundException;
 import com.api.videostreaming.pojos.requests.*;
 import com.api.videostreaming.pojos.responses.*;
 import com.api.videostreaming.repositories.VideoRepository;
+import com.api.videostreaming.securities.PlaybackUrlSigner;
 import com.api.videostreaming.serviceImpls.VideoServiceImpl;
+import com.api.videostreaming.services.CatalogSnapshotService;
+import com.api.videostreaming.services.FacetService;
+import com.api.videostreaming.services.FuzzySearchService;
+import com.api.videostreaming.services.PlaybackSnapshotService;
+import com.api.videostreaming.services.PopularityService;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 @ExtendWith(MockitoExtension.class)
 class VideoServiceImplTests {
@@ -30,6 +44,27 @@ class VideoServiceImplTests {
     @Mock
     private VideoRepository videoRepository;
 
+    @Spy
+    private PlaybackUrlSigner playbackUrlSigner = new PlaybackUrlSigner("test-signing-key", 300, false);
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private FacetService facetService;
+
+    @Mock
+    private FuzzySearchService fuzzySearchService;
+
+    @Mock
+    private PopularityService popularityService;
+
+    @Mock
+    private PlaybackSnapshotService playbackSnapshotService;
+
+    @Mock
+    private CatalogSnapshotService catalogSnapshotService;
+
     @InjectMocks
     private VideoServiceImpl videoService;
 
@@ -77,6 +112,10 @@ class VideoServiceImplTests {
                         .runningTime(metadataRequest.getRunningTime())
                         .build())
                 .build();
+
+        // database reachable: the snapshot service just runs the repository load
+        lenient().when(playbackSnapshotService.load(anyLong(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Optional<Video>>>getArgument(1).get());
     }
 
     @Test
@@ -147,6 +186,21 @@ class VideoServiceImplTests {
         assertEquals("Test Video", response.getBody().getTitle());
     }
 
+    /**
+     * Test: Once the catalog snapshot is loaded, load is answered from it without touching the repository
+     */
+    @Test
+    void testLoadVideoContent_FromCatalogSnapshot() {
+        when(catalogSnapshotService.isReady()).thenReturn(true);
+        when(catalogSnapshotService.find(1L)).thenReturn(Optional.of(video));
+
+        ResponseEntity<LoadVideoResponse> response = videoService.loadVideoContent(1L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Test Video", response.getBody().getTitle());
+        verifyNoInteractions(videoRepository, playbackSnapshotService);
+    }
+
     @Test
     void testLoadVideoContent_NotFound() {
         when(videoRepository.findById(2L)).thenReturn(Optional.empty());
@@ -164,7 +218,7 @@ class VideoServiceImplTests {
         when(videoRepository.searchVideos("Action", pageable)).thenReturn(videoPage);
 
         // Fetch only the content
-        ResponseEntity<List<SearchVideoResponse>> response = videoService.searchVideos("Action", 0, 10);
+        ResponseEntity<List<SearchVideoResponse>> response = videoService.searchVideos("Action", SearchMode.CONTAINS, new FacetFilter(), VideoSort.DEFAULT, 0, 10);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(1, response.getBody().size()); // There should be 1 video in the response content
@@ -179,7 +233,7 @@ class VideoServiceImplTests {
         when(videoRepository.searchVideos("Unknown", pageable)).thenReturn(emptyPage);
 
         // Fetch only the content
-        ResponseEntity<List<SearchVideoResponse>> response = videoService.searchVideos("Unknown", 0, 10);
+        ResponseEntity<List<SearchVideoResponse>> response = videoService.searchVideos("Unknown", SearchMode.CONTAINS, new FacetFilter(), VideoSort.DEFAULT, 0, 10);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertTrue(response.getBody().isEmpty()); // The content should be empty
@@ -189,19 +243,74 @@ class VideoServiceImplTests {
     void testPlayVideoContent_Success() {
         when(videoRepository.findById(1L)).thenReturn(Optional.of(video));
 
-        ResponseEntity<PlayVideoResponse> response = videoService.playVideoContent(1L);
+        ResponseEntity<PlayVideoResponse> response = videoService.playVideoContent(1L, "127.0.0.1");
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("http://example.com/video.mp4", response.getBody().getFileUrl());
     }
 
+    @Test
+    void testPlayVideoContent_SignedPlaybackUrl() {
+        when(videoRepository.findById(1L)).thenReturn(Optional.of(video));
+
+        PlayVideoResponse body = videoService.playVideoContent(1L, "127.0.0.1").getBody();
+
+        assertNotNull(body);
+        // the rendition is the file name of fileUrl, not something rebuilt from resolution and format
+        assertTrue(body.getPlaybackUrl().startsWith("/v1/stream/1/video.mp4?exp=" + body.getPlaybackUrlExpiresAt() + "&sig="));
+        String signature = body.getPlaybackUrl().substring(body.getPlaybackUrl().indexOf("&sig=") + 5);
+
+        assertTrue(playbackUrlSigner.verify(1L, "video.mp4", body.getPlaybackUrlExpiresAt(), "127.0.0.1", signature));
+        assertFalse(playbackUrlSigner.verify(1L, "1080p.mp4", body.getPlaybackUrlExpiresAt(), "127.0.0.1", signature));
+        assertFalse(playbackUrlSigner.verify(2L, "video.mp4", body.getPlaybackUrlExpiresAt(), "127.0.0.1", signature));
+        assertFalse(playbackUrlSigner.verify(1L, "video.mp4", body.getPlaybackUrlExpiresAt() + 1, "127.0.0.1", signature));
+    }
+
+    @Test
+    void testPlayVideoContent_PlaybackUrlFromFileUrlOnly() {
+        video.setResolution(null);
+        video.setFormat(null);
+        video.setFileUrl("https://cdn.example.com/dune/movie-1080p.mp4?v=2");
+        when(videoRepository.findById(1L)).thenReturn(Optional.of(video));
+
+        PlayVideoResponse body = videoService.playVideoContent(1L, "127.0.0.1").getBody();
+
+        assertTrue(body.getPlaybackUrl().startsWith("/v1/stream/1/movie-1080p.mp4?exp="));
+        assertFalse(body.getPlaybackUrl().contains("null"));
+    }
+
+    @Test
+    void testPlayVideoContent_NoPlaybackUrlForUnservableFile() {
+        video.setFileUrl("https://cdn.example.com/dune/");
+        when(videoRepository.findById(1L)).thenReturn(Optional.of(video));
+
+        PlayVideoResponse body = videoService.playVideoContent(1L, "127.0.0.1").getBody();
+
+        assertTrue(body.isSuccess());
+        assertEquals("https://cdn.example.com/dune/", body.getFileUrl());
+        assertNull(body.getPlaybackUrl());
+        assertNull(body.getPlaybackUrlExpiresAt());
+    }
+
+    @Test
+    void testPlaybackUrl_ExpiredOrIpBound() {
+        long expired = System.currentTimeMillis() / 1000 - 1;
+        assertFalse(playbackUrlSigner.verify(1L, "1080p.mp4", expired, null, playbackUrlSigner.sign(1L, "1080p.mp4", expired, null)));
+
+        PlaybackUrlSigner ipBoundSigner = new PlaybackUrlSigner("test-signing-key", 300, true);
+        long expiresAt = ipBoundSigner.nextExpiry();
+        String signature = ipBoundSigner.sign(1L, "1080p.mp4", expiresAt, "10.0.0.1");
+        assertTrue(ipBoundSigner.verify(1L, "1080p.mp4", expiresAt, "10.0.0.1", signature));
+        assertFalse(ipBoundSigner.verify(1L, "1080p.mp4", expiresAt, "10.0.0.2", signature));
+    }
+
     @Test
     void testPlayVideoContent_FileUrlMissing() {
         video.setFileUrl(null);
         when(videoRepository.findById(1L)).thenReturn(Optional.of(video));
 
         InternalServerErrorException exception = assertThrows(InternalServerErrorException.class, () -> 
-            videoService.playVideoContent(1L)
+            videoService.playVideoContent(1L, "127.0.0.1")
         );
 
         assertEquals("Video file URL is missing", exception.getMessage());
@@ -216,7 +325,7 @@ class VideoServiceImplTests {
         when(videoRepository.findAll(pageable)).thenReturn(emptyPage);
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, 
-            () -> videoService.getAllVideos(0, 10)
+            () -> videoService.getAllVideos(new FacetFilter(), VideoSort.DEFAULT, 0, 10)
         );
         assertEquals("No videos found", exception.getMessage());
 
@@ -232,7 +341,7 @@ class VideoServiceImplTests {
         
         when(videoRepository.findAll(pageable)).thenReturn(videoPage);
         
-        ResponseEntity<List<VideoMetaDataResponse>> response = videoService.getAllVideos(0, 10);
+        ResponseEntity<List<VideoMetaDataResponse>> response = videoService.getAllVideos(new FacetFilter(), VideoSort.DEFAULT, 0, 10);
         
         assertEquals(HttpStatus.OK, response.getStatusCode());
         
@@ -247,6 +356,68 @@ class VideoServiceImplTests {
         assertEquals(120, responseBody.getRunningTime());
         
         verify(videoRepository, times(1)).findAll(pageable);
-    }    
+    }
+
+    /**
+     * Test: Facet filters page through the bitmap matches instead of the repository page
+     */
+    @Test
+    void testGetAllVideos_FacetFiltered() {
+        FacetFilter filter = FacetFilter.builder().genre(List.of("Action")).build();
+        when(facetService.match(filter)).thenReturn(RoaringBitmap.bitmapOf(1, 7, 9));
+        when(videoRepository.findAllById(List.of(7L))).thenReturn(List.of(video));
+
+        ResponseEntity<List<VideoMetaDataResponse>> response = videoService.getAllVideos(filter, VideoSort.DEFAULT, 1, 1);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        verify(videoRepository, never()).findAll(any(Pageable.class));
+    }
+
+    /**
+     * Test: Fuzzy mode pages the in-memory ranking and keeps its order
+     */
+    @Test
+    void testSearchVideos_FuzzyKeepsRanking() {
+        Video other = Video.builder().id(2L).title("Other").director("Jane Roe").metadata(video.getMetadata()).build();
+        when(fuzzySearchService.search("scorcese")).thenReturn(List.of(2L, 1L));
+        when(videoRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(video, other));
+
+        ResponseEntity<List<SearchVideoResponse>> response = videoService.searchVideos("scorcese", SearchMode.FUZZY, new FacetFilter(), VideoSort.DEFAULT, 0, 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(2L, 1L), response.getBody().stream().map(SearchVideoResponse::getVideoId).toList());
+        verify(videoRepository, never()).searchVideos(anyString(), any(Pageable.class));
+    }
+
+    /**
+     * Test: sort=popular pages through the popularity index over active videos
+     */
+    @Test
+    void testGetAllVideos_SortedByPopularity() {
+        RoaringBitmap active = RoaringBitmap.bitmapOf(1, 2);
+        Video other = Video.builder().id(2L).title("Other").director("Jane Roe").metadata(video.getMetadata()).build();
+        when(facetService.match(any())).thenReturn(active);
+        when(popularityService.rankedIds(active, 0, 10)).thenReturn(List.of(2L, 1L));
+        when(videoRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(video, other));
 
+        ResponseEntity<List<VideoMetaDataResponse>> response = videoService.getAllVideos(new FacetFilter(), VideoSort.POPULAR, 0, 10);
+
+        assertEquals(List.of(2L, 1L), response.getBody().stream().map(VideoMetaDataResponse::getVideoId).toList());
+        verify(videoRepository, never()).findAll(any(Pageable.class));
+    }
+
+    /**
+     * Test: Playback is served from the last known good snapshot while the database is down
+     */
+    @Test
+    void testPlayVideoContent_ServedFromSnapshotWhenDatabaseDown() {
+        doReturn(Optional.of(video)).when(playbackSnapshotService).load(eq(1L), any());
+
+        ResponseEntity<PlayVideoResponse> response = videoService.playVideoContent(1L, "10.0.0.1");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(video.getFileUrl(), response.getBody().getFileUrl());
+        verify(videoRepository, never()).findById(any());
+    }
 }
@@ -0,0 +1,88 @@
+package com.api.videostreaming.implsTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.api.videostreaming.entities.Users;
+import com.api.videostreaming.entities.Video;
+import com.api.videostreaming.entities.WatchProgress;
+import com.api.videostreaming.pojos.responses.WatchProgressResponse;
+import com.api.videostreaming.repositories.VideoRepository;
+import com.api.videostreaming.repositories.WatchProgressRepository;
+import com.api.videostreaming.securities.UserLookupCache;
+import com.api.videostreaming.serviceImpls.WatchProgressServiceImpl;
+import com.api.videostreaming.services.CatalogSnapshotService;
+import com.api.videostreaming.services.FacetService;
+
+@ExtendWith(MockitoExtension.class)
+class WatchProgressServiceImplTest {
+
+    @Mock
+    private WatchProgressRepository progressRepository;
+
+    @Mock
+    private VideoRepository videoRepository;
+
+    @Mock
+    private CatalogSnapshotService catalogSnapshot;
+
+    @Mock
+    private FacetService facetService;
+
+    @Mock
+    private UserLookupCache userLookupCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private WatchProgressServiceImpl watchProgressService;
+
+    @BeforeEach
+    void setUp() {
+        watchProgressService = new WatchProgressServiceImpl(progressRepository, videoRepository, catalogSnapshot, facetService,
+                userLookupCache, transactionManager, 500, 50, 1800);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("admin", null, List.of()));
+        when(userLookupCache.findByUserName("admin")).thenReturn(new Users(42L, "admin", "secret"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Test: Continue watching takes titles from the catalog snapshot, newest first, skipping inactive videos
+     */
+    @Test
+    void testContinueWatchingTitlesFromSnapshot() {
+        when(progressRepository.findByUserIdOrderByUpdatedAtDesc(eq(42L), any(Pageable.class))).thenReturn(List.of(
+                WatchProgress.builder().id(1L).userId(42L).videoId(7L).positionInSec(30).updatedAt(2_000).build(),
+                WatchProgress.builder().id(2L).userId(42L).videoId(8L).positionInSec(60).updatedAt(1_500).build(),
+                WatchProgress.builder().id(3L).userId(42L).videoId(9L).positionInSec(90).updatedAt(1_000).build()));
+        when(facetService.isActive(anyLong())).thenAnswer(invocation -> !invocation.getArgument(0).equals(8L));
+        when(catalogSnapshot.isReady()).thenReturn(true);
+        when(catalogSnapshot.findAll(List.of(7L, 9L))).thenReturn(List.of(
+                Video.builder().id(7L).title("Dune").build(),
+                Video.builder().id(9L).title("Arrival").build()));
+
+        List<WatchProgressResponse> response = watchProgressService.getContinueWatching(10).getBody();
+
+        assertEquals(List.of("Dune", "Arrival"), response.stream().map(WatchProgressResponse::getTitle).toList());
+        assertEquals(30, response.get(0).getPositionInSec());
+        verifyNoInteractions(videoRepository);
+    }
+}
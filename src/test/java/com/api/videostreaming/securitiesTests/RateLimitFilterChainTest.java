@@ -0,0 +1,111 @@
+package com.api.videostreaming.securitiesTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.api.videostreaming.securities.IpRateLimitFilter;
+import com.api.videostreaming.securities.JwtAuthenticationFilter;
+import com.api.videostreaming.securities.JwtUtil;
+import com.api.videostreaming.securities.UserRateLimitFilter;
+import com.api.videostreaming.utilities.Constants;
+import com.google.gson.Gson;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitFilterChainTest {
+
+    private static final String TRACK = "/v1/engagement/7/track";
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    private IpRateLimitFilter ipRateLimitFilter;
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+    private UserRateLimitFilter userRateLimitFilter;
+
+    // the servlet behind the filters: reached means the request was let through
+    private final HttpServlet controller = new HttpServlet() {
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) {
+            response.setStatus(HttpServletResponse.SC_OK);
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("rateLimit.track.capacity", "3")
+                .withProperty("rateLimit.track.refillPerSec", "1");
+        Gson gson = new Gson();
+        ipRateLimitFilter = new IpRateLimitFilter(gson, env);
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(gson, jwtUtil);
+        userRateLimitFilter = new UserRateLimitFilter(gson, env);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Test: A flood without an Authorization header is rate limited by IP before JWT answers it with 401
+     */
+    @Test
+    void testHeaderlessFloodGets429() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(HttpServletResponse.SC_UNAUTHORIZED, post("10.0.0.1", null));
+        }
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Constants.TOO_MANY_REQUESTS_CODE, post("10.0.0.1", null));
+        }
+        assertEquals(HttpServletResponse.SC_UNAUTHORIZED, post("10.0.0.2", null));
+        verifyNoInteractions(jwtUtil);
+    }
+
+    /**
+     * Test: A verified user is limited across IPs by the bucket of the token's subject
+     */
+    @Test
+    void testVerifiedUserLimitedAcrossIps() throws Exception {
+        when(jwtUtil.getUsernameFromToken("token")).thenReturn("alice");
+        when(jwtUtil.validateToken("token", "alice")).thenReturn(true);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(HttpServletResponse.SC_OK, post("10.0.1." + i, "Bearer token"));
+        }
+        assertEquals(Constants.TOO_MANY_REQUESTS_CODE, post("10.0.1.9", "Bearer token"));
+    }
+
+    // in the order SecurityConfig registers them
+    private int post(String ip, String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", TRACK);
+        request.setServletPath(TRACK);
+        request.setRemoteAddr(ip);
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            new MockFilterChain(controller, ipRateLimitFilter, jwtAuthenticationFilter, userRateLimitFilter)
+                    .doFilter(request, response);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,51 @@
+package com.api.videostreaming.securitiesTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.api.videostreaming.securities.TokenRevocationStore;
+
+class TokenRevocationStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Test: A sweep that drops expired revocations also compacts the log, and later revocations still survive a restart
+     */
+    @Test
+    void testSweepCompactsLog() throws Exception {
+        Path logFile = tempDir.resolve("revoked-tokens.log");
+        long now = System.currentTimeMillis() / 1000;
+        long live = now + 3600;
+
+        TokenRevocationStore store = new TokenRevocationStore(logFile.toString(), 1);
+        store.load();
+        for (int i = 0; i < 50; i++) {
+            store.revokeToken("expired-" + i, now - 10);
+        }
+        store.revokeFamily("family-old", now - 10);
+        // the first revocation swept at once; wait for the next sweep period
+        Thread.sleep(1100);
+        store.revokeToken("live", live);
+        store.revokeFamily("family-live", live);
+        store.close();
+
+        List<String> lines = Files.readAllLines(logFile, StandardCharsets.UTF_8);
+        assertTrue(lines.stream().noneMatch(line -> line.contains("expired-") || line.contains("family-old")), lines.toString());
+        assertEquals(2, lines.size(), lines.toString());
+
+        TokenRevocationStore restarted = new TokenRevocationStore(logFile.toString(), 1);
+        restarted.load();
+        assertTrue(restarted.isTokenRevoked("live", live));
+        assertTrue(restarted.isFamilyRevoked("family-live"));
+        restarted.close();
+    }
+}
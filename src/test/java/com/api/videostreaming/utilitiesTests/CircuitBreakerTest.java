@@ -0,0 +1,57 @@
+package com.api.videostreaming.utilitiesTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.videostreaming.utilities.CircuitBreaker;
+
+class CircuitBreakerTest {
+
+    /**
+     * Test: The circuit opens after consecutive failures, lets one probe through after the window and closes on its success
+     */
+    @Test
+    void testOpensAndClosesThroughOneProbe() {
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(2, 1_000, now::get);
+
+        breaker.onFailure();
+        assertTrue(breaker.allowRequest());
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+
+        now.set(1_000);
+        assertTrue(breaker.allowRequest());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest()); // only one probe at a time
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.allowRequest());
+    }
+
+    /**
+     * Test: A probe that never reports its outcome does not keep the circuit HALF_OPEN for good
+     */
+    @Test
+    void testAbandonedProbeIsRetried() {
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(1, 1_000, now::get);
+        breaker.onFailure();
+
+        now.set(1_000);
+        assertTrue(breaker.allowRequest()); // this probe never calls onSuccess or onFailure
+        now.set(1_500);
+        assertFalse(breaker.allowRequest());
+        now.set(2_000);
+        assertTrue(breaker.allowRequest());
+
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+    }
+}
@@ -0,0 +1,63 @@
+package com.api.videostreaming.utilitiesTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.videostreaming.utilities.CoEngagementGraph;
+import com.api.videostreaming.utilities.CoEngagementGraph.Neighbor;
+
+class CoEngagementGraphTest {
+
+    private List<Long> ids(List<Neighbor> neighbors) {
+        return neighbors.stream().map(Neighbor::videoId).toList();
+    }
+
+    /**
+     * Test: Videos viewed by the same users become neighbors, ranked by cosine similarity
+     */
+    @Test
+    void testCoViewNeighbors() {
+        CoEngagementGraph graph = new CoEngagementGraph(10, 100, 50, 2);
+
+        // users 1 and 2 watch 10 then 20, user 3 watches 10 then 30
+        assertEquals(Set.of(), graph.recordView(1, 10));
+        assertEquals(Set.of(10L, 20L), graph.recordView(1, 20));
+        graph.recordView(2, 10);
+        graph.recordView(2, 20);
+        graph.recordView(3, 10);
+        graph.recordView(3, 30);
+
+        assertEquals(List.of(20L, 30L), ids(graph.neighbors(10)));
+        assertEquals(List.of(10L), ids(graph.neighbors(20)));
+        assertTrue(graph.neighbors(10).get(0).score() > graph.neighbors(10).get(1).score());
+
+        // repeated views by the same user do not inflate counts
+        assertEquals(Set.of(), graph.recordView(3, 30));
+        assertTrue(graph.neighbors(99).isEmpty());
+    }
+
+    /**
+     * Test: Lists stay bounded at top-K and removed videos leave their neighbors' lists
+     */
+    @Test
+    void testBoundedListsAndRemove() {
+        CoEngagementGraph graph = new CoEngagementGraph(10, 100, 3, 2);
+        for (long video = 1; video <= 6; video++) {
+            graph.recordView(1, video);
+        }
+        assertEquals(2, graph.neighbors(6).size());
+        assertTrue(graph.neighbors(1).size() <= 2);
+
+        graph.recordView(2, 5);
+        graph.recordView(2, 6);
+        assertEquals(5L, graph.neighbors(6).get(0).videoId());
+
+        assertTrue(graph.removeVideo(5).contains(6L));
+        assertFalse(ids(graph.neighbors(6)).contains(5L));
+        assertTrue(graph.neighbors(5).isEmpty());
+    }
+}
@@ -0,0 +1,98 @@
+package com.api.videostreaming.utilitiesTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.videostreaming.utilities.CoalescingFanout;
+
+class CoalescingFanoutTest {
+
+    /**
+     * Test: Many changes to one key between ticks are encoded once and the same frame reaches every subscriber
+     */
+    @Test
+    void testCoalescesChangesIntoOneSharedFrame() {
+        CoalescingFanout fanout = new CoalescingFanout();
+        List<byte[]> first = new ArrayList<>();
+        List<byte[]> second = new ArrayList<>();
+        fanout.subscribe(first::add, List.of(1L, 2L));
+        fanout.subscribe(second::add, List.of(1L));
+
+        for (int i = 0; i < 100; i++) {
+            fanout.markChanged(1);
+        }
+        fanout.markChanged(3); // nobody watches it
+        AtomicInteger encoded = new AtomicInteger();
+        assertEquals(1, fanout.tick(key -> {
+            encoded.incrementAndGet();
+            return new byte[]{(byte) key};
+        }));
+
+        assertEquals(1, encoded.get());
+        assertEquals(1, first.size());
+        assertSame(first.get(0), second.get(0));
+        assertEquals(0, fanout.tick(key -> new byte[]{(byte) key}));
+    }
+
+    /**
+     * Test: A subscriber whose send fails is dropped from every key, unchanged keys send nothing
+     */
+    @Test
+    void testDropsFailedSubscribersAndSkipsUnchanged() {
+        CoalescingFanout fanout = new CoalescingFanout();
+        List<byte[]> healthy = new ArrayList<>();
+        CoalescingFanout.Subscriber broken = frame -> { throw new IOException("Broken pipe"); };
+        fanout.subscribe(broken, List.of(1L, 2L));
+        fanout.subscribe(healthy::add, List.of(1L));
+
+        fanout.markChanged(1);
+        fanout.tick(key -> new byte[]{(byte) key});
+        assertEquals(1, healthy.size());
+        assertEquals(1, fanout.subscriberCount(1));
+        assertEquals(Set.of(1L), fanout.subscribedKeys());
+
+        fanout.markChanged(1);
+        assertEquals(0, fanout.tick(key -> null));
+        assertEquals(1, healthy.size());
+    }
+
+    /**
+     * Test: A subscriber that stops draining is dropped once its queue is full, without holding up the tick or the others
+     */
+    @Test
+    void testSlowSubscriberDroppedWithoutStallingOthers() {
+        List<Runnable> stalled = new ArrayList<>();
+        List<byte[]> healthy = new ArrayList<>();
+        // the slow subscriber's sends never run, the healthy one's run at once
+        CoalescingFanout.Subscriber slow = frame -> {};
+        CoalescingFanout fanout = new CoalescingFanout(task -> {
+            if (stalled.isEmpty()) {
+                stalled.add(task);
+            } else {
+                task.run();
+            }
+        }, 2);
+        AtomicBoolean dropped = new AtomicBoolean();
+        fanout.subscribe(slow, List.of(1L), () -> dropped.set(true));
+        fanout.subscribe(healthy::add, List.of(1L));
+        assertTrue(fanout.send(slow, new byte[]{0}));
+
+        for (int i = 1; i <= 3; i++) {
+            fanout.markChanged(1);
+            fanout.tick(key -> new byte[]{(byte) key});
+        }
+
+        assertEquals(3, healthy.size());
+        assertTrue(dropped.get());
+        assertEquals(1, fanout.subscriberCount(1));
+        assertFalse(fanout.send(slow, new byte[]{0}));
+    }
+}
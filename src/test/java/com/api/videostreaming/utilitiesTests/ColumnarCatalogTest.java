@@ -0,0 +1,78 @@
+package com.api.videostreaming.utilitiesTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.videostreaming.utilities.ColumnarCatalog;
+
+class ColumnarCatalogTest {
+
+    private static ColumnarCatalog.Row row(int id, String title, String director, List<String> cast, String genre) {
+        return new ColumnarCatalog.Row(id, title, director, cast, "https://cdn/" + id + ".mp4", 1024L * id,
+                "mp4", 1080, 5400, true, genre, genre == null ? null : 1995, genre == null ? null : 170);
+    }
+
+    /**
+     * Test: Rows round-trip through the columns, and replacing, removing and re-adding slots keeps every other row intact
+     */
+    @Test
+    void testPutReplaceRemoveRoundTrip() {
+        ColumnarCatalog catalog = new ColumnarCatalog();
+        for (int id = 1; id <= 2000; id++) {
+            catalog.put(row(id, "Title " + id, "Director " + (id % 7), List.of("Actor " + (id % 13), "Actor " + (id % 17)), "Crime"));
+        }
+        // enough rewrites to force the arenas to compact
+        for (int round = 0; round < 5; round++) {
+            for (int id = 1; id <= 2000; id += 2) {
+                catalog.put(row(id, "Renamed " + round + " " + id, "Director 1", List.of(), "Drama"));
+            }
+        }
+        for (int id = 3; id <= 2000; id += 3) {
+            catalog.remove(id);
+        }
+        catalog.put(row(3, "Back", "Director 2", null, null));
+
+        assertEquals(2000 - 666 + 1, catalog.size());
+        assertEquals(catalog.size(), catalog.ids().getCardinality());
+        assertNull(catalog.get(6));
+        ColumnarCatalog.Row renamed = catalog.get(1999);
+        assertEquals("Renamed 4 1999", renamed.title());
+        assertEquals(List.of(), renamed.cast());
+        assertEquals("Drama", renamed.genre());
+        ColumnarCatalog.Row untouched = catalog.get(2000);
+        assertEquals("Title 2000", untouched.title());
+        assertEquals(List.of("Actor 11", "Actor 11"), untouched.cast());
+        assertEquals("https://cdn/2000.mp4", untouched.fileUrl());
+        assertEquals(2_048_000L, untouched.fileSize());
+        assertEquals(1995, untouched.yearOfRelease());
+        ColumnarCatalog.Row back = catalog.get(3);
+        assertNull(back.cast());
+        assertNull(back.genre());
+        assertNull(back.yearOfRelease());
+        assertFalse(catalog.putIfAbsent(row(3, "Stale", "Director 2", null, null)));
+        assertEquals("Back", catalog.get(3).title());
+    }
+
+    /**
+     * Test: Search matches title, director, genre and cast case-insensitively and skips videos without metadata
+     */
+    @Test
+    void testSearchMatchesLikeTheRepositoryQuery() {
+        ColumnarCatalog catalog = new ColumnarCatalog();
+        catalog.put(row(1, "Heat", "Michael Mann", List.of("Al Pacino", "Robert De Niro"), "Crime"));
+        catalog.put(row(2, "The Insider", "Michael Mann", List.of("Russell Crowe"), "Drama"));
+        catalog.put(row(3, "Amélie", "Jean-Pierre Jeunet", List.of("Audrey Tautou"), "Romance"));
+        catalog.put(row(4, "Heatwave", "Unknown", List.of(), null));
+
+        assertEquals(List.of(1, 2), catalog.search("MANN").stream().boxed().toList());
+        assertEquals(List.of(1), catalog.search("heat").stream().boxed().toList());
+        assertEquals(List.of(1), catalog.search("pacino").stream().boxed().toList());
+        assertEquals(List.of(2), catalog.search("dram").stream().boxed().toList());
+        assertEquals(List.of(3), catalog.search("AMÉL").stream().boxed().toList());
+        assertEquals(List.of(1, 2, 3), catalog.search("").stream().boxed().toList());
+        assertTrue(catalog.search("nobody").isEmpty());
+    }
+}
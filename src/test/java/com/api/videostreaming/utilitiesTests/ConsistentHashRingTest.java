@@ -0,0 +1,50 @@
+package com.api.videostreaming.utilitiesTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.videostreaming.utilities.ConsistentHashRing;
+
+class ConsistentHashRingTest {
+
+    /**
+     * Test: Sequential video ids spread roughly evenly over the shards
+     */
+    @Test
+    void testKeysSpreadEvenly() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("shard-0", "shard-1", "shard-2"), 128);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (long videoId = 1; videoId <= 30_000; videoId++) {
+            counts.merge(ring.nodeFor(videoId), 1, Integer::sum);
+        }
+
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertTrue(count > 7_000 && count < 13_000, "unbalanced: " + counts));
+    }
+
+    /**
+     * Test: Adding a shard only moves keys onto the new shard, about 1/N of them
+     */
+    @Test
+    void testAddingShardMovesOnlyItsShare() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("shard-0", "shard-1", "shard-2"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("shard-0", "shard-1", "shard-2", "shard-3"), 128);
+
+        int moved = 0;
+        for (long videoId = 1; videoId <= 20_000; videoId++) {
+            String owner = after.nodeFor(videoId);
+            if (!owner.equals(before.nodeFor(videoId))) {
+                assertEquals("shard-3", owner);
+                moved++;
+            }
+        }
+
+        assertTrue(moved > 3_500 && moved < 6_500, "moved " + moved);
+    }
+}
@@ -0,0 +1,92 @@
+package com.api.videostreaming.utilitiesTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.api.videostreaming.enums.EngagementType;
+import com.api.videostreaming.utilities.DatabaseEngagementStore;
+import com.api.videostreaming.utilities.EngagementStore.Counts;
+import com.api.videostreaming.utilities.EngagementStore.Totals;
+import com.api.videostreaming.utilities.VideoEngagementsMigration;
+
+class DatabaseEngagementStoreTest {
+
+    private JdbcTemplate jdbc;
+    private DatabaseEngagementStore store;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:video_engagements;MODE=MySQL;DB_CLOSE_DELAY=-1"));
+        jdbc.execute("CREATE TABLE video_engagements (id BIGINT AUTO_INCREMENT PRIMARY KEY, video_id BIGINT NOT NULL UNIQUE, "
+                + "type VARCHAR(32), impressions INT NOT NULL DEFAULT 0, views INT NOT NULL DEFAULT 0)");
+        store = new DatabaseEngagementStore(jdbc);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("DROP ALL OBJECTS");
+    }
+
+    /**
+     * Test: Concurrent first engagements of a video end up as one row holding every increment
+     */
+    @Test
+    void testConcurrentIncrementsShareOneRow() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 200; i++) {
+            EngagementType type = i % 4 == 0 ? EngagementType.VIEW : EngagementType.IMPRESSION;
+            pool.execute(() -> store.increment(7, type));
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1, jdbc.queryForObject("SELECT COUNT(*) FROM video_engagements", Integer.class));
+        assertEquals(new Counts(7, 150, 50), store.find(7).orElseThrow());
+    }
+
+    /**
+     * Test: Totals and top-K read the same counters the increments wrote
+     */
+    @Test
+    void testTotalsAndTopByViews() {
+        store.increment(1, EngagementType.VIEW);
+        store.increment(2, EngagementType.VIEW);
+        store.increment(2, EngagementType.VIEW);
+        store.increment(3, EngagementType.IMPRESSION);
+
+        assertEquals(new Totals(1, 3, 3), store.totals());
+        assertEquals(List.of(2L, 1L), store.topByViews(2).stream().map(Counts::videoId).toList());
+        assertTrue(store.find(4).isEmpty());
+    }
+
+    /**
+     * Test: The migration folds duplicated rows into one per video, keeping their sum, and adds the unique key once
+     */
+    @Test
+    void testMigrationCollapsesDuplicatesBeforeAddingKey() {
+        jdbc.execute("DROP TABLE video_engagements");
+        jdbc.execute("CREATE TABLE video_engagements (id BIGINT AUTO_INCREMENT PRIMARY KEY, video_id BIGINT NOT NULL, "
+                + "type VARCHAR(32), impressions INT NOT NULL DEFAULT 0, views INT NOT NULL DEFAULT 0)");
+        jdbc.update("INSERT INTO video_engagements (video_id, impressions, views) VALUES (1, 2, 0), (1, 0, 3), (1, 1, 1), (2, 4, 4)");
+        VideoEngagementsMigration migration = new VideoEngagementsMigration(jdbc, new DataSourceTransactionManager(jdbc.getDataSource()));
+
+        migration.run();
+        migration.run();
+        store.increment(1, EngagementType.VIEW);
+
+        assertEquals(2, jdbc.queryForObject("SELECT COUNT(*) FROM video_engagements", Integer.class));
+        assertEquals(new Counts(1, 3, 5), store.find(1).orElseThrow());
+        assertEquals(new Counts(2, 4, 4), store.find(2).orElseThrow());
+    }
+}
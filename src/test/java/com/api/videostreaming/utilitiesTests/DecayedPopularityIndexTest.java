@@ -0,0 +1,60 @@
+package com.api.videostreaming.utilitiesTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.videostreaming.utilities.DecayedPopularityIndex;
+
+class DecayedPopularityIndexTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+
+    /**
+     * Test: Scores halve every half-life and recent activity overtakes older, larger totals
+     */
+    @Test
+    void testDecayAndReordering() {
+        DecayedPopularityIndex index = new DecayedPopularityIndex(HOUR, clock::get);
+        index.track(1, 0);
+        index.track(2, 0);
+        index.track(3, 0);
+
+        for (int i = 0; i < 8; i++) {
+            index.add(1, 1.0);
+        }
+        assertEquals(8.0, index.score(1), 1e-9);
+        assertEquals(List.of(1L, 2L, 3L), index.page(id -> true, 0, 10));
+
+        clock.addAndGet(2 * HOUR);
+        assertEquals(2.0, index.score(1), 1e-9);
+
+        for (int i = 0; i < 3; i++) {
+            index.add(2, 1.0);
+        }
+        assertEquals(List.of(2L, 1L, 3L), index.page(id -> true, 0, 10));
+        assertEquals(List.of(1L), index.page(id -> true, 1, 1));
+        assertEquals(List.of(1L, 3L), index.page(id -> id != 2, 0, 10));
+    }
+
+    /**
+     * Test: Untracked or removed videos are never ranked
+     */
+    @Test
+    void testOnlyTrackedVideosAreRanked() {
+        DecayedPopularityIndex index = new DecayedPopularityIndex(HOUR, clock::get);
+        index.track(1, 5);
+        index.add(9, 100);
+        assertEquals(List.of(1L), index.page(id -> true, 0, 10));
+
+        index.remove(1);
+        index.add(1, 1);
+        assertEquals(0, index.size());
+        assertTrue(index.page(id -> true, 0, 10).isEmpty());
+    }
+}
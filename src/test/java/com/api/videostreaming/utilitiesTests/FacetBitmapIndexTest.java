@@ -0,0 +1,83 @@
+package com.api.videostreaming.utilitiesTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import com.api.videostreaming.utilities.FacetBitmapIndex;
+
+class FacetBitmapIndexTest {
+
+    private FacetBitmapIndex newIndex() {
+        FacetBitmapIndex index = new FacetBitmapIndex(List.of("genre", "format"));
+        index.put(1, Map.of("genre", "action", "format", "mp4"));
+        index.put(2, Map.of("genre", "drama", "format", "mp4"));
+        index.put(3, Map.of("genre", "action", "format", "mkv"));
+        return index;
+    }
+
+    /**
+     * Test: Values of a facet are OR-ed, facets are AND-ed, counts ignore the facet's own filter
+     */
+    @Test
+    void testMatchAndDisjunctiveCounts() {
+        FacetBitmapIndex index = newIndex();
+        Map<String, List<String>> filters = Map.of("genre", List.of("action"), "format", List.of("mp4", "mkv"));
+
+        assertEquals(RoaringBitmap.bitmapOf(1, 3), index.match(filters));
+        assertEquals(RoaringBitmap.bitmapOf(1, 2, 3), index.match(Map.of()));
+
+        Map<String, Map<String, Integer>> counts = index.counts(Map.of("genre", List.of("action")), null);
+        assertEquals(Map.of("action", 2, "drama", 1), counts.get("genre"));
+        assertEquals(Map.of("mp4", 1, "mkv", 1), counts.get("format"));
+
+        // restricted to a search result
+        assertEquals(Map.of("mp4", 2), index.counts(Map.of(), RoaringBitmap.bitmapOf(1, 2)).get("format"));
+    }
+
+    /**
+     * Test: Edits move a video between values and removed (soft-deleted) videos leave every bitmap
+     */
+    @Test
+    void testEditAndRemove() {
+        FacetBitmapIndex index = newIndex();
+        RoaringBitmap before = index.match(Map.of("genre", List.of("action")));
+
+        index.put(1, Map.of("genre", "drama", "format", "mp4"));
+        assertEquals(RoaringBitmap.bitmapOf(3), index.match(Map.of("genre", List.of("action"))));
+        assertEquals(RoaringBitmap.bitmapOf(1, 2), index.match(Map.of("genre", List.of("drama"))));
+        // bitmaps handed out earlier are never mutated
+        assertEquals(RoaringBitmap.bitmapOf(1, 3), before);
+
+        index.remove(2);
+        assertEquals(RoaringBitmap.bitmapOf(1), index.match(Map.of("genre", List.of("drama"))));
+        assertEquals(RoaringBitmap.bitmapOf(1, 3), index.match(Map.of()));
+        assertEquals(Map.of("mp4", 1, "mkv", 1), index.counts(Map.of(), null).get("format"));
+    }
+
+    /**
+     * Test: A bulk load of many videos indexes each one, and re-putting a batch moves its videos between values
+     */
+    @Test
+    void testPutAll() {
+        FacetBitmapIndex index = new FacetBitmapIndex(List.of("genre", "format"));
+        Map<Integer, Map<String, String>> documents = new HashMap<>();
+        for (int id = 1; id <= 100_000; id++) {
+            documents.put(id, Map.of("genre", id % 2 == 0 ? "drama" : "action", "format", "mp4"));
+        }
+        index.putAll(documents);
+
+        assertEquals(50_000, index.match(Map.of("genre", List.of("drama"))).getCardinality());
+        assertEquals(Map.of("mp4", 100_000), index.counts(Map.of(), null).get("format"));
+
+        index.putAll(Map.of(2, Map.of("genre", "action", "format", "mkv"), 3, Map.of("genre", "drama", "format", "mp4")));
+        assertEquals(50_000, index.match(Map.of("genre", List.of("drama"))).getCardinality());
+        assertFalse(index.match(Map.of("genre", List.of("drama"))).contains(2));
+        assertEquals(Map.of("mp4", 99_999, "mkv", 1), index.counts(Map.of(), null).get("format"));
+    }
+}
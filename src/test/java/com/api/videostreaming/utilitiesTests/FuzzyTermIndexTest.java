@@ -0,0 +1,59 @@
+package com.api.videostreaming.utilitiesTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.videostreaming.utilities.FuzzyTermIndex;
+
+class FuzzyTermIndexTest {
+
+    private FuzzyTermIndex newIndex() {
+        FuzzyTermIndex index = new FuzzyTermIndex();
+        index.put(1, List.of("Goodfellas", "Crime"), List.of("Martin Scorsese", "Robert De Niro"));
+        index.put(2, List.of("Scorsese Retrospective", "Documentary"), List.of("Jane Roe"));
+        index.put(3, List.of("Heat", "Crime"), List.of("Michael Mann", "Al Pacino"));
+        return index;
+    }
+
+    /**
+     * Test: Misspellings within the edit budget match, exact matches rank first, all words must match
+     */
+    @Test
+    void testTypoTolerantRanking() {
+        FuzzyTermIndex index = newIndex();
+
+        assertEquals(List.of(1), List.copyOf(index.search("martin scorcese", 2).keySet()));
+        assertEquals(List.of(1, 2), List.copyOf(index.search("scorcese", 2).keySet()));
+        assertEquals(List.of(1, 3), List.copyOf(index.search("crme", 2).keySet()));
+
+        // exact word beats a one-edit match
+        index.put(4, List.of("Scorcese"), List.of());
+        Map<Integer, Integer> ranked = index.search("scorcese", 2);
+        assertEquals(4, ranked.keySet().iterator().next());
+        assertTrue(ranked.get(4) > ranked.get(1));
+
+        // no edit budget: plain words need to be exact, names still match by sound
+        assertTrue(index.search("crme", 0).isEmpty());
+        assertTrue(index.search("scorcese", 0).containsKey(1));
+        assertTrue(index.search("heat pacino zzzz", 2).isEmpty());
+    }
+
+    /**
+     * Test: Sound-alike names match phonetically beyond the edit budget; removed documents disappear
+     */
+    @Test
+    void testPhoneticNamesAndRemove() {
+        FuzzyTermIndex index = newIndex();
+
+        assertTrue(index.search("mikael", 1).containsKey(3));
+        assertFalse(index.search("mikael", 0).isEmpty());
+
+        index.remove(3);
+        assertTrue(index.search("pacino", 2).isEmpty());
+        assertEquals(List.of(1), List.copyOf(index.search("crime", 2).keySet()));
+    }
+}
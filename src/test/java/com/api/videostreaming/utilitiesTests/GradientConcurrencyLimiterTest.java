@@ -0,0 +1,66 @@
+package com.api.videostreaming.utilitiesTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.videostreaming.utilities.GradientConcurrencyLimiter;
+
+class GradientConcurrencyLimiterTest {
+
+    private static final long MS = 1_000_000L;
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    /**
+     * Test: The limit grows while latency is flat and shrinks once latency rises
+     */
+    @Test
+    void testLimitFollowsLatency() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(20, 2, 200, 1.5, 100, nanos::get);
+        runWindows(limiter, 50, 10 * MS);
+        int healthy = limiter.getLimit();
+        assertTrue(healthy > 20, "limit should grow under flat latency, was " + healthy);
+
+        runWindows(limiter, 30, 100 * MS);
+        int degraded = limiter.getLimit();
+        assertTrue(degraded < healthy / 2, "limit should shrink when latency rises, was " + degraded);
+        assertTrue(degraded >= 2);
+    }
+
+    /**
+     * Test: Requests beyond the limit are rejected, and a lower share is rejected earlier
+     */
+    @Test
+    void testAcquireRespectsLimitAndShare() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(10, 2, 10, 1.5, 100, nanos::get);
+        for (int i = 0; i < 6; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire(0.6));
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire(1.0));
+        }
+        assertFalse(limiter.tryAcquire());
+        assertEquals(10, limiter.getInFlight());
+
+        limiter.cancel();
+        assertTrue(limiter.tryAcquire());
+    }
+
+    // saturates the limiter each window so the limit is allowed to move
+    private void runWindows(GradientConcurrencyLimiter limiter, int windows, long rtt) {
+        for (int w = 0; w < windows; w++) {
+            int admitted = 0;
+            while (limiter.tryAcquire()) {
+                admitted++;
+            }
+            nanos.addAndGet(101 * MS);
+            for (int i = 0; i < admitted; i++) {
+                limiter.release(rtt);
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.api.videostreaming.utilitiesTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.videostreaming.utilities.InvalidationBus;
+import com.api.videostreaming.utilities.InvalidationTransport;
+
+class InvalidationBusTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000);
+    private final List<Consumer<InvalidationBus.Message>> receivers = new ArrayList<>();
+    // messages matching this are lost on the way
+    private Predicate<InvalidationBus.Message> drop = message -> false;
+
+    /**
+     * Test: Invalidations are coalesced per flush, and a lost message is replayed from the sender's history
+     */
+    @Test
+    void testCoalescesAndReplaysLostMessages() {
+        List<Set<Long>> reloaded = new ArrayList<>();
+        AtomicInteger resyncs = new AtomicInteger();
+        InvalidationBus sender = bus(1, set -> {}, () -> {}, 16);
+        bus(2, reloaded::add, resyncs::incrementAndGet, 16);
+
+        sender.invalidate(7);
+        sender.invalidate(8);
+        sender.invalidate(7);
+        sender.flush();
+        assertEquals(List.of(Set.of(7L, 8L)), reloaded);
+
+        drop = message -> message.kind() == InvalidationBus.Kind.INVALIDATE && message.seq() == 2;
+        sender.invalidate(9);
+        sender.flush();
+        assertEquals(1, reloaded.size());
+
+        drop = message -> false;
+        sender.invalidate(10);
+        sender.flush();
+        assertEquals(3, reloaded.size());
+        assertTrue(reloaded.containsAll(List.of(Set.of(9L), Set.of(10L))));
+
+        clock.addAndGet(10_000);
+        sender.checkGaps();
+        assertEquals(0, resyncs.get());
+    }
+
+    /**
+     * Test: A gap the sender can no longer replay, or one that is not filled in time, ends in a full resync
+     */
+    @Test
+    void testResyncsWhenGapCannotBeFilled() {
+        AtomicInteger resyncs = new AtomicInteger();
+        InvalidationBus sender = bus(1, set -> {}, () -> {}, 1);
+        InvalidationBus receiver = bus(2, set -> {}, resyncs::incrementAndGet, 1);
+
+        sender.invalidate(1);
+        sender.flush();
+        drop = message -> message.kind() == InvalidationBus.Kind.INVALIDATE;
+        sender.invalidate(2);
+        sender.flush();
+        sender.invalidate(3);
+        sender.flush();
+        drop = message -> false;
+        // history holds only seq 3, so seq 2 is answered with TRUNCATED
+        sender.invalidate(4);
+        sender.flush();
+        assertEquals(1, resyncs.get());
+
+        drop = message -> message.kind() != InvalidationBus.Kind.INVALIDATE || message.seq() == 5;
+        sender.invalidate(5);
+        sender.flush();
+        sender.invalidate(6);
+        sender.flush();
+        receiver.checkGaps();
+        assertEquals(1, resyncs.get());
+
+        clock.addAndGet(5_001);
+        receiver.checkGaps();
+        assertEquals(2, resyncs.get());
+    }
+
+    private InvalidationBus bus(long nodeId, Consumer<Set<Long>> reload, Runnable resync, int historySize) {
+        InvalidationBus bus = new InvalidationBus(nodeId, new LoopbackTransport(), reload, resync, 4, historySize, 5_000, clock::get);
+        bus.start();
+        return bus;
+    }
+
+    private class LoopbackTransport implements InvalidationTransport {
+
+        @Override
+        public void start(Consumer<InvalidationBus.Message> receiver) {
+            receivers.add(receiver);
+        }
+
+        @Override
+        public void publish(InvalidationBus.Message message) {
+            if (!drop.test(message)) {
+                byte[] data = message.encode();
+                List.copyOf(receivers).forEach(receiver -> receiver.accept(InvalidationBus.Message.decode(data, 0, data.length)));
+            }
+        }
+
+        @Override
+        public void requestReplay(long origin, long fromSeq, long toSeq) {
+            publish(new InvalidationBus.Message(InvalidationBus.Kind.REPLAY_REQUEST, origin, fromSeq, toSeq, new long[0]));
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
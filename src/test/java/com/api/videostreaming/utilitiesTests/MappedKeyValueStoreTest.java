@@ -0,0 +1,60 @@
+package com.api.videostreaming.utilitiesTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.api.videostreaming.utilities.MappedKeyValueStore;
+
+class MappedKeyValueStoreTest {
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Test: Values and deletes survive reopening the file
+     */
+    @Test
+    void testReopenReplaysLog() throws Exception {
+        Path file = dir.resolve("snapshots.dat");
+        try (MappedKeyValueStore store = new MappedKeyValueStore(file, 64 * 1024)) {
+            store.put(1, bytes("v1"));
+            store.put(2, bytes("v2"));
+            store.put(1, bytes("v1-updated"));
+            store.remove(2);
+        }
+        try (MappedKeyValueStore store = new MappedKeyValueStore(file, 64 * 1024)) {
+            assertEquals("v1-updated", new String(store.get(1), StandardCharsets.UTF_8));
+            assertNull(store.get(2));
+            assertEquals(1, store.size());
+        }
+    }
+
+    /**
+     * Test: A full file is compacted in place and keeps only live values
+     */
+    @Test
+    void testCompactionWhenFull() throws Exception {
+        Path file = dir.resolve("snapshots.dat");
+        try (MappedKeyValueStore store = new MappedKeyValueStore(file, 4 * 1024)) {
+            for (int round = 0; round < 50; round++) {
+                for (long key = 0; key < 10; key++) {
+                    assertTrue(store.put(key, bytes("value-" + key + "-" + round)));
+                }
+            }
+            assertEquals("value-3-49", new String(store.get(3), StandardCharsets.UTF_8));
+        }
+        try (MappedKeyValueStore store = new MappedKeyValueStore(file, 4 * 1024)) {
+            assertEquals(10, store.size());
+            assertEquals("value-9-49", new String(store.get(9), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,63 @@
+package com.api.videostreaming.utilitiesTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.api.videostreaming.utilities.InvalidationBus;
+import com.api.videostreaming.utilities.OutboxInvalidationTransport;
+
+class OutboxInvalidationTransportTest {
+
+    private JdbcTemplate jdbc;
+    private OutboxInvalidationTransport transport;
+    private final List<InvalidationBus.Message> received = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:outbox;DB_CLOSE_DELAY=-1"));
+        jdbc.execute("CREATE TABLE cache_invalidations (id BIGINT AUTO_INCREMENT PRIMARY KEY, origin BIGINT NOT NULL, "
+                + "seq BIGINT NOT NULL, video_ids TEXT NOT NULL, created_at BIGINT NOT NULL)");
+        jdbc.update("INSERT INTO cache_invalidations (origin, seq, video_ids, created_at) VALUES (9, 1, '1', 0)");
+        // leaves ids 2..9 free for a row that commits late
+        jdbc.execute("ALTER TABLE cache_invalidations ALTER COLUMN id RESTART WITH 10");
+        // long poll interval: the test drives poll() itself
+        transport = new OutboxInvalidationTransport(jdbc, 60_000, 2, 60_000);
+        transport.start(received::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transport.close();
+        jdbc.execute("DROP ALL OBJECTS");
+    }
+
+    /**
+     * Test: Only rows written after start are delivered, in batches, and a replay picks up a row committed late
+     */
+    @Test
+    void testDeliversNewRowsAndReplaysLateOnes() {
+        for (long seq = 1; seq <= 3; seq++) {
+            transport.publish(new InvalidationBus.Message(InvalidationBus.Kind.INVALIDATE, 5, seq, seq, new long[]{seq, seq + 10}));
+        }
+        transport.publish(new InvalidationBus.Message(InvalidationBus.Kind.REPLAY_REQUEST, 5, 1, 3, new long[0]));
+        transport.poll();
+        assertEquals(3, received.size());
+        assertArrayEquals(new long[]{2, 12}, received.get(1).videoIds());
+        assertEquals(5, received.get(2).origin());
+
+        // seq 4 was allocated an id earlier but only became visible after the poller passed it
+        jdbc.update("INSERT INTO cache_invalidations (id, origin, seq, video_ids, created_at) VALUES (5, 5, 4, '4', ?)", System.currentTimeMillis());
+        transport.requestReplay(5, 4, 4);
+        transport.poll();
+        assertEquals(4, received.size());
+        assertEquals(4, received.get(3).seq());
+    }
+}
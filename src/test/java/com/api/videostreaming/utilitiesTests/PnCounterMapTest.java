@@ -0,0 +1,73 @@
+package com.api.videostreaming.utilitiesTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.videostreaming.utilities.PnCounterMap;
+
+class PnCounterMapTest {
+
+    /**
+     * Test: Nodes converge to the same counts whatever the order, duplication or relaying of merged state
+     */
+    @Test
+    void testMergeConvergesRegardlessOfOrder() {
+        PnCounterMap a = new PnCounterMap(1);
+        PnCounterMap b = new PnCounterMap(2);
+        PnCounterMap c = new PnCounterMap(3);
+        for (int i = 0; i < 5; i++) {
+            a.add(10, PnCounterMap.Field.VIEWS, 1);
+        }
+        a.add(10, PnCounterMap.Field.IMPRESSIONS, 3);
+        b.add(10, PnCounterMap.Field.VIEWS, 2);
+        b.add(10, PnCounterMap.Field.VIEWS, -1);
+        c.add(11, PnCounterMap.Field.IMPRESSIONS, 4);
+
+        List<PnCounterMap.Entry> fromA = a.entries();
+        List<PnCounterMap.Entry> fromB = b.entries();
+        // c only hears about a through b
+        b.merge(fromA);
+        c.merge(b.entries());
+        c.merge(fromB);
+        c.merge(fromA);
+        a.merge(c.entries());
+        b.merge(c.entries());
+
+        for (PnCounterMap node : List.of(a, b, c)) {
+            assertEquals(new PnCounterMap.Totals(3, 6), node.totals(10));
+            assertEquals(new PnCounterMap.Totals(4, 0), node.totals(11));
+        }
+        // stale state never lowers a count
+        assertEquals(0, a.merge(fromA));
+        assertEquals(new PnCounterMap.Totals(3, 6), a.totals(10));
+    }
+
+    /**
+     * Test: Drained deltas hold only raised entries, and only the node's own entries are left to save
+     */
+    @Test
+    void testDrainsDeltasAndUnsavedEntries() {
+        PnCounterMap a = new PnCounterMap(1);
+        PnCounterMap b = new PnCounterMap(2);
+        a.add(10, PnCounterMap.Field.VIEWS, 1);
+        a.add(10, PnCounterMap.Field.VIEWS, 1);
+        b.add(20, PnCounterMap.Field.IMPRESSIONS, 1);
+
+        List<PnCounterMap.Entry> delta = a.drainChanged();
+        assertEquals(List.of(new PnCounterMap.Entry(10, 1, 0, 0, 2, 0)), delta);
+        assertTrue(a.drainChanged().isEmpty());
+
+        assertEquals(1, a.merge(b.drainChanged()));
+        // b's entry is relayed on but saved by b
+        assertEquals(List.of(new PnCounterMap.Entry(20, 2, 1, 0, 0, 0)), a.drainChanged());
+        List<PnCounterMap.Entry> unsaved = a.drainUnsaved();
+        assertEquals(delta, unsaved);
+        assertTrue(a.drainUnsaved().isEmpty());
+
+        a.requeueUnsaved(unsaved);
+        assertEquals(unsaved, a.drainUnsaved());
+    }
+}
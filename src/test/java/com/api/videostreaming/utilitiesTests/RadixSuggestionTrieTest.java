@@ -0,0 +1,64 @@
+package com.api.videostreaming.utilitiesTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.videostreaming.utilities.RadixSuggestionTrie;
+import com.api.videostreaming.utilities.RadixSuggestionTrie.Entry;
+
+class RadixSuggestionTrieTest {
+
+    private Entry entry(String text, long score) {
+        return new Entry("TITLE:" + RadixSuggestionTrie.normalize(text), text, "TITLE", null, score);
+    }
+
+    private List<String> texts(List<Entry> entries) {
+        return entries.stream().map(Entry::text).toList();
+    }
+
+    /**
+     * Test: Completions are ranked by score, split edges keep their subtree, later words match too
+     */
+    @Test
+    void testSuggestRankedByScore() {
+        RadixSuggestionTrie trie = new RadixSuggestionTrie(3);
+        trie.put(entry("Interstellar", 50));
+        trie.put(entry("Inception", 90));
+        trie.put(entry("Inside Out", 70));
+        trie.put(entry("The Insider", 10));
+
+        assertEquals(List.of("Inception", "Inside Out", "Interstellar"), texts(trie.suggest("in", 10)));
+        assertEquals(List.of("Inside Out", "The Insider"), texts(trie.suggest("INSID", 10)));
+        assertEquals(List.of("Inception"), texts(trie.suggest("in", 1)));
+        assertEquals(List.of("Inside Out"), texts(trie.suggest("out", 10)));
+        assertTrue(trie.suggest("xyz", 10).isEmpty());
+        assertTrue(trie.suggest("  ", 10).isEmpty());
+    }
+
+    /**
+     * Test: Re-scoring and removal update the top-K of every ancestor, backfilling from the subtree
+     */
+    @Test
+    void testUpdateAndRemove() {
+        RadixSuggestionTrie trie = new RadixSuggestionTrie(2);
+        trie.put(entry("Alien", 30));
+        trie.put(entry("Aliens", 20));
+        trie.put(entry("Amelie", 10));
+
+        assertEquals(List.of("Alien", "Aliens"), texts(trie.suggest("a", 10)));
+
+        trie.put(entry("Amelie", 100));
+        assertEquals(List.of("Amelie", "Alien"), texts(trie.suggest("a", 10)));
+
+        trie.remove(entry("Alien", 30));
+        assertEquals(List.of("Amelie", "Aliens"), texts(trie.suggest("a", 10)));
+        assertEquals(List.of("Aliens"), texts(trie.suggest("alien", 10)));
+
+        trie.remove(entry("Aliens", 20));
+        assertTrue(trie.suggest("al", 10).isEmpty());
+        assertEquals(List.of("Amelie"), texts(trie.suggest("a", 10)));
+    }
+}
@@ -0,0 +1,120 @@
+package com.api.videostreaming.utilitiesTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.videostreaming.utilities.ReplicaRoutingDataSource;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final AtomicLong clock = new AtomicLong(10_000);
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate routedJdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource primary = new DriverManagerDataSource("jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1");
+        DriverManagerDataSource replica = new DriverManagerDataSource("jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1");
+        primaryJdbc = createSchema(primary, "primary");
+        replicaJdbc = createSchema(replica, "replica");
+
+        routing = new ReplicaRoutingDataSource(primary, Map.of("replica", replica), 1000, clock::get);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+        routedJdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        primaryJdbc.execute("DROP ALL OBJECTS");
+        replicaJdbc.execute("DROP ALL OBJECTS");
+    }
+
+    /**
+     * Test: Read-only transactions go to a replica within the lag bound, writes and lagging replicas go to the primary
+     */
+    @Test
+    void testReadsRoutedByReplicaLag() {
+        routing.beat();
+        replicate();
+        routing.probe();
+
+        assertEquals("replica", readOnly.execute(status -> node()));
+        assertEquals("primary", readWrite.execute(status -> node()));
+
+        // replica stops replaying while the primary keeps beating
+        clock.addAndGet(1500);
+        routing.beat();
+        routing.probe();
+        assertEquals("primary", readOnly.execute(status -> node()));
+
+        replicate();
+        routing.probe();
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    /**
+     * Test: A user who just wrote reads from the primary until the replica has replayed past the write
+     */
+    @Test
+    void testReadYourWritesAfterCatalogChange() {
+        routing.beat();
+        replicate();
+        routing.probe();
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("admin", null));
+        clock.addAndGet(100);
+        routing.markWrite("admin");
+        assertEquals("primary", readOnly.execute(status -> node()));
+
+        // other users are unaffected
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("viewer", null));
+        assertEquals("replica", readOnly.execute(status -> node()));
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("admin", null));
+        clock.addAndGet(100);
+        routing.beat();
+        replicate();
+        routing.probe();
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    private JdbcTemplate createSchema(DriverManagerDataSource dataSource, String name) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE replication_heartbeat (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+        jdbc.execute("CREATE TABLE node (name VARCHAR(16))");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        return jdbc;
+    }
+
+    // stands in for MySQL replication of the heartbeat row
+    private void replicate() {
+        Long beatAt = primaryJdbc.queryForObject("SELECT beat_at FROM replication_heartbeat WHERE id = 1", Long.class);
+        replicaJdbc.update("MERGE INTO replication_heartbeat KEY (id) VALUES (1, ?)", beatAt);
+    }
+
+    private String node() {
+        return routedJdbc.queryForObject("SELECT name FROM node", String.class);
+    }
+}
@@ -0,0 +1,87 @@
+package com.api.videostreaming.utilitiesTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.api.videostreaming.enums.EngagementType;
+import com.api.videostreaming.utilities.EngagementStore;
+import com.api.videostreaming.utilities.LoopbackCounterTransport;
+import com.api.videostreaming.utilities.ReplicatedEngagementCounters;
+
+class ReplicatedEngagementCountersTest {
+
+    private JdbcTemplate jdbc;
+    private final LoopbackCounterTransport.Hub hub = new LoopbackCounterTransport.Hub();
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:counters;DB_CLOSE_DELAY=-1"));
+        jdbc.execute("CREATE TABLE video_engagements (id BIGINT AUTO_INCREMENT PRIMARY KEY, video_id BIGINT NOT NULL, "
+                + "type VARCHAR(32), impressions INT NOT NULL, views INT NOT NULL)");
+        jdbc.update("INSERT INTO video_engagements (video_id, impressions, views) VALUES (1, 10, 4)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("DROP ALL OBJECTS");
+    }
+
+    /**
+     * Test: Two nodes counting the same video converge on top of the video_engagements baseline
+     */
+    @Test
+    void testNodesConvergeOnBaseline() {
+        ReplicatedEngagementCounters a = node(1);
+        ReplicatedEngagementCounters b = node(2);
+        a.increment(1, EngagementType.VIEW);
+        a.increment(1, EngagementType.VIEW);
+        b.increment(1, EngagementType.IMPRESSION);
+        b.increment(2, EngagementType.VIEW);
+        assertEquals(new EngagementStore.Counts(1, 10, 6), a.find(1).orElseThrow());
+
+        a.exchange();
+        b.exchange();
+        for (ReplicatedEngagementCounters node : new ReplicatedEngagementCounters[]{a, b}) {
+            assertEquals(new EngagementStore.Counts(1, 11, 6), node.find(1).orElseThrow());
+            assertEquals(new EngagementStore.Counts(2, 0, 1), node.find(2).orElseThrow());
+        }
+        a.close();
+        b.close();
+    }
+
+    /**
+     * Test: Each node saves only its own entries, and a restarted node loads everyone's saved counts
+     */
+    @Test
+    void testSavedEntriesSurviveRestart() {
+        ReplicatedEngagementCounters a = node(1);
+        ReplicatedEngagementCounters b = node(2);
+        a.increment(1, EngagementType.VIEW);
+        b.increment(1, EngagementType.VIEW);
+        a.exchange();
+        a.save();
+        b.save();
+        a.increment(1, EngagementType.VIEW);
+        a.save();
+        assertEquals(2, jdbc.queryForObject("SELECT COUNT(*) FROM engagement_counters", Integer.class));
+        assertEquals(2, jdbc.queryForObject("SELECT views_up FROM engagement_counters WHERE node_id = 1", Long.class));
+        a.close();
+        b.close();
+
+        ReplicatedEngagementCounters restarted = node(3);
+        assertEquals(new EngagementStore.Counts(1, 10, 7), restarted.find(1).orElseThrow());
+        restarted.close();
+    }
+
+    private ReplicatedEngagementCounters node(long nodeId) {
+        // long intervals: the test drives exchange() and save() itself
+        ReplicatedEngagementCounters node = new ReplicatedEngagementCounters(jdbc, new LoopbackCounterTransport(hub), nodeId, 60_000, 1000, 60_000);
+        node.start();
+        return node;
+    }
+}
@@ -0,0 +1,168 @@
+package com.api.videostreaming.utilitiesTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.api.videostreaming.enums.EngagementType;
+import com.api.videostreaming.utilities.ConsistentHashRing;
+import com.api.videostreaming.utilities.DatabaseEngagementStore;
+import com.api.videostreaming.utilities.EngagementStore.Counts;
+import com.api.videostreaming.utilities.EngagementStore.Totals;
+import com.api.videostreaming.utilities.ShardedEngagementStore;
+
+class ShardedEngagementStoreTest {
+
+    private final Map<String, DataSource> shards = new LinkedHashMap<>();
+    private ShardedEngagementStore store;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            shards.put("shard-" + i, new DriverManagerDataSource("jdbc:h2:mem:engagements" + i + ";MODE=MySQL;DB_CLOSE_DELAY=-1"));
+        }
+        store = new ShardedEngagementStore(shards, ring(2), 7, 0, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+        shards.values().forEach(dataSource -> new JdbcTemplate(dataSource).execute("DROP ALL OBJECTS"));
+    }
+
+    /**
+     * Test: Rows land on their owning shard only, and totals and top-K gather across shards
+     */
+    @Test
+    void testRoutesByVideoIdAndGathersAggregates() {
+        for (long videoId = 1; videoId <= 40; videoId++) {
+            count(videoId, (int) videoId);
+            store.increment(videoId, EngagementType.IMPRESSION);
+        }
+        store.increment(40, EngagementType.VIEW);
+
+        ConsistentHashRing ring = ring(2);
+        assertEquals(40, rowsOn("shard-0") + rowsOn("shard-1"));
+        assertEquals(0, rowsOn("shard-2"));
+        assertEquals(1, new JdbcTemplate(shards.get(ring.nodeFor(40))).queryForObject(
+                "SELECT COUNT(*) FROM video_engagement_counts WHERE video_id = 40", Integer.class));
+
+        assertEquals(new Counts(40, 1, 41), store.find(40).orElseThrow());
+        Totals totals = store.totals();
+        assertEquals(40, totals.videos());
+        assertEquals(40, totals.impressions());
+        assertEquals(39 * 40 / 2 + 41, totals.views());
+        assertEquals(List.of(40L, 39L, 38L), store.topByViews(3).stream().map(Counts::videoId).toList());
+    }
+
+    /**
+     * Test: Re-sharding onto a third shard moves only the rows it now owns and loses nothing
+     */
+    @Test
+    void testReshardMigratesOnline() throws InterruptedException {
+        for (long videoId = 1; videoId <= 200; videoId++) {
+            count(videoId, (int) videoId);
+        }
+
+        store.startResharding(ring(3), true);
+        // live writes during the migration go to the new owners, carrying over the existing count
+        store.increment(500, EngagementType.VIEW);
+        for (long videoId = 1; videoId <= 200; videoId++) {
+            store.increment(videoId, EngagementType.VIEW);
+        }
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (store.isResharding() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertFalse(store.isResharding());
+        ConsistentHashRing ring = ring(3);
+        assertTrue(rowsOn("shard-2") > 30);
+        for (String shard : shards.keySet()) {
+            List<Long> ids = new JdbcTemplate(shards.get(shard)).queryForList("SELECT video_id FROM video_engagement_counts", Long.class);
+            ids.forEach(videoId -> assertEquals(shard, ring.nodeFor(videoId)));
+        }
+        assertEquals(201, store.totals().videos());
+        for (long videoId = 1; videoId <= 200; videoId++) {
+            assertEquals(videoId + 1, store.find(videoId).orElseThrow().views());
+        }
+        assertEquals(1, store.find(500).orElseThrow().views());
+    }
+
+    /**
+     * Test: The migration waits until every live node writes with the target ring, and the other nodes drop dual reads when it is done
+     */
+    @Test
+    void testReshardWaitsForEveryNode() throws InterruptedException {
+        count(1, 3);
+        ShardedEngagementStore other = new ShardedEngagementStore(shards, ring(2), 7, 0, 60_000);
+        try {
+            store.startResharding(ring(3), true);
+            store.heartbeat();
+            assertEquals(0, rowsOn("shard-2"));
+            assertTrue(store.isResharding());
+
+            other.startResharding(ring(3), false);
+            store.heartbeat();
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (store.isResharding() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertFalse(store.isResharding());
+            assertTrue(other.isResharding());
+
+            other.heartbeat();
+            assertFalse(other.isResharding());
+            assertEquals(3, other.find(1).orElseThrow().views());
+        } finally {
+            other.close();
+        }
+    }
+
+    /**
+     * Test: Existing video_engagements counts are copied onto the shards once, summing duplicate rows
+     */
+    @Test
+    void testSeedsFromVideoEngagementsOnce() {
+        JdbcTemplate baseline = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:baseline;MODE=MySQL;DB_CLOSE_DELAY=-1"));
+        try {
+            baseline.execute("CREATE TABLE video_engagements (id BIGINT AUTO_INCREMENT PRIMARY KEY, video_id BIGINT NOT NULL, "
+                    + "impressions INT NOT NULL DEFAULT 0, views INT NOT NULL DEFAULT 0)");
+            baseline.update("INSERT INTO video_engagements (video_id, impressions, views) VALUES (1, 2, 3), (1, 1, 1), (2, 0, 5)");
+
+            store.seedFrom(new DatabaseEngagementStore(baseline));
+            store.increment(1, EngagementType.VIEW);
+            store.seedFrom(new DatabaseEngagementStore(baseline));
+
+            assertEquals(new Counts(1, 3, 5), store.find(1).orElseThrow());
+            assertEquals(new Counts(2, 0, 5), store.find(2).orElseThrow());
+            assertEquals(2, store.totals().videos());
+        } finally {
+            baseline.execute("DROP ALL OBJECTS");
+        }
+    }
+
+    private void count(long videoId, int views) {
+        for (int i = 0; i < views; i++) {
+            store.increment(videoId, EngagementType.VIEW);
+        }
+    }
+
+    private int rowsOn(String shard) {
+        return new JdbcTemplate(shards.get(shard)).queryForObject("SELECT COUNT(*) FROM video_engagement_counts", Integer.class);
+    }
+
+    private static ConsistentHashRing ring(int shardCount) {
+        return new ConsistentHashRing(java.util.stream.IntStream.range(0, shardCount).mapToObj(i -> "shard-" + i).toList(), 64);
+    }
+}
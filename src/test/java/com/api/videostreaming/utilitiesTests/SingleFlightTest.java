@@ -0,0 +1,96 @@
+package com.api.videostreaming.utilitiesTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.videostreaming.utilities.SingleFlight;
+
+class SingleFlightTest {
+
+    /**
+     * Test: Concurrent callers for one key share a single load, the next caller loads again
+     */
+    @Test
+    void testConcurrentCallersShareOneLoad() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> flight.load(1L, () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "video-1";
+                }, 5_000)));
+            }
+            while (flight.inFlightCount() == 0 || loads.get() == 0) {
+                Thread.onSpinWait();
+            }
+            Thread.sleep(100); // let the followers attach
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("video-1", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+            assertEquals(0, flight.inFlightCount());
+
+            flight.load(1L, () -> { loads.incrementAndGet(); return "again"; }, 100);
+            assertEquals(2, loads.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Test: Followers get the leader's exception, and time out while the leader is still loading
+     */
+    @Test
+    void testErrorPropagationAndTimeout() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = pool.submit(() -> flight.load(1L, () -> {
+                started.countDown();
+                await(release);
+                throw new IllegalStateException("db down");
+            }, 5_000));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            assertThrows(TimeoutException.class, () -> flight.load(1L, () -> "unused", 50));
+
+            Future<String> follower = pool.submit(() -> {
+                IllegalStateException e = assertThrows(IllegalStateException.class, () -> flight.load(1L, () -> "unused", 5_000));
+                return e.getMessage();
+            });
+            Thread.sleep(100);
+            release.countDown();
+            assertEquals("db down", follower.get(5, TimeUnit.SECONDS));
+            assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
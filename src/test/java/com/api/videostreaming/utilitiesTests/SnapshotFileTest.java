@@ -0,0 +1,85 @@
+package com.api.videostreaming.utilitiesTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.api.videostreaming.utilities.ColumnarCatalog;
+import com.api.videostreaming.utilities.SnapshotFile;
+
+class SnapshotFileTest {
+    private static final int KIND = 7;
+
+    @TempDir
+    Path dir;
+
+    private static ColumnarCatalog.Row row(int id, String title, List<String> cast, String genre) {
+        return new ColumnarCatalog.Row(id, title, "Director " + (id % 5), cast, "https://cdn/" + id + ".mp4", 1024L * id,
+                "mp4", 1080, 5400, id % 2 == 0, genre, genre == null ? null : 1995, genre == null ? null : 170);
+    }
+
+    /**
+     * Test: A columnar catalog restored from its snapshot answers lookups, searches and further writes like the original
+     */
+    @Test
+    void testCatalogRoundTrip() throws Exception {
+        ColumnarCatalog catalog = new ColumnarCatalog();
+        for (int id = 1; id <= 300_000; id++) {
+            catalog.put(row(id, "Title " + id, List.of("Actor " + (id % 13)), id % 3 == 0 ? null : "Crime"));
+        }
+        for (int id = 2; id <= 300_000; id += 4) {
+            catalog.remove(id);
+        }
+        catalog.put(row(1, "Renamed", null, "Drama")); // leaves garbage in the arenas
+        Path file = dir.resolve("catalog.snapshot");
+        SnapshotFile.write(file, KIND, ColumnarCatalog.SNAPSHOT_VERSION, 42, catalog::writeTo);
+
+        SnapshotFile.Loaded<ColumnarCatalog> loaded =
+                SnapshotFile.read(file, KIND, ColumnarCatalog.SNAPSHOT_VERSION, ColumnarCatalog::readFrom).orElseThrow();
+        ColumnarCatalog restored = loaded.value();
+        assertEquals(42, loaded.header().highWaterMark());
+        assertEquals(catalog.size(), restored.size());
+        assertEquals(catalog.ids(), restored.ids());
+        for (int id : new int[]{1, 3, 4, 6, 299_999, 300_000}) {
+            assertEquals(catalog.get(id), restored.get(id));
+        }
+        assertNull(restored.get(2));
+        assertEquals(catalog.search("actor 7"), restored.search("actor 7"));
+        assertEquals(catalog.search("drama"), restored.search("drama"));
+
+        restored.remove(3);
+        restored.put(row(2, "Added", List.of("New Actor"), "Crime"));
+        assertNull(restored.get(3));
+        assertEquals(List.of("New Actor"), restored.get(2).cast());
+        assertEquals(catalog.get(300_000), restored.get(300_000));
+    }
+
+    /**
+     * Test: A corrupted payload, another format version or a missing file all read as no snapshot
+     */
+    @Test
+    void testUnusableSnapshotsAreRejected() throws Exception {
+        Path file = dir.resolve("values.snapshot");
+        SnapshotFile.write(file, KIND, 1, 9, out -> {
+            out.writeString("hello");
+            out.writeInts(new int[]{1, 2, 3}, 0, 3);
+        });
+        assertEquals(Optional.of("hello:3"), SnapshotFile.read(file, KIND, 1, in -> in.readString() + ":" + in.readInts(3, 3)[2])
+                .map(SnapshotFile.Loaded::value));
+        assertTrue(SnapshotFile.read(file, KIND, 2, in -> in.readString()).isEmpty());
+        assertTrue(SnapshotFile.read(dir.resolve("missing.snapshot"), KIND, 1, in -> in.readString()).isEmpty());
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{'j'}), channel.size() - 14); // inside "hello"
+        }
+        assertTrue(SnapshotFile.read(file, KIND, 1, in -> in.readString()).isEmpty());
+    }
+}
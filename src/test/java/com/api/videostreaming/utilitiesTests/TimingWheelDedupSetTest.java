@@ -0,0 +1,78 @@
+package com.api.videostreaming.utilitiesTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.videostreaming.utilities.TimingWheelDedupSet;
+
+class TimingWheelDedupSetTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+
+    /**
+     * Test: A key is admitted once per window, including windows that cascade through upper wheel levels
+     */
+    @Test
+    void testKeyAdmittedOncePerWindow() {
+        long window = 5_000L * 1000; // 5000 ticks, starts on wheel level 2
+        TimingWheelDedupSet set = new TimingWheelDedupSet(window, 1000, 4, clock::get);
+        long key = TimingWheelDedupSet.keyOf(42, 7, 1);
+
+        assertTrue(set.firstSeen(key));
+        assertFalse(set.firstSeen(key));
+        assertTrue(set.firstSeen(TimingWheelDedupSet.keyOf(42, 7, 0)));
+
+        clock.addAndGet(window - 1000);
+        assertFalse(set.firstSeen(key));
+        clock.addAndGet(1000);
+        assertTrue(set.firstSeen(key));
+        assertFalse(set.firstSeen(key));
+    }
+
+    /**
+     * Test: A forgotten key is admitted again, and its stale wheel slot does not expire the new window early
+     */
+    @Test
+    void testForgottenKeyAdmittedAgain() {
+        TimingWheelDedupSet set = new TimingWheelDedupSet(10_000, 1000, 4, clock::get);
+        long key = TimingWheelDedupSet.keyOf(42, 7, 1);
+
+        assertTrue(set.firstSeen(key));
+        set.forget(key);
+        assertEquals(0, set.size());
+        clock.addAndGet(5_000);
+        assertTrue(set.firstSeen(key));
+
+        clock.addAndGet(6_000); // past the first window, inside the second
+        assertFalse(set.firstSeen(key));
+        clock.addAndGet(4_000);
+        assertTrue(set.firstSeen(key));
+    }
+
+    /**
+     * Test: Many keys expire together and the set empties out
+     */
+    @Test
+    void testManyKeysExpire() {
+        TimingWheelDedupSet set = new TimingWheelDedupSet(90_000, 1000, 8, clock::get);
+        for (long user = 0; user < 100_000; user++) {
+            assertTrue(set.firstSeen(TimingWheelDedupSet.keyOf(user, 1, 1)));
+            if (user % 1000 == 0) {
+                clock.addAndGet(500);
+            }
+        }
+        assertEquals(100_000, set.size());
+        assertFalse(set.firstSeen(TimingWheelDedupSet.keyOf(99_999, 1, 1)));
+
+        clock.addAndGet(200_000);
+        assertTrue(set.firstSeen(TimingWheelDedupSet.keyOf(0, 1, 1)));
+        // shards only advance when touched, so touch every shard's key space
+        for (long user = 1; user < 100_000; user++) {
+            assertTrue(set.firstSeen(TimingWheelDedupSet.keyOf(user, 1, 1)));
+        }
+        assertEquals(100_000, set.size());
+    }
+}
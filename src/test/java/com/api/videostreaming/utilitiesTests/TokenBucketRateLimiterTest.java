@@ -0,0 +1,81 @@
+package com.api.videostreaming.utilitiesTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.videostreaming.utilities.TokenBucketRateLimiter;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+
+    /**
+     * Test: Burst up to capacity is allowed, then requests are rejected until refill
+     */
+    @Test
+    void testBurstThenRefill() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 2, 100, 60_000, clock::get);
+
+        assertTrue(limiter.tryAcquire("10.0.0.1"));
+        assertTrue(limiter.tryAcquire("10.0.0.1"));
+        assertTrue(limiter.tryAcquire("10.0.0.1"));
+        assertFalse(limiter.tryAcquire("10.0.0.1"));
+
+        // other keys have their own bucket
+        assertTrue(limiter.tryAcquire("10.0.0.2"));
+
+        // 2 tokens/sec -> one token after 500ms
+        clock.addAndGet(499);
+        assertFalse(limiter.tryAcquire("10.0.0.1"));
+        clock.addAndGet(1);
+        assertTrue(limiter.tryAcquire("10.0.0.1"));
+        assertFalse(limiter.tryAcquire("10.0.0.1"));
+
+        // never refills above capacity
+        clock.addAndGet(60_000);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("10.0.0.1"));
+        }
+        assertFalse(limiter.tryAcquire("10.0.0.1"));
+    }
+
+    /**
+     * Test: Bucket count stays bounded under key churn
+     */
+    @Test
+    void testBucketsStayBoundedUnderChurn() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(5, 5, 1_000, 1_000, clock::get);
+
+        for (int i = 0; i < 50_000; i++) {
+            assertTrue(limiter.tryAcquire("ip-" + i));
+            if (i % 100 == 0) {
+                clock.addAndGet(10);
+            }
+        }
+
+        assertTrue(limiter.size() <= 1_000);
+    }
+
+    /**
+     * Test: Idle buckets are evicted first, active ones keep their state
+     */
+    @Test
+    void testIdleBucketsEvictedBeforeActiveOnes() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 10, 1_000, clock::get);
+
+        for (int i = 0; i < 9; i++) {
+            limiter.tryAcquire("idle-" + i);
+        }
+        clock.addAndGet(5_000);
+        assertTrue(limiter.tryAcquire("hot"));
+        assertFalse(limiter.tryAcquire("hot"));
+
+        // map is full, the sweep triggered by a new key removes only the refilled idle buckets
+        assertTrue(limiter.tryAcquire("new"));
+        assertEquals(2, limiter.size());
+        assertFalse(limiter.tryAcquire("hot"));
+    }
+}
@@ -0,0 +1,54 @@
+package com.api.videostreaming.utilitiesTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.videostreaming.utilities.WatchProgressBuffer;
+import com.api.videostreaming.utilities.WatchProgressBuffer.Key;
+import com.api.videostreaming.utilities.WatchProgressBuffer.Position;
+
+class WatchProgressBufferTest {
+
+    /**
+     * Test: Many heartbeats for one key coalesce into a single dirty entry holding the newest position
+     */
+    @Test
+    void testHeartbeatsCoalesceToLatest() {
+        WatchProgressBuffer buffer = new WatchProgressBuffer();
+        for (int i = 1; i <= 6; i++) {
+            assertTrue(buffer.record(7, 1, i * 10, 1_000L * i, 0));
+        }
+        // a late, out-of-order heartbeat is ignored
+        assertFalse(buffer.record(7, 1, 5, 2_000L, 0));
+        buffer.record(7, 2, 100, 3_500L, 0);
+
+        Map<Key, Position> drained = buffer.drainDirty(10);
+        assertEquals(2, drained.size());
+        assertEquals(60, drained.get(new Key(7, 1)).positionInSec());
+        assertEquals(0, buffer.dirtyCount());
+        assertEquals(List.of(1L, 2L), buffer.mostRecent(7, 10, 0).stream().map(Position::videoId).toList());
+    }
+
+    /**
+     * Test: Loading persisted rows keeps newer in-memory positions and eviction spares unflushed users
+     */
+    @Test
+    void testLoadMergeAndEviction() {
+        WatchProgressBuffer buffer = new WatchProgressBuffer();
+        buffer.record(7, 1, 300, 5_000L, 0);
+        buffer.load(7, List.of(new Position(1, 120, 4_000L, 11L), new Position(2, 50, 1_000L, 12L)), 0);
+
+        assertTrue(buffer.isLoaded(7));
+        assertEquals(new Position(1, 300, 5_000L, 11L), buffer.get(7, 1, 0));
+        assertEquals(50, buffer.get(7, 2, 0).positionInSec());
+
+        assertEquals(0, buffer.evictIdle(1_000L));
+        buffer.drainDirty(10);
+        assertEquals(1, buffer.evictIdle(1_000L));
+        assertFalse(buffer.isLoaded(7));
+    }
+}